@@ -0,0 +1,55 @@
+package com.bank.transaction.benchmark;
+
+import com.bank.transaction.TransactionApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark Application
+ *
+ * Starts the transaction application for in-process benchmarks, with quiet
+ * logging so log formatting does not distort the measurements.
+ */
+public final class BenchmarkApplication {
+
+    private static final String[] QUIET_LOGGING = {
+            "logging.level.root=WARN",
+            "logging.level.com.bank.transaction=WARN",
+            "logging.level.org.springframework.cache=WARN",
+            "logging.level.org.mybatis=WARN",
+            "spring.main.banner-mode=off"
+    };
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * Start without the embedded web server
+     */
+    public static ConfigurableApplicationContext start(String... properties) {
+        return run(WebApplicationType.NONE, properties);
+    }
+
+    /**
+     * Start with the embedded web server on a random port
+     */
+    public static ConfigurableApplicationContext startWeb(String... properties) {
+        String[] withPort = Stream.concat(Stream.of("server.port=0"), Arrays.stream(properties))
+                .toArray(String[]::new);
+        return run(WebApplicationType.SERVLET, withPort);
+    }
+
+    private static ConfigurableApplicationContext run(WebApplicationType type, String... properties) {
+        // Passed as command line arguments so they override application.yml
+        String[] args = Stream.concat(Arrays.stream(QUIET_LOGGING), Arrays.stream(properties))
+                .map(property -> "--" + property)
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(TransactionApplication.class)
+                .web(type)
+                .run(args);
+    }
+}
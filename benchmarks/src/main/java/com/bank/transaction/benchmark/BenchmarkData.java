@@ -0,0 +1,65 @@
+package com.bank.transaction.benchmark;
+
+import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.enums.TransactionCategory;
+import com.bank.transaction.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Benchmark Data
+ *
+ * Deterministic sample entities and DTOs shared by the benchmarks.
+ */
+public final class BenchmarkData {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 9, 30, 15, 123_456_000)
+            .truncatedTo(ChronoUnit.MICROS);
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Build the i-th sample transaction; descriptions are unique per index
+     */
+    public static Transaction transaction(int i) {
+        TransactionType[] types = TransactionType.values();
+        TransactionCategory[] categories = TransactionCategory.values();
+        return Transaction.builder()
+                .id(UUID.nameUUIDFromBytes(("bench-" + i).getBytes()).toString())
+                .amount(BigDecimal.valueOf(1_000_00L + i * 137L, 2))
+                .type(types[i % types.length])
+                .category(categories[i % categories.length])
+                .description("Benchmark transaction " + i)
+                .timestamp(BASE_TIME.minusSeconds(i))
+                .build();
+    }
+
+    /**
+     * Build a list of sample transactions
+     */
+    public static List<Transaction> transactions(int count) {
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            transactions.add(transaction(i));
+        }
+        return transactions;
+    }
+
+    /**
+     * Build a page of response DTOs as returned by the list endpoint
+     */
+    public static PageResponse<TransactionResponse> page(int size) {
+        List<TransactionResponse> content = transactions(size).stream()
+                .map(TransactionResponse::fromEntity)
+                .toList();
+        return PageResponse.of(content, 0, size, 10_000);
+    }
+}
@@ -0,0 +1,49 @@
+package com.bank.transaction.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+
+/**
+ * Benchmark Runner
+ *
+ * Entry point for the JMH benchmarks. Accepts the usual JMH command line
+ * (either as separate arguments or as one whitespace-separated string, as
+ * passed by {@code -Dbenchmark.args}) and attaches the GC profiler by default,
+ * so every run reports allocation per operation ({@code gc.alloc.rate.norm})
+ * and GC counts next to the timings. {@link ScaleBenchmark} only runs when
+ * selected explicitly (or through {@link ScaleSuite}).
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(splitArguments(args));
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (commandLine.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        if (commandLine.getIncludes().isEmpty()) {
+            // Loading up to 10M rows takes far longer than the rest; run it via ScaleSuite
+            options.exclude(ScaleBenchmark.class.getSimpleName());
+        }
+        new Runner(options.build()).run();
+    }
+
+    /**
+     * Split arguments that arrive as one whitespace-separated string (as passed
+     * through {@code -Dbenchmark.args}) into individual arguments
+     */
+    public static String[] splitArguments(String... args) {
+        return Arrays.stream(args)
+                .flatMap(arg -> Arrays.stream(arg.trim().split("\\s+")))
+                .filter(arg -> !arg.isEmpty())
+                .toArray(String[]::new);
+    }
+}
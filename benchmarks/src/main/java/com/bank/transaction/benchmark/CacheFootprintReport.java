@@ -0,0 +1,118 @@
+package com.bank.transaction.benchmark;
+
+import com.bank.transaction.config.CacheConfig;
+import com.bank.transaction.config.DescriptionDictionary;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.entity.Transaction;
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jol.vm.VM;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Map;
+
+/**
+ * Cache Footprint Report
+ *
+ * Fills the {@link CacheConfig#TRANSACTION_CACHE} with synthetic transactions,
+ * once storing plain {@link TransactionResponse}s and once dictionary-encoded,
+ * and prints the retained heap of the cached values as measured by JOL
+ * (walking the object graph from the stored values and the description
+ * dictionary; Caffeine's per-entry overhead is the same in both modes and
+ * not included) and, as a cross-check, the growth of used heap after a full
+ * GC, which does include it.
+ *
+ * Descriptions come from the {@link SyntheticTransactionGenerator} vocabulary
+ * without the unique reference, so they repeat as they do in practice, and
+ * each transaction gets its own {@code String} copy, as rows read from the
+ * database do.
+ *
+ * <pre>
+ *   mvn -f benchmarks/pom.xml package exec:exec \
+ *       -Dbenchmark.main=com.bank.transaction.benchmark.CacheFootprintReport \
+ *       -Dbenchmark.args="1000000"
+ * </pre>
+ */
+public final class CacheFootprintReport {
+
+    private static final int DEFAULT_ENTRIES = 1_000_000;
+
+    private CacheFootprintReport() {
+    }
+
+    public static void main(String[] args) {
+        // Lets JOL read the field offsets of records without an agent
+        System.setProperty("jol.magicFieldOffset", "true");
+        int entries = args.length > 0 && !args[0].isBlank() ? Integer.parseInt(args[0].trim()) : DEFAULT_ENTRIES;
+
+        Footprint plain = measure(entries, false);
+        Footprint encoded = measure(entries, true);
+
+        double perMillion = 1_000_000.0 / entries;
+        System.out.println();
+        System.out.printf("========== 缓存堆占用 (%,d 条交易, 换算为每百万条) ==========%n", entries);
+        System.out.printf("%-22s %14s %14s %12s%n", "mode", "JOL MB/1M", "heap MB/1M", "bytes/entry");
+        for (Footprint footprint : new Footprint[] {plain, encoded}) {
+            System.out.printf("%-22s %14.1f %14.1f %12.1f%n", footprint.mode(),
+                    footprint.graphBytes() * perMillion / (1 << 20),
+                    footprint.heapBytes() * perMillion / (1 << 20),
+                    (double) footprint.graphBytes() / entries);
+        }
+        System.out.printf("distinct descriptions: %d, JOL reduction: %.1f%%%n", encoded.distinctDescriptions(),
+                100.0 * (plain.graphBytes() - encoded.graphBytes()) / plain.graphBytes());
+        System.out.println("====================================================================");
+    }
+
+    private static Footprint measure(int entries, boolean dictionaryEncoding) {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("footprint", Map.of(
+                    "app.cache.transaction.max-size", entries,
+                    "app.cache.transaction.expire-after-write-seconds", 3600,
+                    "app.cache.dictionary-encoding.enabled", dictionaryEncoding)));
+            context.register(CacheConfig.class);
+            context.refresh();
+
+            Cache cache = context.getBean(CacheManager.class).getCache(CacheConfig.TRANSACTION_CACHE);
+            DescriptionDictionary dictionary = context.getBean(DescriptionDictionary.class);
+
+            long heapBefore = usedHeapAfterGc();
+            SyntheticTransactionGenerator generator = SyntheticTransactionGenerator.lastYear(42);
+            for (int i = 0; i < entries; i++) {
+                TransactionResponse response = TransactionResponse.fromEntity(withoutReference(generator.next()));
+                cache.put(response.id(), response);
+            }
+            long heapBytes = usedHeapAfterGc() - heapBefore;
+
+            // The stored values, not the native cache: it reaches executors, threads and class loaders
+            @SuppressWarnings("unchecked")
+            Object[] stored = ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache())
+                    .asMap().values().toArray();
+            long graphBytes = GraphLayout.parseInstance(stored, dictionary).totalSize() - VM.current().sizeOf(stored);
+            return new Footprint(dictionaryEncoding ? "dictionary-encoded" : "plain",
+                    graphBytes, heapBytes, dictionary.size());
+        }
+    }
+
+    private static Transaction withoutReference(Transaction transaction) {
+        String description = transaction.getDescription();
+        int reference = description.indexOf(" ref ");
+        // A fresh copy per row, as the JDBC driver would return
+        transaction.setDescription(new String(reference < 0 ? description : description.substring(0, reference)));
+        return transaction;
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private record Footprint(String mode, long graphBytes, long heapBytes, int distinctDescriptions) {
+    }
+}
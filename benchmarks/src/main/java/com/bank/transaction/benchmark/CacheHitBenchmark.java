@@ -0,0 +1,86 @@
+package com.bank.transaction.benchmark;
+
+import com.bank.transaction.config.CacheConfig;
+import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache Hit Benchmark
+ *
+ * Measures the hit path of the Caffeine caches configured by {@link CacheConfig},
+ * both through Spring's {@link org.springframework.cache.Cache} abstraction (as
+ * used by {@code @Cacheable}) and through the native Caffeine cache underneath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheHitBenchmark {
+
+    private static final int ENTRIES = 500;
+
+    private AnnotationConfigApplicationContext context;
+
+    private org.springframework.cache.Cache transactionCache;
+    private org.springframework.cache.Cache listCache;
+    private Cache<Object, Object> nativeTransactionCache;
+
+    private String[] ids;
+
+    private int cursor;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(CacheConfig.class);
+        CacheManager cacheManager = context.getBean(CacheManager.class);
+        transactionCache = cacheManager.getCache(CacheConfig.TRANSACTION_CACHE);
+        listCache = cacheManager.getCache(CacheConfig.TRANSACTION_LIST_CACHE);
+        nativeTransactionCache = (Cache<Object, Object>) transactionCache.getNativeCache();
+
+        ids = new String[ENTRIES];
+        for (int i = 0; i < ENTRIES; i++) {
+            TransactionResponse response = TransactionResponse.fromEntity(BenchmarkData.transaction(i));
+            ids[i] = response.id();
+            transactionCache.put(response.id(), response);
+        }
+        PageResponse<TransactionResponse> page = BenchmarkData.page(10);
+        listCache.put("page_0_size_10", page);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private String nextId() {
+        cursor = (cursor + 1) % ENTRIES;
+        return ids[cursor];
+    }
+
+    @Benchmark
+    public Object springCacheHit() {
+        return transactionCache.get(nextId()).get();
+    }
+
+    @Benchmark
+    public Object nativeCaffeineHit() {
+        return nativeTransactionCache.getIfPresent(nextId());
+    }
+
+    @Benchmark
+    public Object listCacheHit() {
+        // Includes building the key the same way the @Cacheable SpEL expression does
+        int page = 0;
+        int size = 10;
+        return listCache.get("page_" + page + "_size_" + size).get();
+    }
+}
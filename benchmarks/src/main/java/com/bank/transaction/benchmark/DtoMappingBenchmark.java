@@ -0,0 +1,39 @@
+package com.bank.transaction.benchmark;
+
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.entity.Transaction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DTO Mapping Benchmark
+ *
+ * Measures the per-row cost of {@link TransactionResponse#fromEntity} and
+ * {@link Transaction#generateDuplicateHash}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private Transaction transaction;
+
+    @Setup
+    public void setUp() {
+        transaction = BenchmarkData.transaction(42);
+    }
+
+    @Benchmark
+    public TransactionResponse fromEntity() {
+        return TransactionResponse.fromEntity(transaction);
+    }
+
+    @Benchmark
+    public String generateDuplicateHash() {
+        return transaction.generateDuplicateHash();
+    }
+}
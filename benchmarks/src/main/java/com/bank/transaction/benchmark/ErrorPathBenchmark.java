@@ -0,0 +1,128 @@
+package com.bank.transaction.benchmark;
+
+import com.bank.transaction.dto.TransactionRequest;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.enums.TransactionCategory;
+import com.bank.transaction.enums.TransactionType;
+import com.bank.transaction.exception.TransactionNotFoundException;
+import com.bank.transaction.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Error Path Benchmark
+ *
+ * Throughput of the error paths that are routine under load, 404 (unknown
+ * transaction) and 409 (duplicate create), next to a successful read, over
+ * HTTP against the application running in process. {@code lean} is the
+ * default configuration (business exceptions without stack traces, error
+ * logging rate-limited); {@code full} records stack traces and logs every
+ * error, as before. Logs go to a file so the console stays readable.
+ * {@code raiseNotFound} isolates raising and catching the exception from a
+ * stack about as deep as a request's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    /**
+     * Frames below a controller method in a servlet request (Tomcat, filters, Spring MVC, proxies)
+     */
+    private static final int REQUEST_STACK_DEPTH = 120;
+
+    @Param({"lean", "full"})
+    public String errors;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient client;
+
+    private HttpRequest found;
+    private HttpRequest missing;
+    private HttpRequest duplicate;
+
+    @Setup
+    public void setUp() {
+        boolean full = "full".equals(errors);
+        context = BenchmarkApplication.startWeb(
+                "app.errors.stack-traces=" + full,
+                "app.errors.log-max-per-second=" + (full ? 0 : 10),
+                "app.access-log.enabled=false",
+                "app.concurrency-limit.enabled=false",
+                "logging.file.name=target/error-path-benchmark.log",
+                "logging.pattern.console=");
+        URI base = URI.create("http://localhost:"
+                + ((WebServerApplicationContext) context).getWebServer().getPort() + "/api/transactions");
+
+        String body = """
+                {"amount":100.00,"type":"DEPOSIT","category":"SALARY","description":"Benchmark payroll"}""";
+        TransactionResponse existing = context.getBean(TransactionService.class).createTransaction(
+                new TransactionRequest(new BigDecimal("100.00"), TransactionType.DEPOSIT,
+                        TransactionCategory.SALARY, "Benchmark payroll"));
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        found = HttpRequest.newBuilder(URI.create(base + "/" + existing.id())).GET().build();
+        missing = HttpRequest.newBuilder(URI.create(base + "/no-such-transaction")).GET().build();
+        duplicate = HttpRequest.newBuilder(base)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getFound() throws Exception {
+        return send(found, 200);
+    }
+
+    @Benchmark
+    public int getNotFound() throws Exception {
+        return send(missing, 404);
+    }
+
+    @Benchmark
+    public int createDuplicate() throws Exception {
+        return send(duplicate, 409);
+    }
+
+    @Benchmark
+    public Object raiseNotFound() {
+        return raise(REQUEST_STACK_DEPTH);
+    }
+
+    private static Object raise(int depth) {
+        if (depth > 0) {
+            return raise(depth - 1);
+        }
+        try {
+            throw new TransactionNotFoundException("no-such-transaction");
+        } catch (TransactionNotFoundException e) {
+            return e;
+        }
+    }
+
+    private int send(HttpRequest request, int expected) throws Exception {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != expected) {
+            throw new IllegalStateException("Expected " + expected + " but got " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
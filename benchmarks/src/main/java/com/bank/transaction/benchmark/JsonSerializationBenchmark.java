@@ -0,0 +1,90 @@
+package com.bank.transaction.benchmark;
+
+import com.bank.transaction.config.TransactionJsonModule;
+import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.entity.Transaction;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON Serialization Benchmark
+ *
+ * Measures Jackson serialization of a {@link PageResponse} of transactions,
+ * using an ObjectMapper configured like Spring Boot's default one, with the
+ * default record serializers ({@code default}) or {@link TransactionJsonModule}
+ * ({@code module}). {@code mapAndSerialize} and {@code streamEntities} compare
+ * the list path (entities to DTOs to JSON) with the export path (entities
+ * straight to JSON). Allocation per serialized page is the GC profiler's
+ * {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    @Param({"default", "module"})
+    public String serializers;
+
+    private ObjectMapper objectMapper;
+
+    private SerializerProvider provider;
+
+    private PageResponse<TransactionResponse> page;
+
+    private List<Transaction> entities;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if ("module".equals(serializers)) {
+            builder.modulesToInstall(new TransactionJsonModule());
+        }
+        objectMapper = builder.build();
+        provider = objectMapper.getSerializerProviderInstance();
+        page = BenchmarkData.page(pageSize);
+        entities = BenchmarkData.transactions(pageSize);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws Exception {
+        List<TransactionResponse> content = entities.stream()
+                .map(TransactionResponse::fromEntity)
+                .toList();
+        return objectMapper.writeValueAsBytes(content);
+    }
+
+    @Benchmark
+    public byte[] streamEntities() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(pageSize * 320);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            char[] scratch = TransactionJsonModule.newScratch();
+            generator.writeStartArray();
+            for (Transaction transaction : entities) {
+                TransactionJsonModule.writeTransaction(generator, transaction, provider, scratch);
+            }
+            generator.writeEndArray();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,104 @@
+package com.bank.transaction.benchmark;
+
+import com.bank.transaction.dto.TransactionRequest;
+import com.bank.transaction.enums.TransactionCategory;
+import com.bank.transaction.enums.TransactionType;
+import com.bank.transaction.exception.InsufficientFundsException;
+import com.bank.transaction.repository.AccountRepository;
+import com.bank.transaction.repository.TransactionRepository;
+import com.bank.transaction.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ledger Benchmark
+ *
+ * Compares the account ledger engines ({@code app.ledger.engine}) on a
+ * skewed workload: every transfer goes through the service (duplicate check,
+ * ledger, insert) and {@code hotShare} percent of them move money into or
+ * out of one hot account, the rest between random cold accounts. With the
+ * striped-lock engine the hot account's writers queue on one lock stripe
+ * for the whole database transaction; with the sequencer they queue on one
+ * ring and the writer applies them in batches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class LedgerBenchmark {
+
+    private static final String HOT_ACCOUNT = "hot";
+    private static final int COLD_ACCOUNTS = 1_000;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000000.00");
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Param({"striped-lock", "sequencer"})
+    public String engine;
+
+    @Param({"90"})
+    public int hotShare;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService service;
+
+    private final AtomicLong counter = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("app.ledger.engine=" + engine);
+        service = context.getBean(TransactionService.class);
+        context.getBean(TransactionRepository.class).deleteAll();
+        context.getBean(AccountRepository.class).deleteAll();
+
+        // Fund every account so transfers never run dry during the run
+        service.createTransaction(deposit(HOT_ACCOUNT));
+        for (int i = 0; i < COLD_ACCOUNTS; i++) {
+            service.createTransaction(deposit(cold(i)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object skewedTransfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String source = cold(random.nextInt(COLD_ACCOUNTS));
+        String target = cold(random.nextInt(COLD_ACCOUNTS));
+        if (random.nextInt(100) < hotShare) {
+            if (random.nextBoolean()) {
+                source = HOT_ACCOUNT;
+            } else {
+                target = HOT_ACCOUNT;
+            }
+        }
+        if (source.equals(target)) {
+            target = HOT_ACCOUNT.equals(source) ? cold(0) : HOT_ACCOUNT;
+        }
+        try {
+            return service.createTransaction(new TransactionRequest(AMOUNT, TransactionType.TRANSFER,
+                    TransactionCategory.OTHER, "ledger " + counter.incrementAndGet(), source, target));
+        } catch (InsufficientFundsException e) {
+            return e;
+        }
+    }
+
+    private static TransactionRequest deposit(String account) {
+        return new TransactionRequest(OPENING_BALANCE, TransactionType.DEPOSIT, TransactionCategory.SALARY,
+                "opening " + account, null, account);
+    }
+
+    private static String cold(int index) {
+        return "cold-" + index;
+    }
+}
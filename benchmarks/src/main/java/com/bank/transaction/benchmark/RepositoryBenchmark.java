@@ -0,0 +1,90 @@
+package com.bank.transaction.benchmark;
+
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.repository.TransactionRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository Benchmark
+ *
+ * Measures {@link TransactionRepository} CRUD operations through MyBatis
+ * against the in-memory H2 database, with the table seeded to a fixed size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    @Param({"1000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private TransactionRepository repository;
+
+    private List<Transaction> seeded;
+
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        repository = context.getBean(TransactionRepository.class);
+        repository.deleteAll();
+        seeded = BenchmarkData.transactions(rows);
+        seeded.forEach(repository::save);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private Transaction nextSeeded() {
+        cursor = (cursor + 1) % rows;
+        return seeded.get(cursor);
+    }
+
+    @Benchmark
+    public Object findById() {
+        return repository.findById(nextSeeded().getId());
+    }
+
+    @Benchmark
+    public Object findFirstPage() {
+        return repository.findAllPaginated(0, 10);
+    }
+
+    @Benchmark
+    public long count() {
+        return repository.count();
+    }
+
+    @Benchmark
+    public boolean existsDuplicate() {
+        return repository.existsDuplicate(nextSeeded());
+    }
+
+    @Benchmark
+    public boolean insertAndDelete() {
+        Transaction template = nextSeeded();
+        Transaction transaction = Transaction.builder()
+                .id(UUID.randomUUID().toString())
+                .amount(template.getAmount())
+                .type(template.getType())
+                .category(template.getCategory())
+                .description(template.getDescription() + " copy")
+                .timestamp(template.getTimestamp())
+                .build();
+        repository.save(transaction);
+        return repository.deleteById(transaction.getId());
+    }
+}
@@ -0,0 +1,120 @@
+package com.bank.transaction.benchmark;
+
+import com.bank.transaction.dto.TransactionRequest;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.repository.TransactionRepository;
+import com.bank.transaction.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scale Benchmark
+ *
+ * Measures list, get, create and duplicate-check latency with the
+ * {@code transactions} table pre-loaded to production-like sizes by the
+ * {@link SyntheticTransactionGenerator}. Reads go through the repository so
+ * the caches do not hide how the queries scale; creates go through the
+ * service (duplicate check, insert and cache eviction).
+ *
+ * Run through {@link ScaleSuite} for a summary of how each operation grows
+ * with the table size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx12g"})
+public class ScaleBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int SAMPLE_SIZE = 10_000;
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TransactionRepository repository;
+    private TransactionService service;
+
+    private final List<Transaction> samples = new ArrayList<>();
+    private final List<String> created = new ArrayList<>();
+    private SyntheticTransactionGenerator createGenerator;
+
+    @Setup(Level.Trial)
+    public void load() {
+        context = BenchmarkApplication.start();
+        repository = context.getBean(TransactionRepository.class);
+        service = context.getBean(TransactionService.class);
+        repository.deleteAll();
+
+        // Keep an evenly spread sample of loaded rows for point lookups
+        long sampleEvery = Math.max(1, rows / SAMPLE_SIZE);
+        long started = System.nanoTime();
+        SyntheticTransactionGenerator.lastYear(42).load(repository, rows, batch -> {
+            for (int i = 0; i < batch.size(); i += (int) Math.min(sampleEvery, batch.size())) {
+                samples.add(batch.get(i));
+            }
+        });
+        System.out.printf("%n[scale] loaded %,d rows in %.1f s%n", rows, (System.nanoTime() - started) / 1e9);
+
+        createGenerator = SyntheticTransactionGenerator.lastYear(7);
+    }
+
+    @TearDown(Level.Iteration)
+    public void removeCreated() {
+        // Keep the table at its nominal size across iterations
+        created.forEach(repository::deleteById);
+        created.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        context.close();
+    }
+
+    private Transaction sample() {
+        return samples.get(ThreadLocalRandom.current().nextInt(samples.size()));
+    }
+
+    @Benchmark
+    public Object listFirstPage() {
+        return List.of(repository.findAllPaginated(0, PAGE_SIZE), repository.count());
+    }
+
+    @Benchmark
+    public Object listMiddlePage() {
+        int middlePage = rows / PAGE_SIZE / 2;
+        return repository.findAllPaginated(middlePage, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public long count() {
+        return repository.count();
+    }
+
+    @Benchmark
+    public Object getById() {
+        return repository.findById(sample().getId());
+    }
+
+    @Benchmark
+    public boolean duplicateCheck() {
+        return repository.existsDuplicate(sample());
+    }
+
+    @Benchmark
+    public TransactionResponse create() {
+        Transaction next = createGenerator.next();
+        TransactionResponse response = service.createTransaction(new TransactionRequest(
+                next.getAmount(), next.getType(), next.getCategory(), "scale create " + next.getDescription()));
+        created.add(response.id());
+        return response;
+    }
+}
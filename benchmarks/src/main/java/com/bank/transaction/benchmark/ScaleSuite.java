@@ -0,0 +1,66 @@
+package com.bank.transaction.benchmark;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Scale Suite
+ *
+ * Runs {@link ScaleBenchmark} for every configured table size and prints how
+ * each operation's latency grows relative to the smallest table.
+ *
+ * <pre>
+ *   mvn -f benchmarks/pom.xml package exec:exec \
+ *       -Dbenchmark.main=com.bank.transaction.benchmark.ScaleSuite \
+ *       -Dbenchmark.args="-p rows=10000,100000,1000000"
+ * </pre>
+ * Any other JMH options (e.g. {@code -wi}, {@code -i}) are passed through.
+ */
+public final class ScaleSuite {
+
+    private ScaleSuite() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(BenchmarkRunner.splitArguments(args));
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .parent(commandLine)
+                .include(ScaleBenchmark.class.getSimpleName())
+                .build()).run();
+
+        // operation -> rows -> average µs/op
+        Map<String, Map<Integer, Double>> table = new TreeMap<>();
+        for (RunResult result : results) {
+            String label = result.getParams().getBenchmark();
+            String operation = label.substring(label.lastIndexOf('.') + 1);
+            int rows = Integer.parseInt(result.getParams().getParam("rows"));
+            table.computeIfAbsent(operation, k -> new TreeMap<>())
+                    .put(rows, result.getPrimaryResult().getScore());
+        }
+        print(table);
+    }
+
+    private static void print(Map<String, Map<Integer, Double>> table) {
+        System.out.println();
+        System.out.println("========== 规模回归结果 (µs/op, 括号内为相对最小表的倍数) ==========");
+        for (Map.Entry<String, Map<Integer, Double>> row : table.entrySet()) {
+            StringBuilder line = new StringBuilder("%-16s".formatted(row.getKey()));
+            Double baseline = null;
+            for (Map.Entry<Integer, Double> cell : row.getValue().entrySet()) {
+                if (baseline == null) {
+                    baseline = cell.getValue();
+                }
+                line.append("  %,11d rows: %10.1f (%6.1fx)".formatted(
+                        cell.getKey(), cell.getValue(), cell.getValue() / baseline));
+            }
+            System.out.println(line);
+        }
+        System.out.println("====================================================================");
+    }
+}
@@ -0,0 +1,201 @@
+package com.bank.transaction.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup Benchmark
+ *
+ * Measures time to first successful {@code GET /api/transactions}: each run
+ * launches the application jar in a fresh JVM, polls the list endpoint until
+ * it answers {@code 200}, and stops the process. The clock starts just before
+ * the process is spawned, so JVM startup, context refresh, {@code schema.sql}
+ * and the first request are all included.
+ *
+ * Expects the jar built by the {@code fast-startup} profile, which carries
+ * the AOT-generated bean definitions and an AppCDS archive next to it:
+ * <pre>
+ *   mvn -Pfast-startup package -DskipTests
+ *   mvn -f benchmarks/pom.xml package exec:exec \
+ *       -Dbenchmark.main=com.bank.transaction.benchmark.StartupBenchmark \
+ *       -Dbenchmark.args="--runs 5"
+ * </pre>
+ * Options:
+ * <pre>
+ *   --jar PATH      application jar (default ../target/transaction-management-1.0.0.jar)
+ *   --cds PATH      AppCDS archive (default ../target/application.jsa)
+ *   --modes LIST    modes to compare (default jit,cds,aot,aot-cds)
+ *   --runs N        measured runs per mode, after one discarded warmup run (default 5)
+ *   --port N        HTTP port for the launched application (default 18080)
+ *   --timeout S     give up on a run after this many seconds (default 120)
+ * </pre>
+ */
+public final class StartupBenchmark {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    private final Options options;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private StartupBenchmark(Options options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(BenchmarkRunner.splitArguments(args));
+        if (!Files.isRegularFile(options.jar())) {
+            throw new IllegalArgumentException("Application jar not found: " + options.jar()
+                    + " (build it with mvn -Pfast-startup package -DskipTests)");
+        }
+        new StartupBenchmark(options).run();
+    }
+
+    private void run() throws Exception {
+        List<long[]> results = new ArrayList<>();
+        for (Mode mode : options.modes()) {
+            if (mode.usesCds() && !Files.isRegularFile(options.cds())) {
+                throw new IllegalArgumentException("AppCDS archive not found: " + options.cds());
+            }
+            measure(mode);
+            long[] millis = new long[options.runs()];
+            for (int i = 0; i < millis.length; i++) {
+                millis[i] = measure(mode);
+                System.out.printf("%-8s run %d: %,d ms%n", mode.label, i + 1, millis[i]);
+            }
+            Arrays.sort(millis);
+            results.add(millis);
+        }
+
+        System.out.println();
+        System.out.println("========== 启动到首个 GET /api/transactions 成功的时间 (ms) ==========");
+        System.out.printf("%-8s %8s %8s %8s%n", "mode", "min", "median", "max");
+        for (int i = 0; i < results.size(); i++) {
+            long[] millis = results.get(i);
+            System.out.printf("%-8s %8d %8d %8d%n", options.modes().get(i).label,
+                    millis[0], millis[millis.length / 2], millis[millis.length - 1]);
+        }
+        System.out.println("====================================================================");
+    }
+
+    private long measure(Mode mode) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (mode.usesCds()) {
+            command.add("-XX:SharedArchiveFile=" + options.cds());
+        }
+        if (mode.usesAot()) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        command.add("-Dserver.port=" + options.port());
+        command.add("-jar");
+        command.add(options.jar().toString());
+
+        URI uri = URI.create("http://localhost:" + options.port() + "/api/transactions");
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET().build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long deadline = start + TimeUnit.SECONDS.toNanos(options.timeoutSeconds());
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode.label + ": application exited with " + process.exitValue());
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(POLL_INTERVAL);
+            }
+            throw new IllegalStateException(mode.label + ": no successful response within "
+                    + options.timeoutSeconds() + " s");
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /**
+     * How the application is launched
+     */
+    private enum Mode {
+        JIT("jit", false, false),
+        CDS("cds", false, true),
+        AOT("aot", true, false),
+        AOT_CDS("aot-cds", true, true);
+
+        private final String label;
+        private final boolean aot;
+        private final boolean cds;
+
+        Mode(String label, boolean aot, boolean cds) {
+            this.label = label;
+            this.aot = aot;
+            this.cds = cds;
+        }
+
+        boolean usesAot() {
+            return aot;
+        }
+
+        boolean usesCds() {
+            return cds;
+        }
+
+        static Mode of(String label) {
+            for (Mode mode : values()) {
+                if (mode.label.equals(label)) {
+                    return mode;
+                }
+            }
+            throw new IllegalArgumentException("Unknown mode: " + label);
+        }
+    }
+
+    private record Options(Path jar, Path cds, List<Mode> modes, int runs, int port, int timeoutSeconds) {
+
+        static Options parse(String[] args) {
+            Path jar = Path.of("../target/transaction-management-1.0.0.jar");
+            Path cds = Path.of("../target/application.jsa");
+            List<Mode> modes = List.of(Mode.values());
+            int runs = 5;
+            int port = 18080;
+            int timeout = 120;
+
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                switch (arg) {
+                    case "--jar" -> jar = Path.of(args[++i]);
+                    case "--cds" -> cds = Path.of(args[++i]);
+                    case "--modes" -> modes = Arrays.stream(args[++i].split(",")).map(Mode::of).toList();
+                    case "--runs" -> runs = Integer.parseInt(args[++i]);
+                    case "--port" -> port = Integer.parseInt(args[++i]);
+                    case "--timeout" -> timeout = Integer.parseInt(args[++i]);
+                    default -> throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            }
+            if (runs < 1) {
+                throw new IllegalArgumentException("--runs must be positive");
+            }
+            return new Options(jar.toAbsolutePath(), cds.toAbsolutePath(), modes, runs, port, timeout);
+        }
+    }
+}
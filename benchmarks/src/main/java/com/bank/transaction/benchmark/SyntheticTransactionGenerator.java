@@ -0,0 +1,180 @@
+package com.bank.transaction.benchmark;
+
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.enums.TransactionCategory;
+import com.bank.transaction.enums.TransactionType;
+import com.bank.transaction.repository.TransactionRepository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Synthetic Transaction Generator
+ *
+ * Deterministic generator of realistic-looking transactions for scale tests:
+ * <ul>
+ * <li>types are skewed towards withdrawals (55%), then deposits (30%) and transfers (15%);</li>
+ * <li>categories follow the type (deposits are mostly salary, withdrawals mostly food and shopping);</li>
+ * <li>amounts are log-normal with a per-category median and spread;</li>
+ * <li>descriptions come from a small per-category vocabulary of merchants and payees,
+ * followed by a unique reference so rows never trip the duplicate constraint;</li>
+ * <li>timestamps are spread uniformly over a configurable time span.</li>
+ * </ul>
+ * The same seed always produces the same sequence of rows.
+ */
+public final class SyntheticTransactionGenerator {
+
+    private static final TransactionType[] TYPES = {
+            TransactionType.WITHDRAWAL, TransactionType.DEPOSIT, TransactionType.TRANSFER
+    };
+    private static final double[] TYPE_WEIGHTS = {0.55, 0.30, 0.15};
+
+    private static final Map<TransactionType, TransactionCategory[]> CATEGORIES = new EnumMap<>(TransactionType.class);
+    private static final Map<TransactionType, double[]> CATEGORY_WEIGHTS = new EnumMap<>(TransactionType.class);
+
+    private static final Map<TransactionCategory, double[]> AMOUNT_MEDIAN_AND_SIGMA = new EnumMap<>(TransactionCategory.class);
+    private static final Map<TransactionCategory, String[]> DESCRIPTIONS = new EnumMap<>(TransactionCategory.class);
+
+    static {
+        CATEGORIES.put(TransactionType.DEPOSIT, new TransactionCategory[] {
+                TransactionCategory.SALARY, TransactionCategory.OTHER});
+        CATEGORY_WEIGHTS.put(TransactionType.DEPOSIT, new double[] {0.65, 0.35});
+
+        CATEGORIES.put(TransactionType.WITHDRAWAL, new TransactionCategory[] {
+                TransactionCategory.FOOD, TransactionCategory.SHOPPING, TransactionCategory.TRANSPORTATION,
+                TransactionCategory.UTILITIES, TransactionCategory.ENTERTAINMENT, TransactionCategory.HEALTHCARE,
+                TransactionCategory.OTHER});
+        CATEGORY_WEIGHTS.put(TransactionType.WITHDRAWAL, new double[] {0.30, 0.25, 0.15, 0.10, 0.10, 0.05, 0.05});
+
+        CATEGORIES.put(TransactionType.TRANSFER, new TransactionCategory[] {
+                TransactionCategory.OTHER, TransactionCategory.UTILITIES, TransactionCategory.SHOPPING});
+        CATEGORY_WEIGHTS.put(TransactionType.TRANSFER, new double[] {0.60, 0.25, 0.15});
+
+        AMOUNT_MEDIAN_AND_SIGMA.put(TransactionCategory.SALARY, new double[] {4_500, 0.35});
+        AMOUNT_MEDIAN_AND_SIGMA.put(TransactionCategory.FOOD, new double[] {28, 0.8});
+        AMOUNT_MEDIAN_AND_SIGMA.put(TransactionCategory.SHOPPING, new double[] {65, 1.0});
+        AMOUNT_MEDIAN_AND_SIGMA.put(TransactionCategory.TRANSPORTATION, new double[] {18, 0.7});
+        AMOUNT_MEDIAN_AND_SIGMA.put(TransactionCategory.UTILITIES, new double[] {120, 0.5});
+        AMOUNT_MEDIAN_AND_SIGMA.put(TransactionCategory.ENTERTAINMENT, new double[] {40, 0.8});
+        AMOUNT_MEDIAN_AND_SIGMA.put(TransactionCategory.HEALTHCARE, new double[] {90, 1.1});
+        AMOUNT_MEDIAN_AND_SIGMA.put(TransactionCategory.OTHER, new double[] {200, 1.3});
+
+        DESCRIPTIONS.put(TransactionCategory.SALARY, new String[] {
+                "Payroll ACME Corp", "Payroll Globex", "Monthly salary", "Bonus payment"});
+        DESCRIPTIONS.put(TransactionCategory.FOOD, new String[] {
+                "FreshMart groceries", "Starbucks", "McDonald's", "Corner Bakery", "Sushi Palace", "Lunch"});
+        DESCRIPTIONS.put(TransactionCategory.SHOPPING, new String[] {
+                "Amazon order", "IKEA", "Uniqlo", "Apple Store", "Online shopping"});
+        DESCRIPTIONS.put(TransactionCategory.TRANSPORTATION, new String[] {
+                "Metro card top-up", "Uber ride", "Shell fuel", "Parking fee"});
+        DESCRIPTIONS.put(TransactionCategory.UTILITIES, new String[] {
+                "Electricity bill", "Water bill", "Mobile plan", "Internet broadband", "Monthly rent"});
+        DESCRIPTIONS.put(TransactionCategory.ENTERTAINMENT, new String[] {
+                "Netflix subscription", "Cinema tickets", "Spotify", "Concert tickets"});
+        DESCRIPTIONS.put(TransactionCategory.HEALTHCARE, new String[] {
+                "Pharmacy", "Dental clinic", "Health insurance", "Gym membership"});
+        DESCRIPTIONS.put(TransactionCategory.OTHER, new String[] {
+                "Transfer to savings", "ATM cash", "Gift", "Refund", "Misc payment"});
+    }
+
+    private final SplittableRandom random;
+    private final LocalDateTime end;
+    private final long spanMicros;
+    private long sequence;
+
+    /**
+     * @param seed random seed; the same seed yields the same rows
+     * @param end  timestamp of the newest possible transaction
+     * @param span time span covered by the generated timestamps
+     */
+    public SyntheticTransactionGenerator(long seed, LocalDateTime end, Duration span) {
+        this.random = new SplittableRandom(seed);
+        this.end = end.truncatedTo(ChronoUnit.MICROS);
+        this.spanMicros = span.toNanos() / 1_000;
+    }
+
+    /**
+     * Generator covering the last year up to now
+     */
+    public static SyntheticTransactionGenerator lastYear(long seed) {
+        return new SyntheticTransactionGenerator(seed, LocalDateTime.now(), Duration.ofDays(365));
+    }
+
+    /**
+     * Generate the next transaction
+     */
+    public Transaction next() {
+        long n = sequence++;
+        TransactionType type = pick(TYPES, TYPE_WEIGHTS);
+        TransactionCategory category = pick(CATEGORIES.get(type), CATEGORY_WEIGHTS.get(type));
+        String[] vocabulary = DESCRIPTIONS.get(category);
+
+        return Transaction.builder()
+                .id(new UUID(random.nextLong(), random.nextLong()).toString())
+                .amount(amount(category))
+                .type(type)
+                .category(category)
+                .description(vocabulary[random.nextInt(vocabulary.length)] + " ref " + Long.toString(n, 36))
+                .timestamp(end.minus(random.nextLong(spanMicros), ChronoUnit.MICROS))
+                .build();
+    }
+
+    /**
+     * Generate a list of transactions
+     */
+    public List<Transaction> next(int count) {
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            transactions.add(next());
+        }
+        return transactions;
+    }
+
+    /**
+     * Generate {@code rows} transactions and bulk load them through
+     * {@link TransactionRepository#saveAll}, in batches to bound memory use.
+     *
+     * @param repository the repository to load into
+     * @param rows       number of rows to generate
+     * @param onBatch    called with every batch after it is stored (e.g. to sample IDs)
+     * @return the number of inserted rows
+     */
+    public long load(TransactionRepository repository, long rows, Consumer<List<Transaction>> onBatch) {
+        final int batchSize = 10_000;
+        long inserted = 0;
+        while (inserted < rows) {
+            List<Transaction> batch = next((int) Math.min(batchSize, rows - inserted));
+            inserted += repository.saveAll(batch);
+            onBatch.accept(batch);
+        }
+        return inserted;
+    }
+
+    private BigDecimal amount(TransactionCategory category) {
+        double[] medianAndSigma = AMOUNT_MEDIAN_AND_SIGMA.get(category);
+        double value = medianAndSigma[0] * Math.exp(medianAndSigma[1] * random.nextGaussian());
+        return BigDecimal.valueOf(Math.max(value, 0.01)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private <T> T pick(T[] values, double[] weights) {
+        double roll = random.nextDouble();
+        double cumulative = 0;
+        for (int i = 0; i < values.length; i++) {
+            cumulative += weights[i];
+            if (roll < cumulative) {
+                return values[i];
+            }
+        }
+        return values[values.length - 1];
+    }
+}
@@ -0,0 +1,68 @@
+package com.bank.transaction.loadgen;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * ID Pool
+ *
+ * Fixed-capacity, lock-free pool of transaction IDs known to exist, used to
+ * target reads, updates and deletes. New IDs overwrite the oldest slots once
+ * the pool is full; taking an ID for deletion clears its slot.
+ */
+final class IdPool {
+
+    private final AtomicReferenceArray<String> slots;
+    private final AtomicLong writeIndex = new AtomicLong();
+
+    IdPool(int capacity) {
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    void add(String id) {
+        int slot = (int) (writeIndex.getAndIncrement() % slots.length());
+        slots.set(slot, id);
+    }
+
+    /**
+     * Return a random known ID without removing it, or null if none is found
+     */
+    String peek() {
+        int filled = filled();
+        if (filled == 0) {
+            return null;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int attempt = 0; attempt < 4; attempt++) {
+            String id = slots.get(random.nextInt(filled));
+            if (id != null) {
+                return id;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Remove and return a random known ID, or null if none is found
+     */
+    String take() {
+        int filled = filled();
+        if (filled == 0) {
+            return null;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int attempt = 0; attempt < 4; attempt++) {
+            int slot = random.nextInt(filled);
+            String id = slots.get(slot);
+            if (id != null && slots.compareAndSet(slot, id, null)) {
+                return id;
+            }
+        }
+        return null;
+    }
+
+    private int filled() {
+        return (int) Math.min(writeIndex.get(), slots.length());
+    }
+}
@@ -0,0 +1,197 @@
+package com.bank.transaction.loadgen;
+
+import com.bank.transaction.benchmark.BenchmarkApplication;
+import com.bank.transaction.benchmark.BenchmarkRunner;
+import com.bank.transaction.grpc.TransactionGrpcServer;
+import com.bank.transaction.grpc.proto.IngestAck;
+import com.bank.transaction.grpc.proto.TransactionCategory;
+import com.bank.transaction.grpc.proto.TransactionRequest;
+import com.bank.transaction.grpc.proto.TransactionStreamServiceGrpc;
+import com.bank.transaction.grpc.proto.TransactionType;
+import com.bank.transaction.repository.TransactionRepository;
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ingest Throughput Comparison
+ *
+ * Starts the application in-process with the gRPC server enabled and
+ * creates the same number of transactions twice: once as one HTTP/1.1 JSON
+ * {@code POST} per transaction, once over {@code IngestTransactions} streams.
+ * Both use the same number of concurrent connections/streams and go through
+ * the same {@code TransactionService}, so the difference is transport and
+ * per-request overhead. Reports sustained transactions per second.
+ *
+ * <pre>
+ * Options:
+ *   --count N         transactions per run (default 20000)
+ *   --concurrency N   concurrent HTTP clients / gRPC streams (default 16)
+ *   --batch-size N    server-side ingest acknowledgement batch size (default 100)
+ * </pre>
+ */
+public final class IngestComparison {
+
+    private IngestComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String[] options = BenchmarkRunner.splitArguments(args);
+        int count = 20_000;
+        int concurrency = 16;
+        int batchSize = 100;
+        for (int i = 0; i < options.length; i++) {
+            switch (options[i]) {
+                case "--count" -> count = Integer.parseInt(options[++i]);
+                case "--concurrency" -> concurrency = Integer.parseInt(options[++i]);
+                case "--batch-size" -> batchSize = Integer.parseInt(options[++i]);
+                default -> throw new IllegalArgumentException("Unknown option: " + options[i]);
+            }
+        }
+
+        try (ConfigurableApplicationContext context = BenchmarkApplication.startWeb(
+                "app.grpc.enabled=true", "app.grpc.port=0", "app.grpc.ingest-batch-size=" + batchSize,
+                "app.access-log.enabled=false")) {
+            int httpPort = ((WebServerApplicationContext) context).getWebServer().getPort();
+            int grpcPort = context.getBean(TransactionGrpcServer.class).getPort();
+            TransactionRepository repository = context.getBean(TransactionRepository.class);
+
+            System.out.printf("写入对比: %d 笔/轮, 并发 %d, 批次 %d%n", count, concurrency, batchSize);
+
+            // Warm up both paths so JIT compilation is not billed to either
+            rest(httpPort, Math.min(count, 2_000), concurrency);
+            grpc(grpcPort, Math.min(count, 2_000), concurrency);
+            repository.deleteAll();
+
+            double restRate = rest(httpPort, count, concurrency);
+            repository.deleteAll();
+            double grpcRate = grpc(grpcPort, count, concurrency);
+
+            System.out.println("========== 写入吞吐 ==========");
+            System.out.printf("REST HTTP/1.1 JSON : %10.0f tx/s%n", restRate);
+            System.out.printf("gRPC 流式写入       : %10.0f tx/s (%.1fx)%n", grpcRate, grpcRate / restRate);
+            System.out.println("==============================");
+        }
+    }
+
+    private static double rest(int port, int count, int concurrency) throws Exception {
+        TransactionHttpClient client = new TransactionHttpClient(
+                URI.create("http://localhost:" + port), Duration.ofSeconds(30));
+        AtomicLong created = new AtomicLong();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int w = 0; w < concurrency; w++) {
+                int share = share(count, concurrency, w);
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < share; i++) {
+                        if (client.create().status() == 201) {
+                            created.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        return rate(created.get(), System.nanoTime() - start);
+    }
+
+    private static double grpc(int port, int count, int concurrency) throws Exception {
+        ManagedChannel channel = NettyChannelBuilder.forAddress("localhost", port).usePlaintext().build();
+        try {
+            var stub = TransactionStreamServiceGrpc.newStub(channel);
+            AtomicLong accepted = new AtomicLong();
+            long start = System.nanoTime();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> streams = new ArrayList<>();
+                for (int w = 0; w < concurrency; w++) {
+                    int share = share(count, concurrency, w);
+                    streams.add(executor.submit(() -> {
+                        stream(stub, share, accepted);
+                        return null;
+                    }));
+                }
+                for (Future<?> stream : streams) {
+                    stream.get();
+                }
+            }
+            return rate(accepted.get(), System.nanoTime() - start);
+        } finally {
+            channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void stream(TransactionStreamServiceGrpc.TransactionStreamServiceStub stub, int count,
+            AtomicLong accepted) throws Exception {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        var requests = (ClientCallStreamObserver<TransactionRequest>) stub.ingestTransactions(
+                new StreamObserver<>() {
+                    @Override
+                    public void onNext(IngestAck ack) {
+                        accepted.addAndGet(ack.getAccepted());
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        done.completeExceptionally(t);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        done.complete(null);
+                    }
+                });
+
+        for (int i = 0; i < count; i++) {
+            // Honour transport flow control instead of buffering the whole stream
+            while (!requests.isReady() && !done.isDone()) {
+                LockSupport.parkNanos(50_000);
+            }
+            requests.onNext(randomRequest());
+        }
+        requests.onCompleted();
+        done.get(5, TimeUnit.MINUTES);
+    }
+
+    private static TransactionRequest randomRequest() {
+        var random = ThreadLocalRandom.current();
+        TransactionType type = TransactionType.forNumber(random.nextInt(1, 4));
+        TransactionCategory category = TransactionCategory.forNumber(random.nextInt(1, 9));
+        // Unique description so creates never collide with the duplicate check
+        return TransactionRequest.newBuilder()
+                .setAmount(BigDecimal.valueOf(random.nextLong(100, 500_000), 2).toPlainString())
+                .setType(type)
+                .setCategory(category)
+                .setDescription("ingest " + UUID.randomUUID())
+                .build();
+    }
+
+    private static int share(int count, int workers, int index) {
+        return count / workers + (index < count % workers ? 1 : 0);
+    }
+
+    private static double rate(long operations, long nanos) {
+        return operations / (nanos / 1e9);
+    }
+}
@@ -0,0 +1,150 @@
+package com.bank.transaction.loadgen;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency Recorder
+ *
+ * Records per-operation latencies in HdrHistograms. Two latencies are kept
+ * for every request:
+ * <ul>
+ * <li>response time, measured from the request's <em>intended</em> start on the
+ * fixed-rate schedule, which corrects for coordinated omission;</li>
+ * <li>service time, measured from when the request was actually sent.</li>
+ * </ul>
+ * Requests dropped at the in-flight limit never get a response; they are
+ * counted as failures of their operation with a response time equal to the
+ * request timeout, so the percentiles still include the requests that would
+ * have waited longest once the service saturates. Latencies are recorded in
+ * microseconds.
+ */
+final class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final long droppedLatencyNanos;
+
+    /**
+     * @param droppedLatencyNanos response time recorded for a request dropped at the in-flight limit
+     */
+    LatencyRecorder(long droppedLatencyNanos) {
+        this.droppedLatencyNanos = droppedLatencyNanos;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    void record(Operation operation, int status, long intendedStartNanos, long sentNanos, long endNanos) {
+        OperationStats operationStats = stats.get(operation);
+        operationStats.responseTime.recordValue(toMicros(endNanos - intendedStartNanos));
+        operationStats.serviceTime.recordValue(toMicros(endNanos - sentNanos));
+        if (status >= 200 && status < 300) {
+            operationStats.success.increment();
+        } else if (status >= 400 && status < 500) {
+            operationStats.clientErrors.increment();
+        } else {
+            operationStats.serverErrors.increment();
+        }
+    }
+
+    void recordFailure(Operation operation, long intendedStartNanos, long endNanos) {
+        OperationStats operationStats = stats.get(operation);
+        operationStats.responseTime.recordValue(toMicros(endNanos - intendedStartNanos));
+        operationStats.failures.increment();
+    }
+
+    void recordDropped(Operation operation) {
+        OperationStats operationStats = stats.get(operation);
+        operationStats.responseTime.recordValue(toMicros(droppedLatencyNanos));
+        operationStats.failures.increment();
+        dropped.increment();
+    }
+
+    void print(PrintStream out, double measuredSeconds, double targetRate) {
+        Histogram allResponse = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        Histogram allService = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        long completed = 0;
+        long successful = 0;
+
+        out.println("========== 开环负载测试结果 ==========");
+        out.printf("目标速率: %.1f req/s, 测量时长: %.1f s%n", targetRate, measuredSeconds);
+        out.printf("%-8s %9s %9s %7s %7s %7s %10s %10s %10s %10s %10s%n",
+                "op", "count", "2xx", "4xx", "5xx", "fail", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats operationStats = entry.getValue();
+            Histogram histogram = operationStats.responseTime;
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            allResponse.add(histogram);
+            allService.add(operationStats.serviceTime);
+            completed += histogram.getTotalCount();
+            successful += operationStats.success.sum();
+            printRow(out, entry.getKey().name().toLowerCase(), operationStats, histogram);
+        }
+        // Dropped requests are in the histograms (and the count/fail columns) but were never sent
+        completed -= dropped.sum();
+        out.println("--------------------------------------");
+        printPercentiles(out, "响应时间 (已校正协调遗漏)", allResponse);
+        printPercentiles(out, "服务时间 (未校正)", allService);
+        out.printf("完成请求: %d, 成功: %d, 丢弃(超出在途上限): %d%n", completed, successful, dropped.sum());
+        out.printf("丢弃的请求计入 fail 列，响应时间按超时 %.0fms 计入百分位; 服务时间不含丢弃的请求%n",
+                millis(toMicros(droppedLatencyNanos)));
+        out.printf("实际吞吐: %.1f req/s (成功 %.1f req/s)%n",
+                completed / measuredSeconds, successful / measuredSeconds);
+        out.println("======================================");
+    }
+
+    private static void printRow(PrintStream out, String name, OperationStats stats, Histogram histogram) {
+        out.printf("%-8s %9d %9d %7d %7d %7d %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                name,
+                histogram.getTotalCount(),
+                stats.success.sum(),
+                stats.clientErrors.sum(),
+                stats.serverErrors.sum(),
+                stats.failures.sum(),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static void printPercentiles(PrintStream out, String label, Histogram histogram) {
+        out.printf("%s: p50=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms%n",
+                label,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 1), HIGHEST_TRACKABLE_MICROS);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000.0;
+    }
+
+    private static final class OperationStats {
+        private final Histogram responseTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final LongAdder success = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+    }
+}
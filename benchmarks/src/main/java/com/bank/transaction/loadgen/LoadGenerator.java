@@ -0,0 +1,243 @@
+package com.bank.transaction.loadgen;
+
+import com.bank.transaction.benchmark.BenchmarkApplication;
+import com.bank.transaction.benchmark.BenchmarkRunner;
+import com.bank.transaction.web.ReactiveReadServer;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-Loop HTTP Load Generator
+ *
+ * Drives the real REST endpoints at a fixed arrival rate, independent of how
+ * quickly the service responds. Every request has an intended start time on
+ * the schedule and runs on its own virtual thread, so a slow response never
+ * delays the requests behind it. Latencies are measured from the intended
+ * start time (correcting for coordinated omission) and recorded in
+ * HdrHistogram; raising {@code --rate} until p99 degrades or throughput stops
+ * following the target reveals the service's saturation point.
+ *
+ * Seeding and writes always go to {@code --url}; reads and lists can be
+ * pointed at a different read path with {@code --read-url} or
+ * {@code --reactive}, so the MVC and WebFlux read paths can be compared with
+ * the same schedule (e.g. {@code --mix read=70,list=30}).
+ *
+ * <pre>
+ * Options:
+ *   --url URL            base URL of a running service (default http://localhost:8080)
+ *   --read-url URL       base URL for read and list requests (default: --url), e.g. the
+ *                        reactive read path on port 8081
+ *   --start-server       start the application in-process on a random port instead
+ *   --reactive           with --start-server, enable the reactive read path and send
+ *                        read and list requests to it
+ *   --rate N             target arrival rate in requests/second (default 200)
+ *   --duration S         measured duration in seconds (default 30)
+ *   --warmup S           warmup duration in seconds, not recorded (default 5)
+ *   --mix SPEC           operation weights (default create=10,read=60,list=20,update=5,delete=5)
+ *   --seed N             transactions created before the run (default 500)
+ *   --page-size N        page size for list requests (default 10)
+ *   --timeout MS         per-request timeout in milliseconds (default 5000)
+ *   --max-in-flight N    requests allowed in flight before new ones are dropped (default 20000);
+ *                        dropped requests are reported as failures with a response time of --timeout
+ * </pre>
+ */
+public final class LoadGenerator {
+
+    private final Options options;
+    private final URI baseUri;
+    private final URI readBaseUri;
+    private final TransactionHttpClient client;
+    private final TransactionHttpClient readClient;
+    private final IdPool idPool = new IdPool(100_000);
+    private final LatencyRecorder recorder;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private LoadGenerator(Options options, URI baseUri, URI readBaseUri) {
+        this.options = options;
+        this.baseUri = baseUri;
+        this.readBaseUri = readBaseUri;
+        this.recorder = new LatencyRecorder(TimeUnit.MILLISECONDS.toNanos(options.timeoutMillis()));
+        this.client = new TransactionHttpClient(baseUri, Duration.ofMillis(options.timeoutMillis()));
+        this.readClient = readBaseUri.equals(baseUri)
+                ? client
+                : new TransactionHttpClient(readBaseUri, Duration.ofMillis(options.timeoutMillis()));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(BenchmarkRunner.splitArguments(args));
+
+        ConfigurableApplicationContext context = null;
+        URI baseUri = URI.create(options.url());
+        URI readBaseUri = options.readUrl() != null ? URI.create(options.readUrl()) : baseUri;
+        if (options.startServer()) {
+            context = options.reactive()
+                    ? BenchmarkApplication.startWeb("app.reactive.enabled=true", "app.reactive.port=0")
+                    : BenchmarkApplication.startWeb();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            baseUri = URI.create("http://localhost:" + port);
+            readBaseUri = options.reactive()
+                    ? URI.create("http://localhost:" + context.getBean(ReactiveReadServer.class).getPort())
+                    : baseUri;
+        }
+
+        try {
+            new LoadGenerator(options, baseUri, readBaseUri).run();
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private void run() throws InterruptedException {
+        System.out.printf("目标: %s, 读取: %s, 速率: %.1f req/s, 预热: %ds, 测量: %ds, 混合: %s%n",
+                baseUri, readBaseUri, options.rate(), options.warmupSeconds(), options.durationSeconds(), options.mix());
+
+        seed();
+
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / options.rate());
+        long startNanos = System.nanoTime();
+        long measureStartNanos = startNanos + TimeUnit.SECONDS.toNanos(options.warmupSeconds());
+        long endNanos = measureStartNanos + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+        SplittableRandom random = new SplittableRandom();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intendedStart = startNanos + i * intervalNanos;
+                if (intendedStart >= endNanos) {
+                    break;
+                }
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                boolean measured = intendedStart >= measureStartNanos;
+                Operation operation = options.mix().next(random);
+                if (inFlight.get() >= options.maxInFlight()) {
+                    // Never sent: count as a failure that took the full timeout, not as a missing sample
+                    if (measured) {
+                        recorder.recordDropped(operation);
+                    }
+                    continue;
+                }
+
+                inFlight.incrementAndGet();
+                executor.execute(() -> {
+                    try {
+                        execute(operation, intendedStart, measured);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+        }
+
+        recorder.print(System.out, options.durationSeconds(), options.rate());
+    }
+
+    private void seed() {
+        for (int i = 0; i < options.seed(); i++) {
+            try {
+                TransactionHttpClient.Result result = client.create();
+                if (result.id() != null) {
+                    idPool.add(result.id());
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to seed transactions at " + baseUri, e);
+            }
+        }
+    }
+
+    private void execute(Operation operation, long intendedStart, boolean measured) {
+        long sent = System.nanoTime();
+        try {
+            TransactionHttpClient.Result result = switch (operation) {
+                case CREATE -> client.create();
+                case READ -> withId(idPool.peek(), readClient::read);
+                case LIST -> readClient.list(0, options.pageSize());
+                case UPDATE -> withId(idPool.peek(), client::update);
+                case DELETE -> withId(idPool.take(), client::delete);
+            };
+            if (result.id() != null) {
+                idPool.add(result.id());
+            }
+            if (measured) {
+                recorder.record(operation, result.status(), intendedStart, sent, System.nanoTime());
+            }
+        } catch (Exception e) {
+            if (measured) {
+                recorder.recordFailure(operation, intendedStart, System.nanoTime());
+            }
+        }
+    }
+
+    private TransactionHttpClient.Result withId(String id, IdRequest request) throws Exception {
+        // Fall back to a list request when no known ID is available
+        return id != null ? request.send(id) : readClient.list(0, options.pageSize());
+    }
+
+    @FunctionalInterface
+    private interface IdRequest {
+        TransactionHttpClient.Result send(String id) throws Exception;
+    }
+
+    /**
+     * Command line options
+     */
+    record Options(String url, String readUrl, boolean startServer, boolean reactive, double rate,
+            int durationSeconds, int warmupSeconds,
+            OperationMix mix, int seed, int pageSize, long timeoutMillis, int maxInFlight) {
+
+        static Options parse(String[] args) {
+            String url = "http://localhost:8080";
+            String readUrl = null;
+            boolean startServer = false;
+            boolean reactive = false;
+            double rate = 200;
+            int duration = 30;
+            int warmup = 5;
+            OperationMix mix = OperationMix.parse("create=10,read=60,list=20,update=5,delete=5");
+            int seed = 500;
+            int pageSize = 10;
+            long timeout = 5_000;
+            int maxInFlight = 20_000;
+
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                switch (arg) {
+                    case "--url" -> url = args[++i];
+                    case "--read-url" -> readUrl = args[++i];
+                    case "--start-server" -> startServer = true;
+                    case "--reactive" -> reactive = true;
+                    case "--rate" -> rate = Double.parseDouble(args[++i]);
+                    case "--duration" -> duration = Integer.parseInt(args[++i]);
+                    case "--warmup" -> warmup = Integer.parseInt(args[++i]);
+                    case "--mix" -> mix = OperationMix.parse(args[++i]);
+                    case "--seed" -> seed = Integer.parseInt(args[++i]);
+                    case "--page-size" -> pageSize = Integer.parseInt(args[++i]);
+                    case "--timeout" -> timeout = Long.parseLong(args[++i]);
+                    case "--max-in-flight" -> maxInFlight = Integer.parseInt(args[++i]);
+                    default -> throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            }
+            if (rate <= 0) {
+                throw new IllegalArgumentException("--rate must be positive");
+            }
+            if (reactive && !startServer) {
+                throw new IllegalArgumentException("--reactive requires --start-server; use --read-url otherwise");
+            }
+            return new Options(url, readUrl, startServer, reactive, rate, duration, warmup, mix, seed, pageSize,
+                    timeout, maxInFlight);
+        }
+    }
+}
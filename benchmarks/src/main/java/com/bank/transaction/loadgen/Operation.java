@@ -0,0 +1,14 @@
+package com.bank.transaction.loadgen;
+
+/**
+ * Load Generator Operation
+ *
+ * The kinds of requests the load generator can issue against the REST API.
+ */
+public enum Operation {
+    CREATE,
+    READ,
+    LIST,
+    UPDATE,
+    DELETE
+}
@@ -0,0 +1,100 @@
+package com.bank.transaction.loadgen;
+
+import com.bank.transaction.enums.TransactionCategory;
+import com.bank.transaction.enums.TransactionType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Transaction HTTP Client
+ *
+ * Thin blocking client for the transaction REST API built on
+ * {@link java.net.http.HttpClient}, intended to be called from virtual threads.
+ */
+final class TransactionHttpClient {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final Duration requestTimeout;
+
+    TransactionHttpClient(URI baseUri, Duration requestTimeout) {
+        this.baseUri = baseUri;
+        this.requestTimeout = requestTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(requestTimeout)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /**
+     * Result of one request
+     *
+     * @param status HTTP status code
+     * @param id     the transaction ID returned by a successful create, otherwise null
+     */
+    record Result(int status, String id) {
+    }
+
+    Result create() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(request("/api/transactions")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(randomBody())));
+        String id = response.statusCode() == 201
+                ? OBJECT_MAPPER.readTree(response.body()).get("id").asText()
+                : null;
+        return new Result(response.statusCode(), id);
+    }
+
+    Result read(String id) throws IOException, InterruptedException {
+        return new Result(send(request("/api/transactions/" + id).GET()).statusCode(), null);
+    }
+
+    Result list(int page, int size) throws IOException, InterruptedException {
+        return new Result(send(request("/api/transactions?page=" + page + "&size=" + size).GET()).statusCode(), null);
+    }
+
+    Result update(String id) throws IOException, InterruptedException {
+        return new Result(send(request("/api/transactions/" + id)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(randomBody()))).statusCode(), null);
+    }
+
+    Result delete(String id) throws IOException, InterruptedException {
+        return new Result(send(request("/api/transactions/" + id).DELETE()).statusCode(), null);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json");
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String randomBody() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        TransactionType type = TransactionType.values()[random.nextInt(TransactionType.values().length)];
+        TransactionCategory category = TransactionCategory.values()[random.nextInt(TransactionCategory.values().length)];
+        BigDecimal amount = BigDecimal.valueOf(random.nextDouble(1, 5_000)).setScale(2, RoundingMode.HALF_UP);
+        // Unique description so creates never collide with the duplicate check
+        return """
+                {"amount":%s,"type":"%s","category":"%s","description":"load %s"}"""
+                .formatted(amount.toPlainString(), type.name(), category.name(), UUID.randomUUID());
+    }
+}
@@ -0,0 +1,51 @@
+package com.bank.transaction.config;
+
+import com.bank.transaction.web.AccessLogEvent;
+import com.bank.transaction.web.AccessLogFilter;
+import com.bank.transaction.web.AccessLogRingBuffer;
+import com.bank.transaction.web.AccessLogWriter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Access Log Configuration
+ *
+ * Wires the asynchronous access log: request threads publish events into a
+ * bounded lock-free ring buffer, and a single background writer drains and
+ * writes them in batches. Disable with {@code app.access-log.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(AccessLogProperties.class)
+@ConditionalOnProperty(prefix = "app.access-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogConfig {
+
+    /**
+     * Outermost of the application's API filters, so it times and logs everything below it
+     */
+    public static final int FILTER_ORDER = Ordered.LOWEST_PRECEDENCE - 100;
+
+    @Bean
+    public AccessLogRingBuffer<AccessLogEvent> accessLogRingBuffer(AccessLogProperties properties) {
+        return new AccessLogRingBuffer<>(properties.getBufferCapacity());
+    }
+
+    @Bean
+    public AccessLogWriter accessLogWriter(AccessLogRingBuffer<AccessLogEvent> accessLogRingBuffer,
+            AccessLogProperties properties) {
+        return new AccessLogWriter(accessLogRingBuffer, properties);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AccessLogFilter> accessLogFilter(
+            AccessLogRingBuffer<AccessLogEvent> accessLogRingBuffer, AccessLogProperties properties) {
+        FilterRegistrationBean<AccessLogFilter> registration = new FilterRegistrationBean<>(
+                new AccessLogFilter(accessLogRingBuffer, properties));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(FILTER_ORDER);
+        return registration;
+    }
+}
@@ -0,0 +1,53 @@
+package com.bank.transaction.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Access Log Properties
+ *
+ * Settings for the asynchronous, sampled access log ({@code app.access-log.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.access-log")
+public class AccessLogProperties {
+
+    /**
+     * Whether the access log filter is registered
+     */
+    private boolean enabled = true;
+
+    /**
+     * Capacity of the ring buffer between request threads and the writer
+     */
+    private int bufferCapacity = 8192;
+
+    /**
+     * Maximum number of events the writer drains per batch
+     */
+    private int batchSize = 256;
+
+    /**
+     * How long the writer sleeps when the buffer is empty
+     */
+    private long idleSleepMillis = 10;
+
+    /**
+     * Sampling rate (0.0 - 1.0) for endpoints without an explicit rate
+     */
+    private double defaultSampleRate = 1.0;
+
+    /**
+     * Per-endpoint sampling rates keyed by {@code METHOD pattern},
+     * e.g. {@code "[GET /api/transactions/{id}]": 0.01}
+     */
+    private Map<String, Double> sampleRates = new HashMap<>();
+
+    /**
+     * Requests slower than this are always logged, regardless of sampling
+     */
+    private long slowThresholdMillis = 500;
+}
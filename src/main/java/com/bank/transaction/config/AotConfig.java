@@ -0,0 +1,166 @@
+package com.bank.transaction.config;
+
+import com.bank.transaction.dto.AccountBalanceResponse;
+import com.bank.transaction.dto.ErrorResponse;
+import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionChangeResponse;
+import com.bank.transaction.dto.TransactionChangesResponse;
+import com.bank.transaction.dto.TransactionRequest;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.entity.Account;
+import com.bank.transaction.entity.LedgerHold;
+import com.bank.transaction.entity.PendingCredit;
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.entity.TransactionTombstone;
+import com.bank.transaction.enums.TransactionCategory;
+import com.bank.transaction.enums.TransactionSort;
+import com.bank.transaction.enums.TransactionType;
+import org.apache.ibatis.cache.decorators.LruCache;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.logging.slf4j.Slf4jImpl;
+import org.apache.ibatis.scripting.defaults.RawLanguageDriver;
+import org.apache.ibatis.scripting.xmltags.XMLLanguageDriver;
+import org.mybatis.spring.mapper.MapperFactoryBean;
+import org.mybatis.spring.mapper.MapperScannerConfigurer;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.aot.BeanRegistrationExcludeFilter;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.MergedBeanDefinitionPostProcessor;
+import org.springframework.beans.factory.support.RegisteredBean;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.ResolvableType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * AOT Configuration
+ *
+ * Makes the application work when its bean definitions are generated ahead
+ * of time (the {@code fast-startup} profile, JVM with
+ * {@code -Dspring.aot.enabled=true}) and when it is compiled to a GraalVM
+ * native image (the {@code native} profile).
+ *
+ * MyBatis registers a mapper scanner that would register every mapper a
+ * second time next to the pre-generated definitions, so it is left out of
+ * AOT processing; the mappers are used through JDK proxies and map rows onto
+ * the entities reflectively, which the native image has to be told about.
+ * JSON request and response records are registered for Jackson binding.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(AotConfig.ApplicationRuntimeHints.class)
+@RegisterReflectionForBinding({TransactionRequest.class, TransactionResponse.class, PageResponse.class,
+        ErrorResponse.class, AccountBalanceResponse.class, TransactionChangeResponse.class,
+        TransactionChangesResponse.class})
+public class AotConfig {
+
+    @Bean
+    static MyBatisMapperAotProcessor myBatisMapperAotProcessor() {
+        return new MyBatisMapperAotProcessor();
+    }
+
+    @Bean
+    static MapperFactoryBeanTypeResolver mapperFactoryBeanTypeResolver() {
+        return new MapperFactoryBeanTypeResolver();
+    }
+
+    /**
+     * Hints for MyBatis internals, entities and resources
+     */
+    static class ApplicationRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Instantiated by class name from the MyBatis configuration
+            for (Class<?> type : List.of(RawLanguageDriver.class, XMLLanguageDriver.class, Slf4jImpl.class,
+                    PerpetualCache.class, LruCache.class, ArrayList.class)) {
+                hints.reflection().registerType(type, MemberCategory.values());
+            }
+            // Result mapping uses constructors and setters; enum columns use valueOf;
+            // sorted list statements read the SQL fragments of TransactionSort through its getters
+            for (Class<?> type : List.of(Transaction.class, Account.class, TransactionTombstone.class,
+                    PendingCredit.class, LedgerHold.class,
+                    TransactionType.class, TransactionCategory.class, TransactionSort.class)) {
+                hints.reflection().registerType(type, MemberCategory.values());
+            }
+            // DeadlineStatementInterceptor wraps statement handlers in a JDK proxy
+            hints.proxies().registerJdkProxy(StatementHandler.class);
+
+            hints.resources().registerPattern("org/apache/ibatis/builder/xml/*.dtd");
+            hints.resources().registerPattern("schema.sql");
+            hints.resources().registerPattern("templates/*");
+            hints.resources().registerPattern("static/**");
+        }
+    }
+
+    /**
+     * Keeps the MyBatis mapper scanner out of the generated bean definitions
+     * and registers proxy hints for every scanned mapper
+     */
+    static class MyBatisMapperAotProcessor implements BeanFactoryInitializationAotProcessor,
+            BeanRegistrationExcludeFilter {
+
+        @Override
+        public boolean isExcludedFromAotProcessing(RegisteredBean registeredBean) {
+            return MapperScannerConfigurer.class.equals(registeredBean.getBeanClass());
+        }
+
+        @Override
+        public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+            List<Class<?>> mappers = new ArrayList<>();
+            for (String factoryName : beanFactory.getBeanNamesForType(MapperFactoryBean.class, false, false)) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(factoryName.substring(1));
+                PropertyValue mapperInterface = definition.getPropertyValues().getPropertyValue("mapperInterface");
+                if (mapperInterface != null && mapperInterface.getValue() instanceof Class<?> type) {
+                    mappers.add(type);
+                }
+            }
+            if (mappers.isEmpty()) {
+                return null;
+            }
+            return (context, code) -> {
+                RuntimeHints hints = context.getRuntimeHints();
+                for (Class<?> mapper : mappers) {
+                    hints.proxies().registerJdkProxy(mapper);
+                    hints.reflection().registerType(mapper, MemberCategory.INVOKE_PUBLIC_METHODS);
+                }
+            };
+        }
+    }
+
+    /**
+     * Gives scanned mapper factory beans their mapper interface as a typed
+     * constructor argument. The scanner passes the interface name, which the
+     * generated instance supplier would otherwise try to autowire as a
+     * {@code Class} bean.
+     */
+    static class MapperFactoryBeanTypeResolver implements MergedBeanDefinitionPostProcessor {
+
+        @Override
+        public void postProcessMergedBeanDefinition(RootBeanDefinition beanDefinition, Class<?> beanType,
+                String beanName) {
+            if (!MapperFactoryBean.class.isAssignableFrom(beanType)) {
+                return;
+            }
+            PropertyValue mapperInterface = beanDefinition.getPropertyValues().getPropertyValue("mapperInterface");
+            if (mapperInterface != null && mapperInterface.getValue() instanceof Class<?> type) {
+                ConstructorArgumentValues arguments = new ConstructorArgumentValues();
+                arguments.addGenericArgumentValue(type);
+                beanDefinition.setConstructorArgumentValues(arguments);
+                beanDefinition.setTargetType(ResolvableType.forClassWithGenerics(MapperFactoryBean.class, type));
+            }
+        }
+    }
+}
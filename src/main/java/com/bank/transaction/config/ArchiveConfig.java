@@ -0,0 +1,45 @@
+package com.bank.transaction.config;
+
+import com.bank.transaction.service.TransactionTieringJob;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.time.Duration;
+
+/**
+ * Archive Configuration
+ *
+ * Binds {@link ArchiveProperties} for the transaction archive, and schedules
+ * the tiering job every {@code app.archive.run-interval} when
+ * {@code app.archive.enabled=true}.
+ */
+@Configuration
+@EnableConfigurationProperties(ArchiveProperties.class)
+public class ArchiveConfig {
+
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "app.archive", name = "enabled", havingValue = "true")
+    static class TieringSchedulingConfig implements SchedulingConfigurer {
+
+        private final TransactionTieringJob tieringJob;
+        private final ArchiveProperties properties;
+
+        TieringSchedulingConfig(TransactionTieringJob tieringJob, ArchiveProperties properties) {
+            this.tieringJob = tieringJob;
+            this.properties = properties;
+        }
+
+        @Override
+        public void configureTasks(ScheduledTaskRegistrar registrar) {
+            // Registered here rather than with @Scheduled so run-interval accepts the same formats as other durations
+            Duration interval = properties.getRunInterval();
+            registrar.addFixedDelayTask(new FixedDelayTask(tieringJob::run, interval, interval));
+        }
+    }
+}
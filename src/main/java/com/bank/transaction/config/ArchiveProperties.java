@@ -0,0 +1,46 @@
+package com.bank.transaction.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Archive Properties
+ *
+ * Settings for hot/cold tiering of transactions ({@code app.archive.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.archive")
+public class ArchiveProperties {
+
+    /**
+     * Whether old transactions are moved to the archive
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory holding the archive segments
+     */
+    private String directory = "data/archive";
+
+    /**
+     * Transactions older than this are archived
+     */
+    private Duration maxAge = Duration.ofDays(90);
+
+    /**
+     * Delay between the end of one tiering run and the start of the next
+     */
+    private Duration runInterval = Duration.ofHours(1);
+
+    /**
+     * Transactions per segment file; larger months are split into several segments
+     */
+    private int segmentMaxRecords = 100_000;
+
+    /**
+     * Transactions per compressed block, i.e. per sparse index entry
+     */
+    private int blockRecords = 256;
+}
@@ -1,7 +1,13 @@
 package com.bank.transaction.config;
 
+import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.web.IdempotencyKeyStore;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
@@ -22,6 +28,8 @@ public class CacheConfig {
 
     public static final String TRANSACTION_CACHE = "transactions";
     public static final String TRANSACTION_LIST_CACHE = "transactionList";
+    public static final String TRANSACTION_BYTES_CACHE = "transactionBytes";
+    public static final String TRANSACTION_LIST_BYTES_CACHE = "transactionListBytes";
 
     @Value("${app.cache.transaction.max-size:1000}")
     private int maxSize;
@@ -35,19 +43,94 @@ public class CacheConfig {
     @Value("${app.cache.transaction-list.expire-after-write-seconds:60}")
     private int listCacheExpireSeconds;
 
+    @Value("${app.cache.dictionary-encoding.enabled:true}")
+    private boolean dictionaryEncoding;
+
+    @Value("${app.idempotency.max-size:10000}")
+    private int idempotencyMaxSize;
+
+    @Value("${app.idempotency.expire-after-write-seconds:86400}")
+    private int idempotencyExpireSeconds;
+
+    /**
+     * Shared dictionary for transaction descriptions held in memory
+     */
+    @Bean
+    public DescriptionDictionary descriptionDictionary() {
+        return new DescriptionDictionary();
+    }
+
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    public CacheManager cacheManager(DescriptionDictionary descriptionDictionary) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                if (dictionaryEncoding && (TRANSACTION_CACHE.equals(name) || TRANSACTION_LIST_CACHE.equals(name))) {
+                    return new DictionaryEncodedCache(name, cache, descriptionDictionary, isAllowNullValues());
+                }
+                return super.adaptCaffeineCache(name, cache);
+            }
+        };
 
         // Register caches with different configurations
         cacheManager.registerCustomCache(TRANSACTION_CACHE,
-                buildTransactionCache().build());
+                encoded(buildTransactionCache(), descriptionDictionary).build());
         cacheManager.registerCustomCache(TRANSACTION_LIST_CACHE,
+                encoded(buildListCache(), descriptionDictionary).build());
+
+        // Encoded response bodies share the sizing and TTL of the caches they mirror
+        cacheManager.registerCustomCache(TRANSACTION_BYTES_CACHE,
+                buildTransactionCache().build());
+        cacheManager.registerCustomCache(TRANSACTION_LIST_BYTES_CACHE,
                 buildListCache().build());
 
         return cacheManager;
     }
 
+    /**
+     * Async cache for the reactive read path. Holds in-flight loads as futures,
+     * so concurrent misses for the same key share one query.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+    public AsyncCache<String, TransactionResponse> reactiveTransactionCache() {
+        return buildTransactionCache().buildAsync();
+    }
+
+    /**
+     * Async page cache for the reactive read path
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+    public AsyncCache<String, PageResponse<TransactionResponse>> reactiveTransactionListCache() {
+        return buildListCache().buildAsync();
+    }
+
+    /**
+     * Idempotency-Key records for transaction creation. Bounded so a client
+     * generating a fresh key per request cannot grow it without limit.
+     */
+    @Bean
+    public Cache<String, IdempotencyKeyStore.Entry> idempotencyCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(idempotencyMaxSize)
+                .expireAfterWrite(idempotencyExpireSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Release dictionary codes as entries leave a dictionary-encoded cache.
+     * Runs on the removing thread so codes are released promptly.
+     */
+    private Caffeine<Object, Object> encoded(Caffeine<Object, Object> builder, DescriptionDictionary dictionary) {
+        if (!dictionaryEncoding) {
+            return builder;
+        }
+        return builder.executor(Runnable::run)
+                .removalListener(DictionaryEncodedCache.releaseListener(dictionary));
+    }
+
     /**
      * Cache configuration for individual transactions.
      * Longer TTL since individual records change less frequently.
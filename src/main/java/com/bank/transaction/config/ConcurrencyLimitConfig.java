@@ -0,0 +1,77 @@
+package com.bank.transaction.config;
+
+import com.bank.transaction.web.AdaptiveConcurrencyLimiter;
+import com.bank.transaction.web.ConcurrencyLimitFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Concurrency Limit Configuration
+ *
+ * Wires separate adaptive read and write bulkheads in front of {@code /api/*}
+ * and exports their limits as metrics ({@code transaction.concurrency.limit},
+ * {@code .in-flight} and {@code .rejected}, tagged by {@code bulkhead}).
+ * Disable with {@code app.concurrency-limit.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(prefix = "app.concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    /**
+     * Runs inside the access log filter, so shed requests are still logged
+     */
+    public static final int FILTER_ORDER = AccessLogConfig.FILTER_ORDER + 1;
+
+    @Bean
+    public AdaptiveConcurrencyLimiter readConcurrencyLimiter(ConcurrencyLimitProperties properties,
+            MeterRegistry meterRegistry) {
+        return register(limiter("read", properties.getRead()), meterRegistry);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter writeConcurrencyLimiter(ConcurrencyLimitProperties properties,
+            MeterRegistry meterRegistry) {
+        return register(limiter("write", properties.getWrite()), meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            AdaptiveConcurrencyLimiter readConcurrencyLimiter, AdaptiveConcurrencyLimiter writeConcurrencyLimiter,
+            ObjectMapper objectMapper, ConcurrencyLimitProperties properties) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(readConcurrencyLimiter, writeConcurrencyLimiter, objectMapper,
+                        properties.getRetryAfterSeconds()));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(FILTER_ORDER);
+        return registration;
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(String name, ConcurrencyLimitProperties.Bulkhead bulkhead) {
+        return new AdaptiveConcurrencyLimiter(name, bulkhead.getInitialLimit(), bulkhead.getMinLimit(),
+                bulkhead.getMaxLimit(), bulkhead.getLatencyThresholdMillis(), bulkhead.getBackoffRatio());
+    }
+
+    private static AdaptiveConcurrencyLimiter register(AdaptiveConcurrencyLimiter limiter, MeterRegistry registry) {
+        Gauge.builder("transaction.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("bulkhead", limiter.getName())
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+        Gauge.builder("transaction.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("bulkhead", limiter.getName())
+                .description("Requests currently admitted")
+                .register(registry);
+        FunctionCounter.builder("transaction.concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                .tag("bulkhead", limiter.getName())
+                .description("Requests rejected with 503 because the limit was reached")
+                .register(registry);
+        return limiter;
+    }
+}
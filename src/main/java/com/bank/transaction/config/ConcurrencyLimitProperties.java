@@ -0,0 +1,71 @@
+package com.bank.transaction.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Concurrency Limit Properties
+ *
+ * Settings for adaptive admission control ({@code app.concurrency-limit.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    /**
+     * Whether the concurrency limit filter is registered
+     */
+    private boolean enabled = true;
+
+    /**
+     * Value of the Retry-After header on rejected requests
+     */
+    private int retryAfterSeconds = 1;
+
+    /**
+     * Bulkhead for GET and HEAD requests
+     */
+    private Bulkhead read = new Bulkhead(100, 50);
+
+    /**
+     * Bulkhead for POST, PUT and DELETE requests
+     */
+    private Bulkhead write = new Bulkhead(50, 200);
+
+    @Data
+    public static class Bulkhead {
+
+        /**
+         * Concurrency limit before any latency has been observed
+         */
+        private int initialLimit;
+
+        /**
+         * The limit never shrinks below this
+         */
+        private int minLimit = 4;
+
+        /**
+         * The limit never grows above this
+         */
+        private int maxLimit = 1000;
+
+        /**
+         * Requests slower than this shrink the limit
+         */
+        private long latencyThresholdMillis;
+
+        /**
+         * Factor applied to the limit on a slow or failed request
+         */
+        private double backoffRatio = 0.9;
+
+        public Bulkhead() {
+        }
+
+        Bulkhead(int initialLimit, long latencyThresholdMillis) {
+            this.initialLimit = initialLimit;
+            this.latencyThresholdMillis = latencyThresholdMillis;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.bank.transaction.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Content Negotiation Configuration
+ *
+ * Registers Jackson Smile and CBOR message converters so internal services can
+ * exchange transactions in a compact binary form by sending
+ * {@code Accept: application/x-jackson-smile} or {@code Accept: application/cbor}
+ * (and the matching Content-Type on request bodies).
+ *
+ * The converters are built from Spring Boot's customized
+ * {@link Jackson2ObjectMapperBuilder}, so they share the JSON mapper's modules
+ * and features. Spring Boot keeps them behind the JSON converter, so browsers
+ * and wildcard {@code Accept} headers still get JSON.
+ */
+@Configuration
+public class ContentNegotiationConfig {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+    public static final MediaType APPLICATION_CBOR = MediaType.APPLICATION_CBOR;
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(
+                builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(
+                builder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,32 @@
+package com.bank.transaction.config;
+
+import com.bank.transaction.web.RequestDeadlineInterceptor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Deadline Configuration
+ *
+ * Gives every {@code /api/**} request a deadline that bounds its database
+ * statements (see {@code DeadlineStatementInterceptor}). Disable with
+ * {@code app.deadline.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(DeadlineProperties.class)
+@ConditionalOnProperty(prefix = "app.deadline", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DeadlineConfig implements WebMvcConfigurer {
+
+    private final DeadlineProperties properties;
+
+    public DeadlineConfig(DeadlineProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestDeadlineInterceptor(properties)).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,48 @@
+package com.bank.transaction.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Deadline Properties
+ *
+ * Settings for request deadlines ({@code app.deadline.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.deadline")
+public class DeadlineProperties {
+
+    /**
+     * Whether API requests get a deadline
+     */
+    private boolean enabled = true;
+
+    /**
+     * Request header carrying the client's remaining time budget in milliseconds
+     */
+    private String header = "X-Request-Timeout-Ms";
+
+    /**
+     * Deadline for GET and HEAD requests without a header or endpoint override
+     */
+    private long readTimeoutMillis = 2000;
+
+    /**
+     * Deadline for other requests without a header or endpoint override
+     */
+    private long writeTimeoutMillis = 5000;
+
+    /**
+     * Upper bound for client-supplied budgets
+     */
+    private long maxTimeoutMillis = 30000;
+
+    /**
+     * Per-endpoint defaults keyed by {@code METHOD pattern},
+     * e.g. {@code "[GET /api/transactions/changes]": 10000}
+     */
+    private Map<String, Long> timeouts = new HashMap<>();
+}
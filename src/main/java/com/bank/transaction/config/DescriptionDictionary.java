@@ -0,0 +1,141 @@
+package com.bank.transaction.config;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Description Dictionary
+ *
+ * Concurrent dictionary encoder for transaction descriptions. Descriptions
+ * repeat heavily ("Monthly rent", "Payroll ACME"), so in-memory layers store
+ * an {@code int} code per transaction instead of their own {@code String}
+ * copy, and every decoded value is the one canonical instance held here.
+ *
+ * Entries are reference counted: each {@link #encode} retains the entry and
+ * each {@link #release} gives it back. An entry whose count drops to zero is
+ * removed at once, so the dictionary only holds strings that something still
+ * refers to. Codes are never handed out twice while their entry lives, and a
+ * released code is not reused until the counter wraps, so a stale code
+ * decodes to {@code null} rather than to another string.
+ */
+public final class DescriptionDictionary {
+
+    /**
+     * Code of a {@code null} description; never retained or released
+     */
+    public static final int NULL_CODE = -1;
+
+    private final ConcurrentHashMap<String, Entry> byValue = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Entry> byCode = new ConcurrentHashMap<>();
+    private final AtomicInteger nextCode = new AtomicInteger();
+
+    /**
+     * Get the code of a description, adding it if needed, and retain it
+     *
+     * @param value the description
+     * @return its code; must be given back with {@link #release}
+     */
+    public int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        while (true) {
+            Entry entry = byValue.get(value);
+            if (entry != null) {
+                if (entry.retain()) {
+                    return entry.code;
+                }
+                // Released to zero by another thread; drop it and add a fresh entry
+                byValue.remove(value, entry);
+                continue;
+            }
+            Entry created = newEntry(value);
+            if (byValue.putIfAbsent(value, created) == null) {
+                return created.code;
+            }
+            byCode.remove(created.code, created);
+        }
+    }
+
+    /**
+     * Get the description for a code
+     *
+     * @param code a code returned by {@link #encode}
+     * @return the canonical description, or {@code null} for {@link #NULL_CODE}
+     *         or a code that has already been released
+     */
+    public String decode(int code) {
+        if (code == NULL_CODE) {
+            return null;
+        }
+        Entry entry = byCode.get(code);
+        return entry != null ? entry.value : null;
+    }
+
+    /**
+     * Give back a code retained by {@link #encode}
+     *
+     * @param code the code
+     */
+    public void release(int code) {
+        if (code == NULL_CODE) {
+            return;
+        }
+        Entry entry = byCode.get(code);
+        if (entry != null && entry.release()) {
+            byValue.remove(entry.value, entry);
+            byCode.remove(code, entry);
+        }
+    }
+
+    /**
+     * Number of distinct descriptions currently held
+     */
+    public int size() {
+        return byCode.size();
+    }
+
+    private Entry newEntry(String value) {
+        while (true) {
+            Entry entry = new Entry(nextCode.getAndIncrement() & Integer.MAX_VALUE, value);
+            if (byCode.putIfAbsent(entry.code, entry) == null) {
+                return entry;
+            }
+        }
+    }
+
+    /**
+     * A description and the number of holders of its code
+     */
+    private static final class Entry {
+
+        private final int code;
+        private final String value;
+
+        // Zero means released; a released entry cannot be retained again
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        Entry(int code, String value) {
+            this.code = code;
+            this.value = value;
+        }
+
+        boolean retain() {
+            int current;
+            do {
+                current = references.get();
+                if (current == 0) {
+                    return false;
+                }
+            } while (!references.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        /**
+         * @return true if this was the last reference
+         */
+        boolean release() {
+            return references.decrementAndGet() == 0;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.bank.transaction.config;
+
+import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.enums.TransactionCategory;
+import com.bank.transaction.enums.TransactionType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.RemovalListener;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dictionary Encoded Cache
+ *
+ * {@link CaffeineCache} that stores {@link TransactionResponse}s, and pages of
+ * them, in a compact form: the description is replaced by its
+ * {@link DescriptionDictionary} code and the display names, which are
+ * derived from the enums, are dropped. Values are rebuilt on every hit, with
+ * the dictionary's canonical description instance.
+ *
+ * The native cache must be built with {@link #releaseListener} so codes are
+ * given back when entries are replaced, evicted or expire. A hit racing with
+ * the removal of its entry may find a code already released; it is treated
+ * as a miss.
+ */
+public class DictionaryEncodedCache extends CaffeineCache {
+
+    private final DescriptionDictionary dictionary;
+
+    public DictionaryEncodedCache(String name, Cache<Object, Object> cache, DescriptionDictionary dictionary,
+            boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Removal listener that releases the codes held by removed entries
+     *
+     * @param dictionary the dictionary the cache encodes with
+     * @return the listener to register on the native cache
+     */
+    public static RemovalListener<Object, Object> releaseListener(DescriptionDictionary dictionary) {
+        return (key, value, cause) -> {
+            if (value instanceof EncodedTransaction transaction) {
+                dictionary.release(transaction.description());
+            } else if (value instanceof EncodedPage page) {
+                for (EncodedTransaction transaction : page.content()) {
+                    dictionary.release(transaction.description());
+                }
+            }
+        };
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object stored = super.lookup(key);
+        // A value whose codes were released in the meantime decodes to null, i.e. a miss
+        return isEncoded(stored) ? decode(stored) : stored;
+    }
+
+    @Override
+    protected Object toStoreValue(Object userValue) {
+        if (userValue instanceof TransactionResponse transaction) {
+            return encode(transaction);
+        }
+        if (userValue instanceof PageResponse<?> page && isTransactionPage(page)) {
+            List<?> content = page.content();
+            EncodedTransaction[] encoded = new EncodedTransaction[content.size()];
+            for (int i = 0; i < encoded.length; i++) {
+                encoded[i] = encode((TransactionResponse) content.get(i));
+            }
+            return new EncodedPage(encoded, page.page(), page.size(), page.totalElements(), page.totalPages(),
+                    page.first(), page.last(), page.nextCursor());
+        }
+        return super.toStoreValue(userValue);
+    }
+
+    @Override
+    protected Object fromStoreValue(Object storeValue) {
+        return super.fromStoreValue(isEncoded(storeValue) ? decode(storeValue) : storeValue);
+    }
+
+    private static boolean isEncoded(Object storeValue) {
+        return storeValue instanceof EncodedTransaction || storeValue instanceof EncodedPage;
+    }
+
+    private static boolean isTransactionPage(PageResponse<?> page) {
+        for (Object item : page.content()) {
+            if (!(item instanceof TransactionResponse)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private EncodedTransaction encode(TransactionResponse transaction) {
+        return new EncodedTransaction(transaction.id(), transaction.amount(), transaction.type(),
+                transaction.category(), dictionary.encode(transaction.description()), transaction.timestamp(),
+                transaction.sourceAccountId(), transaction.targetAccountId());
+    }
+
+    private Object decode(Object storeValue) {
+        if (storeValue instanceof EncodedTransaction transaction) {
+            return decode(transaction);
+        }
+        EncodedPage page = (EncodedPage) storeValue;
+        List<TransactionResponse> content = new ArrayList<>(page.content().length);
+        for (EncodedTransaction transaction : page.content()) {
+            TransactionResponse decoded = decode(transaction);
+            if (decoded == null) {
+                return null;
+            }
+            content.add(decoded);
+        }
+        return new PageResponse<>(content, page.page(), page.size(), page.totalElements(), page.totalPages(),
+                page.first(), page.last(), page.nextCursor(), null);
+    }
+
+    private TransactionResponse decode(EncodedTransaction transaction) {
+        String description = dictionary.decode(transaction.description());
+        if (description == null && transaction.description() != DescriptionDictionary.NULL_CODE) {
+            return null;
+        }
+        TransactionType type = transaction.type();
+        TransactionCategory category = transaction.category();
+        return new TransactionResponse(transaction.id(), transaction.amount(), type,
+                type != null ? type.getDisplayName() : null, category,
+                category != null ? category.getDisplayName() : null, description, transaction.timestamp(),
+                transaction.sourceAccountId(), transaction.targetAccountId());
+    }
+
+    /**
+     * Stored form of a {@link TransactionResponse}
+     */
+    private record EncodedTransaction(String id, BigDecimal amount, TransactionType type,
+            TransactionCategory category, int description, LocalDateTime timestamp,
+            String sourceAccountId, String targetAccountId) {
+    }
+
+    /**
+     * Stored form of a page of {@link TransactionResponse}s
+     */
+    private record EncodedPage(EncodedTransaction[] content, int page, int size, long totalElements,
+            int totalPages, boolean first, boolean last, String nextCursor) {
+    }
+}
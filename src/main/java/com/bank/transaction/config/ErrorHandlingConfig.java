@@ -0,0 +1,21 @@
+package com.bank.transaction.config;
+
+import com.bank.transaction.exception.TransactionException;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Error Handling Configuration
+ *
+ * Applies {@code app.errors.stack-traces}. Business exceptions are created
+ * with plain constructors all over the code, so the setting is process-wide
+ * rather than injected.
+ */
+@Configuration
+@EnableConfigurationProperties(ErrorHandlingProperties.class)
+public class ErrorHandlingConfig {
+
+    public ErrorHandlingConfig(ErrorHandlingProperties properties) {
+        TransactionException.setStackTraces(properties.isStackTraces());
+    }
+}
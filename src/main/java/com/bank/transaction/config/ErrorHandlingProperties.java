@@ -0,0 +1,24 @@
+package com.bank.transaction.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Error Handling Properties
+ *
+ * Settings for business errors ({@code app.errors.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.errors")
+public class ErrorHandlingProperties {
+
+    /**
+     * Whether business exceptions (not found, duplicate, ...) record stack traces
+     */
+    private boolean stackTraces = false;
+
+    /**
+     * Log lines per error code and second; further errors are only counted (0 logs every error)
+     */
+    private int logMaxPerSecond = 10;
+}
@@ -0,0 +1,52 @@
+package com.bank.transaction.config;
+
+import com.bank.transaction.grpc.TransactionGrpcServer;
+import com.bank.transaction.grpc.TransactionGrpcService;
+import io.grpc.ServerBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * gRPC Server Configuration
+ *
+ * Exposes {@link TransactionGrpcService} on a Netty HTTP/2 server
+ * ({@code app.grpc.port}), or on an in-process transport when
+ * {@code app.grpc.in-process-name} is set (tests and in-process benchmarks).
+ * Calls run on virtual threads, like the servlet container's requests.
+ * Enable with {@code app.grpc.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.grpc", name = "enabled", havingValue = "true")
+public class GrpcServerConfig {
+
+    @Value("${app.grpc.port:9090}")
+    private int port;
+
+    @Value("${app.grpc.in-process-name:}")
+    private String inProcessName;
+
+    @Value("${app.grpc.max-inbound-message-bytes:4194304}")
+    private int maxInboundMessageBytes;
+
+    @Bean
+    public TransactionGrpcServer transactionGrpcServer(TransactionGrpcService transactionGrpcService) {
+        // Not a bean: an Executor bean would replace Boot's applicationTaskExecutor
+        ExecutorService grpcExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        boolean inProcess = !inProcessName.isBlank();
+        ServerBuilder<?> builder = inProcess
+                ? InProcessServerBuilder.forName(inProcessName)
+                : NettyServerBuilder.forPort(port);
+        builder.addService(transactionGrpcService)
+                .executor(grpcExecutor)
+                .maxInboundMessageSize(maxInboundMessageBytes);
+        return new TransactionGrpcServer(builder.build(), grpcExecutor,
+                inProcess ? "in-process " + inProcessName : "port");
+    }
+}
@@ -0,0 +1,23 @@
+package com.bank.transaction.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson Configuration
+ *
+ * Registers {@link TransactionJsonModule}. Spring Boot adds Module beans to
+ * its {@link org.springframework.http.converter.json.Jackson2ObjectMapperBuilder},
+ * so the JSON, Smile and CBOR converters, the encoded response cache and the
+ * reactive read path all use the hand-written serializers.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.json", name = "fast-serializers", havingValue = "true", matchIfMissing = true)
+public class JacksonConfig {
+
+    @Bean
+    public TransactionJsonModule transactionJsonModule() {
+        return new TransactionJsonModule();
+    }
+}
@@ -0,0 +1,84 @@
+package com.bank.transaction.config;
+
+import com.bank.transaction.controller.ReactiveTransactionHandler;
+import com.bank.transaction.web.ReactiveReadServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RequestPredicate;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.headers;
+
+/**
+ * Reactive Web Configuration
+ *
+ * Optional non-blocking read path: {@code GET /api/transactions} and
+ * {@code GET /api/transactions/{id}} served by WebFlux functional endpoints on
+ * a separate Reactor Netty port, backed by R2DBC and async caches. Writes stay
+ * on the servlet API. Enable with {@code app.reactive.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+public class ReactiveWebConfig {
+
+    @Value("${app.reactive.host:0.0.0.0}")
+    private String host;
+
+    @Value("${app.reactive.port:8081}")
+    private int port;
+
+    @Value("${app.reactive.db-threads:16}")
+    private int dbThreads;
+
+    /**
+     * Scheduler the R2DBC H2 driver runs on (it executes queries on the subscribing thread)
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler r2dbcScheduler() {
+        return Schedulers.newBoundedElastic(dbThreads, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "r2dbc-h2");
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveTransactionRoutes(ReactiveTransactionHandler handler) {
+        return RouterFunctions.route()
+                .path("/api/transactions", builder -> builder
+                        .GET("/{id}", handler::getTransaction)
+                        .GET("", acceptsNdjson(), handler::streamTransactions)
+                        .GET("", handler::getAllTransactions))
+                .build();
+    }
+
+    /**
+     * Only an explicit NDJSON Accept header selects streaming; {@code RequestPredicates.accept}
+     * would also match a missing or wildcard header
+     */
+    private static RequestPredicate acceptsNdjson() {
+        return headers(headers -> headers.accept().stream()
+                .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype));
+    }
+
+    @Bean
+    public ReactiveReadServer reactiveReadServer(RouterFunction<ServerResponse> reactiveTransactionRoutes,
+            ObjectMapper objectMapper) {
+        // Share the MVC ObjectMapper so both read paths produce identical JSON
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        return new ReactiveReadServer(
+                RouterFunctions.toHttpHandler(reactiveTransactionRoutes, strategies), host, port);
+    }
+}
@@ -0,0 +1,181 @@
+package com.bank.transaction.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.ContentVersionStrategy;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.util.List;
+
+/**
+ * Static Assets Configuration
+ *
+ * Serves {@code static/} in place of Spring Boot's default mapping
+ * ({@code spring.web.resources.add-mappings=false}):
+ * - templates link assets through {@code @{...}}, which the
+ *   {@link ResourceUrlEncodingFilter} rewrites to fingerprinted URLs such as
+ *   {@code /css/style-<md5>.css}
+ * - fingerprinted URLs are {@code Cache-Control: public, immutable} for
+ *   {@code app.static-assets.max-age}, since new content means a new URL
+ * - plain URLs ({@code /css/style.css}, favicon requests) keep the same URL
+ *   across deploys, so they are {@code no-cache} with a content-hash ETag:
+ *   clients revalidate every time and get a 304 until the content changes
+ * - the {@code .br} / {@code .gz} variants written next to each asset at
+ *   build time (see {@code pom.xml}) are served to clients that accept them,
+ *   so nothing is compressed per request
+ */
+@Configuration
+@EnableConfigurationProperties(StaticAssetsProperties.class)
+public class StaticAssetsConfig implements WebMvcConfigurer {
+
+    private final StaticAssetsProperties properties;
+
+    public StaticAssetsConfig(StaticAssetsProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        ContentVersionStrategy contentHash = new ContentVersionStrategy();
+        registry.addResourceHandler("/**")
+                .addResourceLocations("classpath:/static/")
+                .setCacheControl(CacheControl.noCache())
+                .setEtagGenerator(contentHash::getResourceVersion)
+                .resourceChain(properties.isCache())
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new ImmutableVersionResourceResolver(
+                        CacheControl.maxAge(properties.getMaxAge()).cachePublic().immutable())
+                        .addContentVersionStrategy("/**"));
+    }
+
+    @Bean
+    public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+        return new ResourceUrlEncodingFilter();
+    }
+
+    /**
+     * Resolves fingerprinted URLs like {@link VersionResourceResolver} and
+     * marks only those resources, whose URL changes with their content,
+     * with the long-lived cache policy
+     */
+    static final class ImmutableVersionResourceResolver extends VersionResourceResolver {
+
+        private final HttpHeaders versionedHeaders = new HttpHeaders();
+
+        ImmutableVersionResourceResolver(CacheControl versionedCacheControl) {
+            versionedHeaders.setCacheControl(versionedCacheControl);
+        }
+
+        @Override
+        protected Resource resolveResourceInternal(HttpServletRequest request, String requestPath,
+                List<? extends Resource> locations, ResourceResolverChain chain) {
+            Resource plain = chain.resolveResource(request, requestPath, locations);
+            if (plain != null) {
+                return plain;
+            }
+            Resource versioned = super.resolveResourceInternal(request, requestPath, locations, chain);
+            return versioned != null ? new ImmutableResource(versioned, versionedHeaders) : null;
+        }
+    }
+
+    /**
+     * A resolved resource with extra response headers, which the resource
+     * handler applies over its own {@code Cache-Control}
+     */
+    private static final class ImmutableResource implements HttpResource {
+
+        private final Resource resource;
+        private final HttpHeaders headers;
+
+        ImmutableResource(Resource resource, HttpHeaders headers) {
+            this.resource = resource;
+            this.headers = headers;
+        }
+
+        @Override
+        public HttpHeaders getResponseHeaders() {
+            HttpHeaders merged = new HttpHeaders();
+            if (resource instanceof HttpResource httpResource) {
+                merged.putAll(httpResource.getResponseHeaders());
+            }
+            merged.putAll(headers);
+            return merged;
+        }
+
+        @Override
+        public boolean exists() {
+            return resource.exists();
+        }
+
+        @Override
+        public boolean isReadable() {
+            return resource.isReadable();
+        }
+
+        @Override
+        public boolean isFile() {
+            return resource.isFile();
+        }
+
+        @Override
+        public URL getURL() throws IOException {
+            return resource.getURL();
+        }
+
+        @Override
+        public URI getURI() throws IOException {
+            return resource.getURI();
+        }
+
+        @Override
+        public File getFile() throws IOException {
+            return resource.getFile();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return resource.contentLength();
+        }
+
+        @Override
+        public long lastModified() throws IOException {
+            return resource.lastModified();
+        }
+
+        @Override
+        public Resource createRelative(String relativePath) throws IOException {
+            return resource.createRelative(relativePath);
+        }
+
+        @Override
+        public String getFilename() {
+            return resource.getFilename();
+        }
+
+        @Override
+        public String getDescription() {
+            return resource.getDescription();
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return resource.getInputStream();
+        }
+    }
+}
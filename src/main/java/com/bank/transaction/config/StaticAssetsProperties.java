@@ -0,0 +1,28 @@
+package com.bank.transaction.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Static Assets Properties
+ *
+ * Settings for serving {@code static/} ({@code app.static-assets.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.static-assets")
+public class StaticAssetsProperties {
+
+    /**
+     * How long browsers and proxies may keep an asset; URLs carry a content
+     * hash, so a changed asset gets a new URL instead of a stale copy
+     */
+    private Duration maxAge = Duration.ofDays(365);
+
+    /**
+     * Keep resolved assets (content hashes, precompressed variants) in
+     * memory instead of resolving them on every request
+     */
+    private boolean cache = false;
+}
@@ -0,0 +1,300 @@
+package com.bank.transaction.config;
+
+import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.enums.TransactionCategory;
+import com.bank.transaction.enums.TransactionType;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Transaction JSON Module
+ *
+ * Hand-written Jackson serializers for {@link TransactionResponse} and
+ * {@link PageResponse}, producing the same JSON as the default record
+ * serialization without its per-row work: field names, enum constants and
+ * their display names are encoded once, as {@link SerializedString}s, and
+ * timestamps are formatted as ISO-8601 into one scratch buffer per page
+ * instead of through a {@link DateTimeFormatter}. Every field is written,
+ * nulls included, as with the mapper's default inclusion.
+ *
+ * {@link #writeTransaction(JsonGenerator, Transaction, SerializerProvider, char[])}
+ * writes an entity in the same form, for streaming without building
+ * {@link TransactionResponse}s first.
+ */
+public class TransactionJsonModule extends SimpleModule {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString AMOUNT = new SerializedString("amount");
+    private static final SerializedString TYPE = new SerializedString("type");
+    private static final SerializedString TYPE_DISPLAY_NAME = new SerializedString("typeDisplayName");
+    private static final SerializedString CATEGORY = new SerializedString("category");
+    private static final SerializedString CATEGORY_DISPLAY_NAME = new SerializedString("categoryDisplayName");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializedString SOURCE_ACCOUNT_ID = new SerializedString("sourceAccountId");
+    private static final SerializedString TARGET_ACCOUNT_ID = new SerializedString("targetAccountId");
+
+    private static final SerializedString CONTENT = new SerializedString("content");
+    private static final SerializedString PAGE = new SerializedString("page");
+    private static final SerializedString SIZE = new SerializedString("size");
+    private static final SerializedString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializedString TOTAL_PAGES = new SerializedString("totalPages");
+    private static final SerializedString FIRST = new SerializedString("first");
+    private static final SerializedString LAST = new SerializedString("last");
+    private static final SerializedString NEXT_CURSOR = new SerializedString("nextCursor");
+    private static final SerializedString SNAPSHOT_TOKEN = new SerializedString("snapshotToken");
+
+    private static final SerializedString[] TYPE_NAMES = new SerializedString[TransactionType.values().length];
+    private static final SerializedString[] TYPE_DISPLAY_NAMES = new SerializedString[TYPE_NAMES.length];
+    private static final SerializedString[] CATEGORY_NAMES =
+            new SerializedString[TransactionCategory.values().length];
+    private static final SerializedString[] CATEGORY_DISPLAY_NAMES = new SerializedString[CATEGORY_NAMES.length];
+
+    static {
+        for (TransactionType type : TransactionType.values()) {
+            TYPE_NAMES[type.ordinal()] = new SerializedString(type.name());
+            TYPE_DISPLAY_NAMES[type.ordinal()] = new SerializedString(type.getDisplayName());
+        }
+        for (TransactionCategory category : TransactionCategory.values()) {
+            CATEGORY_NAMES[category.ordinal()] = new SerializedString(category.name());
+            CATEGORY_DISPLAY_NAMES[category.ordinal()] = new SerializedString(category.getDisplayName());
+        }
+    }
+
+    /**
+     * Longest ISO-8601 local date-time written by hand: yyyy-MM-ddTHH:mm:ss.nnnnnnnnn
+     */
+    private static final int TIMESTAMP_LENGTH = 29;
+
+    public TransactionJsonModule() {
+        super(TransactionJsonModule.class.getSimpleName());
+        addSerializer(TransactionResponse.class, new TransactionResponseSerializer());
+        addSerializer(new PageResponseSerializer());
+    }
+
+    /**
+     * Scratch buffer for {@link #writeTransaction}; one can be reused for
+     * every transaction written by the same thread
+     */
+    public static char[] newScratch() {
+        return new char[TIMESTAMP_LENGTH];
+    }
+
+    /**
+     * Write a transaction entity as the JSON object of its
+     * {@link TransactionResponse}
+     *
+     * @param generator the generator
+     * @param transaction the transaction
+     * @param provider provider of the mapper whose settings to follow
+     * @param scratch buffer from {@link #newScratch()}
+     */
+    public static void writeTransaction(JsonGenerator generator, Transaction transaction, SerializerProvider provider,
+            char[] scratch) throws IOException {
+        TransactionType type = transaction.getType();
+        TransactionCategory category = transaction.getCategory();
+        writeFields(generator, provider, scratch, transaction.getId(), transaction.getAmount(), type,
+                type != null ? TYPE_DISPLAY_NAMES[type.ordinal()] : null, category,
+                category != null ? CATEGORY_DISPLAY_NAMES[category.ordinal()] : null, transaction.getDescription(),
+                transaction.getTimestamp(), transaction.getSourceAccountId(), transaction.getTargetAccountId());
+    }
+
+    private static void writeTransaction(JsonGenerator generator, TransactionResponse transaction,
+            SerializerProvider provider, char[] scratch) throws IOException {
+        writeFields(generator, provider, scratch, transaction.id(), transaction.amount(), transaction.type(),
+                displayName(transaction.type(), transaction.typeDisplayName()), transaction.category(),
+                displayName(transaction.category(), transaction.categoryDisplayName()), transaction.description(),
+                transaction.timestamp(), transaction.sourceAccountId(), transaction.targetAccountId());
+    }
+
+    private static void writeFields(JsonGenerator generator, SerializerProvider provider, char[] scratch, String id,
+            BigDecimal amount, TransactionType type, SerializableString typeDisplayName,
+            TransactionCategory category, SerializableString categoryDisplayName, String description,
+            LocalDateTime timestamp, String sourceAccountId, String targetAccountId) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        generator.writeString(id);
+        generator.writeFieldName(AMOUNT);
+        if (amount != null) {
+            generator.writeNumber(amount);
+        } else {
+            generator.writeNull();
+        }
+        generator.writeFieldName(TYPE);
+        writeString(generator, type != null ? TYPE_NAMES[type.ordinal()] : null);
+        generator.writeFieldName(TYPE_DISPLAY_NAME);
+        writeString(generator, typeDisplayName);
+        generator.writeFieldName(CATEGORY);
+        writeString(generator, category != null ? CATEGORY_NAMES[category.ordinal()] : null);
+        generator.writeFieldName(CATEGORY_DISPLAY_NAME);
+        writeString(generator, categoryDisplayName);
+        generator.writeFieldName(DESCRIPTION);
+        generator.writeString(description);
+        generator.writeFieldName(TIMESTAMP);
+        writeTimestamp(generator, provider, scratch, timestamp);
+        generator.writeFieldName(SOURCE_ACCOUNT_ID);
+        generator.writeString(sourceAccountId);
+        generator.writeFieldName(TARGET_ACCOUNT_ID);
+        generator.writeString(targetAccountId);
+        generator.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator generator, SerializableString value) throws IOException {
+        if (value != null) {
+            generator.writeString(value);
+        } else {
+            generator.writeNull();
+        }
+    }
+
+    /**
+     * The pre-encoded display name, unless the DTO carries a different one
+     */
+    private static SerializableString displayName(TransactionType type, String displayName) {
+        if (displayName == null) {
+            return null;
+        }
+        return type != null && displayName.equals(type.getDisplayName())
+                ? TYPE_DISPLAY_NAMES[type.ordinal()]
+                : new SerializedString(displayName);
+    }
+
+    private static SerializableString displayName(TransactionCategory category, String displayName) {
+        if (displayName == null) {
+            return null;
+        }
+        return category != null && displayName.equals(category.getDisplayName())
+                ? CATEGORY_DISPLAY_NAMES[category.ordinal()]
+                : new SerializedString(displayName);
+    }
+
+    /**
+     * Write a timestamp as {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME} would
+     * format it, which is what the JSR-310 module writes by default
+     */
+    private static void writeTimestamp(JsonGenerator generator, SerializerProvider provider, char[] scratch,
+            LocalDateTime timestamp) throws IOException {
+        if (timestamp == null) {
+            generator.writeNull();
+            return;
+        }
+        if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                || timestamp.getYear() < 0 || timestamp.getYear() > 9999) {
+            provider.defaultSerializeValue(timestamp, generator);
+            return;
+        }
+        int length = 0;
+        length = digits(scratch, length, timestamp.getYear(), 4);
+        scratch[length++] = '-';
+        length = digits(scratch, length, timestamp.getMonthValue(), 2);
+        scratch[length++] = '-';
+        length = digits(scratch, length, timestamp.getDayOfMonth(), 2);
+        scratch[length++] = 'T';
+        length = digits(scratch, length, timestamp.getHour(), 2);
+        scratch[length++] = ':';
+        length = digits(scratch, length, timestamp.getMinute(), 2);
+        scratch[length++] = ':';
+        length = digits(scratch, length, timestamp.getSecond(), 2);
+        int nano = timestamp.getNano();
+        if (nano != 0) {
+            // As many fraction digits as needed, trailing zeros dropped
+            int width = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                width--;
+            }
+            scratch[length++] = '.';
+            length = digits(scratch, length, nano, width);
+        }
+        generator.writeString(scratch, 0, length);
+    }
+
+    private static int digits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return offset + width;
+    }
+
+    /**
+     * {@link TransactionResponse} serializer
+     */
+    static final class TransactionResponseSerializer extends StdSerializer<TransactionResponse> {
+
+        TransactionResponseSerializer() {
+            super(TransactionResponse.class);
+        }
+
+        @Override
+        public void serialize(TransactionResponse value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            writeTransaction(generator, value, provider, newScratch());
+        }
+    }
+
+    /**
+     * {@link PageResponse} serializer; transaction content is written
+     * directly, anything else through the mapper
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    static final class PageResponseSerializer extends StdSerializer<PageResponse> {
+
+        PageResponseSerializer() {
+            super(PageResponse.class);
+        }
+
+        @Override
+        public void serialize(PageResponse value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            PageResponse<?> page = value;
+            generator.writeStartObject(page);
+            generator.writeFieldName(CONTENT);
+            List<?> content = page.content();
+            if (content == null) {
+                generator.writeNull();
+            } else {
+                char[] scratch = newScratch();
+                generator.writeStartArray(content, content.size());
+                for (Object item : content) {
+                    if (item instanceof TransactionResponse transaction) {
+                        writeTransaction(generator, transaction, provider, scratch);
+                    } else {
+                        provider.defaultSerializeValue(item, generator);
+                    }
+                }
+                generator.writeEndArray();
+            }
+            generator.writeFieldName(PAGE);
+            generator.writeNumber(page.page());
+            generator.writeFieldName(SIZE);
+            generator.writeNumber(page.size());
+            generator.writeFieldName(TOTAL_ELEMENTS);
+            generator.writeNumber(page.totalElements());
+            generator.writeFieldName(TOTAL_PAGES);
+            generator.writeNumber(page.totalPages());
+            generator.writeFieldName(FIRST);
+            generator.writeBoolean(page.first());
+            generator.writeFieldName(LAST);
+            generator.writeBoolean(page.last());
+            generator.writeFieldName(NEXT_CURSOR);
+            generator.writeString(page.nextCursor());
+            generator.writeFieldName(SNAPSHOT_TOKEN);
+            generator.writeString(page.snapshotToken());
+            generator.writeEndObject();
+        }
+    }
+}
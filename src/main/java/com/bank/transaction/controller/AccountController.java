@@ -0,0 +1,49 @@
+package com.bank.transaction.controller;
+
+import com.bank.transaction.dto.AccountBalanceResponse;
+import com.bank.transaction.service.AccountService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Account REST API Controller
+ *
+ * Exposes the balances maintained by the account ledger.
+ */
+@RestController
+@RequestMapping("/api/accounts")
+@Tag(name = "Account Management", description = "APIs for querying account balances")
+public class AccountController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountController.class);
+
+    private final AccountService accountService;
+
+    public AccountController(AccountService accountService) {
+        this.accountService = accountService;
+    }
+
+    @Operation(summary = "Get account balance", description = "Returns the current balance of an account named by at least one transaction")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Balance found", content = @Content(schema = @Schema(implementation = AccountBalanceResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Account not found", content = @Content)
+    })
+    @GetMapping("/{id}/balance")
+    public ResponseEntity<AccountBalanceResponse> getBalance(
+            @Parameter(description = "Account ID") @PathVariable String id) {
+        logger.debug("REST: Getting balance of account: {}", id);
+        return ResponseEntity.ok(accountService.getBalance(id));
+    }
+}
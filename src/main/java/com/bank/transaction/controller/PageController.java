@@ -1,25 +1,62 @@
 package com.bank.transaction.controller;
 
+import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionResponse;
 import com.bank.transaction.enums.TransactionCategory;
 import com.bank.transaction.enums.TransactionType;
+import com.bank.transaction.service.TransactionService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 
 /**
  * Page Controller for Thymeleaf Views
- * 
+ *
  * Serves the main transaction management page which communicates
  * with the REST API for CRUD operations.
+ *
+ * The first page of transactions is read from the same cache as
+ * {@code GET /api/transactions} and embedded as JSON for the virtual-scrolling
+ * grid to start from; its first screen of rows is also rendered on the
+ * server, so the page shows data without a second request.
  */
 @Controller
 public class PageController {
 
+    /**
+     * Rows rendered on the server: one screen of the grid, with room to spare
+     */
+    private static final int FIRST_SCREEN_ROWS = 20;
+
+    private final TransactionService transactionService;
+
+    private final ObjectMapper objectMapper;
+
+    // The grid reads the list in the largest pages the API allows
+    @Value("${app.pagination.max-page-size:100}")
+    private int blockSize;
+
+    public PageController(TransactionService transactionService, ObjectMapper objectMapper) {
+        this.transactionService = transactionService;
+        this.objectMapper = objectMapper;
+    }
+
     @GetMapping("/")
-    public String index(Model model) {
+    public String index(Model model) throws JsonProcessingException {
         // Pass enum values to template for dropdown options
         model.addAttribute("transactionTypes", TransactionType.values());
         model.addAttribute("transactionCategories", TransactionCategory.values());
+
+        // Checkpoint taken first: the page holds at least every change up to it
+        long changeSeq = transactionService.getCommittedChangeSeq();
+        PageResponse<TransactionResponse> page = transactionService.getAllTransactions(0, blockSize);
+        model.addAttribute("page", page);
+        model.addAttribute("firstRows", page.content().subList(0, Math.min(FIRST_SCREEN_ROWS, page.content().size())));
+        model.addAttribute("pageJson", objectMapper.writeValueAsString(page));
+        model.addAttribute("changeSeq", changeSeq);
         return "index";
     }
 }
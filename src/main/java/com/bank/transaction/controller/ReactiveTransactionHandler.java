@@ -0,0 +1,111 @@
+package com.bank.transaction.controller;
+
+import com.bank.transaction.dto.ErrorResponse;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.exception.TransactionNotFoundException;
+import com.bank.transaction.service.ReactiveTransactionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive Transaction Handler
+ *
+ * WebFlux functional handlers for the read-only reactive endpoints. Responses
+ * and error bodies match {@link TransactionController}, so clients can switch
+ * between the two read paths without changes.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+public class ReactiveTransactionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveTransactionHandler.class);
+
+    private final ReactiveTransactionService transactionService;
+
+    public ReactiveTransactionHandler(ReactiveTransactionService transactionService) {
+        this.transactionService = transactionService;
+    }
+
+    /**
+     * GET /api/transactions/{id}
+     */
+    public Mono<ServerResponse> getTransaction(ServerRequest request) {
+        String id = request.pathVariable("id");
+        logger.debug("REACTIVE: Getting transaction by ID: {}", id);
+        return transactionService.getTransaction(id)
+                .flatMap(response -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(response))
+                .onErrorResume(TransactionNotFoundException.class,
+                        ex -> error(HttpStatus.NOT_FOUND, "Not Found", ex.getMessage(), request));
+    }
+
+    /**
+     * GET /api/transactions?page=&size=
+     */
+    public Mono<ServerResponse> getAllTransactions(ServerRequest request) {
+        int page;
+        int size;
+        try {
+            page = intParam(request, "page", 0, 0);
+            size = intParam(request, "size", 10, 1);
+        } catch (IllegalArgumentException ex) {
+            return error(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage(), request);
+        }
+        logger.debug("REACTIVE: Getting all transactions - page: {}, size: {}", page, size);
+        return transactionService.getAllTransactions(page, size)
+                .flatMap(response -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(response));
+    }
+
+    /**
+     * GET /api/transactions?limit= with {@code Accept: application/x-ndjson}
+     *
+     * Streams one JSON document per line; rows are fetched as the connection
+     * drains, so memory stays flat regardless of the limit.
+     */
+    public Mono<ServerResponse> streamTransactions(ServerRequest request) {
+        int limit;
+        try {
+            limit = intParam(request, "limit", Integer.MAX_VALUE, 1);
+        } catch (IllegalArgumentException ex) {
+            return error(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage(), request);
+        }
+        logger.debug("REACTIVE: Streaming transactions - limit: {}", limit);
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(transactionService.streamTransactions(limit), TransactionResponse.class);
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue, int min) {
+        String value = request.queryParam(name).orElse(null);
+        if (value == null) {
+            return defaultValue;
+        }
+        int parsed;
+        try {
+            parsed = Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Parameter '%s' must be an integer".formatted(name));
+        }
+        if (parsed < min) {
+            throw new IllegalArgumentException("Parameter '%s' must be at least %d".formatted(name, min));
+        }
+        return parsed;
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, String error, String message,
+            ServerRequest request) {
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ErrorResponse.of(status.value(), error, message, request.path()));
+    }
+}
@@ -1,9 +1,22 @@
 package com.bank.transaction.controller;
 
+import com.bank.transaction.config.ContentNegotiationConfig;
+import com.bank.transaction.config.TransactionJsonModule;
 import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionChangesResponse;
 import com.bank.transaction.dto.TransactionRequest;
 import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.enums.TransactionSort;
+import com.bank.transaction.service.RequestDeadline;
 import com.bank.transaction.service.TransactionService;
+import com.bank.transaction.web.EncodedResponse;
+import com.bank.transaction.web.EncodedResponseCache;
+import com.bank.transaction.web.ConcurrencyLimitFilter;
+import com.bank.transaction.web.IdempotencyKeyStore;
+import com.bank.transaction.web.TransactionChangeStream;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,13 +26,26 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
 
 /**
  * Transaction REST API Controller
@@ -34,23 +60,57 @@ public class TransactionController {
 
     private static final Logger logger = LoggerFactory.getLogger(TransactionController.class);
 
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    /**
+     * {@code snapshot} parameter value that opens a new read snapshot
+     */
+    private static final String NEW_SNAPSHOT = "new";
+
     private final TransactionService transactionService;
 
-    public TransactionController(TransactionService transactionService) {
+    private final EncodedResponseCache encodedResponseCache;
+
+    private final TransactionChangeStream changeStream;
+
+    private final IdempotencyKeyStore idempotencyKeyStore;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.pagination.parallel-count:true}")
+    private boolean parallelCount;
+
+    public TransactionController(TransactionService transactionService,
+            EncodedResponseCache encodedResponseCache, TransactionChangeStream changeStream,
+            IdempotencyKeyStore idempotencyKeyStore, ObjectMapper objectMapper) {
         this.transactionService = transactionService;
+        this.encodedResponseCache = encodedResponseCache;
+        this.changeStream = changeStream;
+        this.idempotencyKeyStore = idempotencyKeyStore;
+        this.objectMapper = objectMapper;
     }
 
-    @Operation(summary = "Create a new transaction", description = "Creates a new bank transaction with the provided details")
+    @Operation(summary = "Create a new transaction", description = "Creates a new bank transaction with the provided details. "
+            + "Requests carrying an Idempotency-Key header are executed at most once; retries with the same key replay the original response")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Transaction created successfully", content = @Content(schema = @Schema(implementation = TransactionResponse.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid request data", content = @Content)
+            @ApiResponse(responseCode = "400", description = "Invalid request data", content = @Content),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key already used with a different request", content = @Content)
     })
     @PostMapping
     public ResponseEntity<TransactionResponse> createTransaction(
-            @Valid @RequestBody TransactionRequest request) {
-        logger.info("REST: Creating new transaction");
-        TransactionResponse response = transactionService.createTransaction(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            @Valid @RequestBody TransactionRequest request,
+            @Parameter(description = "Client-generated key that makes retries safe") @RequestHeader(value = IdempotencyKeyStore.HEADER, required = false) String idempotencyKey) {
+        logger.debug("REST: Creating new transaction");
+        if (idempotencyKey == null) {
+            TransactionResponse response = transactionService.createTransaction(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        }
+        var result = idempotencyKeyStore.execute(idempotencyKey, request,
+                () -> transactionService.createTransaction(request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.response());
     }
 
     @Operation(summary = "Get transaction by ID", description = "Retrieves a transaction by its unique identifier")
@@ -59,26 +119,112 @@ public class TransactionController {
             @ApiResponse(responseCode = "404", description = "Transaction not found", content = @Content)
     })
     @GetMapping("/{id}")
-    public ResponseEntity<TransactionResponse> getTransaction(
-            @Parameter(description = "Transaction ID", required = true) @PathVariable String id) {
-        logger.info("REST: Getting transaction by ID: {}", id);
+    public ResponseEntity<?> getTransaction(
+            @Parameter(description = "Transaction ID", required = true) @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        logger.debug("REST: Getting transaction by ID: {}", id);
+        if (encodedResponseCache.isEnabled() && prefersJson(accept)) {
+            return encodedBody(
+                    encodedResponseCache.getTransaction(id, () -> transactionService.getTransaction(id)),
+                    acceptEncoding);
+        }
         TransactionResponse response = transactionService.getTransaction(id);
         return ResponseEntity.ok(response);
     }
 
-    @Operation(summary = "Get all transactions", description = "Retrieves all transactions with pagination support")
+    @Operation(summary = "Get all transactions", description = "Retrieves all transactions with pagination support. "
+            + "Supported orders: timestamp,desc (default) | timestamp,asc | amount,desc | amount,asc | "
+            + "category,asc|desc + timestamp,desc | type,asc|desc + timestamp,desc (a lone category or type key "
+            + "implies timestamp,desc); other combinations are rejected with 400. Pass nextCursor back as cursor for "
+            + "the next page. Once transactions are archived, orders other than timestamp,desc need the cursor past "
+            + "the first page: page > 0 without a cursor is rejected with 400. "
+            + "snapshot=new opens a read snapshot; pass snapshotToken back as snapshot to keep paging the same data")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Transactions retrieved successfully")
+            @ApiResponse(responseCode = "200", description = "Transactions retrieved successfully", content = @Content(schema = @Schema(implementation = PageResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Unsupported sort order, invalid cursor, or page offset over archived data", content = @Content),
+            @ApiResponse(responseCode = "410", description = "Read snapshot expired or released", content = @Content)
     })
     @GetMapping
-    public ResponseEntity<PageResponse<TransactionResponse>> getAllTransactions(
+    public ResponseEntity<?> getAllTransactions(
             @Parameter(description = "Page number (0-indexed)", example = "0") @RequestParam(defaultValue = "0") @Min(0) int page,
-            @Parameter(description = "Page size", example = "10") @RequestParam(defaultValue = "10") @Min(1) int size) {
-        logger.info("REST: Getting all transactions - page: {}, size: {}", page, size);
-        PageResponse<TransactionResponse> response = transactionService.getAllTransactions(page, size);
+            @Parameter(description = "Page size", example = "10") @RequestParam(defaultValue = "10") @Min(1) int size,
+            @Parameter(description = "Sort keys, e.g. amount,desc or category,asc&sort=timestamp,desc") @RequestParam(required = false) List<String> sort,
+            @Parameter(description = "nextCursor of the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "new to open a read snapshot, or snapshotToken of the previous page") @RequestParam(required = false) String snapshot,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        logger.debug("REST: Getting all transactions - page: {}, size: {}, sort: {}, cursor: {}, snapshot: {}",
+                page, size, sort, cursor, snapshot);
+        TransactionSort order = TransactionSort.parse(sort);
+        if (snapshot != null) {
+            String token = NEW_SNAPSHOT.equals(snapshot) ? null : snapshot;
+            return ResponseEntity.ok(transactionService.getSnapshotTransactions(token, order, page, size, cursor));
+        }
+        if (order != TransactionSort.TIMESTAMP_DESC || cursor != null) {
+            return ResponseEntity.ok(transactionService.getSortedTransactions(order, page, size, cursor));
+        }
+        if (encodedResponseCache.isEnabled() && prefersJson(accept)) {
+            return encodedBody(
+                    encodedResponseCache.getPage(page, size, () -> loadPage(page, size)),
+                    acceptEncoding);
+        }
+        PageResponse<TransactionResponse> response = loadPage(page, size);
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Get changes since a checkpoint", description = "Delta sync: transactions created, updated or deleted after the given change sequence number")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes retrieved successfully", content = @Content(schema = @Schema(implementation = TransactionChangesResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid checkpoint", content = @Content)
+    })
+    @GetMapping("/changes")
+    public ResponseEntity<TransactionChangesResponse> getChanges(
+            @Parameter(description = "Change sequence number already applied (0 for a full sync)", example = "0") @RequestParam(defaultValue = "0") @Min(0) long since,
+            @Parameter(description = "Maximum number of changes", example = "100") @RequestParam(defaultValue = "100") @Min(1) int limit) {
+        logger.debug("REST: Getting changes since: {}, limit: {}", since, limit);
+        return ResponseEntity.ok(transactionService.getChangesSince(since, limit));
+    }
+
+    @Operation(summary = "Stream transaction changes", description = "Server-Sent Events feed of committed creates, updates and deletes (events: created, updated, deleted)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened", content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE))
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges() {
+        logger.debug("REST: Opening transaction change stream");
+        return changeStream.open();
+    }
+
+    @Operation(summary = "Export all transactions", description = "Streams every transaction as one JSON array, in the given order, "
+            + "as of a read snapshot taken when the export starts")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export started", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+            @ApiResponse(responseCode = "400", description = "Unsupported sort order", content = @Content)
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @Parameter(description = "Sort keys, as for the list") @RequestParam(required = false) List<String> sort,
+            HttpServletRequest request) {
+        logger.debug("REST: Exporting transactions - sort: {}", sort);
+        // Parsed up front so a bad order is still a 400, not a broken stream
+        TransactionSort order = TransactionSort.parse(sort);
+        // The export reads the database on the async thread: keep its bulkhead permit until it
+        // completes, and carry the request deadline (see app.deadline.timeouts) over to it
+        request.setAttribute(ConcurrencyLimitFilter.HOLD_UNTIL_COMPLETE_ATTRIBUTE, Boolean.TRUE);
+        RequestDeadline deadline = RequestDeadline.current();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> {
+                    RequestDeadline.attach(deadline);
+                    try {
+                        writeExport(order, out);
+                    } finally {
+                        RequestDeadline.clear();
+                    }
+                });
+    }
+
     @Operation(summary = "Update a transaction", description = "Updates an existing transaction with the provided details")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Transaction updated successfully", content = @Content(schema = @Schema(implementation = TransactionResponse.class))),
@@ -89,7 +235,7 @@ public class TransactionController {
     public ResponseEntity<TransactionResponse> updateTransaction(
             @Parameter(description = "Transaction ID", required = true) @PathVariable String id,
             @Valid @RequestBody TransactionRequest request) {
-        logger.info("REST: Updating transaction ID: {}", id);
+        logger.debug("REST: Updating transaction ID: {}", id);
         TransactionResponse response = transactionService.updateTransaction(id, request);
         return ResponseEntity.ok(response);
     }
@@ -102,8 +248,129 @@ public class TransactionController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTransaction(
             @Parameter(description = "Transaction ID", required = true) @PathVariable String id) {
-        logger.info("REST: Deleting transaction ID: {}", id);
+        logger.debug("REST: Deleting transaction ID: {}", id);
         transactionService.deleteTransaction(id);
         return ResponseEntity.noContent().build();
     }
+
+    @Operation(summary = "Release a read snapshot", description = "Releases a snapshot opened with snapshot=new before its lease runs out")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Snapshot released"),
+            @ApiResponse(responseCode = "410", description = "Snapshot already expired or released", content = @Content)
+    })
+    @DeleteMapping("/snapshots/{token}")
+    public ResponseEntity<Void> releaseSnapshot(
+            @Parameter(description = "Snapshot token", required = true) @PathVariable String token) {
+        logger.debug("REST: Releasing snapshot: {}", token);
+        transactionService.releaseSnapshot(token);
+        return ResponseEntity.noContent().build();
+    }
+
+    private PageResponse<TransactionResponse> loadPage(int page, int size) {
+        return parallelCount
+                ? transactionService.getAllTransactionsConcurrently(page, size)
+                : transactionService.getAllTransactions(page, size);
+    }
+
+    /**
+     * Write the export straight from the entities, one generator and one
+     * scratch buffer for the whole array
+     */
+    private void writeExport(TransactionSort order, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            SerializerProvider provider = objectMapper.getSerializerProviderInstance();
+            char[] scratch = TransactionJsonModule.newScratch();
+            generator.writeStartArray();
+            long exported = transactionService.exportTransactions(order, transaction -> {
+                try {
+                    TransactionJsonModule.writeTransaction(generator, transaction, provider, scratch);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+            logger.debug("REST: Exported {} transactions", exported);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Whether regular content negotiation would answer with JSON (the encoded cache only holds
+     * JSON). Accept entries are taken in order of quality and specificity; the first one any
+     * converter can produce decides, with wildcards resolving to JSON as the first converter.
+     * Clients preferring Smile or CBOR, or accepting nothing we produce (a 406), go through the
+     * regular message converters.
+     */
+    private static boolean prefersJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        try {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(mediaTypes);
+            for (MediaType mediaType : mediaTypes) {
+                if (mediaType.getQualityValue() <= 0) {
+                    continue;
+                }
+                if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                    return true;
+                }
+                if (mediaType.isCompatibleWith(ContentNegotiationConfig.APPLICATION_SMILE)
+                        || mediaType.isCompatibleWith(ContentNegotiationConfig.APPLICATION_CBOR)) {
+                    return false;
+                }
+            }
+            return false;
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Write a pre-encoded body as-is, preferring the gzipped copy when the client accepts it.
+     * The body depends on both Accept (JSON only) and Accept-Encoding, so shared caches must key on both.
+     */
+    private ResponseEntity<byte[]> encodedBody(EncodedResponse encoded, String acceptEncoding) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (encoded.hasGzip() && acceptsGzip(acceptEncoding)) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(encoded.gzip());
+        }
+        return builder.body(encoded.json());
+    }
+
+    /**
+     * Whether an Accept-Encoding header allows gzip: listed as gzip (or x-gzip) or covered by
+     * {@code *}, with a q-value above 0. An explicit gzip entry wins over {@code *}.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double wildcard = -1;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.length() > 2 && (param.charAt(0) == 'q' || param.charAt(0) == 'Q') && param.charAt(1) == '=') {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = Math.max(gzip, quality);
+            } else if (coding.equals("*")) {
+                wildcard = Math.max(wildcard, quality);
+            }
+        }
+        return (gzip >= 0 ? gzip : wildcard) > 0;
+    }
 }
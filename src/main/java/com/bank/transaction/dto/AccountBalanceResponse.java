@@ -0,0 +1,26 @@
+package com.bank.transaction.dto;
+
+import com.bank.transaction.entity.Account;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Account Balance Response DTO (Record)
+ *
+ * @param accountId the account ID
+ * @param balance   current balance
+ * @param updatedAt when the balance last changed
+ */
+public record AccountBalanceResponse(
+    String accountId,
+    BigDecimal balance,
+    LocalDateTime updatedAt
+) {
+    /**
+     * Factory method to create AccountBalanceResponse from Account entity
+     */
+    public static AccountBalanceResponse fromEntity(Account account) {
+        return new AccountBalanceResponse(account.getId(), account.getBalance(), account.getUpdatedAt());
+    }
+}
@@ -7,6 +7,10 @@ import java.util.List;
  * 
  * JDK 21 Record class for paginated responses.
  * Contains the data list along with pagination metadata.
+ * {@code nextCursor} resumes the listing after this page (null on the last
+ * page, or where keyset paging is not offered). {@code snapshotToken} names
+ * the read snapshot the page was read from, if any; later pages requested
+ * with it see the same data.
  *
  * @param <T> the type of elements in the page
  */
@@ -17,7 +21,9 @@ public record PageResponse<T>(
     long totalElements,
     int totalPages,
     boolean first,
-    boolean last
+    boolean last,
+    String nextCursor,
+    String snapshotToken
 ) {
     /**
      * Create a PageResponse from a list and pagination parameters
@@ -31,7 +37,37 @@ public record PageResponse<T>(
             totalElements,
             totalPages,
             page == 0,
-            page >= totalPages - 1
+            page >= totalPages - 1,
+            null,
+            null
         );
     }
+
+    /**
+     * Create a PageResponse that continues at a keyset cursor; it is the
+     * last page exactly when there is no cursor
+     */
+    public static <T> PageResponse<T> of(List<T> content, int page, int size, long totalElements,
+            String nextCursor) {
+        int totalPages = size > 0 ? (int) Math.ceil((double) totalElements / size) : 0;
+        return new PageResponse<>(
+            content,
+            page,
+            size,
+            totalElements,
+            totalPages,
+            page == 0,
+            nextCursor == null,
+            nextCursor,
+            null
+        );
+    }
+
+    /**
+     * The same page, marked as read from a snapshot
+     */
+    public PageResponse<T> withSnapshotToken(String snapshotToken) {
+        return new PageResponse<>(content, page, size, totalElements, totalPages, first, last, nextCursor,
+            snapshotToken);
+    }
 }
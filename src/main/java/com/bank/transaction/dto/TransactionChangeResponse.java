@@ -0,0 +1,19 @@
+package com.bank.transaction.dto;
+
+import com.bank.transaction.service.TransactionChangedEvent.ChangeType;
+
+/**
+ * Transaction Change Response DTO (Record)
+ *
+ * One entry of the change feed.
+ *
+ * @param type          what happened to the transaction
+ * @param transactionId the ID of the changed transaction
+ * @param transaction   the current state for creates and updates; null for deletes
+ */
+public record TransactionChangeResponse(
+    ChangeType type,
+    String transactionId,
+    TransactionResponse transaction
+) {
+}
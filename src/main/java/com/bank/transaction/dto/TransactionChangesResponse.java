@@ -0,0 +1,22 @@
+package com.bank.transaction.dto;
+
+import java.util.List;
+
+/**
+ * Transaction Changes Response DTO (Record)
+ *
+ * One batch of the delta sync feed: everything written after the client's
+ * checkpoint, up to {@code nextSince}.
+ *
+ * @param changed   current state of transactions created or updated in this batch
+ * @param deleted   IDs of transactions deleted in this batch
+ * @param nextSince checkpoint to pass as {@code since} on the next request
+ * @param hasMore   whether more changes are available beyond {@code nextSince}
+ */
+public record TransactionChangesResponse(
+    List<TransactionResponse> changed,
+    List<String> deleted,
+    long nextSince,
+    boolean hasMore
+) {
+}
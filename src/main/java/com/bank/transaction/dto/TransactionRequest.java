@@ -2,9 +2,12 @@ package com.bank.transaction.dto;
 
 import com.bank.transaction.enums.TransactionCategory;
 import com.bank.transaction.enums.TransactionType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import java.math.BigDecimal;
 
@@ -14,6 +17,10 @@ import java.math.BigDecimal;
  * JDK 21 Record class for creating and updating transactions.
  * Contains validation annotations for input validation.
  * 
+ * Account IDs are optional; when given, the transaction moves money in the
+ * account ledger: deposits credit the target, withdrawals debit the source,
+ * transfers do both.
+ * 
  * Note: Using jakarta.validation (Spring Boot 3.x / Jakarta EE)
  */
 public record TransactionRequest(@NotNull(message="Transaction amount cannot be empty")@DecimalMin(value="0.01",message="Transaction amount must be greater than 0")BigDecimal amount,
@@ -22,4 +29,23 @@ public record TransactionRequest(@NotNull(message="Transaction amount cannot be
 
 @NotNull(message="Transaction category cannot be empty")TransactionCategory category,
 
-@Size(max=500,message="Description cannot exceed 500 characters")String description){}
+@Size(max=500,message="Description cannot exceed 500 characters")String description,
+
+@Pattern(regexp=ACCOUNT_ID_PATTERN,message="Invalid source account ID")String sourceAccountId,
+
+@Pattern(regexp=ACCOUNT_ID_PATTERN,message="Invalid target account ID")String targetAccountId){
+
+public static final String ACCOUNT_ID_PATTERN="[A-Za-z0-9_-]{1,64}";
+
+/**
+ * Request without accounts (not recorded in the ledger)
+ */
+public TransactionRequest(BigDecimal amount,TransactionType type,TransactionCategory category,String description){this(amount,type,category,description,null,null);}
+
+/**
+ * Deposits name only a target, withdrawals only a source, transfers both
+ * (two different accounts) or neither
+ */
+@JsonIgnore
+@AssertTrue(message="Accounts do not match the transaction type")
+public boolean isAccountsValid(){if(type==null){return true;}return switch(type){case DEPOSIT->sourceAccountId==null;case WITHDRAWAL->targetAccountId==null;case TRANSFER->(sourceAccountId==null)==(targetAccountId==null)&&(sourceAccountId==null||!sourceAccountId.equals(targetAccountId));};}}
@@ -14,8 +14,8 @@ import java.time.LocalDateTime;
  * Records provide immutable data with auto-generated equals, hashCode, and
  * toString.
  */
-public record TransactionResponse(String id,BigDecimal amount,TransactionType type,String typeDisplayName,TransactionCategory category,String categoryDisplayName,String description,LocalDateTime timestamp){
+public record TransactionResponse(String id,BigDecimal amount,TransactionType type,String typeDisplayName,TransactionCategory category,String categoryDisplayName,String description,LocalDateTime timestamp,String sourceAccountId,String targetAccountId){
 /**
  * Convert Transaction entity to Response DTO
  */
-public static TransactionResponse fromEntity(Transaction transaction){if(transaction==null){return null;}return new TransactionResponse(transaction.getId(),transaction.getAmount(),transaction.getType(),transaction.getType()!=null?transaction.getType().getDisplayName():null,transaction.getCategory(),transaction.getCategory()!=null?transaction.getCategory().getDisplayName():null,transaction.getDescription(),transaction.getTimestamp());}}
+public static TransactionResponse fromEntity(Transaction transaction){if(transaction==null){return null;}return new TransactionResponse(transaction.getId(),transaction.getAmount(),transaction.getType(),transaction.getType()!=null?transaction.getType().getDisplayName():null,transaction.getCategory(),transaction.getCategory()!=null?transaction.getCategory().getDisplayName():null,transaction.getDescription(),transaction.getTimestamp(),transaction.getSourceAccountId(),transaction.getTargetAccountId());}}
@@ -0,0 +1,37 @@
+package com.bank.transaction.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Account Entity
+ *
+ * Running balance of one account, maintained by the account ledger as
+ * transactions that name the account are created, updated and deleted.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Account {
+
+    /**
+     * Client-chosen account identifier
+     */
+    private String id;
+
+    /**
+     * Current balance; never negative
+     */
+    private BigDecimal balance;
+
+    /**
+     * When the balance last changed
+     */
+    private LocalDateTime updatedAt;
+}
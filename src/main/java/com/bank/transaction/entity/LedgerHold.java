@@ -0,0 +1,45 @@
+package com.bank.transaction.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Ledger Hold Entity
+ *
+ * A debit the ledger writer has journaled for a transaction that has not
+ * committed yet. Written in the same commit as the debited balance and
+ * deleted by the owning transaction when it commits, so a row left behind
+ * marks a debit whose transaction rolled back or never finished, and is
+ * refunded instead of lost.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerHold {
+
+    /**
+     * Unique identifier (UUID), also used to refund the hold at most once
+     */
+    private String id;
+
+    /**
+     * Debited account
+     */
+    private String accountId;
+
+    /**
+     * Amount taken from the account; always positive
+     */
+    private BigDecimal amount;
+
+    /**
+     * When the debit was journaled
+     */
+    private LocalDateTime createdAt;
+}
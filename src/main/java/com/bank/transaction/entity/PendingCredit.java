@@ -0,0 +1,44 @@
+package com.bank.transaction.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Pending Credit Entity
+ *
+ * A credit owed to an account by a committed transaction that the ledger
+ * writer has not journaled yet. Written in the same database transaction as
+ * the transaction row and deleted together with the balance change, so a
+ * credit that fails to apply is replayed instead of lost.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingCredit {
+
+    /**
+     * Unique identifier (UUID), also used to apply the credit at most once
+     */
+    private String id;
+
+    /**
+     * Account to credit
+     */
+    private String accountId;
+
+    /**
+     * Amount to add; always positive
+     */
+    private BigDecimal amount;
+
+    /**
+     * When the owing transaction was written
+     */
+    private LocalDateTime createdAt;
+}
@@ -54,16 +54,34 @@ public class Transaction {
      */
     private LocalDateTime timestamp;
 
+    /**
+     * Account debited by a withdrawal or transfer (null if not recorded in the ledger)
+     */
+    private String sourceAccountId;
+
+    /**
+     * Account credited by a deposit or transfer (null if not recorded in the ledger)
+     */
+    private String targetAccountId;
+
+    /**
+     * Global change sequence number of the last write to this row,
+     * assigned by the repository on every insert and update
+     */
+    private Long changeSeq;
+
     /**
      * Generates a unique hash for duplicate detection
      * Using JDK 15+ Text Block style formatting (kept inline for simplicity)
      */
     public String generateDuplicateHash() {
-        return "%s_%s_%s_%s".formatted(
+        return "%s_%s_%s_%s_%s_%s".formatted(
                 amount != null ? amount.stripTrailingZeros().toPlainString() : "",
                 type != null ? type.name() : "",
                 category != null ? category.name() : "",
-                description != null ? description.trim().toLowerCase() : "");
+                description != null ? description.trim().toLowerCase() : "",
+                sourceAccountId != null ? sourceAccountId : "",
+                targetAccountId != null ? targetAccountId : "");
     }
 
     /**
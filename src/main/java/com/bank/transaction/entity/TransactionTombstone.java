@@ -0,0 +1,36 @@
+package com.bank.transaction.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Transaction Tombstone Entity
+ *
+ * Records that a transaction was deleted, so delta sync clients can remove
+ * their copy. Shares the change sequence with {@link Transaction#getChangeSeq()}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionTombstone {
+
+    /**
+     * Change sequence number of the delete
+     */
+    private Long changeSeq;
+
+    /**
+     * ID of the deleted transaction
+     */
+    private String transactionId;
+
+    /**
+     * When the transaction was deleted
+     */
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,186 @@
+package com.bank.transaction.enums;
+
+import com.bank.transaction.entity.Transaction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Transaction Sort Order Enumeration
+ *
+ * The orders {@code GET /api/transactions?sort=} accepts. Each one is backed
+ * by an index in {@code schema.sql} whose columns match its {@code ORDER BY}
+ * exactly, so a page is read off the index instead of sorting the table, and
+ * ends with the transaction ID so that every row has a unique position a
+ * keyset cursor can resume after:
+ * - TIMESTAMP_DESC: newest first (default)
+ * - TIMESTAMP_ASC: oldest first
+ * - AMOUNT_DESC: largest first
+ * - AMOUNT_ASC: smallest first
+ * - CATEGORY_TIMESTAMP_DESC: by category, newest first within a category
+ * - CATEGORY_DESC_TIMESTAMP_DESC: by category descending, newest first within a category
+ * - TYPE_TIMESTAMP_DESC: by type, newest first within a type
+ * - TYPE_DESC_TIMESTAMP_DESC: by type descending, newest first within a type
+ *
+ * A category or type key on its own means that key, then newest first.
+ * Other combinations have no index and are rejected.
+ *
+ * The SQL fragments are constants substituted into the mapper statements;
+ * cursor values are bound as parameters ({@code #{after.*}}).
+ */
+public enum TransactionSort {
+    TIMESTAMP_DESC("timestamp,desc", "idx_transactions_timestamp",
+            "timestamp DESC, id",
+            "timestamp <= #{after.timestamp} AND (timestamp < #{after.timestamp} OR id > #{after.id})",
+            Comparator.comparing(Transaction::getTimestamp).reversed()),
+    TIMESTAMP_ASC("timestamp,asc", "idx_transactions_timestamp_asc",
+            "timestamp, id",
+            "(timestamp, id) > (#{after.timestamp}, #{after.id})",
+            Comparator.comparing(Transaction::getTimestamp)),
+    AMOUNT_DESC("amount,desc", "idx_transactions_amount_desc",
+            "amount DESC, id",
+            "amount <= #{after.amount} AND (amount < #{after.amount} OR id > #{after.id})",
+            Comparator.comparing(Transaction::getAmount).reversed()),
+    AMOUNT_ASC("amount,asc", "idx_transactions_amount",
+            "amount, id",
+            "(amount, id) > (#{after.amount}, #{after.id})",
+            Comparator.comparing(Transaction::getAmount)),
+    CATEGORY_TIMESTAMP_DESC("category,asc;timestamp,desc", "idx_transactions_category_timestamp",
+            "category, timestamp DESC, id",
+            "category >= #{after.category} AND (category > #{after.category} OR timestamp < #{after.timestamp}"
+                    + " OR (timestamp = #{after.timestamp} AND id > #{after.id}))",
+            Comparator.comparing((Transaction transaction) -> transaction.getCategory().name())
+                    .thenComparing(Comparator.comparing(Transaction::getTimestamp).reversed())),
+    CATEGORY_DESC_TIMESTAMP_DESC("category,desc;timestamp,desc", "idx_transactions_category_desc_timestamp",
+            "category DESC, timestamp DESC, id",
+            "category <= #{after.category} AND (category < #{after.category} OR timestamp < #{after.timestamp}"
+                    + " OR (timestamp = #{after.timestamp} AND id > #{after.id}))",
+            Comparator.comparing((Transaction transaction) -> transaction.getCategory().name(),
+                    Comparator.reverseOrder())
+                    .thenComparing(Comparator.comparing(Transaction::getTimestamp).reversed())),
+    TYPE_TIMESTAMP_DESC("type,asc;timestamp,desc", "idx_transactions_type_timestamp",
+            "type, timestamp DESC, id",
+            "type >= #{after.type} AND (type > #{after.type} OR timestamp < #{after.timestamp}"
+                    + " OR (timestamp = #{after.timestamp} AND id > #{after.id}))",
+            Comparator.comparing((Transaction transaction) -> transaction.getType().name())
+                    .thenComparing(Comparator.comparing(Transaction::getTimestamp).reversed())),
+    TYPE_DESC_TIMESTAMP_DESC("type,desc;timestamp,desc", "idx_transactions_type_desc_timestamp",
+            "type DESC, timestamp DESC, id",
+            "type <= #{after.type} AND (type < #{after.type} OR timestamp < #{after.timestamp}"
+                    + " OR (timestamp = #{after.timestamp} AND id > #{after.id}))",
+            Comparator.comparing((Transaction transaction) -> transaction.getType().name(), Comparator.reverseOrder())
+                    .thenComparing(Comparator.comparing(Transaction::getTimestamp).reversed()));
+
+    private static final List<String> FIELDS = List.of("timestamp", "amount", "type", "category");
+
+    // Fields that only have an index together with timestamp DESC as the second key
+    private static final List<String> GROUPING_FIELDS = List.of("type", "category");
+
+    private final String parameter;
+    private final String index;
+    private final String orderBy;
+    private final String keysetCondition;
+    private final Comparator<Transaction> comparator;
+
+    TransactionSort(String parameter, String index, String orderBy, String keysetCondition,
+            Comparator<Transaction> keys) {
+        this.parameter = parameter;
+        this.index = index;
+        this.orderBy = orderBy;
+        this.keysetCondition = keysetCondition;
+        // Enum columns are stored and compared as their names, IDs as plain strings
+        this.comparator = keys.thenComparing(Transaction::getId);
+    }
+
+    /**
+     * Sort keys as given in the query string, e.g. {@code category,asc;timestamp,desc}
+     */
+    public String getParameter() {
+        return parameter;
+    }
+
+    /**
+     * The index that returns rows in this order
+     */
+    public String getIndex() {
+        return index;
+    }
+
+    /**
+     * {@code ORDER BY} columns
+     */
+    public String getOrderBy() {
+        return orderBy;
+    }
+
+    /**
+     * Condition selecting the rows ordered after {@code #{after}}
+     */
+    public String getKeysetCondition() {
+        return keysetCondition;
+    }
+
+    /**
+     * The same order in memory, for merging hot and archived rows
+     */
+    public Comparator<Transaction> comparator() {
+        return comparator;
+    }
+
+    /**
+     * Resolve {@code sort} request parameters. Accepts Spring Data style
+     * terms: {@code sort=amount,desc} or {@code sort=category&sort=timestamp,desc};
+     * a field without a direction is ascending, and a lone type or category
+     * key is followed by {@code timestamp,desc}.
+     *
+     * @param terms the parameter values, may be null or empty for the default order
+     * @return the sort order
+     * @throws IllegalArgumentException if the fields are unknown or the order is not supported
+     */
+    public static TransactionSort parse(List<String> terms) {
+        if (terms == null || terms.isEmpty()) {
+            return TIMESTAMP_DESC;
+        }
+        // A single "amount,desc" arrives split into two values, several terms arrive whole
+        List<String> keys = new ArrayList<>();
+        for (String term : terms) {
+            for (String token : term.split(",")) {
+                String value = token.trim().toLowerCase(Locale.ROOT);
+                if (value.isEmpty()) {
+                    continue;
+                }
+                if (value.equals("asc") || value.equals("desc")) {
+                    if (keys.isEmpty() || keys.get(keys.size() - 1).contains(",")) {
+                        throw new IllegalArgumentException("Sort direction without a field: " + String.join(",", terms));
+                    }
+                    keys.set(keys.size() - 1, keys.get(keys.size() - 1) + "," + value);
+                } else if (FIELDS.contains(value)) {
+                    keys.add(value);
+                } else {
+                    throw new IllegalArgumentException("Unknown sort field: " + token.trim()
+                            + " (sortable fields: " + String.join(", ", FIELDS) + ")");
+                }
+            }
+        }
+        if (keys.isEmpty()) {
+            return TIMESTAMP_DESC;
+        }
+        if (keys.size() == 1 && GROUPING_FIELDS.contains(keys.get(0).split(",")[0])) {
+            keys.add("timestamp,desc");
+        }
+        String parameter = keys.stream()
+                .map(key -> key.contains(",") ? key : key + ",asc")
+                .collect(Collectors.joining(";"));
+        for (TransactionSort sort : values()) {
+            if (sort.parameter.equals(parameter)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort order: " + parameter + " (supported: "
+                + Arrays.stream(values()).map(TransactionSort::getParameter).collect(Collectors.joining(" | ")) + ")");
+    }
+}
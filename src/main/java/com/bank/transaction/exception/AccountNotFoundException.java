@@ -0,0 +1,21 @@
+package com.bank.transaction.exception;
+
+/**
+ * Account Not Found Exception
+ * 
+ * Thrown when asking for an account no transaction has ever touched.
+ * Uses JDK 17+ sealed class pattern - extends sealed TransactionException.
+ */
+public final class AccountNotFoundException extends TransactionException {
+
+    private final String accountId;
+
+    public AccountNotFoundException(String accountId) {
+        super(ErrorCode.ACCOUNT_NOT_FOUND, "账户不存在: %s".formatted(accountId));
+        this.accountId = accountId;
+    }
+
+    public String accountId() {
+        return accountId;
+    }
+}
@@ -0,0 +1,21 @@
+package com.bank.transaction.exception;
+
+/**
+ * Deadline Exceeded Exception
+ * 
+ * Thrown when a request's deadline passes before its work has finished.
+ * Uses JDK 17+ sealed class pattern - extends sealed TransactionException.
+ */
+public final class DeadlineExceededException extends TransactionException {
+
+    private final long timeoutMillis;
+
+    public DeadlineExceededException(long timeoutMillis) {
+        super(ErrorCode.DEADLINE_EXCEEDED, "Request deadline of %d ms exceeded".formatted(timeoutMillis));
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public long timeoutMillis() {
+        return timeoutMillis;
+    }
+}
@@ -12,12 +12,12 @@ public final class DuplicateTransactionException extends TransactionException {
     private final String duplicateHash;
 
     public DuplicateTransactionException(String message) {
-        super(message);
+        super(ErrorCode.DUPLICATE_TRANSACTION, message);
         this.duplicateHash = null;
     }
 
     public DuplicateTransactionException(String message, String duplicateHash) {
-        super(message);
+        super(ErrorCode.DUPLICATE_TRANSACTION, message);
         this.duplicateHash = duplicateHash;
     }
 
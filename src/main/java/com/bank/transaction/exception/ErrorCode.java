@@ -0,0 +1,41 @@
+package com.bank.transaction.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Error Code
+ *
+ * The kinds of {@link TransactionException}, each with the HTTP status it is
+ * answered with. The status and its reason phrase are resolved once per code
+ * instead of on every error response.
+ */
+public enum ErrorCode {
+    TRANSACTION_NOT_FOUND(HttpStatus.NOT_FOUND),
+    ACCOUNT_NOT_FOUND(HttpStatus.NOT_FOUND),
+    DUPLICATE_TRANSACTION(HttpStatus.CONFLICT),
+    TRANSACTION_ARCHIVED(HttpStatus.CONFLICT),
+    SNAPSHOT_EXPIRED(HttpStatus.GONE),
+    IDEMPOTENCY_KEY_REUSED(HttpStatus.UNPROCESSABLE_ENTITY),
+    INSUFFICIENT_FUNDS(HttpStatus.UNPROCESSABLE_ENTITY),
+    DEADLINE_EXCEEDED(HttpStatus.GATEWAY_TIMEOUT);
+
+    private final HttpStatus status;
+
+    private final String error;
+
+    ErrorCode(HttpStatus status) {
+        this.status = status;
+        this.error = status.getReasonPhrase();
+    }
+
+    public HttpStatus status() {
+        return status;
+    }
+
+    /**
+     * The {@code error} field of the response: the status' reason phrase
+     */
+    public String error() {
+        return error;
+    }
+}
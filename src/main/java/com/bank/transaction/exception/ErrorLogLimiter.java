@@ -0,0 +1,62 @@
+package com.bank.transaction.exception;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Error Log Limiter
+ *
+ * Lets through at most a fixed number of log lines per {@link ErrorCode} each
+ * second and counts the rest, so a flood of identical errors costs a counter
+ * increment per request instead of a formatted log line. The next line let
+ * through for a code reports how many were dropped before it. Windows are
+ * reset without locking; a few lines more or less per second under
+ * contention are acceptable.
+ */
+final class ErrorLogLimiter {
+
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    private final int maxPerSecond;
+
+    private final Window[] windows = new Window[ErrorCode.values().length];
+
+    /**
+     * @param maxPerSecond log lines allowed per code and second; 0 or less logs every error
+     */
+    ErrorLogLimiter(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+        for (int i = 0; i < windows.length; i++) {
+            windows[i] = new Window();
+        }
+    }
+
+    /**
+     * Decide whether to log one more error of a code
+     *
+     * @return -1 to drop the line, otherwise the number of lines dropped since the last one logged
+     */
+    long tryAcquire(ErrorCode code) {
+        if (maxPerSecond <= 0) {
+            return 0;
+        }
+        Window window = windows[code.ordinal()];
+        long now = System.nanoTime();
+        long start = window.start.get();
+        if (now - start >= WINDOW_NANOS && window.start.compareAndSet(start, now)) {
+            window.logged.set(0);
+        }
+        if (window.logged.incrementAndGet() > maxPerSecond) {
+            window.dropped.increment();
+            return -1;
+        }
+        return window.dropped.sumThenReset();
+    }
+
+    private static final class Window {
+        private final AtomicLong start = new AtomicLong(System.nanoTime());
+        private final AtomicInteger logged = new AtomicInteger();
+        private final LongAdder dropped = new LongAdder();
+    }
+}
@@ -1,8 +1,13 @@
 package com.bank.transaction.exception;
 
+import com.bank.transaction.config.ErrorHandlingProperties;
 import com.bank.transaction.dto.ErrorResponse;
+import com.bank.transaction.service.RequestDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -12,6 +17,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.ConstraintViolationException;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -20,44 +26,61 @@ import java.util.Map;
  * 
  * Centralized exception handling for the REST API.
  * Uses JDK 21 Pattern Matching for instanceof.
+ *
+ * Business errors ({@link TransactionException}) are routine under load: they
+ * are counted in {@code transaction.errors} per code, but logged at most
+ * {@code app.errors.log-max-per-second} times per code and second.
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private final ErrorLogLimiter errorLogLimiter;
+
+    private final Map<ErrorCode, Counter> errorCounters = new EnumMap<>(ErrorCode.class);
+
+    public GlobalExceptionHandler(ErrorHandlingProperties properties, MeterRegistry meterRegistry) {
+        this.errorLogLimiter = new ErrorLogLimiter(properties.getLogMaxPerSecond());
+        for (ErrorCode code : ErrorCode.values()) {
+            errorCounters.put(code, Counter.builder("transaction.errors")
+                    .tag("code", code.name())
+                    .tag("status", String.valueOf(code.status().value()))
+                    .description("Business errors answered, including those not logged")
+                    .register(meterRegistry));
+        }
+    }
+
     /**
-     * Handle all TransactionException subclasses using Pattern Matching (JDK 21)
+     * Handle all TransactionException subclasses: expected outcomes answered
+     * with their code's status, counted per code and logged at a limited rate
      */
     @ExceptionHandler(TransactionException.class)
     public ResponseEntity<ErrorResponse> handleTransactionException(
             TransactionException ex, WebRequest request) {
-        
-        // JDK 21 Pattern Matching with switch expression
-        return switch (ex) {
-            case TransactionNotFoundException notFound -> {
-                logger.warn("Transaction not found: {}", notFound.transactionId());
-                yield ResponseEntity.status(HttpStatus.NOT_FOUND).body(
-                    ErrorResponse.of(
-                        HttpStatus.NOT_FOUND.value(),
-                        "Not Found",
-                        ex.getMessage(),
-                        extractPath(request)
-                    )
-                );
+        ErrorCode code = ex.errorCode();
+        errorCounters.get(code).increment();
+        if (logger.isWarnEnabled()) {
+            long dropped = errorLogLimiter.tryAcquire(code);
+            if (dropped > 0) {
+                logger.warn("{}: {} ({} more since last logged)", code, ex.getMessage(), dropped);
+            } else if (dropped == 0) {
+                logger.warn("{}: {}", code, ex.getMessage());
             }
-            case DuplicateTransactionException duplicate -> {
-                logger.warn("Duplicate transaction detected: {}", duplicate.getMessage());
-                yield ResponseEntity.status(HttpStatus.CONFLICT).body(
-                    ErrorResponse.of(
-                        HttpStatus.CONFLICT.value(),
-                        "Conflict",
-                        ex.getMessage(),
-                        extractPath(request)
-                    )
-                );
-            }
-        };
+        }
+        return ResponseEntity.status(code.status()).body(
+                ErrorResponse.of(code.status().value(), code.error(), ex.getMessage(), extractPath(request)));
+    }
+
+    /**
+     * Handle statements cancelled by their query timeout (set from the request deadline)
+     */
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleQueryTimeout(
+            QueryTimeoutException ex, WebRequest request) {
+        logger.warn("Query timed out: {}", ex.getMessage());
+        RequestDeadline deadline = RequestDeadline.current();
+        return gatewayTimeout(deadline != null ? deadline.exceeded().getMessage() : "Database query timed out", request);
     }
 
     /**
@@ -142,6 +165,18 @@ public class GlobalExceptionHandler {
                         extractPath(request)));
     }
 
+    /**
+     * 504 response for work cut short by the request deadline
+     */
+    private ResponseEntity<ErrorResponse> gatewayTimeout(String message, WebRequest request) {
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(
+                ErrorResponse.of(
+                        HttpStatus.GATEWAY_TIMEOUT.value(),
+                        "Gateway Timeout",
+                        message,
+                        extractPath(request)));
+    }
+
     /**
      * Extract request path from WebRequest
      */
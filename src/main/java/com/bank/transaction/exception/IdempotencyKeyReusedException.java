@@ -0,0 +1,22 @@
+package com.bank.transaction.exception;
+
+/**
+ * Idempotency Key Reused Exception
+ * 
+ * Thrown when an Idempotency-Key is sent again with a different request body.
+ * Uses JDK 17+ sealed class pattern - extends sealed TransactionException.
+ */
+public final class IdempotencyKeyReusedException extends TransactionException {
+
+    private final String idempotencyKey;
+
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super(ErrorCode.IDEMPOTENCY_KEY_REUSED,
+                "Idempotency-Key %s was already used with a different request".formatted(idempotencyKey));
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String idempotencyKey() {
+        return idempotencyKey;
+    }
+}
@@ -0,0 +1,24 @@
+package com.bank.transaction.exception;
+
+import java.math.BigDecimal;
+
+/**
+ * Insufficient Funds Exception
+ * 
+ * Thrown when a transaction would take an account's balance below zero.
+ * Uses JDK 17+ sealed class pattern - extends sealed TransactionException.
+ */
+public final class InsufficientFundsException extends TransactionException {
+
+    private final String accountId;
+
+    public InsufficientFundsException(String accountId, BigDecimal balance, BigDecimal required) {
+        super(ErrorCode.INSUFFICIENT_FUNDS, "Insufficient funds in account %s: balance %s, required %s".formatted(
+                accountId, balance.stripTrailingZeros().toPlainString(), required.stripTrailingZeros().toPlainString()));
+        this.accountId = accountId;
+    }
+
+    public String accountId() {
+        return accountId;
+    }
+}
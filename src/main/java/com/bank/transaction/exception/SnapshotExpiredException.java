@@ -0,0 +1,22 @@
+package com.bank.transaction.exception;
+
+/**
+ * Snapshot Expired Exception
+ * 
+ * Thrown when a read snapshot token is unknown, or the snapshot was released
+ * after sitting idle for longer than its lease.
+ * Uses JDK 17+ sealed class pattern - extends sealed TransactionException.
+ */
+public final class SnapshotExpiredException extends TransactionException {
+
+    private final String snapshotToken;
+
+    public SnapshotExpiredException(String snapshotToken) {
+        super(ErrorCode.SNAPSHOT_EXPIRED, "读快照不存在或已过期: %s".formatted(snapshotToken));
+        this.snapshotToken = snapshotToken;
+    }
+
+    public String snapshotToken() {
+        return snapshotToken;
+    }
+}
@@ -0,0 +1,22 @@
+package com.bank.transaction.exception;
+
+/**
+ * Transaction Archived Exception
+ * 
+ * Thrown when attempting to modify a transaction that has been moved to the
+ * read-only archive.
+ * Uses JDK 17+ sealed class pattern - extends sealed TransactionException.
+ */
+public final class TransactionArchivedException extends TransactionException {
+
+    private final String transactionId;
+
+    public TransactionArchivedException(String transactionId) {
+        super(ErrorCode.TRANSACTION_ARCHIVED, "交易已归档，不可修改: %s".formatted(transactionId));
+        this.transactionId = transactionId;
+    }
+
+    public String transactionId() {
+        return transactionId;
+    }
+}
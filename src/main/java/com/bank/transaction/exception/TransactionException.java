@@ -4,15 +4,39 @@ package com.bank.transaction.exception;
  * Transaction Exception (Sealed Class)
  * 
  * JDK 17+ sealed class providing a restricted exception hierarchy.
- * Only TransactionNotFoundException and DuplicateTransactionException can extend this class.
+ * Only the exceptions listed in the permits clause can extend this class.
+ *
+ * These are expected outcomes (not found, duplicate, ...) that are common
+ * under load, so by default they are created without a stack trace: filling
+ * one in walks the whole Tomcat/Spring/MyBatis call stack on every throw.
+ * {@code app.errors.stack-traces=true} brings the traces back for debugging.
  */
 public sealed
 abstract class TransactionException
         extends RuntimeException
-permits TransactionNotFoundException, DuplicateTransactionException
+permits TransactionNotFoundException, DuplicateTransactionException, IdempotencyKeyReusedException,
+        DeadlineExceededException, InsufficientFundsException, AccountNotFoundException,
+        TransactionArchivedException, SnapshotExpiredException
 {
 
-    protected TransactionException(String message) {
-        super(message);
+    private static volatile boolean stackTraces = true;
+
+    private final ErrorCode errorCode;
+
+    protected TransactionException(ErrorCode errorCode, String message) {
+        super(message, null, stackTraces, stackTraces);
+        this.errorCode = errorCode;
+    }
+
+    /**
+     * Whether exceptions created from now on record their stack trace (and
+     * suppressed exceptions); set once at startup from {@code app.errors.stack-traces}
+     */
+    public static void setStackTraces(boolean enabled) {
+        stackTraces = enabled;
+    }
+
+    public ErrorCode errorCode() {
+        return errorCode;
     }
 }
@@ -11,7 +11,7 @@ public final class TransactionNotFoundException extends TransactionException {
     private final String transactionId;
 
     public TransactionNotFoundException(String transactionId) {
-        super("交易不存在: %s".formatted(transactionId));
+        super(ErrorCode.TRANSACTION_NOT_FOUND, "交易不存在: %s".formatted(transactionId));
         this.transactionId = transactionId;
     }
 
@@ -0,0 +1,82 @@
+package com.bank.transaction.grpc;
+
+import io.grpc.Server;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transaction gRPC Server
+ *
+ * Starts and stops the gRPC {@link Server} with the application context.
+ * In-flight calls get a grace period on shutdown before being cancelled, then
+ * the call executor is closed.
+ */
+public class TransactionGrpcServer implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionGrpcServer.class);
+
+    private static final long SHUTDOWN_GRACE_SECONDS = 5;
+
+    private final Server server;
+    private final ExecutorService executor;
+    private final String description;
+
+    private volatile boolean running;
+
+    /**
+     * @param server      the configured, not yet started server
+     * @param executor    the executor the server runs calls on, owned by this lifecycle
+     * @param description how the server is reachable, for the startup log
+     */
+    public TransactionGrpcServer(Server server, ExecutorService executor, String description) {
+        this.server = server;
+        this.executor = executor;
+        this.description = description;
+    }
+
+    @Override
+    public void start() {
+        try {
+            server.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start gRPC server (" + description + ")", e);
+        }
+        running = true;
+        logger.info("gRPC server started ({}{})", description, server.getPort() > 0 ? ":" + server.getPort() : "");
+    }
+
+    @Override
+    public void stop() {
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(SHUTDOWN_GRACE_SECONDS, TimeUnit.SECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        executor.close();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * The bound port, useful when configured with port 0
+     *
+     * @return the local port, or -1 for an in-process server
+     */
+    public int getPort() {
+        return server.getPort();
+    }
+}
@@ -0,0 +1,302 @@
+package com.bank.transaction.grpc;
+
+import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionRequest;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.enums.TransactionSort;
+import com.bank.transaction.exception.TransactionException;
+import com.bank.transaction.exception.TransactionNotFoundException;
+import com.bank.transaction.grpc.proto.IngestAck;
+import com.bank.transaction.grpc.proto.IngestResult;
+import com.bank.transaction.grpc.proto.ListTransactionsRequest;
+import com.bank.transaction.grpc.proto.TransactionChange;
+import com.bank.transaction.grpc.proto.TransactionStreamServiceGrpc;
+import com.bank.transaction.grpc.proto.WatchTransactionsRequest;
+import com.bank.transaction.service.TransactionChangeBroadcaster;
+import com.bank.transaction.service.TransactionChangedEvent;
+import com.bank.transaction.service.TransactionService;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Transaction gRPC Service
+ *
+ * Streaming counterpart of {@code TransactionController}, built on the same
+ * {@link TransactionService}:
+ * <ul>
+ * <li>{@code IngestTransactions}: the client streams requests and receives one
+ * {@link IngestAck} per batch. Each batch is processed before the next message
+ * is requested, so gRPC flow control throttles clients that outpace the
+ * database. Every request gets a result, failures included, so the ack always
+ * tells the client which requests of the batch were applied.</li>
+ * <li>{@code ListTransactions}: streams transactions newest first, fetching the
+ * next page only when the client can take more.</li>
+ * <li>{@code WatchTransactions}: streams committed changes from the
+ * {@link TransactionChangeBroadcaster}, pausing while the transport is not
+ * ready. A watcher that falls too far behind is closed with
+ * {@code RESOURCE_EXHAUSTED} instead of holding events in memory.</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.grpc", name = "enabled", havingValue = "true")
+public class TransactionGrpcService extends TransactionStreamServiceGrpc.TransactionStreamServiceImplBase {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionGrpcService.class);
+
+    private final TransactionService transactionService;
+    private final TransactionChangeBroadcaster changeBroadcaster;
+    private final Validator validator;
+
+    @Value("${app.grpc.ingest-batch-size:100}")
+    private int ingestBatchSize;
+
+    @Value("${app.grpc.watch-buffer-size:1024}")
+    private int watchBufferSize;
+
+    @Value("${app.pagination.max-page-size:100}")
+    private int maxPageSize;
+
+    public TransactionGrpcService(TransactionService transactionService,
+            TransactionChangeBroadcaster changeBroadcaster, Validator validator) {
+        this.transactionService = transactionService;
+        this.changeBroadcaster = changeBroadcaster;
+        this.validator = validator;
+    }
+
+    @Override
+    public StreamObserver<com.bank.transaction.grpc.proto.TransactionRequest> ingestTransactions(
+            StreamObserver<IngestAck> responseObserver) {
+        return new StreamObserver<>() {
+
+            private final List<com.bank.transaction.grpc.proto.TransactionRequest> batch =
+                    new ArrayList<>(ingestBatchSize);
+            private long nextSequence;
+
+            @Override
+            public void onNext(com.bank.transaction.grpc.proto.TransactionRequest request) {
+                batch.add(request);
+                if (batch.size() >= ingestBatchSize) {
+                    flush();
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                // Already processed batches stay committed; the unacknowledged tail is dropped
+                logger.debug("gRPC: Ingest stream aborted by client after {} requests", nextSequence, t);
+                batch.clear();
+            }
+
+            @Override
+            public void onCompleted() {
+                flush();
+                responseObserver.onCompleted();
+            }
+
+            private void flush() {
+                if (batch.isEmpty()) {
+                    return;
+                }
+                IngestAck.Builder ack = IngestAck.newBuilder().setFirstSequence(nextSequence);
+                int accepted = 0;
+                for (var request : batch) {
+                    IngestResult result = ingest(nextSequence++, request);
+                    if (result.getStatus() == IngestResult.Status.STATUS_ACCEPTED) {
+                        accepted++;
+                    }
+                    ack.addResults(result);
+                }
+                batch.clear();
+                responseObserver.onNext(ack
+                        .setAccepted(accepted)
+                        .setRejected(ack.getResultsCount() - accepted)
+                        .build());
+            }
+        };
+    }
+
+    private IngestResult ingest(long sequence, com.bank.transaction.grpc.proto.TransactionRequest proto) {
+        IngestResult.Builder result = IngestResult.newBuilder().setSequence(sequence);
+
+        TransactionRequest request;
+        try {
+            request = TransactionProtoMapper.toRequest(proto);
+        } catch (NumberFormatException e) {
+            return result.setStatus(IngestResult.Status.STATUS_INVALID)
+                    .setMessage("Invalid amount: " + proto.getAmount())
+                    .build();
+        }
+
+        var violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return result.setStatus(IngestResult.Status.STATUS_INVALID)
+                    .setMessage(violations.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .sorted()
+                            .collect(Collectors.joining("; ")))
+                    .build();
+        }
+
+        try {
+            TransactionResponse created = transactionService.createTransaction(request);
+            return result.setStatus(IngestResult.Status.STATUS_ACCEPTED)
+                    .setTransactionId(created.id())
+                    .build();
+        } catch (TransactionException e) {
+            return result.setStatus(statusOf(e))
+                    .setMessage(e.getMessage())
+                    .build();
+        } catch (DuplicateKeyException e) {
+            // A concurrent stream inserted the same content between the duplicate check and the insert
+            return result.setStatus(IngestResult.Status.STATUS_DUPLICATE)
+                    .setMessage("Duplicate transaction detected")
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return result.setStatus(IngestResult.Status.STATUS_INVALID)
+                    .setMessage(e.getMessage())
+                    .build();
+        } catch (RuntimeException e) {
+            // Earlier requests of the batch are committed; answer this one and keep the batch's ack
+            logger.error("gRPC: Failed to ingest request {}", sequence, e);
+            return result.setStatus(IngestResult.Status.STATUS_ERROR)
+                    .setMessage("Internal error")
+                    .build();
+        }
+    }
+
+    /**
+     * Result status of a business error: its own status where the proto has one, otherwise
+     * invalid for client errors and error for server-side ones
+     */
+    private static IngestResult.Status statusOf(TransactionException e) {
+        return switch (e.errorCode()) {
+            case DUPLICATE_TRANSACTION -> IngestResult.Status.STATUS_DUPLICATE;
+            case INSUFFICIENT_FUNDS -> IngestResult.Status.STATUS_INSUFFICIENT_FUNDS;
+            default -> e.errorCode().status().is4xxClientError()
+                    ? IngestResult.Status.STATUS_INVALID
+                    : IngestResult.Status.STATUS_ERROR;
+        };
+    }
+
+    @Override
+    public void listTransactions(ListTransactionsRequest request,
+            StreamObserver<com.bank.transaction.grpc.proto.TransactionResponse> responseObserver) {
+        int pageSize = request.getPageSize() > 0 ? Math.min(request.getPageSize(), maxPageSize) : maxPageSize;
+        long limit = request.getLimit() > 0 ? request.getLimit() : Long.MAX_VALUE;
+
+        var call = (ServerCallStreamObserver<com.bank.transaction.grpc.proto.TransactionResponse>) responseObserver;
+        ListStream stream = new ListStream(call, pageSize, limit);
+        // onReady runs on this call's serializing executor, never concurrently with this method
+        call.setOnReadyHandler(stream);
+        stream.run();
+    }
+
+    /**
+     * Writes pages while the transport is ready and resumes from onReady
+     */
+    private final class ListStream implements Runnable {
+
+        private final ServerCallStreamObserver<com.bank.transaction.grpc.proto.TransactionResponse> call;
+        private final int pageSize;
+        private final long limit;
+
+        private Iterator<TransactionResponse> current = Collections.emptyIterator();
+        // Keyset cursor past the last row read, so each page seeks the (timestamp DESC, id) index
+        private String cursor;
+        private boolean lastPage;
+        private long sent;
+        private boolean done;
+
+        ListStream(ServerCallStreamObserver<com.bank.transaction.grpc.proto.TransactionResponse> call,
+                int pageSize, long limit) {
+            this.call = call;
+            this.pageSize = pageSize;
+            this.limit = limit;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!done && !call.isCancelled() && call.isReady()) {
+                    if (sent >= limit || (!current.hasNext() && lastPage)) {
+                        done = true;
+                        call.onCompleted();
+                        return;
+                    }
+                    if (!current.hasNext()) {
+                        PageResponse<TransactionResponse> page = transactionService.getSortedTransactions(
+                                TransactionSort.TIMESTAMP_DESC, 0, pageSize, cursor);
+                        current = page.content().iterator();
+                        cursor = page.nextCursor();
+                        lastPage = cursor == null || page.content().isEmpty();
+                        continue;
+                    }
+                    call.onNext(TransactionProtoMapper.toProto(current.next()));
+                    sent++;
+                }
+            } catch (RuntimeException e) {
+                done = true;
+                logger.error("gRPC: ListTransactions failed", e);
+                call.onError(Status.INTERNAL.withDescription("Failed to list transactions").asRuntimeException());
+            }
+        }
+    }
+
+    @Override
+    public void watchTransactions(WatchTransactionsRequest request,
+            StreamObserver<TransactionChange> responseObserver) {
+        var call = (ServerCallStreamObserver<TransactionChange>) responseObserver;
+        var subscription = changeBroadcaster.subscribe(watchBufferSize, new TransactionChangeBroadcaster.ChangeListener() {
+
+            @Override
+            public boolean isReady() {
+                return call.isReady();
+            }
+
+            @Override
+            public void onChange(TransactionChangedEvent event) {
+                call.onNext(toChange(event));
+            }
+
+            @Override
+            public void onEvicted(int capacity) {
+                call.onError(Status.RESOURCE_EXHAUSTED
+                        .withDescription("Watcher fell more than " + capacity + " changes behind")
+                        .asRuntimeException());
+            }
+        });
+        call.setOnCancelHandler(subscription::close);
+        call.setOnReadyHandler(subscription::resume);
+        logger.debug("gRPC: Watcher subscribed ({} active)", changeBroadcaster.subscriberCount());
+    }
+
+    private TransactionChange toChange(TransactionChangedEvent event) {
+        TransactionChange.Builder change = TransactionChange.newBuilder()
+                .setType(TransactionChange.Type.valueOf("TYPE_" + event.type().name()))
+                .setTransactionId(event.transactionId());
+        if (event.type() != TransactionChangedEvent.ChangeType.DELETED) {
+            try {
+                change.setTransaction(TransactionProtoMapper.toProto(
+                        transactionService.getTransaction(event.transactionId())));
+            } catch (TransactionNotFoundException e) {
+                // Deleted again before this watcher caught up; the delete follows
+            }
+        }
+        return change.build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.bank.transaction.grpc;
+
+import com.bank.transaction.dto.TransactionRequest;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.enums.TransactionCategory;
+import com.bank.transaction.enums.TransactionType;
+
+import java.math.BigDecimal;
+
+/**
+ * Transaction Proto Mapper
+ *
+ * Converts between the protobuf messages and the REST DTO records. Enum
+ * values map by name: proto {@code TRANSACTION_TYPE_DEPOSIT} is
+ * {@link TransactionType#DEPOSIT}; unspecified values map to null so that
+ * Bean Validation reports them like a missing JSON field.
+ */
+final class TransactionProtoMapper {
+
+    private static final String TYPE_PREFIX = "TRANSACTION_TYPE_";
+    private static final String CATEGORY_PREFIX = "TRANSACTION_CATEGORY_";
+
+    private TransactionProtoMapper() {
+    }
+
+    /**
+     * Convert a proto request to the DTO
+     *
+     * @throws NumberFormatException if the amount is not a decimal number
+     */
+    static TransactionRequest toRequest(com.bank.transaction.grpc.proto.TransactionRequest proto) {
+        return new TransactionRequest(
+                proto.getAmount().isEmpty() ? null : new BigDecimal(proto.getAmount()),
+                toType(proto.getType()),
+                toCategory(proto.getCategory()),
+                proto.hasDescription() ? proto.getDescription() : null,
+                proto.hasSourceAccountId() ? proto.getSourceAccountId() : null,
+                proto.hasTargetAccountId() ? proto.getTargetAccountId() : null);
+    }
+
+    static com.bank.transaction.grpc.proto.TransactionResponse toProto(TransactionResponse response) {
+        var builder = com.bank.transaction.grpc.proto.TransactionResponse.newBuilder()
+                .setId(response.id())
+                .setAmount(response.amount().toPlainString())
+                .setType(toProto(response.type()))
+                .setTypeDisplayName(response.typeDisplayName())
+                .setCategory(toProto(response.category()))
+                .setCategoryDisplayName(response.categoryDisplayName())
+                .setTimestamp(response.timestamp().toString());
+        if (response.description() != null) {
+            builder.setDescription(response.description());
+        }
+        if (response.sourceAccountId() != null) {
+            builder.setSourceAccountId(response.sourceAccountId());
+        }
+        if (response.targetAccountId() != null) {
+            builder.setTargetAccountId(response.targetAccountId());
+        }
+        return builder.build();
+    }
+
+    static TransactionType toType(com.bank.transaction.grpc.proto.TransactionType proto) {
+        return switch (proto) {
+            case TRANSACTION_TYPE_UNSPECIFIED, UNRECOGNIZED -> null;
+            default -> TransactionType.valueOf(proto.name().substring(TYPE_PREFIX.length()));
+        };
+    }
+
+    static TransactionCategory toCategory(com.bank.transaction.grpc.proto.TransactionCategory proto) {
+        return switch (proto) {
+            case TRANSACTION_CATEGORY_UNSPECIFIED, UNRECOGNIZED -> null;
+            default -> TransactionCategory.valueOf(proto.name().substring(CATEGORY_PREFIX.length()));
+        };
+    }
+
+    static com.bank.transaction.grpc.proto.TransactionType toProto(TransactionType type) {
+        return com.bank.transaction.grpc.proto.TransactionType.valueOf(TYPE_PREFIX + type.name());
+    }
+
+    static com.bank.transaction.grpc.proto.TransactionCategory toProto(TransactionCategory category) {
+        return com.bank.transaction.grpc.proto.TransactionCategory.valueOf(CATEGORY_PREFIX + category.name());
+    }
+}
@@ -0,0 +1,61 @@
+package com.bank.transaction.mapper;
+
+import com.bank.transaction.entity.Account;
+import org.apache.ibatis.annotations.*;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * MyBatis Mapper for Account entity.
+ * Provides database operations for the account ledger.
+ */
+@Mapper
+public interface AccountMapper {
+
+    /**
+     * Find account by ID
+     */
+    @Select("SELECT * FROM accounts WHERE id = #{id}")
+    Optional<Account> findById(String id);
+
+    /**
+     * Find the accounts with the given IDs; unknown IDs are skipped
+     */
+    @Select("""
+            <script>
+            SELECT * FROM accounts WHERE id IN
+            <foreach collection="ids" item="id" open="(" separator="," close=")">#{id}</foreach>
+            </script>
+            """)
+    List<Account> findAllById(@Param("ids") Collection<String> ids);
+
+    /**
+     * Insert the account or overwrite its balance
+     */
+    @Update("""
+            MERGE INTO accounts (id, balance, updated_at) KEY (id)
+            VALUES (#{id}, #{balance}, #{updatedAt})
+            """)
+    int upsert(Account account);
+
+    /**
+     * Insert or overwrite multiple accounts with a single multi-row statement
+     */
+    @Update("""
+            <script>
+            MERGE INTO accounts (id, balance, updated_at) KEY (id) VALUES
+            <foreach collection="accounts" item="a" separator=",">
+                (#{a.id}, #{a.balance}, #{a.updatedAt})
+            </foreach>
+            </script>
+            """)
+    int upsertBatch(@Param("accounts") List<Account> accounts);
+
+    /**
+     * Delete all accounts (for testing)
+     */
+    @Delete("DELETE FROM accounts")
+    void deleteAll();
+}
@@ -0,0 +1,74 @@
+package com.bank.transaction.mapper;
+
+import com.bank.transaction.entity.LedgerHold;
+import org.apache.ibatis.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * MyBatis Mapper for LedgerHold entity.
+ * Provides database operations for debits whose transaction has not committed.
+ */
+@Mapper
+public interface LedgerHoldMapper {
+
+    /**
+     * Insert multiple holds with a single multi-row statement
+     */
+    @Insert("""
+            <script>
+            INSERT INTO ledger_holds (id, account_id, amount, created_at) VALUES
+            <foreach collection="holds" item="h" separator=",">
+                (#{h.id}, #{h.accountId}, #{h.amount}, #{h.createdAt})
+            </foreach>
+            </script>
+            """)
+    int insertBatch(@Param("holds") List<LedgerHold> holds);
+
+    /**
+     * The given IDs that are still held, locked until the current database transaction ends;
+     * waits for a transaction that is deleting one of them to finish
+     */
+    @Select("""
+            <script>
+            SELECT id FROM ledger_holds WHERE id IN
+            <foreach collection="ids" item="id" open="(" separator="," close=")">#{id}</foreach>
+            FOR UPDATE
+            </script>
+            """)
+    List<String> findHeldIdsForUpdate(@Param("ids") Collection<String> ids);
+
+    /**
+     * Oldest holds journaled before the given time
+     */
+    @Select("""
+            SELECT * FROM ledger_holds WHERE created_at < #{before}
+            ORDER BY created_at LIMIT #{limit}
+            """)
+    List<LedgerHold> findCreatedBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    /**
+     * Delete released holds
+     */
+    @Delete("""
+            <script>
+            DELETE FROM ledger_holds WHERE id IN
+            <foreach collection="ids" item="id" open="(" separator="," close=")">#{id}</foreach>
+            </script>
+            """)
+    int deleteByIds(@Param("ids") Collection<String> ids);
+
+    /**
+     * Count holds
+     */
+    @Select("SELECT COUNT(*) FROM ledger_holds")
+    long count();
+
+    /**
+     * Delete all holds (for testing)
+     */
+    @Delete("DELETE FROM ledger_holds")
+    void deleteAll();
+}
@@ -0,0 +1,72 @@
+package com.bank.transaction.mapper;
+
+import com.bank.transaction.entity.PendingCredit;
+import org.apache.ibatis.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * MyBatis Mapper for PendingCredit entity.
+ * Provides database operations for credits not yet applied by the ledger writer.
+ */
+@Mapper
+public interface PendingCreditMapper {
+
+    /**
+     * Insert multiple pending credits with a single multi-row statement
+     */
+    @Insert("""
+            <script>
+            INSERT INTO pending_credits (id, account_id, amount, created_at) VALUES
+            <foreach collection="credits" item="c" separator=",">
+                (#{c.id}, #{c.accountId}, #{c.amount}, #{c.createdAt})
+            </foreach>
+            </script>
+            """)
+    int insertBatch(@Param("credits") List<PendingCredit> credits);
+
+    /**
+     * The given IDs that are still pending; applied or unknown IDs are skipped
+     */
+    @Select("""
+            <script>
+            SELECT id FROM pending_credits WHERE id IN
+            <foreach collection="ids" item="id" open="(" separator="," close=")">#{id}</foreach>
+            </script>
+            """)
+    List<String> findPendingIds(@Param("ids") Collection<String> ids);
+
+    /**
+     * Oldest pending credits written before the given time
+     */
+    @Select("""
+            SELECT * FROM pending_credits WHERE created_at < #{before}
+            ORDER BY created_at LIMIT #{limit}
+            """)
+    List<PendingCredit> findCreatedBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    /**
+     * Delete applied credits
+     */
+    @Delete("""
+            <script>
+            DELETE FROM pending_credits WHERE id IN
+            <foreach collection="ids" item="id" open="(" separator="," close=")">#{id}</foreach>
+            </script>
+            """)
+    int deleteByIds(@Param("ids") Collection<String> ids);
+
+    /**
+     * Count pending credits
+     */
+    @Select("SELECT COUNT(*) FROM pending_credits")
+    long count();
+
+    /**
+     * Delete all pending credits (for testing)
+     */
+    @Delete("DELETE FROM pending_credits")
+    void deleteAll();
+}
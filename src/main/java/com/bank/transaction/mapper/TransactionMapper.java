@@ -1,9 +1,12 @@
 package com.bank.transaction.mapper;
 
 import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.entity.TransactionTombstone;
+import com.bank.transaction.enums.TransactionSort;
 import org.apache.ibatis.annotations.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,11 +21,28 @@ public interface TransactionMapper {
      * Insert a new transaction
      */
     @Insert("""
-            INSERT INTO transactions (id, amount, type, category, description, timestamp)
-            VALUES (#{id}, #{amount}, #{type}, #{category}, #{description}, #{timestamp})
+            INSERT INTO transactions (id, amount, type, category, description, timestamp, change_seq,
+                source_account_id, target_account_id)
+            VALUES (#{id}, #{amount}, #{type}, #{category}, #{description}, #{timestamp}, #{changeSeq},
+                #{sourceAccountId}, #{targetAccountId})
             """)
     int insert(Transaction transaction);
 
+    /**
+     * Insert multiple transactions with a single multi-row statement
+     */
+    @Insert("""
+            <script>
+            INSERT INTO transactions (id, amount, type, category, description, timestamp, change_seq,
+                source_account_id, target_account_id) VALUES
+            <foreach collection="transactions" item="t" separator=",">
+                (#{t.id}, #{t.amount}, #{t.type}, #{t.category}, #{t.description}, #{t.timestamp}, #{t.changeSeq},
+                 #{t.sourceAccountId}, #{t.targetAccountId})
+            </foreach>
+            </script>
+            """)
+    int insertBatch(@Param("transactions") List<Transaction> transactions);
+
     /**
      * Find transaction by ID
      */
@@ -33,22 +53,79 @@ public interface TransactionMapper {
             @Result(property = "type", column = "type"),
             @Result(property = "category", column = "category"),
             @Result(property = "description", column = "description"),
-            @Result(property = "timestamp", column = "timestamp")
+            @Result(property = "timestamp", column = "timestamp"),
+            @Result(property = "changeSeq", column = "change_seq"),
+            @Result(property = "sourceAccountId", column = "source_account_id"),
+            @Result(property = "targetAccountId", column = "target_account_id")
     })
     Optional<Transaction> findById(String id);
 
+    /**
+     * Find transaction by ID and lock its row until the current transaction ends
+     */
+    @Select("SELECT * FROM transactions WHERE id = #{id} FOR UPDATE")
+    Optional<Transaction> findByIdForUpdate(String id);
+
     /**
      * Find all transactions
      */
-    @Select("SELECT * FROM transactions ORDER BY timestamp DESC")
+    @Select("SELECT * FROM transactions ORDER BY timestamp DESC, id")
     List<Transaction> findAll();
 
     /**
      * Find transactions with pagination (offset-based)
      */
-    @Select("SELECT * FROM transactions ORDER BY timestamp DESC LIMIT #{limit} OFFSET #{offset}")
+    @Select("SELECT * FROM transactions ORDER BY timestamp DESC, id LIMIT #{limit} OFFSET #{offset}")
     List<Transaction> findAllPaginated(@Param("offset") int offset, @Param("limit") int limit);
 
+    /**
+     * Find transactions in a supported sort order, optionally after a keyset cursor
+     */
+    @Select("""
+            <script>
+            SELECT * FROM transactions
+            <if test="after != null">WHERE ${sort.keysetCondition}</if>
+            ORDER BY ${sort.orderBy}
+            LIMIT #{limit} OFFSET #{offset}
+            </script>
+            """)
+    List<Transaction> findSorted(@Param("sort") TransactionSort sort, @Param("after") Transaction after,
+            @Param("offset") int offset, @Param("limit") int limit);
+
+    /**
+     * Find transactions in a supported sort order as of a change sequence
+     * number, optionally after a keyset cursor. The index is named so that
+     * the change sequence filter cannot steer the planner off the order's index.
+     */
+    @Select("""
+            <script>
+            SELECT * FROM transactions USE INDEX (${sort.index})
+            WHERE change_seq &lt;= #{upTo}
+            <if test="after != null">AND (${sort.keysetCondition})</if>
+            ORDER BY ${sort.orderBy}
+            LIMIT #{limit} OFFSET #{offset}
+            </script>
+            """)
+    List<Transaction> findSortedUpTo(@Param("sort") TransactionSort sort, @Param("after") Transaction after,
+            @Param("upTo") long upTo, @Param("offset") int offset, @Param("limit") int limit);
+
+    /**
+     * Count transactions written at or before a change sequence number
+     */
+    @Select("SELECT COUNT(*) FROM transactions WHERE change_seq <= #{upTo}")
+    long countUpTo(@Param("upTo") long upTo);
+
+    /**
+     * Count which of the given transactions are stored as written at or before a change sequence number
+     */
+    @Select("""
+            <script>
+            SELECT COUNT(*) FROM transactions WHERE change_seq &lt;= #{upTo} AND id IN
+            <foreach collection="ids" item="id" open="(" separator="," close=")">#{id}</foreach>
+            </script>
+            """)
+    long countUpToByIds(@Param("ids") List<String> ids, @Param("upTo") long upTo);
+
     /**
      * Count total transactions
      */
@@ -61,7 +138,8 @@ public interface TransactionMapper {
     @Update("""
             UPDATE transactions
             SET amount = #{amount}, type = #{type}, category = #{category},
-                description = #{description}, timestamp = #{timestamp}
+                description = #{description}, timestamp = #{timestamp}, change_seq = #{changeSeq},
+                source_account_id = #{sourceAccountId}, target_account_id = #{targetAccountId}
             WHERE id = #{id}
             """)
     int update(Transaction transaction);
@@ -85,11 +163,15 @@ public interface TransactionMapper {
             SELECT COUNT(*) > 0 FROM transactions
             WHERE amount = #{amount} AND type = #{type} AND category = #{category}
             AND (description = #{description} OR (description IS NULL AND #{description} IS NULL))
+            AND source_account_id IS NOT DISTINCT FROM #{sourceAccountId}
+            AND target_account_id IS NOT DISTINCT FROM #{targetAccountId}
             """)
     boolean existsDuplicate(@Param("amount") BigDecimal amount,
             @Param("type") String type,
             @Param("category") String category,
-            @Param("description") String description);
+            @Param("description") String description,
+            @Param("sourceAccountId") String sourceAccountId,
+            @Param("targetAccountId") String targetAccountId);
 
     /**
      * Check if a duplicate exists excluding a specific ID (for updates)
@@ -98,17 +180,98 @@ public interface TransactionMapper {
             SELECT COUNT(*) > 0 FROM transactions
             WHERE amount = #{amount} AND type = #{type} AND category = #{category}
             AND (description = #{description} OR (description IS NULL AND #{description} IS NULL))
+            AND source_account_id IS NOT DISTINCT FROM #{sourceAccountId}
+            AND target_account_id IS NOT DISTINCT FROM #{targetAccountId}
             AND id != #{excludeId}
             """)
     boolean existsDuplicateExcluding(@Param("amount") BigDecimal amount,
             @Param("type") String type,
             @Param("category") String category,
             @Param("description") String description,
+            @Param("sourceAccountId") String sourceAccountId,
+            @Param("targetAccountId") String targetAccountId,
             @Param("excludeId") String excludeId);
 
+    /**
+     * Find transactions written after a change sequence, in sequence order
+     */
+    @Select("""
+            SELECT * FROM transactions
+            WHERE change_seq > #{since} AND change_seq <= #{upTo}
+            ORDER BY change_seq LIMIT #{limit}
+            """)
+    List<Transaction> findChangedSince(@Param("since") long since, @Param("upTo") long upTo,
+            @Param("limit") int limit);
+
+    /**
+     * Record a deleted transaction
+     */
+    @Insert("""
+            INSERT INTO transaction_tombstones (change_seq, transaction_id, deleted_at)
+            VALUES (#{changeSeq}, #{transactionId}, #{deletedAt})
+            """)
+    int insertTombstone(TransactionTombstone tombstone);
+
+    /**
+     * Find deletions after a change sequence, in sequence order
+     */
+    @Select("""
+            SELECT * FROM transaction_tombstones
+            WHERE change_seq > #{since} AND change_seq <= #{upTo}
+            ORDER BY change_seq LIMIT #{limit}
+            """)
+    List<TransactionTombstone> findTombstonesSince(@Param("since") long since, @Param("upTo") long upTo,
+            @Param("limit") int limit);
+
+    /**
+     * Highest change sequence recorded in either table (0 when empty)
+     */
+    @Select("""
+            SELECT GREATEST(
+                COALESCE((SELECT MAX(change_seq) FROM transactions), 0),
+                COALESCE((SELECT MAX(change_seq) FROM transaction_tombstones), 0))
+            """)
+    long maxChangeSeq();
+
+    /**
+     * Timestamp of the oldest transaction created before a cutoff, or null if none
+     */
+    @Select("SELECT MIN(timestamp) FROM transactions WHERE timestamp < #{cutoff}")
+    LocalDateTime findOldestTimestampBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Lock and read the oldest transactions in a time range, oldest first
+     */
+    @Select("""
+            SELECT * FROM transactions
+            WHERE timestamp >= #{from} AND timestamp < #{to}
+            ORDER BY timestamp, id
+            LIMIT #{limit}
+            FOR UPDATE
+            """)
+    List<Transaction> findArchivableForUpdate(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+            @Param("limit") int limit);
+
+    /**
+     * Delete transactions by ID without leaving tombstones
+     */
+    @Delete("""
+            <script>
+            DELETE FROM transactions WHERE id IN
+            <foreach collection="ids" item="id" open="(" separator="," close=")">#{id}</foreach>
+            </script>
+            """)
+    int deleteByIds(@Param("ids") List<String> ids);
+
     /**
      * Delete all transactions (for testing)
      */
     @Delete("DELETE FROM transactions")
     void deleteAll();
+
+    /**
+     * Delete all tombstones (for testing)
+     */
+    @Delete("DELETE FROM transaction_tombstones")
+    void deleteAllTombstones();
 }
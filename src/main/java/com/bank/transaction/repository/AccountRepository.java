@@ -0,0 +1,50 @@
+package com.bank.transaction.repository;
+
+import com.bank.transaction.entity.Account;
+import com.bank.transaction.mapper.AccountMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Account Repository
+ * 
+ * Delegates account balance storage to MyBatis AccountMapper.
+ */
+@Repository
+public class AccountRepository {
+
+    private final AccountMapper accountMapper;
+
+    public AccountRepository(AccountMapper accountMapper) {
+        this.accountMapper = accountMapper;
+    }
+
+    /**
+     * Find an account by ID
+     * 
+     * @param id the account ID
+     * @return Optional containing the account if it has ever been used
+     */
+    public Optional<Account> findById(String id) {
+        return accountMapper.findById(id);
+    }
+
+    /**
+     * Create the account or overwrite its balance
+     * 
+     * @param account the account to save
+     * @return the saved account
+     */
+    public Account save(Account account) {
+        accountMapper.upsert(account);
+        return account;
+    }
+
+    /**
+     * Clear all accounts (useful for testing)
+     */
+    public void deleteAll() {
+        accountMapper.deleteAll();
+    }
+}
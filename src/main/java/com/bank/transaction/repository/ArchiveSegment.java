@@ -0,0 +1,489 @@
+package com.bank.transaction.repository;
+
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.enums.TransactionCategory;
+import com.bank.transaction.enums.TransactionSort;
+import com.bank.transaction.enums.TransactionType;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Archive Segment
+ *
+ * One immutable file of archived transactions, newest first. Layout:
+ * <pre>
+ * [block 0] ... [block n-1]     Deflate-compressed runs of records
+ * [block index]                 per block: newest µs, oldest µs, offset, length, record count
+ * [id index]                    per record: 64-bit ID hash, block number; sorted by hash
+ * [sort indexes]                per other {@link TransactionSort} order: record positions in that order
+ * [sort directory]              order count, then per order: name, offset of its positions
+ * [sort directory offset]
+ * [trailer]                     magic, version, counts, section offsets
+ * </pre>
+ * The block index is a sparse timestamp index: one entry per block rather
+ * than per record. Its bounds order segments in time, and its record counts
+ * let a reader seek to the block holding the n-th record and inflate only
+ * that block. The file is memory-mapped, so the indexes cost no heap.
+ *
+ * Other {@link TransactionSort} orders are served from the sort indexes,
+ * written with the segment at four bytes per record and order. A cursor is
+ * found by binary search over an index, decoding only the blocks its probes
+ * land in, so a sorted read costs no heap beyond the blocks it touches.
+ * Segments written before the sort indexes existed (version 1), and orders
+ * added since a segment was written, fall back to an index built in memory
+ * on first use.
+ */
+final class ArchiveSegment {
+
+    static final String SUFFIX = ".seg";
+
+    private static final int MAGIC = 0x54584152; // "TXAR"
+    private static final int VERSION = 2;
+    private static final int BLOCK_ENTRY_BYTES = 8 + 8 + 8 + 4 + 4;
+    private static final int ID_ENTRY_BYTES = 8 + 4;
+    private static final int TRAILER_BYTES = 4 + 4 + 4 + 4 + 8 + 8;
+
+    /**
+     * Archive order: newest first, ties broken by ID
+     */
+    static final Comparator<Transaction> ORDER = Comparator.comparing(Transaction::getTimestamp).reversed()
+            .thenComparing(Transaction::getId);
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int blockCount;
+    private final int recordCount;
+    private final int blockIndexOffset;
+    private final int idIndexOffset;
+
+    // Records before each block, for offset lookups
+    private final int[] blockStarts;
+
+    // File offset of the record positions in each stored sort order
+    private final Map<TransactionSort, Integer> sortIndexOffsets;
+
+    // Record positions in orders the file has no index for, built on first use
+    private final Map<TransactionSort, int[]> builtSortIndexes = new ConcurrentHashMap<>();
+
+    private ArchiveSegment(Path path, MappedByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+        int trailer = buffer.capacity() - TRAILER_BYTES;
+        int version = trailer < 0 ? 0 : buffer.getInt(trailer + 4);
+        if (trailer < 0 || buffer.getInt(trailer) != MAGIC || version < 1 || version > VERSION) {
+            throw new IllegalStateException("Not an archive segment: " + path);
+        }
+        this.blockCount = buffer.getInt(trailer + 8);
+        this.recordCount = buffer.getInt(trailer + 12);
+        this.blockIndexOffset = (int) buffer.getLong(trailer + 16);
+        this.idIndexOffset = (int) buffer.getLong(trailer + 24);
+        this.blockStarts = new int[blockCount + 1];
+        for (int b = 0; b < blockCount; b++) {
+            blockStarts[b + 1] = blockStarts[b] + buffer.getInt(blockEntry(b) + 28);
+        }
+        this.sortIndexOffsets = version >= 2
+                ? readSortDirectory((int) buffer.getLong(trailer - 8), trailer - 8)
+                : Map.of();
+    }
+
+    private Map<TransactionSort, Integer> readSortDirectory(int offset, int end) {
+        byte[] directory = new byte[end - offset];
+        buffer.get(offset, directory);
+        Map<TransactionSort, Integer> offsets = new EnumMap<>(TransactionSort.class);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(directory))) {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String order = in.readUTF();
+                int positions = (int) in.readLong();
+                // An order dropped since the segment was written is simply not served from it
+                Arrays.stream(TransactionSort.values())
+                        .filter(sort -> sort.name().equals(order))
+                        .findFirst()
+                        .ifPresent(sort -> offsets.put(sort, positions));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Corrupt sort directory in " + path, e);
+        }
+        return offsets;
+    }
+
+    /**
+     * Map an existing segment file
+     */
+    static ArchiveSegment open(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new ArchiveSegment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open archive segment " + path, e);
+        }
+    }
+
+    /**
+     * Write transactions to a new segment file and force it to disk
+     *
+     * @param path         the file to create
+     * @param transactions the transactions, in any order
+     * @param blockRecords records per compressed block
+     */
+    static void write(Path path, List<Transaction> transactions, int blockRecords) throws IOException {
+        if (transactions.isEmpty()) {
+            throw new IllegalArgumentException("An archive segment needs at least one transaction");
+        }
+        List<Transaction> sorted = new ArrayList<>(transactions);
+        sorted.sort(ORDER);
+
+        ByteArrayOutputStream blocks = new ByteArrayOutputStream();
+        ByteArrayOutputStream blockIndex = new ByteArrayOutputStream();
+        DataOutputStream blockIndexOut = new DataOutputStream(blockIndex);
+        List<IdEntry> ids = new ArrayList<>(sorted.size());
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            int blockCount = 0;
+            for (int from = 0; from < sorted.size(); from += blockRecords, blockCount++) {
+                List<Transaction> block = sorted.subList(from, Math.min(from + blockRecords, sorted.size()));
+                int offset = blocks.size();
+                deflater.reset();
+                try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(uncloseable(blocks), deflater))) {
+                    for (int i = 0; i < block.size(); i++) {
+                        writeRecord(out, block.get(i));
+                        ids.add(new IdEntry(hash(block.get(i).getId()), blockCount));
+                    }
+                }
+                blockIndexOut.writeLong(toMicros(block.get(0).getTimestamp()));
+                blockIndexOut.writeLong(toMicros(block.get(block.size() - 1).getTimestamp()));
+                blockIndexOut.writeLong(offset);
+                blockIndexOut.writeInt(blocks.size() - offset);
+                blockIndexOut.writeInt(block.size());
+            }
+
+            ids.sort(Comparator.comparingLong(IdEntry::hash));
+
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)))) {
+                blocks.writeTo(out);
+                long blockIndexOffset = blocks.size();
+                blockIndex.writeTo(out);
+                long idIndexOffset = blockIndexOffset + blockIndex.size();
+                for (IdEntry entry : ids) {
+                    out.writeLong(entry.hash());
+                    out.writeInt(entry.block());
+                }
+                Map<TransactionSort, Long> sortIndexOffsets = new EnumMap<>(TransactionSort.class);
+                for (TransactionSort sort : TransactionSort.values()) {
+                    if (sort == TransactionSort.TIMESTAMP_DESC) {
+                        continue; // the archive order itself
+                    }
+                    sortIndexOffsets.put(sort, (long) out.size());
+                    for (int position : sortPositions(sorted, sort.comparator())) {
+                        out.writeInt(position);
+                    }
+                }
+                long sortDirectoryOffset = out.size();
+                out.writeInt(sortIndexOffsets.size());
+                for (Map.Entry<TransactionSort, Long> entry : sortIndexOffsets.entrySet()) {
+                    out.writeUTF(entry.getKey().name());
+                    out.writeLong(entry.getValue());
+                }
+                out.writeLong(sortDirectoryOffset);
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(blockCount);
+                out.writeInt(sorted.size());
+                out.writeLong(blockIndexOffset);
+                out.writeLong(idIndexOffset);
+                out.flush();
+                channel.force(true);
+            }
+        } finally {
+            deflater.end();
+        }
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int recordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Timestamp of the newest record (from the sparse index)
+     */
+    LocalDateTime newest() {
+        return fromMicros(buffer.getLong(blockEntry(0)));
+    }
+
+    /**
+     * Look up a transaction by ID through the hash index
+     */
+    Optional<Transaction> findById(String id) {
+        long hash = hash(id);
+        int low = 0;
+        int high = recordCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midHash = buffer.getLong(idIndexOffset + mid * ID_ENTRY_BYTES);
+            if (midHash < hash) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        // low is the first entry with this hash; collisions are resolved by decoding the block
+        for (int i = low; i < recordCount && buffer.getLong(idIndexOffset + i * ID_ENTRY_BYTES) == hash; i++) {
+            int block = buffer.getInt(idIndexOffset + i * ID_ENTRY_BYTES + 8);
+            for (Transaction transaction : readBlock(block)) {
+                if (transaction.getId().equals(id)) {
+                    return Optional.of(transaction);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Read records {@code [offset, offset + limit)} in archive order
+     */
+    List<Transaction> read(int offset, int limit) {
+        List<Transaction> result = new ArrayList<>(Math.min(limit, Math.max(0, recordCount - offset)));
+        int end = Math.min(recordCount, offset + limit);
+        if (offset >= end) {
+            return result;
+        }
+        // Seek straight to the block holding the first requested record
+        for (int block = blockOf(offset); block < blockCount && blockStarts[block] < end; block++) {
+            List<Transaction> records = readBlock(block);
+            int from = Math.max(offset - blockStarts[block], 0);
+            int to = Math.min(end - blockStarts[block], records.size());
+            result.addAll(records.subList(from, to));
+        }
+        return result;
+    }
+
+    /**
+     * Read the records that follow a cursor in a sort order
+     *
+     * @param sort  the order
+     * @param after the last record already returned, or null to start from the first
+     * @param limit maximum number of records
+     */
+    List<Transaction> readSorted(TransactionSort sort, Transaction after, int limit) {
+        IntUnaryOperator positions = sortIndex(sort);
+        Comparator<Transaction> comparator = sort.comparator();
+        // Blocks decoded by this read: a few binary search probes, then the blocks of the page
+        Map<Integer, List<Transaction>> blocks = new HashMap<>();
+
+        int low = 0;
+        int high = recordCount;
+        while (after != null && low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(record(positions.applyAsInt(mid), blocks), after) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        int end = (int) Math.min(recordCount, (long) low + limit);
+        List<Transaction> result = new ArrayList<>(end - low);
+        for (int i = low; i < end; i++) {
+            result.add(record(positions.applyAsInt(i), blocks));
+        }
+        return result;
+    }
+
+    /**
+     * Record position of the i-th record in a sort order
+     */
+    private IntUnaryOperator sortIndex(TransactionSort sort) {
+        if (sort == TransactionSort.TIMESTAMP_DESC) {
+            return IntUnaryOperator.identity();
+        }
+        Integer offset = sortIndexOffsets.get(sort);
+        if (offset != null) {
+            return i -> buffer.getInt(offset + i * 4);
+        }
+        int[] built = builtSortIndexes.computeIfAbsent(sort, order -> sortPositions(readAll(), order.comparator()));
+        return i -> built[i];
+    }
+
+    private Transaction record(int position, Map<Integer, List<Transaction>> blocks) {
+        int block = blockOf(position);
+        return blocks.computeIfAbsent(block, this::readBlock).get(position - blockStarts[block]);
+    }
+
+    private List<Transaction> readAll() {
+        List<Transaction> records = new ArrayList<>(recordCount);
+        for (int block = 0; block < blockCount; block++) {
+            records.addAll(readBlock(block));
+        }
+        return records;
+    }
+
+    private static int[] sortPositions(List<Transaction> records, Comparator<Transaction> comparator) {
+        return IntStream.range(0, records.size())
+                .boxed()
+                .sorted((a, b) -> comparator.compare(records.get(a), records.get(b)))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private int blockOf(int position) {
+        int block = Arrays.binarySearch(blockStarts, position);
+        return block >= 0 ? block : -block - 2;
+    }
+
+    private List<Transaction> readBlock(int block) {
+        int entry = blockEntry(block);
+        int offset = (int) buffer.getLong(entry + 16);
+        int length = buffer.getInt(entry + 24);
+        int count = buffer.getInt(entry + 28);
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice(offset, length));
+            ByteArrayOutputStream raw = new ByteArrayOutputStream(length * 4);
+            byte[] chunk = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(chunk);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated block " + block + " in " + path);
+                }
+                raw.write(chunk, 0, n);
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw.toByteArray()));
+            List<Transaction> records = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                records.add(readRecord(in));
+            }
+            return records;
+        } catch (DataFormatException | IOException e) {
+            throw new IllegalStateException("Corrupt block " + block + " in " + path, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private int blockEntry(int block) {
+        return blockIndexOffset + block * BLOCK_ENTRY_BYTES;
+    }
+
+    private static void writeRecord(DataOutputStream out, Transaction transaction) throws IOException {
+        out.writeUTF(transaction.getId());
+        out.writeUTF(transaction.getAmount().toPlainString());
+        out.writeUTF(transaction.getType().name());
+        out.writeUTF(transaction.getCategory().name());
+        writeNullable(out, transaction.getDescription());
+        out.writeLong(toMicros(transaction.getTimestamp()));
+        out.writeLong(transaction.getChangeSeq() != null ? transaction.getChangeSeq() : 0);
+        writeNullable(out, transaction.getSourceAccountId());
+        writeNullable(out, transaction.getTargetAccountId());
+    }
+
+    private static Transaction readRecord(DataInputStream in) throws IOException {
+        return Transaction.builder()
+                .id(in.readUTF())
+                .amount(new BigDecimal(in.readUTF()))
+                .type(TransactionType.valueOf(in.readUTF()))
+                .category(TransactionCategory.valueOf(in.readUTF()))
+                .description(readNullable(in))
+                .timestamp(fromMicros(in.readLong()))
+                .changeSeq(in.readLong())
+                .sourceAccountId(readNullable(in))
+                .targetAccountId(readNullable(in))
+                .build();
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static long toMicros(LocalDateTime timestamp) {
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), timestamp);
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC).plus(micros, ChronoUnit.MICROS);
+    }
+
+    /**
+     * 64-bit FNV-1a; collisions only cost an extra block decode
+     */
+    private static long hash(String id) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            h ^= id.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private static OutputStream uncloseable(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+
+    private record IdEntry(long hash, int block) {
+    }
+
+    /**
+     * Remove a segment file; the mapping stays valid for readers still holding it
+     */
+    void delete() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete archive segment " + path, e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.bank.transaction.repository;
+
+import com.bank.transaction.mapper.TransactionMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.TreeSet;
+
+/**
+ * Change Sequencer
+ *
+ * Hands out the global, monotonically increasing change sequence numbers
+ * stored with every transaction write and tombstone.
+ *
+ * Numbers are handed out before their writes commit, so a reader could see
+ * sequence 11 committed while 10 is still in flight and move its checkpoint
+ * past 10 for good. The sequencer therefore tracks reservations until their
+ * database transaction completes, and {@link #committedHorizon()} only
+ * exposes the prefix of the sequence with nothing left in flight.
+ */
+@Component
+public class ChangeSequencer {
+
+    private final TransactionMapper transactionMapper;
+
+    // First sequence number of every reservation whose write has not completed
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+
+    // Highest sequence number handed out; -1 until seeded from the database
+    private long last = -1;
+
+    public ChangeSequencer(TransactionMapper transactionMapper) {
+        this.transactionMapper = transactionMapper;
+    }
+
+    /**
+     * Reserve consecutive sequence numbers for a write.
+     *
+     * Inside a Spring-managed transaction the reservation is released when the
+     * transaction completes; otherwise when the returned reservation is closed.
+     *
+     * @param count number of sequence numbers to reserve
+     * @return the reservation
+     */
+    public Reservation reserve(int count) {
+        long first;
+        synchronized (this) {
+            first = seeded() + 1;
+            last += count;
+            inFlight.add(first);
+        }
+        boolean transactional = TransactionSynchronizationManager.isSynchronizationActive();
+        if (transactional) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    release(first);
+                }
+            });
+        }
+        return new Reservation(first, transactional);
+    }
+
+    /**
+     * Highest sequence number below which every write has committed or rolled back
+     */
+    public synchronized long committedHorizon() {
+        return inFlight.isEmpty() ? seeded() : inFlight.first() - 1;
+    }
+
+    private synchronized void release(long first) {
+        inFlight.remove(first);
+    }
+
+    private long seeded() {
+        if (last < 0) {
+            last = transactionMapper.maxChangeSeq();
+        }
+        return last;
+    }
+
+    /**
+     * A block of reserved sequence numbers
+     */
+    public final class Reservation implements AutoCloseable {
+
+        private final long first;
+        private final boolean transactional;
+
+        private Reservation(long first, boolean transactional) {
+            this.first = first;
+            this.transactional = transactional;
+        }
+
+        /**
+         * The {@code index}-th reserved sequence number
+         */
+        public long get(int index) {
+            return first + index;
+        }
+
+        @Override
+        public void close() {
+            if (!transactional) {
+                release(first);
+            }
+        }
+    }
+}
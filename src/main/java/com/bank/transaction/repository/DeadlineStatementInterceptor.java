@@ -0,0 +1,50 @@
+package com.bank.transaction.repository;
+
+import com.bank.transaction.service.RequestDeadline;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadline Statement Interceptor
+ *
+ * MyBatis plugin that turns the current {@link RequestDeadline} into the JDBC
+ * query timeout of every statement, so the database cancels a statement the
+ * client has stopped waiting for instead of finishing it on a held connection.
+ * A statement prepared after the deadline has passed is not executed at all.
+ *
+ * JDBC timeouts have whole-second granularity, so the remaining time is
+ * rounded up.
+ */
+@Component
+@Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = { Connection.class, Integer.class }))
+public class DeadlineStatementInterceptor implements Interceptor {
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return invocation.proceed();
+        }
+        long remainingNanos = deadline.remainingNanos();
+        if (remainingNanos == 0) {
+            // SQLTimeoutException so Spring translates it like a cancelled statement
+            throw new SQLTimeoutException(deadline.exceeded().getMessage());
+        }
+
+        Statement statement = (Statement) invocation.proceed();
+        int seconds = (int) Math.max(1, (remainingNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        if (statement.getQueryTimeout() == 0 || seconds < statement.getQueryTimeout()) {
+            statement.setQueryTimeout(seconds);
+        }
+        return statement;
+    }
+}
@@ -0,0 +1,181 @@
+package com.bank.transaction.repository;
+
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.enums.TransactionCategory;
+import com.bank.transaction.enums.TransactionType;
+import io.r2dbc.spi.Closeable;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Statement;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Reactive Transaction Repository
+ *
+ * Read-only R2DBC access to the same H2 database the MyBatis repository uses.
+ * Rows are emitted as the subscriber requests them, so a slow consumer
+ * throttles the query instead of buffering the whole result.
+ *
+ * The r2dbc-h2 driver runs the embedded engine on the subscribing thread, so
+ * every query is subscribed on a dedicated scheduler to keep the Netty event
+ * loops free.
+ *
+ * The connection pool is owned here rather than exposed as a
+ * {@link ConnectionFactory} bean: Spring Boot backs off the JDBC
+ * {@code DataSource} (and with it MyBatis) when one is present.
+ *
+ * Like {@link TransactionRepository}, reads fall through to the
+ * {@link TransactionArchive} once the hot rows are exhausted.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+public class ReactiveTransactionRepository implements DisposableBean {
+
+    /**
+     * Archived transactions read per step when streaming past the hot rows
+     */
+    private static final int ARCHIVE_STREAM_BATCH = 256;
+
+    private final ConnectionFactory connectionFactory;
+    private final Scheduler scheduler;
+    private final TransactionArchive archive;
+
+    public ReactiveTransactionRepository(
+            @Value("${app.reactive.r2dbc-url}") String url,
+            @Value("${spring.datasource.username:sa}") String username,
+            @Value("${spring.datasource.password:}") String password,
+            @Qualifier("r2dbcScheduler") Scheduler scheduler,
+            TransactionArchive archive) {
+        this.connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build());
+        this.scheduler = scheduler;
+        this.archive = archive;
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionFactory instanceof Closeable closeable) {
+            Mono.from(closeable.close()).block();
+        }
+    }
+
+    /**
+     * Find a transaction by ID, hot or archived
+     *
+     * @param id the transaction ID
+     * @return the transaction, or empty if not found
+     */
+    public Mono<Transaction> findById(String id) {
+        return query("SELECT * FROM transactions WHERE id = $1",
+                statement -> statement.bind(0, id),
+                ReactiveTransactionRepository::toEntity)
+                .next()
+                .switchIfEmpty(Mono.defer(() -> Mono.justOrEmpty(archive.findById(id))).subscribeOn(scheduler));
+    }
+
+    /**
+     * Find transactions with pagination (offset-based), newest first
+     *
+     * @param page page number (0-indexed)
+     * @param size page size
+     * @return the transactions on the page
+     */
+    public Flux<Transaction> findAllPaginated(int page, int size) {
+        long offset = (long) page * size;
+        Flux<Transaction> hot = query("SELECT * FROM transactions ORDER BY timestamp DESC, id LIMIT $1 OFFSET $2",
+                statement -> statement.bind(0, size).bind(1, offset),
+                ReactiveTransactionRepository::toEntity);
+        // A short hot page means the hot rows ran out; fill the rest from the newest archived rows
+        return hot.collectList().flatMapMany(rows -> {
+            if (rows.size() == size || archive.count() == 0) {
+                return Flux.fromIterable(rows);
+            }
+            return hotCount().flatMapMany(hotCount -> {
+                List<Transaction> archived = archive.findPage(Math.max(0, offset - hotCount), size - rows.size());
+                return Flux.concat(Flux.fromIterable(rows), Flux.fromIterable(archived));
+            });
+        });
+    }
+
+    /**
+     * Stream transactions newest first
+     *
+     * @param limit maximum number of rows to emit
+     * @return the transactions, emitted on demand
+     */
+    public Flux<Transaction> streamAll(long limit) {
+        Flux<Transaction> hot = query("SELECT * FROM transactions ORDER BY timestamp DESC, id LIMIT $1",
+                statement -> statement.bind(0, limit),
+                ReactiveTransactionRepository::toEntity);
+        // Archived rows are only read if the subscriber is still asking after the hot rows
+        Flux<Transaction> archived = Flux.<List<Transaction>, Long>generate(() -> 0L, (offset, sink) -> {
+                    List<Transaction> batch = archive.findPage(offset, ARCHIVE_STREAM_BATCH);
+                    if (batch.isEmpty()) {
+                        sink.complete();
+                    } else {
+                        sink.next(batch);
+                    }
+                    return offset + batch.size();
+                })
+                .concatMapIterable(Function.identity())
+                .subscribeOn(scheduler);
+        return Flux.concat(hot, archived).take(limit);
+    }
+
+    /**
+     * Get total count of transactions, hot and archived
+     *
+     * @return total number of transactions
+     */
+    public Mono<Long> count() {
+        return hotCount().map(hotCount -> hotCount + archive.count());
+    }
+
+    private Mono<Long> hotCount() {
+        return query("SELECT COUNT(*) FROM transactions",
+                statement -> statement,
+                row -> row.get(0, Long.class))
+                .single();
+    }
+
+    private <T> Flux<T> query(String sql, Function<Statement, Statement> binder,
+            Function<Readable, T> mapper) {
+        // Connection is closed on complete, error and cancel
+        return Flux.usingWhen(
+                connectionFactory.create(),
+                connection -> Flux.from(binder.apply(connection.createStatement(sql)).execute())
+                        .flatMap(result -> result.map(mapper)),
+                Connection::close)
+                .subscribeOn(scheduler);
+    }
+
+    private static Transaction toEntity(Readable row) {
+        return Transaction.builder()
+                .id(row.get("id", String.class))
+                .amount(row.get("amount", BigDecimal.class))
+                .type(TransactionType.valueOf(row.get("type", String.class)))
+                .category(TransactionCategory.valueOf(row.get("category", String.class)))
+                .description(row.get("description", String.class))
+                .timestamp(row.get("timestamp", LocalDateTime.class))
+                .sourceAccountId(row.get("source_account_id", String.class))
+                .targetAccountId(row.get("target_account_id", String.class))
+                .build();
+    }
+}
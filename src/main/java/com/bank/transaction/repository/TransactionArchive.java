@@ -0,0 +1,277 @@
+package com.bank.transaction.repository;
+
+import com.bank.transaction.config.ArchiveProperties;
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.enums.TransactionSort;
+import com.bank.transaction.service.RequestDeadline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Transaction Archive
+ *
+ * Cold tier for transactions moved out of the {@code transactions} table by
+ * the tiering job. Archived transactions live in immutable
+ * {@link ArchiveSegment} files under {@code app.archive.directory}, one
+ * directory per month ({@code 2024-05/000042.seg}). Segments are only ever
+ * added whole or removed whole, so readers work from an immutable snapshot
+ * of the segment list and never lock.
+ *
+ * When {@code app.archive.enabled} is false the archive stays empty and
+ * never touches the disk.
+ */
+@Component
+public class TransactionArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionArchive.class);
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final ArchiveProperties properties;
+    private final Path directory;
+
+    // Segments newest first, with the archive-wide offset of each segment's first record
+    private volatile Snapshot snapshot = Snapshot.of(List.of());
+
+    private long lastSegmentNumber;
+
+    public TransactionArchive(ArchiveProperties properties) {
+        this.properties = properties;
+        this.directory = Path.of(properties.getDirectory());
+        if (properties.isEnabled()) {
+            load();
+        }
+    }
+
+    /**
+     * Number of archived transactions
+     */
+    public long count() {
+        return snapshot.count();
+    }
+
+    /**
+     * Find an archived transaction by ID
+     *
+     * @param id the transaction ID
+     * @return the transaction, if archived
+     */
+    public Optional<Transaction> findById(String id) {
+        for (ArchiveSegment segment : snapshot.segments()) {
+            // Segment reads are file I/O that no query timeout covers
+            RequestDeadline.checkCurrent();
+            Optional<Transaction> found = segment.findById(id);
+            if (found.isPresent()) {
+                return found;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Read archived transactions, newest first
+     *
+     * @param offset position in the archive of the first transaction to return
+     * @param limit  maximum number of transactions
+     * @return the transactions
+     */
+    public List<Transaction> findPage(long offset, int limit) {
+        Snapshot current = snapshot;
+        List<Transaction> page = new ArrayList<>(limit);
+        for (int i = 0; i < current.segments().size() && page.size() < limit; i++) {
+            long start = current.starts()[i];
+            ArchiveSegment segment = current.segments().get(i);
+            long skip = offset + page.size() - start;
+            if (skip >= segment.recordCount()) {
+                continue;
+            }
+            RequestDeadline.checkCurrent();
+            page.addAll(segment.read((int) skip, limit - page.size()));
+        }
+        return page;
+    }
+
+    /**
+     * Read the archived transactions that follow a cursor in a sort order
+     *
+     * @param sort  the order
+     * @param after the last transaction already returned, or null to start from the first
+     * @param limit maximum number of transactions
+     * @return the transactions, in that order
+     */
+    public List<Transaction> findSorted(TransactionSort sort, Transaction after, int limit) {
+        List<Transaction> merged = new ArrayList<>();
+        for (ArchiveSegment segment : snapshot.segments()) {
+            RequestDeadline.checkCurrent();
+            merged.addAll(segment.readSorted(sort, after, limit));
+        }
+        merged.sort(sort.comparator());
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    /**
+     * Write transactions to a new segment that is not yet visible to readers
+     *
+     * @param month        the partition the transactions belong to
+     * @param transactions the transactions to archive
+     * @return the pending segment; close it to discard the segment unless completed
+     */
+    public synchronized PendingSegment prepare(YearMonth month, List<Transaction> transactions) {
+        if (!properties.isEnabled()) {
+            throw new IllegalStateException("Transaction archive is disabled");
+        }
+        Path partition = directory.resolve(month.toString());
+        Path target = partition.resolve("%06d%s".formatted(++lastSegmentNumber, ArchiveSegment.SUFFIX));
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        try {
+            Files.createDirectories(partition);
+            ArchiveSegment.write(temp, transactions, properties.getBlockRecords());
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException("Failed to write archive segment " + target, e);
+        }
+        return new PendingSegment(temp, target);
+    }
+
+    /**
+     * Remove all archived transactions (useful for testing)
+     */
+    public synchronized void deleteAll() {
+        Snapshot current = snapshot;
+        snapshot = Snapshot.of(List.of());
+        current.segments().forEach(ArchiveSegment::delete);
+    }
+
+    private void load() {
+        try {
+            Files.createDirectories(directory);
+            List<ArchiveSegment> segments = new ArrayList<>();
+            try (Stream<Path> files = Files.walk(directory, 2)) {
+                for (Path file : files.filter(Files::isRegularFile).toList()) {
+                    String name = file.getFileName().toString();
+                    if (name.endsWith(TEMP_SUFFIX)) {
+                        // Left behind by a tiering run that did not complete; its rows are still hot
+                        Files.delete(file);
+                    } else if (name.endsWith(ArchiveSegment.SUFFIX)) {
+                        segments.add(ArchiveSegment.open(file));
+                        lastSegmentNumber = Math.max(lastSegmentNumber, segmentNumber(name));
+                    }
+                }
+            }
+            snapshot = Snapshot.of(segments);
+            logger.info("Opened transaction archive at {}: {} segments, {} transactions",
+                    directory, segments.size(), snapshot.count());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open transaction archive " + directory, e);
+        }
+    }
+
+    private synchronized void add(ArchiveSegment segment) {
+        List<ArchiveSegment> segments = new ArrayList<>(snapshot.segments());
+        segments.add(segment);
+        snapshot = Snapshot.of(segments);
+    }
+
+    private synchronized void remove(ArchiveSegment segment) {
+        List<ArchiveSegment> segments = new ArrayList<>(snapshot.segments());
+        segments.remove(segment);
+        snapshot = Snapshot.of(segments);
+    }
+
+    private static long segmentNumber(String name) {
+        try {
+            return Long.parseLong(name.substring(0, name.length() - ArchiveSegment.SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete {}", file, e);
+        }
+    }
+
+    /**
+     * A written segment on its way into the archive.
+     *
+     * {@link #publish()} makes it visible to readers; {@link #complete()}
+     * keeps it once the archived rows are gone from the hot table. Closing an
+     * incomplete segment removes it again.
+     */
+    public final class PendingSegment implements AutoCloseable {
+
+        private final Path temp;
+        private final Path target;
+        private ArchiveSegment segment;
+        private boolean completed;
+
+        private PendingSegment(Path temp, Path target) {
+            this.temp = temp;
+            this.target = target;
+        }
+
+        /**
+         * Move the segment into place and let readers see it
+         */
+        public void publish() {
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to publish archive segment " + target, e);
+            }
+            segment = ArchiveSegment.open(target);
+            add(segment);
+        }
+
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public void close() {
+            if (completed) {
+                return;
+            }
+            if (segment != null) {
+                remove(segment);
+                segment.delete();
+            } else {
+                deleteQuietly(temp);
+            }
+        }
+    }
+
+    /**
+     * Immutable view of the segments, newest first
+     */
+    private record Snapshot(List<ArchiveSegment> segments, long[] starts, long count) {
+
+        static Snapshot of(List<ArchiveSegment> segments) {
+            List<ArchiveSegment> ordered = new ArrayList<>(segments);
+            ordered.sort(Comparator.comparing(ArchiveSegment::newest).reversed());
+            long[] starts = new long[ordered.size()];
+            long count = 0;
+            for (int i = 0; i < ordered.size(); i++) {
+                starts[i] = count;
+                count += ordered.get(i).recordCount();
+            }
+            return new Snapshot(List.copyOf(ordered), starts, count);
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package com.bank.transaction.repository;
 
 import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.entity.TransactionTombstone;
+import com.bank.transaction.enums.TransactionSort;
 import com.bank.transaction.mapper.TransactionMapper;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Transaction Repository
@@ -13,52 +20,134 @@ import java.util.Optional;
  * Delegates all database operations to MyBatis TransactionMapper.
  * Implements the same interface contract as the original ConcurrentHashMap
  * implementation.
+ * 
+ * Reads by ID, pages and counts fall through to the {@link TransactionArchive}
+ * for transactions the tiering job has moved out of the hot table. Archived
+ * transactions are all older than the hot ones, so a page is the hot rows
+ * followed by the archive.
+ * 
+ * Updates and deletes hand the version they replace to the
+ * {@link TransactionVersionStore}, which serves read snapshots.
  */
 @Repository
 public class TransactionRepository {
 
+    /**
+     * Rows per multi-row INSERT statement used by {@link #saveAll}
+     */
+    private static final int BULK_INSERT_CHUNK_SIZE = 500;
+
+    /**
+     * Rows per DELETE statement used by {@link #deleteArchived}
+     */
+    private static final int DELETE_CHUNK_SIZE = 500;
+
+    /**
+     * IDs per statement used to count a snapshot's replaced versions
+     */
+    private static final int ID_LIST_CHUNK_SIZE = 1000;
+
     private final TransactionMapper transactionMapper;
 
-    public TransactionRepository(TransactionMapper transactionMapper) {
+    private final ChangeSequencer changeSequencer;
+
+    private final TransactionArchive archive;
+
+    private final TransactionVersionStore versionStore;
+
+    public TransactionRepository(TransactionMapper transactionMapper, ChangeSequencer changeSequencer,
+            TransactionArchive archive, TransactionVersionStore versionStore) {
         this.transactionMapper = transactionMapper;
+        this.changeSequencer = changeSequencer;
+        this.archive = archive;
+        this.versionStore = versionStore;
     }
 
     /**
-     * Save a new transaction
+     * Save a new transaction, assigning it the next change sequence number
      * 
      * @param transaction the transaction to save
      * @return the saved transaction
      */
     public Transaction save(Transaction transaction) {
-        if (transactionMapper.existsById(transaction.getId())) {
-            transactionMapper.update(transaction);
-        } else {
-            transactionMapper.insert(transaction);
+        try (var sequence = changeSequencer.reserve(1)) {
+            transaction.setChangeSeq(sequence.get(0));
+            Optional<Transaction> previous = transactionMapper.findById(transaction.getId());
+            if (previous.isPresent()) {
+                versionStore.retain(previous.get(), sequence.get(0));
+                transactionMapper.update(transaction);
+            } else {
+                transactionMapper.insert(transaction);
+            }
         }
         return transaction;
     }
 
     /**
-     * Find a transaction by ID
+     * Bulk insert new transactions using multi-row INSERT statements.
+     * Skips the per-row existence check of {@link #save}, so all IDs must be new.
+     * 
+     * @param transactions the transactions to insert
+     * @return the number of inserted rows
+     */
+    public int saveAll(List<Transaction> transactions) {
+        int inserted = 0;
+        for (int from = 0; from < transactions.size(); from += BULK_INSERT_CHUNK_SIZE) {
+            int to = Math.min(from + BULK_INSERT_CHUNK_SIZE, transactions.size());
+            List<Transaction> chunk = transactions.subList(from, to);
+            try (var sequence = changeSequencer.reserve(chunk.size())) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    chunk.get(i).setChangeSeq(sequence.get(i));
+                }
+                inserted += transactionMapper.insertBatch(chunk);
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * Find a transaction by ID, hot or archived
      * 
      * @param id the transaction ID
      * @return Optional containing the transaction if found
      */
     public Optional<Transaction> findById(String id) {
-        return transactionMapper.findById(id);
+        return transactionMapper.findById(id).or(() -> archive.findById(id));
+    }
+
+    /**
+     * Find a hot transaction by ID and lock it until the current database transaction ends
+     * 
+     * @param id the transaction ID
+     * @return Optional containing the transaction if found
+     */
+    public Optional<Transaction> findByIdForUpdate(String id) {
+        return transactionMapper.findByIdForUpdate(id);
     }
 
     /**
-     * Find all transactions
+     * Whether a transaction has been moved to the archive
+     * 
+     * @param id the transaction ID
+     * @return true if archived
+     */
+    public boolean isArchived(String id) {
+        return archive.findById(id).isPresent();
+    }
+
+    /**
+     * Find all transactions, hot and archived
      * 
      * @return list of all transactions
      */
     public List<Transaction> findAll() {
-        return transactionMapper.findAll();
+        List<Transaction> all = new ArrayList<>(transactionMapper.findAll());
+        all.addAll(archive.findPage(0, (int) Math.min(archive.count(), Integer.MAX_VALUE)));
+        return all;
     }
 
     /**
-     * Find transactions with pagination
+     * Find transactions with pagination, continuing into the archive past the hot rows
      * 
      * @param page page number (0-indexed)
      * @param size page size
@@ -66,26 +155,277 @@ public class TransactionRepository {
      */
     public List<Transaction> findAllPaginated(int page, int size) {
         int offset = page * size;
-        return transactionMapper.findAllPaginated(offset, size);
+        List<Transaction> hot = transactionMapper.findAllPaginated(offset, size);
+        if (hot.size() == size || archive.count() == 0) {
+            return hot;
+        }
+        long archiveOffset = Math.max(0, offset - transactionMapper.count());
+        List<Transaction> combined = new ArrayList<>(hot);
+        combined.addAll(archive.findPage(archiveOffset, size - hot.size()));
+        return combined;
+    }
+
+    /**
+     * Find transactions in a sort order, continuing after a keyset cursor or
+     * from an offset. Hot rows come off the index matching the order; when
+     * there is an archive its rows are merged in, since in orders other than
+     * newest first they interleave with the hot ones.
+     * 
+     * Once the archive is non-empty, only newest first can skip an offset: it
+     * reads the hot rows and then the archive from the hot row count, as
+     * {@link #findAllPaginated} does. Other orders have no position to split
+     * an offset at, so their pages past the first need a cursor.
+     * 
+     * @param sort   the order
+     * @param after  the last transaction already returned, or null to start from the first
+     * @param offset transactions to skip (0 with a cursor)
+     * @param limit  maximum number of transactions
+     * @return the transactions, in that order
+     * @throws IllegalArgumentException if an offset is given for an order that needs a cursor
+     */
+    public List<Transaction> findSorted(TransactionSort sort, Transaction after, int offset, int limit) {
+        if (archive.count() == 0) {
+            return transactionMapper.findSorted(sort, after, offset, limit);
+        }
+        if (after == null && offset > 0) {
+            requireNewestFirst(sort);
+            List<Transaction> page = new ArrayList<>(transactionMapper.findSorted(sort, null, offset, limit));
+            if (page.size() < limit) {
+                long archiveOffset = Math.max(0, offset - transactionMapper.count());
+                page.addAll(archive.findPage(archiveOffset, limit - page.size()));
+            }
+            return page;
+        }
+        // Each tier contributes at most one page after the cursor
+        List<Transaction> merged = new ArrayList<>(transactionMapper.findSorted(sort, after, 0, limit));
+        merged.addAll(archive.findSorted(sort, after, limit));
+        merged.sort(sort.comparator());
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    private static void requireNewestFirst(TransactionSort sort) {
+        if (sort != TransactionSort.TIMESTAMP_DESC) {
+            throw new IllegalArgumentException("Pages past the first in sort order " + sort.getParameter()
+                    + " cover archived transactions and need a cursor: pass nextCursor instead of page");
+        }
+    }
+
+    /**
+     * Open a read snapshot of all transactions, hot and archived, as of the
+     * committed horizon
+     * 
+     * @return the snapshot, with its total count
+     */
+    public TransactionVersionStore.Snapshot openSnapshot() {
+        return versionStore.open(this::countAt);
     }
 
     /**
-     * Get total count of transactions
+     * Pin a read snapshot for a server-side reader such as an export: not
+     * counted, not evictable by client snapshots and not expiring
+     * 
+     * @return the pin; close it when done
+     */
+    public TransactionVersionStore.Pin pinSnapshot() {
+        return versionStore.pin();
+    }
+
+    /**
+     * Find an open read snapshot and renew its lease
+     * 
+     * @param token the snapshot token
+     * @return the snapshot
+     * @throws com.bank.transaction.exception.SnapshotExpiredException if no such snapshot is open
+     */
+    public TransactionVersionStore.Snapshot getSnapshot(String token) {
+        return versionStore.get(token);
+    }
+
+    /**
+     * Release a read snapshot
+     * 
+     * @param token the snapshot token
+     * @return true if the snapshot was open
+     */
+    public boolean releaseSnapshot(String token) {
+        return versionStore.release(token);
+    }
+
+    /**
+     * {@link #findSorted} as of a read snapshot: the rows written at or before
+     * it, plus the versions later updates and deletes replaced. No locks are
+     * taken, and writes made since do not show. Offsets into the archive follow
+     * the same rule as {@link #findSorted}.
+     * 
+     * @param snapshotSeq the snapshot's change sequence number
+     * @param sort        the order
+     * @param after       the last transaction already returned, or null to start from the first
+     * @param offset      transactions to skip (0 with a cursor)
+     * @param limit       maximum number of transactions
+     * @return the transactions, in that order
+     * @throws IllegalArgumentException if an offset is given for an order that needs a cursor
+     */
+    public List<Transaction> findSortedAt(long snapshotSeq, TransactionSort sort, Transaction after, int offset,
+            int limit) {
+        if (archive.count() == 0) {
+            return findHotSortedAt(snapshotSeq, sort, after, offset, limit);
+        }
+        if (after == null && offset > 0) {
+            requireNewestFirst(sort);
+            List<Transaction> page = findHotSortedAt(snapshotSeq, sort, null, offset, limit);
+            if (page.size() < limit) {
+                long archiveOffset = Math.max(0, offset - hotCountAt(snapshotSeq));
+                archive.findPage(archiveOffset, limit - page.size()).stream()
+                        .filter(transaction -> transaction.getChangeSeq() <= snapshotSeq)
+                        .forEach(page::add);
+            }
+            return page;
+        }
+        List<Transaction> merged = findHotSortedAt(snapshotSeq, sort, after, 0, limit);
+        archive.findSorted(sort, after, limit).stream()
+                .filter(transaction -> transaction.getChangeSeq() <= snapshotSeq)
+                .forEach(merged::add);
+        merged.sort(sort.comparator());
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    private List<Transaction> findHotSortedAt(long snapshotSeq, TransactionSort sort, Transaction after, int offset,
+            int limit) {
+        int window = offset + limit;
+        // Neither side has duplicates of its own, so each contributes at most a window
+        List<Transaction> merged = new ArrayList<>(
+                transactionMapper.findSortedUpTo(sort, after, snapshotSeq, 0, window));
+        merged.addAll(versionStore.visibleAt(snapshotSeq, sort, after, window));
+        merged.sort(sort.comparator());
+        // A version read from the store can still be in the table while the write replacing it commits
+        Set<String> seen = new HashSet<>();
+        List<Transaction> distinct = new ArrayList<>(Math.min(merged.size(), window));
+        for (Transaction transaction : merged) {
+            if (seen.add(transaction.getId())) {
+                distinct.add(transaction);
+            }
+        }
+        return new ArrayList<>(distinct.subList(Math.min(offset, distinct.size()), Math.min(window, distinct.size())));
+    }
+
+    private long countAt(long snapshotSeq) {
+        return hotCountAt(snapshotSeq) + archive.count();
+    }
+
+    private long hotCountAt(long snapshotSeq) {
+        List<String> replacedIds = versionStore.visibleAt(snapshotSeq).stream().map(Transaction::getId).toList();
+        // Replaced versions count unless the table still holds them, i.e. their write has not committed
+        long count = transactionMapper.countUpTo(snapshotSeq) + replacedIds.size();
+        for (int from = 0; from < replacedIds.size(); from += ID_LIST_CHUNK_SIZE) {
+            count -= transactionMapper.countUpToByIds(
+                    replacedIds.subList(from, Math.min(from + ID_LIST_CHUNK_SIZE, replacedIds.size())), snapshotSeq);
+        }
+        return count;
+    }
+
+    /**
+     * Get total count of transactions, hot and archived
      * 
      * @return total number of transactions
      */
     public long count() {
-        return transactionMapper.count();
+        return transactionMapper.count() + archive.count();
+    }
+
+    /**
+     * Timestamp of the oldest hot transaction created before a cutoff
+     * 
+     * @param cutoff exclusive upper bound
+     * @return the timestamp, if there is such a transaction
+     */
+    public Optional<LocalDateTime> findOldestTimestampBefore(LocalDateTime cutoff) {
+        return Optional.ofNullable(transactionMapper.findOldestTimestampBefore(cutoff));
     }
 
     /**
-     * Delete a transaction by ID
+     * Lock and read the oldest hot transactions in a time range until the
+     * current database transaction ends
+     * 
+     * @param from  inclusive lower bound
+     * @param to    exclusive upper bound
+     * @param limit maximum number of rows
+     * @return the transactions, oldest first
+     */
+    public List<Transaction> findArchivableForUpdate(LocalDateTime from, LocalDateTime to, int limit) {
+        return transactionMapper.findArchivableForUpdate(from, to, limit);
+    }
+
+    /**
+     * Remove archived transactions from the hot table. Unlike {@link #deleteById}
+     * this leaves no tombstones: the transactions still exist.
+     * 
+     * @param ids the archived transaction IDs
+     * @return the number of deleted rows
+     */
+    public int deleteArchived(List<String> ids) {
+        int deleted = 0;
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+            deleted += transactionMapper.deleteByIds(ids.subList(from, Math.min(from + DELETE_CHUNK_SIZE, ids.size())));
+        }
+        return deleted;
+    }
+
+    /**
+     * Find transactions written after a change sequence number
+     * 
+     * @param since exclusive lower bound
+     * @param upTo  inclusive upper bound
+     * @param limit maximum number of rows
+     * @return changed transactions in change sequence order
+     */
+    public List<Transaction> findChangedSince(long since, long upTo, int limit) {
+        return transactionMapper.findChangedSince(since, upTo, limit);
+    }
+
+    /**
+     * Find deletions after a change sequence number
+     * 
+     * @param since exclusive lower bound
+     * @param upTo  inclusive upper bound
+     * @param limit maximum number of tombstones
+     * @return tombstones in change sequence order
+     */
+    public List<TransactionTombstone> findTombstonesSince(long since, long upTo, int limit) {
+        return transactionMapper.findTombstonesSince(since, upTo, limit);
+    }
+
+    /**
+     * Highest change sequence number below which all writes have completed
+     * 
+     * @return the committed horizon
+     */
+    public long committedChangeSeq() {
+        return changeSequencer.committedHorizon();
+    }
+
+    /**
+     * Delete a transaction by ID, leaving a tombstone for delta sync
      * 
      * @param id the transaction ID
      * @return true if deleted, false if not found
      */
     public boolean deleteById(String id) {
-        return transactionMapper.deleteById(id) > 0;
+        try (var sequence = changeSequencer.reserve(1)) {
+            Optional<Transaction> previous = transactionMapper.findById(id);
+            if (previous.isEmpty()) {
+                return false;
+            }
+            versionStore.retain(previous.get(), sequence.get(0));
+            if (transactionMapper.deleteById(id) == 0) {
+                return false;
+            }
+            transactionMapper.insertTombstone(TransactionTombstone.builder()
+                    .changeSeq(sequence.get(0))
+                    .transactionId(id)
+                    .deletedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
+                    .build());
+            return true;
+        }
     }
 
     /**
@@ -109,7 +449,9 @@ public class TransactionRepository {
                 transaction.getAmount(),
                 transaction.getType() != null ? transaction.getType().name() : null,
                 transaction.getCategory() != null ? transaction.getCategory().name() : null,
-                transaction.getDescription());
+                transaction.getDescription(),
+                transaction.getSourceAccountId(),
+                transaction.getTargetAccountId());
     }
 
     /**
@@ -126,6 +468,8 @@ public class TransactionRepository {
                 transaction.getType() != null ? transaction.getType().name() : null,
                 transaction.getCategory() != null ? transaction.getCategory().name() : null,
                 transaction.getDescription(),
+                transaction.getSourceAccountId(),
+                transaction.getTargetAccountId(),
                 excludeId);
     }
 
@@ -134,5 +478,8 @@ public class TransactionRepository {
      */
     public void deleteAll() {
         transactionMapper.deleteAll();
+        transactionMapper.deleteAllTombstones();
+        archive.deleteAll();
+        versionStore.clear();
     }
 }
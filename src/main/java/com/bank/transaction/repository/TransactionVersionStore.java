@@ -0,0 +1,453 @@
+package com.bank.transaction.repository;
+
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.enums.TransactionSort;
+import com.bank.transaction.exception.SnapshotExpiredException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Transaction Version Store
+ *
+ * Multi-version support for read snapshots. The {@code transactions} table
+ * holds only the newest version of each row, stamped with the change
+ * sequence of the write that produced it. A snapshot is a change sequence
+ * number: it sees every row whose {@code change_seq} is at or below it as
+ * is, and for rows updated or deleted later, the version those writes
+ * replaced. Writers keep that replaced version here before their change can
+ * commit, so snapshot readers never wait for writers and writers never wait
+ * for readers.
+ *
+ * Snapshots start at the committed horizon, so no write they could see is
+ * still in flight. They are leases: every read renews one, and one left idle
+ * for {@code app.snapshot.ttl-seconds} is released. A replaced version is
+ * reclaimed as soon as every open snapshot, and any snapshot opened from now
+ * on, is at or past the write that replaced it.
+ *
+ * Replaced versions are also kept in one skip list per
+ * {@link TransactionSort}, so a page reads only the versions past its cursor
+ * rather than every retained version. Writers find the low-water mark in a
+ * volatile field maintained as leases come and go, and never take the lease
+ * lock: they only expire idle leases when the lock happens to be free.
+ *
+ * Internal readers such as exports {@link #pin() pin} a snapshot instead:
+ * a pin holds back reclamation like a lease, but has no token, is not
+ * counted against {@code app.snapshot.max-open}, and is never expired or
+ * evicted, so it neither pushes out client snapshots nor loses its own
+ * versions mid-read. It lasts until it is closed.
+ */
+@Component
+public class TransactionVersionStore {
+
+    private final ChangeSequencer changeSequencer;
+    private final long ttlNanos;
+    private final int maxOpen;
+
+    // Replaced versions per transaction ID, newest first
+    private final Map<String, List<Version>> versions = new ConcurrentHashMap<>();
+
+    // Replaced versions in each sort order, ties (versions of one transaction) by replacing write
+    private final Map<TransactionSort, NavigableSet<Version>> bySortKey = new EnumMap<>(TransactionSort.class);
+
+    // Transaction ID of each replaced version, by the change sequence of the write that replaced it
+    private final ConcurrentSkipListMap<Long, String> byReplacement = new ConcurrentSkipListMap<>();
+
+    // Open snapshots in access order; guarded by leaseLock
+    private final LinkedHashMap<String, Lease> leases = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock leaseLock = new ReentrantLock();
+
+    // Open pins; guarded by leaseLock
+    private final Set<Pin> pins = new HashSet<>();
+
+    // Lowest sequence number of an open snapshot (MAX_VALUE if none). Lowered before
+    // a new snapshot reads the horizon, recomputed whenever leases are removed
+    private volatile long oldestLeaseSeq = Long.MAX_VALUE;
+
+    // System.nanoTime() at which the least recently read snapshot expires
+    private volatile long nextExpiryNanos;
+
+    public TransactionVersionStore(ChangeSequencer changeSequencer,
+            @Value("${app.snapshot.ttl-seconds:300}") long ttlSeconds,
+            @Value("${app.snapshot.max-open:1000}") int maxOpen) {
+        this.changeSequencer = changeSequencer;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxOpen = maxOpen;
+        this.nextExpiryNanos = System.nanoTime() + ttlNanos;
+        for (TransactionSort sort : TransactionSort.values()) {
+            bySortKey.put(sort, new ConcurrentSkipListSet<>(
+                    Comparator.comparing(Version::transaction, sort.comparator()).thenComparingLong(Version::replacedAt)));
+        }
+    }
+
+    /**
+     * Keep the version of a transaction that a write is about to replace.
+     * Must be called before the write can commit.
+     *
+     * @param previous   the transaction as stored before the write
+     * @param replacedAt change sequence number of the write
+     */
+    public void retain(Transaction previous, long replacedAt) {
+        Version version = new Version(previous, replacedAt);
+        versions.compute(previous.getId(), (id, chain) -> {
+            List<Version> updated = new ArrayList<>(chain != null ? chain.size() + 1 : 1);
+            updated.add(version);
+            if (chain != null) {
+                updated.addAll(chain);
+            }
+            return List.copyOf(updated);
+        });
+        for (NavigableSet<Version> ordered : bySortKey.values()) {
+            ordered.add(version);
+        }
+        // Indexed last: reclamation only finds a version once it is in every index
+        byReplacement.put(replacedAt, previous.getId());
+        reclaim();
+    }
+
+    /**
+     * Replaced versions a snapshot still sees; scans every retained version,
+     * so meant for counting a snapshot once when it opens
+     *
+     * @param snapshotSeq the snapshot's change sequence number
+     * @return at most one version per transaction, in no particular order
+     */
+    public List<Transaction> visibleAt(long snapshotSeq) {
+        List<Transaction> visible = new ArrayList<>();
+        for (List<Version> chain : versions.values()) {
+            for (Version version : chain) {
+                if (version.visibleAt(snapshotSeq)) {
+                    visible.add(version.transaction());
+                    break;
+                }
+            }
+        }
+        return visible;
+    }
+
+    /**
+     * The first replaced versions a snapshot still sees after a cursor, in a sort order
+     *
+     * @param snapshotSeq the snapshot's change sequence number
+     * @param sort        the order
+     * @param after       the last transaction already returned, or null to start from the first
+     * @param limit       maximum number of versions
+     * @return at most one version per transaction, in that order
+     */
+    public List<Transaction> visibleAt(long snapshotSeq, TransactionSort sort, Transaction after, int limit) {
+        NavigableSet<Version> ordered = bySortKey.get(sort);
+        if (after != null) {
+            // Sorts after every version with the cursor's key, so those are skipped too
+            ordered = ordered.tailSet(new Version(after, Long.MAX_VALUE), false);
+        }
+        List<Transaction> visible = new ArrayList<>();
+        for (Version version : ordered) {
+            if (visible.size() >= limit) {
+                break;
+            }
+            if (version.visibleAt(snapshotSeq)) {
+                visible.add(version.transaction());
+            }
+        }
+        return visible;
+    }
+
+    /**
+     * Open a snapshot at the committed horizon
+     *
+     * @param totalAt counts the transactions a snapshot at a given sequence number sees
+     * @return the snapshot
+     */
+    public Snapshot open(LongUnaryOperator totalAt) {
+        String token = UUID.randomUUID().toString();
+        Lease lease;
+        leaseLock.lock();
+        try {
+            expire(System.nanoTime());
+            if (leases.size() >= maxOpen) {
+                // Make room by releasing the least recently read snapshot
+                Iterator<Lease> eldest = leases.values().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+            // Published before the snapshot reads the horizon: a writer that misses it read
+            // the horizon earlier, so reclaims nothing this snapshot can see
+            oldestLeaseSeq = Math.min(oldestLeaseSeq, changeSequencer.committedHorizon());
+            // Registered before it is counted, so reclamation cannot pass it in between
+            lease = new Lease(changeSequencer.committedHorizon());
+            leases.put(token, lease);
+            leasesChanged();
+        } finally {
+            leaseLock.unlock();
+        }
+        Snapshot snapshot = new Snapshot(token, lease.seq, totalAt.applyAsLong(lease.seq));
+        lease.snapshot = snapshot;
+        return snapshot;
+    }
+
+    /**
+     * Pin a snapshot at the committed horizon for an internal reader; it is
+     * not counted, not evictable and does not expire, so close it when done
+     *
+     * @return the pin
+     */
+    public Pin pin() {
+        leaseLock.lock();
+        try {
+            // Published before the horizon is read, as in open()
+            oldestLeaseSeq = Math.min(oldestLeaseSeq, changeSequencer.committedHorizon());
+            Pin pin = new Pin(changeSequencer.committedHorizon());
+            pins.add(pin);
+            leasesChanged();
+            return pin;
+        } finally {
+            leaseLock.unlock();
+        }
+    }
+
+    /**
+     * Number of open pins
+     */
+    public int openPins() {
+        leaseLock.lock();
+        try {
+            return pins.size();
+        } finally {
+            leaseLock.unlock();
+        }
+    }
+
+    /**
+     * Find an open snapshot and renew its lease
+     *
+     * @param token the snapshot token
+     * @return the snapshot
+     * @throws SnapshotExpiredException if no such snapshot is open
+     */
+    public Snapshot get(String token) {
+        leaseLock.lock();
+        try {
+            long now = System.nanoTime();
+            Lease lease = leases.get(token);
+            if (lease == null || lease.snapshot == null || lease.expired(now, ttlNanos)) {
+                if (leases.remove(token) != null) {
+                    leasesChanged();
+                }
+                throw new SnapshotExpiredException(token);
+            }
+            lease.lastAccess = now;
+            updateNextExpiry();
+            return lease.snapshot;
+        } finally {
+            leaseLock.unlock();
+        }
+    }
+
+    /**
+     * Release a snapshot before its lease runs out
+     *
+     * @param token the snapshot token
+     * @return true if the snapshot was open
+     */
+    public boolean release(String token) {
+        boolean released;
+        leaseLock.lock();
+        try {
+            released = leases.remove(token) != null;
+            leasesChanged();
+        } finally {
+            leaseLock.unlock();
+        }
+        reclaim();
+        return released;
+    }
+
+    /**
+     * Number of open snapshots
+     */
+    public int openSnapshots() {
+        leaseLock.lock();
+        try {
+            expire(System.nanoTime());
+            return leases.size();
+        } finally {
+            leaseLock.unlock();
+        }
+    }
+
+    /**
+     * Number of replaced versions being kept
+     */
+    public int retainedVersions() {
+        return byReplacement.size();
+    }
+
+    /**
+     * Drop all versions and snapshots (useful for testing)
+     */
+    public void clear() {
+        leaseLock.lock();
+        try {
+            leases.clear();
+            pins.clear();
+            leasesChanged();
+        } finally {
+            leaseLock.unlock();
+        }
+        byReplacement.clear();
+        versions.clear();
+        bySortKey.values().forEach(NavigableSet::clear);
+    }
+
+    private void reclaim() {
+        long now = System.nanoTime();
+        if (now - nextExpiryNanos > 0 && leaseLock.tryLock()) {
+            try {
+                expire(now);
+            } finally {
+                leaseLock.unlock();
+            }
+        }
+        long lowWater = lowWater();
+        Map.Entry<Long, String> oldest;
+        while ((oldest = byReplacement.firstEntry()) != null && oldest.getKey() <= lowWater) {
+            long replacedAt = oldest.getKey();
+            if (byReplacement.remove(replacedAt, oldest.getValue())) {
+                versions.computeIfPresent(oldest.getValue(), (id, chain) -> {
+                    List<Version> kept = new ArrayList<>(chain.size());
+                    for (Version version : chain) {
+                        if (version.replacedAt() != replacedAt) {
+                            kept.add(version);
+                        } else {
+                            bySortKey.values().forEach(ordered -> ordered.remove(version));
+                        }
+                    }
+                    return kept.isEmpty() ? null : List.copyOf(kept);
+                });
+            }
+        }
+    }
+
+    /**
+     * Oldest change sequence number a snapshot can still read at. The
+     * horizon is read first and only moves forward, so a snapshot whose lease
+     * is not yet in {@code oldestLeaseSeq} starts at or past it.
+     */
+    private long lowWater() {
+        long horizon = changeSequencer.committedHorizon();
+        return Math.min(horizon, oldestLeaseSeq);
+    }
+
+    private void expire(long now) {
+        if (leases.values().removeIf(lease -> lease.snapshot != null && lease.expired(now, ttlNanos))) {
+            leasesChanged();
+        }
+    }
+
+    /**
+     * Recompute the fields writers read after leases or pins were added,
+     * removed or read; called with leaseLock held
+     */
+    private void leasesChanged() {
+        long oldest = Long.MAX_VALUE;
+        for (Lease lease : leases.values()) {
+            oldest = Math.min(oldest, lease.seq);
+        }
+        for (Pin pin : pins) {
+            oldest = Math.min(oldest, pin.seq);
+        }
+        oldestLeaseSeq = oldest;
+        updateNextExpiry();
+    }
+
+    private void updateNextExpiry() {
+        // Access order: the first lease is the least recently read
+        long lastAccess = leases.isEmpty() ? System.nanoTime() : leases.values().iterator().next().lastAccess;
+        nextExpiryNanos = lastAccess + ttlNanos;
+    }
+
+    /**
+     * A frozen view of the transactions
+     *
+     * @param token opaque handle for clients
+     * @param seq   change sequence number the view is at
+     * @param total number of transactions in the view
+     */
+    public record Snapshot(String token, long seq, long total) {
+    }
+
+    /**
+     * A snapshot held open by an internal reader until closed
+     */
+    public final class Pin implements AutoCloseable {
+
+        private final long seq;
+        private boolean closed;
+
+        private Pin(long seq) {
+            this.seq = seq;
+        }
+
+        /**
+         * Change sequence number the pinned view is at
+         */
+        public long seq() {
+            return seq;
+        }
+
+        @Override
+        public void close() {
+            leaseLock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                pins.remove(this);
+                leasesChanged();
+            } finally {
+                leaseLock.unlock();
+            }
+            reclaim();
+        }
+    }
+
+    private record Version(Transaction transaction, long replacedAt) {
+
+        boolean visibleAt(long snapshotSeq) {
+            return replacedAt > snapshotSeq && transaction.getChangeSeq() <= snapshotSeq;
+        }
+    }
+
+    private static final class Lease {
+
+        private final long seq;
+        private volatile long lastAccess = System.nanoTime();
+        private volatile Snapshot snapshot;
+
+        private Lease(long seq) {
+            this.seq = seq;
+        }
+
+        private boolean expired(long now, long ttlNanos) {
+            return now - lastAccess > ttlNanos;
+        }
+    }
+}
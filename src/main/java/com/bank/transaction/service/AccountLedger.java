@@ -0,0 +1,64 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.exception.InsufficientFundsException;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Account Ledger
+ *
+ * Applies the balance effect of transaction writes to the accounts they
+ * name: deposits credit the target, withdrawals debit the source, transfers
+ * do both. A write that would take any account below zero is rejected with
+ * {@link InsufficientFundsException} and rolls back with its transaction.
+ *
+ * The engine is chosen by {@code app.ledger.engine}:
+ * <ul>
+ * <li>{@code striped-lock} (default): {@link StripedLockAccountLedger}</li>
+ * <li>{@code sequencer}: {@link SequencedAccountLedger}</li>
+ * </ul>
+ */
+public interface AccountLedger {
+
+    /**
+     * Apply the change from {@code previous} to {@code current} to the
+     * balances of the accounts involved. Must run inside a Spring-managed
+     * transaction; the effect is undone if that transaction rolls back.
+     *
+     * @param previous the transaction before the write, or null for a create
+     * @param current  the transaction after the write, or null for a delete
+     * @throws InsufficientFundsException if an account would go negative
+     */
+    void record(Transaction previous, Transaction current);
+
+    /**
+     * Net balance change per account, in account ID order, without zero entries
+     *
+     * @param previous the transaction before the write, or null for a create
+     * @param current  the transaction after the write, or null for a delete
+     * @return account ID to balance delta
+     */
+    static Map<String, BigDecimal> netDeltas(Transaction previous, Transaction current) {
+        Map<String, BigDecimal> deltas = new TreeMap<>();
+        addDeltas(deltas, previous, BigDecimal.ONE.negate());
+        addDeltas(deltas, current, BigDecimal.ONE);
+        deltas.values().removeIf(delta -> delta.signum() == 0);
+        return deltas;
+    }
+
+    private static void addDeltas(Map<String, BigDecimal> deltas, Transaction transaction, BigDecimal sign) {
+        if (transaction == null) {
+            return;
+        }
+        BigDecimal amount = transaction.getAmount().multiply(sign);
+        if (transaction.getSourceAccountId() != null) {
+            deltas.merge(transaction.getSourceAccountId(), amount.negate(), BigDecimal::add);
+        }
+        if (transaction.getTargetAccountId() != null) {
+            deltas.merge(transaction.getTargetAccountId(), amount, BigDecimal::add);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.dto.AccountBalanceResponse;
+import com.bank.transaction.exception.AccountNotFoundException;
+import com.bank.transaction.repository.AccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Account Service
+ *
+ * Read side of the {@link AccountLedger}. Balances are maintained on every
+ * write, so reading one is a primary-key lookup rather than a sum over the
+ * account's transactions.
+ */
+@Service
+public class AccountService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountService.class);
+
+    private final AccountRepository accountRepository;
+
+    public AccountService(AccountRepository accountRepository) {
+        this.accountRepository = accountRepository;
+    }
+
+    /**
+     * Get the current balance of an account
+     *
+     * @param accountId the account ID
+     * @return the balance
+     * @throws AccountNotFoundException if no transaction has named the account
+     */
+    @Transactional(readOnly = true)
+    public AccountBalanceResponse getBalance(String accountId) {
+        logger.debug("Getting balance of account: {}", accountId);
+        RequestDeadline.checkCurrent();
+        return accountRepository.findById(accountId)
+                .map(AccountBalanceResponse::fromEntity)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+    }
+}
@@ -0,0 +1,364 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.entity.Account;
+import com.bank.transaction.entity.LedgerHold;
+import com.bank.transaction.exception.InsufficientFundsException;
+import com.bank.transaction.mapper.AccountMapper;
+import com.bank.transaction.mapper.LedgerHoldMapper;
+import com.bank.transaction.mapper.PendingCreditMapper;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ledger Sequencer
+ *
+ * Single-writer engine for account balance mutations. Accounts are
+ * partitioned into shards by ID hash; every shard owns a
+ * {@link MutationRingBuffer} and one writer thread, which is the only code
+ * that ever writes that shard's balances. Mutations on a shard are therefore
+ * applied one at a time, in submission order, without locks.
+ *
+ * The writer drains whatever has been published, up to
+ * {@code maxBatchSize} mutations, and handles them as one batch: a single
+ * query loads the balances of the accounts involved, the mutations are
+ * applied in memory in sequence order, a single multi-row statement journals
+ * the resulting balances, and only then are the callers' futures completed.
+ * On a hot account a whole queue of transfers costs two statements instead
+ * of a lock hand-off and a read-modify-write each. Slots are handed back to
+ * producers once their batch is journaled.
+ *
+ * Credits backed by a {@code pending_credits} row are applied only while the
+ * row still exists, and the row is deleted in the same commit as the balance,
+ * so a credit submitted twice (once after commit, once by a replay) is
+ * applied once. Debits taken as holds journal a {@code ledger_holds} row in
+ * the same commit as the balance; their refunds, like credits, apply only
+ * while that row exists and delete it, locking it first so a refund cannot
+ * race the owning transaction deleting it on commit.
+ *
+ * Callers wait for their mutations while holding a pooled connection for
+ * their own transaction, so a writer borrowing from the same pool could wait
+ * forever behind them. Each writer therefore keeps one connection of its own
+ * for its lifetime, through a dedicated {@link SqlSession} committed once per
+ * batch.
+ */
+final class LedgerSequencer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerSequencer.class);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final Shard[] shards;
+    private final int maxBatchSize;
+
+    private volatile boolean running = true;
+
+    LedgerSequencer(SqlSessionFactory sqlSessionFactory, int shardCount, int ringSize, int maxBatchSize) {
+        if (shardCount < 1 || Integer.bitCount(shardCount) != 1) {
+            throw new IllegalArgumentException("Shard count must be a power of two: " + shardCount);
+        }
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + maxBatchSize);
+        }
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.maxBatchSize = Math.min(maxBatchSize, ringSize);
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, new MutationRingBuffer(ringSize));
+        }
+    }
+
+    /**
+     * Queue a balance change
+     *
+     * @param accountId    the account to change
+     * @param delta        amount to add (negative to debit)
+     * @param requireFunds whether to reject the change if it would make the balance negative
+     * @return completed once the change is journaled, or exceptionally with
+     *         {@link InsufficientFundsException} if it was rejected
+     */
+    CompletableFuture<Void> submit(String accountId, BigDecimal delta, boolean requireFunds) {
+        return submit(accountId, delta, requireFunds, null, null);
+    }
+
+    /**
+     * Queue the credit of a pending credit row, which is deleted when the credit is journaled
+     *
+     * @return completed once the credit is journaled, or was already applied before
+     */
+    CompletableFuture<Void> submitCredit(String accountId, BigDecimal amount, String creditId) {
+        return submit(accountId, amount, false, creditId, null);
+    }
+
+    /**
+     * Queue a debit that is journaled together with a hold row
+     *
+     * @param amount the amount to take; the debit is rejected if it would make the balance negative
+     * @return completed once the debit and its hold are journaled, or exceptionally with
+     *         {@link InsufficientFundsException} if it was rejected
+     */
+    CompletableFuture<Void> submitHold(String accountId, BigDecimal amount, String holdId) {
+        return submit(accountId, amount.negate(), true, null, holdId);
+    }
+
+    /**
+     * Queue the refund of a hold, which is deleted when the refund is journaled
+     *
+     * @return completed once the refund is journaled, or the hold was already released
+     */
+    CompletableFuture<Void> submitRefund(String accountId, BigDecimal amount, String holdId) {
+        return submit(accountId, amount, false, null, holdId);
+    }
+
+    private CompletableFuture<Void> submit(String accountId, BigDecimal delta, boolean requireFunds, String creditId,
+            String holdId) {
+        if (!running) {
+            throw new IllegalStateException("Ledger sequencer is stopped");
+        }
+        Shard shard = shards[shardOf(accountId)];
+        CompletableFuture<Void> result = new CompletableFuture<>();
+
+        MutationRingBuffer ring = shard.ring;
+        long sequence = ring.claim();
+        MutationRingBuffer.Slot slot = ring.slot(sequence);
+        slot.accountId = accountId;
+        slot.delta = delta;
+        slot.requireFunds = requireFunds;
+        slot.creditId = creditId;
+        slot.holdId = holdId;
+        slot.result = result;
+        ring.publish(sequence);
+
+        if (shard.sleeping) {
+            LockSupport.unpark(shard.writer);
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        for (Shard shard : shards) {
+            LockSupport.unpark(shard.writer);
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.writer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private int shardOf(String accountId) {
+        int h = accountId.hashCode();
+        return (h ^ (h >>> 16)) & (shards.length - 1);
+    }
+
+    /**
+     * One partition of the accounts and its writer
+     */
+    private final class Shard implements Runnable {
+
+        private final MutationRingBuffer ring;
+        private final Thread writer;
+
+        // Set while the writer is about to park; producers unpark it after publishing
+        private volatile boolean sleeping;
+
+        // Reused per batch; only touched by the writer
+        private final List<RuntimeException> outcomes = new ArrayList<>();
+        private final Set<String> accountIds = new HashSet<>();
+        private final Map<String, BigDecimal> balances = new HashMap<>();
+        private final Map<String, Account> changed = new HashMap<>();
+        private final Set<String> creditIds = new HashSet<>();
+        private final List<String> appliedCredits = new ArrayList<>();
+        private final Set<String> refundedHoldIds = new HashSet<>();
+        private final List<LedgerHold> newHolds = new ArrayList<>();
+        private final List<String> releasedHolds = new ArrayList<>();
+
+        Shard(int index, MutationRingBuffer ring) {
+            this.ring = ring;
+            this.writer = Thread.ofPlatform().daemon().name("ledger-writer-" + index).unstarted(this);
+            writer.start();
+        }
+
+        // The writer's own connection; reopened after a failed batch
+        private SqlSession session;
+
+        @Override
+        public void run() {
+            long next = 0;
+            while (running) {
+                long last = next - 1;
+                while (last + 1 - next < maxBatchSize && ring.isPublished(last + 1)) {
+                    last++;
+                }
+                if (last < next) {
+                    idle(next);
+                    continue;
+                }
+                process(next, last);
+                next = last + 1;
+            }
+            failPending(next);
+            closeSession();
+        }
+
+        private void idle(long next) {
+            sleeping = true;
+            // Re-check after announcing, so a publish racing with the announcement is not missed
+            if (!ring.isPublished(next) && running) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+            sleeping = false;
+        }
+
+        private void process(long first, long last) {
+            for (long sequence = first; sequence <= last; sequence++) {
+                MutationRingBuffer.Slot slot = ring.slot(sequence);
+                accountIds.add(slot.accountId);
+                if (slot.creditId != null) {
+                    creditIds.add(slot.creditId);
+                }
+                if (slot.holdId != null && !slot.requireFunds) {
+                    refundedHoldIds.add(slot.holdId);
+                }
+            }
+
+            try {
+                apply(first, last);
+            } catch (RuntimeException e) {
+                logger.error("Ledger journal write failed; rejecting {} mutations", last - first + 1, e);
+                closeSession();
+                outcomes.clear();
+                for (long sequence = first; sequence <= last; sequence++) {
+                    outcomes.add(e);
+                }
+            }
+            for (long sequence = first; sequence <= last; sequence++) {
+                MutationRingBuffer.Slot slot = ring.slot(sequence);
+                RuntimeException failure = outcomes.get((int) (sequence - first));
+                if (failure == null) {
+                    slot.result.complete(null);
+                } else {
+                    slot.result.completeExceptionally(failure);
+                }
+                slot.clear();
+            }
+            ring.release(last);
+
+            outcomes.clear();
+            accountIds.clear();
+            balances.clear();
+            changed.clear();
+            creditIds.clear();
+            appliedCredits.clear();
+            refundedHoldIds.clear();
+            newHolds.clear();
+            releasedHolds.clear();
+        }
+
+        private void apply(long first, long last) {
+            if (session == null) {
+                session = sqlSessionFactory.openSession(false);
+            }
+            AccountMapper accountMapper = session.getMapper(AccountMapper.class);
+            PendingCreditMapper pendingCreditMapper = session.getMapper(PendingCreditMapper.class);
+            LedgerHoldMapper ledgerHoldMapper = session.getMapper(LedgerHoldMapper.class);
+            for (Account account : accountMapper.findAllById(accountIds)) {
+                balances.put(account.getId(), account.getBalance());
+            }
+            // Removed as applied, so a credit queued twice counts once
+            Set<String> outstanding = creditIds.isEmpty()
+                    ? Set.of()
+                    : new HashSet<>(pendingCreditMapper.findPendingIds(creditIds));
+            Set<String> held = refundedHoldIds.isEmpty()
+                    ? Set.of()
+                    : new HashSet<>(ledgerHoldMapper.findHeldIdsForUpdate(refundedHoldIds));
+
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            for (long sequence = first; sequence <= last; sequence++) {
+                MutationRingBuffer.Slot mutation = ring.slot(sequence);
+                if (mutation.creditId != null) {
+                    if (!outstanding.remove(mutation.creditId)) {
+                        outcomes.add(null);
+                        continue;
+                    }
+                    appliedCredits.add(mutation.creditId);
+                }
+                boolean refund = mutation.holdId != null && !mutation.requireFunds;
+                if (refund) {
+                    if (!held.remove(mutation.holdId)) {
+                        outcomes.add(null);
+                        continue;
+                    }
+                    releasedHolds.add(mutation.holdId);
+                }
+                BigDecimal balance = balances.getOrDefault(mutation.accountId, BigDecimal.ZERO);
+                BigDecimal updated = balance.add(mutation.delta);
+                if (mutation.requireFunds && updated.signum() < 0) {
+                    outcomes.add(new InsufficientFundsException(mutation.accountId, balance, mutation.delta.negate()));
+                    continue;
+                }
+                balances.put(mutation.accountId, updated);
+                changed.put(mutation.accountId, new Account(mutation.accountId, updated, now));
+                if (mutation.holdId != null && !refund) {
+                    newHolds.add(new LedgerHold(mutation.holdId, mutation.accountId, mutation.delta.negate(), now));
+                }
+                outcomes.add(null);
+            }
+
+            if (!changed.isEmpty()) {
+                accountMapper.upsertBatch(new ArrayList<>(changed.values()));
+            }
+            if (!appliedCredits.isEmpty()) {
+                pendingCreditMapper.deleteByIds(appliedCredits);
+            }
+            if (!newHolds.isEmpty()) {
+                ledgerHoldMapper.insertBatch(newHolds);
+            }
+            if (!releasedHolds.isEmpty()) {
+                ledgerHoldMapper.deleteByIds(releasedHolds);
+            }
+            session.commit();
+        }
+
+        private void closeSession() {
+            if (session != null) {
+                try {
+                    session.close();
+                } catch (RuntimeException e) {
+                    logger.debug("Failed to close ledger writer session", e);
+                }
+                session = null;
+            }
+        }
+
+        private void failPending(long next) {
+            IllegalStateException stopped = new IllegalStateException("Ledger sequencer stopped");
+            for (long sequence = next; ring.isPublished(sequence); sequence++) {
+                MutationRingBuffer.Slot slot = ring.slot(sequence);
+                slot.result.completeExceptionally(stopped);
+                slot.clear();
+                ring.release(sequence);
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.bank.transaction.service;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Mutation Ring Buffer
+ *
+ * Pre-allocated, multi-producer / single-consumer ring of balance mutations
+ * in the style of the LMAX Disruptor. Producers claim a sequence number with
+ * one atomic increment, fill the slot for that sequence in place and publish
+ * it; the single consumer walks the sequence in order. Slots are reused, so
+ * steady-state submission allocates only the caller's future.
+ *
+ * Each slot records the "round" (sequence / capacity) it was last published
+ * for, so the consumer can tell a freshly published slot from one still
+ * holding the previous lap's mutation even when producers finish out of
+ * order.
+ */
+final class MutationRingBuffer {
+
+    /**
+     * One balance change; mutable and reused across laps of the ring
+     */
+    static final class Slot {
+        String accountId;
+        BigDecimal delta;
+        boolean requireFunds;
+        // ID of the pending credit this mutation applies, or null
+        String creditId;
+        // ID of the hold this debit records, or this refund releases, or null
+        String holdId;
+        CompletableFuture<Void> result;
+
+        void clear() {
+            accountId = null;
+            delta = null;
+            creditId = null;
+            holdId = null;
+            result = null;
+        }
+    }
+
+    private final Slot[] slots;
+    private final AtomicIntegerArray publishedRound;
+    private final int mask;
+    private final int shift;
+
+    // Highest sequence claimed by a producer
+    private final AtomicLong claimed = new AtomicLong(-1);
+
+    // Highest sequence the consumer is done with; its slots may be reused
+    private final AtomicLong consumed = new AtomicLong(-1);
+
+    MutationRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two: " + capacity);
+        }
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        this.publishedRound = new AtomicIntegerArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            publishedRound.set(i, -1);
+        }
+        this.mask = capacity - 1;
+        this.shift = Integer.numberOfTrailingZeros(capacity);
+    }
+
+    /**
+     * Claim the next sequence, waiting while the ring is full
+     */
+    long claim() {
+        long sequence = claimed.incrementAndGet();
+        long wrapPoint = sequence - slots.length;
+        while (wrapPoint > consumed.get()) {
+            // The consumer is a full lap behind; back off briefly rather than burn the CPU it needs
+            LockSupport.parkNanos(1_000);
+        }
+        return sequence;
+    }
+
+    /**
+     * The slot for a claimed or available sequence
+     */
+    Slot slot(long sequence) {
+        return slots[(int) sequence & mask];
+    }
+
+    /**
+     * Make a claimed and filled slot visible to the consumer
+     */
+    void publish(long sequence) {
+        publishedRound.set((int) sequence & mask, (int) (sequence >>> shift));
+    }
+
+    /**
+     * Whether the slot for {@code sequence} has been published
+     */
+    boolean isPublished(long sequence) {
+        return publishedRound.get((int) sequence & mask) == (int) (sequence >>> shift);
+    }
+
+    /**
+     * Hand all slots up to and including {@code sequence} back to producers
+     */
+    void release(long sequence) {
+        consumed.lazySet(sequence);
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+}
@@ -0,0 +1,149 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.exception.DeadlineExceededException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Query Scope
+ *
+ * Runs independent queries of one request concurrently, each on its own
+ * virtual thread, with the shape of {@code StructuredTaskScope.ShutdownOnFailure}
+ * (a preview API in JDK 21): {@link #fork} the subtasks, {@link #join} them,
+ * then read the results. The first subtask to fail cancels its siblings by
+ * interrupting them, and closing the scope cancels whatever is still running,
+ * so no subtask outlives the request that forked it.
+ *
+ * Subtasks run under the forking thread's {@link RequestDeadline}, so their
+ * statements get the request's query timeout.
+ */
+final class QueryScope implements AutoCloseable {
+
+    private final ThreadFactory threadFactory;
+    private final RequestDeadline deadline = RequestDeadline.current();
+    private final List<Subtask<?>> subtasks = new ArrayList<>();
+    private final CompletableFuture<Throwable> firstFailure = new CompletableFuture<>();
+
+    QueryScope(String name) {
+        this.threadFactory = Thread.ofVirtual().name(name + "-", 0).factory();
+    }
+
+    /**
+     * Start a subtask
+     *
+     * @param task the query
+     * @return its result, available once {@link #join} has returned
+     */
+    <T> Supplier<T> fork(Callable<T> task) {
+        Subtask<T> subtask = new Subtask<>(task);
+        subtasks.add(subtask);
+        subtask.start();
+        return subtask;
+    }
+
+    /**
+     * Wait for every subtask to succeed, or for the first to fail
+     *
+     * @param timeoutMillis how long to wait when the request has no deadline
+     * @throws DeadlineExceededException if time runs out first
+     * @throws RuntimeException the first subtask failure
+     */
+    void join(long timeoutMillis) {
+        CompletableFuture<?> all = CompletableFuture.allOf(
+                subtasks.stream().map(subtask -> subtask.result).toArray(CompletableFuture[]::new));
+        long timeoutNanos = deadline != null ? deadline.remainingNanos() : TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        try {
+            CompletableFuture.anyOf(all, firstFailure).get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            shutdown();
+            throw deadline != null ? deadline.exceeded() : new DeadlineExceededException(timeoutMillis);
+        } catch (InterruptedException e) {
+            shutdown();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for queries", e);
+        } catch (ExecutionException e) {
+            // Subtask failures are reported through firstFailure below
+        }
+
+        Throwable failure = firstFailure.getNow(null);
+        if (failure != null) {
+            shutdown();
+            if (failure instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (failure instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(failure);
+        }
+    }
+
+    @Override
+    public void close() {
+        shutdown();
+    }
+
+    private void shutdown() {
+        subtasks.forEach(Subtask::cancel);
+    }
+
+    /**
+     * One forked query and the thread running it
+     */
+    private final class Subtask<T> implements Supplier<T> {
+
+        private final Callable<T> task;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private Thread thread;
+
+        Subtask(Callable<T> task) {
+            this.task = task;
+        }
+
+        void start() {
+            thread = threadFactory.newThread(this::run);
+            thread.start();
+        }
+
+        private void run() {
+            if (deadline != null) {
+                RequestDeadline.attach(deadline);
+            }
+            try {
+                result.complete(task.call());
+            } catch (Throwable t) {
+                // A sibling's cancellation is not a failure of its own
+                if (!result.isCancelled()) {
+                    firstFailure.complete(t);
+                    result.completeExceptionally(t);
+                }
+            } finally {
+                RequestDeadline.clear();
+            }
+        }
+
+        void cancel() {
+            if (result.cancel(false)) {
+                thread.interrupt();
+            }
+        }
+
+        @Override
+        public T get() {
+            try {
+                return result.getNow(null);
+            } catch (CancellationException e) {
+                throw new IllegalStateException("Subtask was cancelled", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.exception.TransactionNotFoundException;
+import com.bank.transaction.repository.ReactiveTransactionRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive Transaction Service
+ *
+ * Non-blocking counterpart of the read operations in {@link TransactionService}.
+ * Single transactions and pages are cached in Caffeine {@link AsyncCache}s;
+ * entries are invalidated when {@link TransactionServiceImpl} commits a change,
+ * mirroring the evictions on the Spring caches.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+public class ReactiveTransactionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveTransactionService.class);
+
+    private final ReactiveTransactionRepository repository;
+    private final AsyncCache<String, TransactionResponse> transactionCache;
+    private final AsyncCache<String, PageResponse<TransactionResponse>> listCache;
+
+    @Value("${app.pagination.default-page-size:10}")
+    private int defaultPageSize;
+
+    @Value("${app.pagination.max-page-size:100}")
+    private int maxPageSize;
+
+    public ReactiveTransactionService(ReactiveTransactionRepository repository,
+            AsyncCache<String, TransactionResponse> reactiveTransactionCache,
+            AsyncCache<String, PageResponse<TransactionResponse>> reactiveTransactionListCache) {
+        this.repository = repository;
+        this.transactionCache = reactiveTransactionCache;
+        this.listCache = reactiveTransactionListCache;
+    }
+
+    /**
+     * Get a transaction by ID
+     *
+     * @param id the transaction ID
+     * @return the transaction, or a {@link TransactionNotFoundException} error
+     */
+    public Mono<TransactionResponse> getTransaction(String id) {
+        // A failed load is removed from the cache, so misses are not cached.
+        // Cancelling one subscriber must not cancel the load other subscribers share.
+        return Mono.fromFuture(() -> transactionCache.get(id, (key, executor) -> repository.findById(key)
+                .map(TransactionResponse::fromEntity)
+                .switchIfEmpty(Mono.error(() -> new TransactionNotFoundException(key)))
+                .toFuture()), true);
+    }
+
+    /**
+     * Get a page of transactions, newest first
+     *
+     * @param page page number (0-indexed)
+     * @param size page size
+     * @return the page
+     */
+    public Mono<PageResponse<TransactionResponse>> getAllTransactions(int page, int size) {
+        int adjustedSize = size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        int adjustedPage = Math.max(page, 0);
+
+        // Same key format as the transactionList object cache
+        String key = "page_" + page + "_size_" + size;
+        return Mono.fromFuture(() -> listCache.get(key, (k, executor) -> repository
+                .findAllPaginated(adjustedPage, adjustedSize)
+                .map(TransactionResponse::fromEntity)
+                .collectList()
+                .zipWith(repository.count(),
+                        (content, total) -> PageResponse.of(content, adjustedPage, adjustedSize, total))
+                .toFuture()), true);
+    }
+
+    /**
+     * Stream transactions newest first. Not cached: rows are read from the
+     * database as the client consumes them.
+     *
+     * @param limit maximum number of transactions to emit
+     * @return the transactions
+     */
+    public Flux<TransactionResponse> streamTransactions(long limit) {
+        return repository.streamAll(limit).map(TransactionResponse::fromEntity);
+    }
+
+    /**
+     * Invalidate cached reads once a write has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        logger.debug("Invalidating reactive caches for {} {}", event.type(), event.transactionId());
+        transactionCache.synchronous().invalidate(event.transactionId());
+        listCache.synchronous().invalidateAll();
+    }
+}
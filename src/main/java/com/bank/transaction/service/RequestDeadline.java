@@ -0,0 +1,98 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.exception.DeadlineExceededException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request Deadline
+ *
+ * The point in time by which the current request must finish, bound to the
+ * thread handling it. Set by the web layer when a request arrives and read
+ * wherever work can block: MyBatis statements get it as their query timeout,
+ * and waits on other requests' in-flight results are bounded by it. Service
+ * entry points and archive segment reads, which no query timeout covers,
+ * {@link #checkCurrent() check} it before they start.
+ *
+ * Code running outside a request (startup, background threads) has no
+ * deadline and is never cut short.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long timeoutMillis;
+    private final long deadlineNanos;
+
+    private RequestDeadline(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+        this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    /**
+     * Start a deadline for the current thread
+     *
+     * @param timeoutMillis time budget from now
+     * @return the deadline
+     */
+    public static RequestDeadline start(long timeoutMillis) {
+        RequestDeadline deadline = new RequestDeadline(timeoutMillis);
+        CURRENT.set(deadline);
+        return deadline;
+    }
+
+    /**
+     * Run the current thread under an existing deadline, e.g. one forked
+     * from the request thread; pair with {@link #clear()}
+     *
+     * @param deadline the deadline
+     */
+    public static void attach(RequestDeadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    /**
+     * The current thread's deadline, or null if it has none
+     */
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Remove the current thread's deadline
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Fail fast if the current thread's deadline has already passed
+     *
+     * @throws DeadlineExceededException if it has
+     */
+    public static void checkCurrent() {
+        RequestDeadline deadline = CURRENT.get();
+        if (deadline != null && deadline.isExpired()) {
+            throw deadline.exceeded();
+        }
+    }
+
+    public long timeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * Time left before the deadline, never negative
+     */
+    public long remainingNanos() {
+        return Math.max(0, deadlineNanos - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    public DeadlineExceededException exceeded() {
+        return new DeadlineExceededException(timeoutMillis);
+    }
+}
@@ -0,0 +1,265 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.entity.LedgerHold;
+import com.bank.transaction.entity.PendingCredit;
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.mapper.LedgerHoldMapper;
+import com.bank.transaction.mapper.PendingCreditMapper;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Sequenced Account Ledger
+ *
+ * {@link AccountLedger} that hands balance changes to the single-writer
+ * {@link LedgerSequencer} instead of locking accounts on the request thread,
+ * so transfers piling onto one hot account are applied in batches by that
+ * account's writer rather than convoying on a lock.
+ *
+ * The writer journals outside the request's database transaction, so the
+ * two are kept consistent by splitting each write:
+ * <ul>
+ * <li>debits are submitted immediately and checked for funds; they act as
+ * holds that the request waits for before it can commit. The writer journals
+ * a {@code ledger_holds} row with each debit, and the request deletes it in
+ * its own transaction just before committing;</li>
+ * <li>credits are written as {@code pending_credits} rows in the request's
+ * transaction and submitted only after it commits, so no one can spend money
+ * from a write that may still roll back, and a committed credit is never
+ * lost: if applying it fails (a failed journal write, a stopped sequencer),
+ * its row stays behind and is replayed every {@code credit-replay-interval}
+ * until it applies;</li>
+ * <li>if the request rolls back, every debit that went through is refunded
+ * right away. A hold row left behind (a refund that failed, or a crash before
+ * the request finished) is refunded by the same replay once it is older than
+ * the interval; a request still holding it then fails to commit rather than
+ * keep a refunded debit.</li>
+ * </ul>
+ * Credits and refunds can never fail the funds check, so no cross-shard
+ * coordination is needed.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.ledger", name = "engine", havingValue = "sequencer")
+public class SequencedAccountLedger implements AccountLedger, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SequencedAccountLedger.class);
+
+    // Refunds for debits still in flight when the request gave up; must not run on a writer thread
+    private static final Executor REFUND_EXECUTOR = task -> Thread.ofVirtual().name("ledger-refund").start(task);
+
+    private static final int REPLAY_BATCH_SIZE = 1000;
+
+    private final LedgerSequencer sequencer;
+
+    private final PendingCreditMapper pendingCreditMapper;
+
+    private final LedgerHoldMapper ledgerHoldMapper;
+
+    private final Duration creditReplayInterval;
+
+    private final ScheduledExecutorService creditReplay = Executors.newSingleThreadScheduledExecutor(
+            task -> Thread.ofPlatform().daemon().name("ledger-credit-replay").unstarted(task));
+
+    public SequencedAccountLedger(SqlSessionFactory sqlSessionFactory, PendingCreditMapper pendingCreditMapper,
+            LedgerHoldMapper ledgerHoldMapper,
+            @Value("${app.ledger.sequencer.shards:4}") int shards,
+            @Value("${app.ledger.sequencer.ring-size:4096}") int ringSize,
+            @Value("${app.ledger.sequencer.max-batch-size:256}") int maxBatchSize,
+            @Value("${app.ledger.sequencer.credit-replay-interval:5s}") Duration creditReplayInterval) {
+        this.sequencer = new LedgerSequencer(sqlSessionFactory, shards, ringSize, maxBatchSize);
+        this.pendingCreditMapper = pendingCreditMapper;
+        this.ledgerHoldMapper = ledgerHoldMapper;
+        this.creditReplayInterval = creditReplayInterval;
+        long intervalMillis = creditReplayInterval.toMillis();
+        creditReplay.scheduleWithFixedDelay(this::replayPendingCredits, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void record(Transaction previous, Transaction current) {
+        Map<String, BigDecimal> deltas = AccountLedger.netDeltas(previous, current);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Account ledger updates require an active transaction");
+        }
+
+        List<LedgerHold> debits = new ArrayList<>();
+        List<CompletableFuture<Void>> holds = new ArrayList<>();
+        List<PendingCredit> credits = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        deltas.forEach((accountId, delta) -> {
+            if (delta.signum() < 0) {
+                LedgerHold debit = new LedgerHold(UUID.randomUUID().toString(), accountId, delta.negate(), now);
+                debits.add(debit);
+                holds.add(sequencer.submitHold(accountId, debit.getAmount(), debit.getId()));
+            } else {
+                credits.add(new PendingCredit(UUID.randomUUID().toString(), accountId, delta, now));
+            }
+        });
+
+        // Registered before waiting, so holds are refunded even if the wait fails
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // Commits with the request; a hold already refunded by a replay fails the commit instead
+                List<String> holdIds = debits.stream().map(LedgerHold::getId).toList();
+                if (!holdIds.isEmpty() && ledgerHoldMapper.deleteByIds(holdIds) != holdIds.size()) {
+                    throw new IllegalStateException("Ledger holds were refunded before the transaction committed");
+                }
+            }
+
+            @Override
+            public void afterCommit() {
+                // The credits are durable now; applying them here only makes them visible sooner
+                applyCredits(credits);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    for (int i = 0; i < holds.size(); i++) {
+                        refund(debits.get(i), holds.get(i));
+                    }
+                }
+            }
+        });
+
+        holds.forEach(SequencedAccountLedger::await);
+        if (!credits.isEmpty()) {
+            pendingCreditMapper.insertBatch(credits);
+        }
+    }
+
+    /**
+     * Submit pending credits and wait for them. Failures are logged, not thrown: the rows stay
+     * pending and the next replay applies them.
+     */
+    private void applyCredits(List<PendingCredit> credits) {
+        List<CompletableFuture<Void>> submitted = new ArrayList<>(credits.size());
+        for (PendingCredit credit : credits) {
+            try {
+                submitted.add(sequencer.submitCredit(credit.getAccountId(), credit.getAmount(), credit.getId()));
+            } catch (RuntimeException e) {
+                submitted.add(CompletableFuture.failedFuture(e));
+            }
+        }
+        for (int i = 0; i < credits.size(); i++) {
+            try {
+                submitted.get(i).join();
+            } catch (RuntimeException e) {
+                logger.warn("Credit {} of {} to {} not applied yet; it stays pending and will be replayed",
+                        credits.get(i).getId(), credits.get(i).getAmount(), credits.get(i).getAccountId(), e);
+            }
+        }
+    }
+
+    /**
+     * Apply credits and refund holds left behind for longer than the replay interval (older
+     * ones are not waiting for their own afterCommit or rollback any more). Applying either
+     * twice is harmless.
+     *
+     * @return the number of credits and refunds submitted
+     */
+    int replayPendingCredits() {
+        return replayPendingCredits(creditReplayInterval);
+    }
+
+    int replayPendingCredits(Duration minAge) {
+        LocalDateTime before = LocalDateTime.now().minus(minAge);
+        int replayed = 0;
+        try {
+            List<PendingCredit> pending = pendingCreditMapper.findCreatedBefore(before, REPLAY_BATCH_SIZE);
+            if (!pending.isEmpty()) {
+                logger.info("Replaying {} pending credits", pending.size());
+                applyCredits(pending);
+            }
+            replayed += pending.size();
+        } catch (RuntimeException e) {
+            // Keep the schedule alive; the rows are still there next time
+            logger.warn("Failed to replay pending credits", e);
+        }
+        try {
+            List<LedgerHold> abandoned = ledgerHoldMapper.findCreatedBefore(before, REPLAY_BATCH_SIZE);
+            if (!abandoned.isEmpty()) {
+                logger.info("Refunding {} ledger holds left by unfinished transactions", abandoned.size());
+                abandoned.forEach(hold -> refund(hold, CompletableFuture.completedFuture(null)));
+            }
+            replayed += abandoned.size();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to refund ledger holds", e);
+        }
+        return replayed;
+    }
+
+    /**
+     * Refund a hold once its debit is journaled. Failures are logged, not thrown: the hold row
+     * stays and the next replay refunds it.
+     */
+    private void refund(LedgerHold debit, CompletableFuture<Void> hold) {
+        if (!hold.isDone()) {
+            // A failed debit left no hold to refund; a failed refund leaves the row for the replay
+            hold.thenRunAsync(() -> sequencer.submitRefund(debit.getAccountId(), debit.getAmount(), debit.getId()),
+                    REFUND_EXECUTOR);
+        } else if (!hold.isCompletedExceptionally()) {
+            try {
+                // Wait so the balance is restored by the time the failed request returns
+                sequencer.submitRefund(debit.getAccountId(), debit.getAmount(), debit.getId()).join();
+            } catch (RuntimeException e) {
+                logger.warn("Refund of hold {} ({} to {}) not applied yet; it will be replayed",
+                        debit.getId(), debit.getAmount(), debit.getAccountId(), e);
+            }
+        }
+    }
+
+    private static void await(CompletableFuture<Void> hold) {
+        RequestDeadline deadline = RequestDeadline.current();
+        try {
+            if (deadline == null) {
+                hold.get();
+            } else {
+                hold.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw deadline.exceeded();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the ledger", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        creditReplay.shutdownNow();
+        sequencer.close();
+    }
+}
@@ -0,0 +1,137 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.entity.Account;
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.exception.InsufficientFundsException;
+import com.bank.transaction.repository.AccountRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped Lock Account Ledger
+ *
+ * Default {@link AccountLedger}: the request thread reads, checks and writes
+ * the balances itself, inside the request's database transaction.
+ *
+ * Accounts are guarded by a fixed array of lock stripes chosen by account ID
+ * hash, so writes on different accounts proceed in parallel while writes on
+ * the same account serialize their read-check-write of the balance. A write
+ * takes all its stripes in ascending stripe order (two transfers between the
+ * same pair of accounts in opposite directions cannot deadlock) and holds
+ * them until its database transaction completes, so the next writer always
+ * reads a committed balance.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.ledger", name = "engine", havingValue = "striped-lock", matchIfMissing = true)
+public class StripedLockAccountLedger implements AccountLedger {
+
+    private final AccountRepository accountRepository;
+    private final ReentrantLock[] stripes;
+
+    public StripedLockAccountLedger(AccountRepository accountRepository,
+            @Value("${app.ledger.lock-stripes:1024}") int lockStripes) {
+        if (lockStripes < 1 || Integer.bitCount(lockStripes) != 1) {
+            throw new IllegalArgumentException("app.ledger.lock-stripes must be a power of two: " + lockStripes);
+        }
+        this.accountRepository = accountRepository;
+        this.stripes = new ReentrantLock[lockStripes];
+        for (int i = 0; i < lockStripes; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public void record(Transaction previous, Transaction current) {
+        Map<String, BigDecimal> deltas = AccountLedger.netDeltas(previous, current);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Account ledger updates require an active transaction");
+        }
+
+        lockUntilCompletion(deltas.keySet());
+
+        // Check every account before writing any, so a rejected transfer leaves no partial update
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Map<String, BigDecimal> balances = new TreeMap<>();
+        deltas.forEach((accountId, delta) -> {
+            BigDecimal balance = accountRepository.findById(accountId)
+                    .map(Account::getBalance)
+                    .orElse(BigDecimal.ZERO);
+            BigDecimal updated = balance.add(delta);
+            if (updated.signum() < 0) {
+                throw new InsufficientFundsException(accountId, balance, delta.negate());
+            }
+            balances.put(accountId, updated);
+        });
+        balances.forEach((accountId, balance) -> accountRepository.save(new Account(accountId, balance, now)));
+    }
+
+    private void lockUntilCompletion(Set<String> accountIds) {
+        TreeSet<Integer> indices = new TreeSet<>();
+        accountIds.forEach(accountId -> indices.add(stripe(accountId)));
+
+        Integer[] locked = new Integer[indices.size()];
+        int count = 0;
+        try {
+            for (int index : indices) {
+                acquire(stripes[index]);
+                locked[count++] = index;
+            }
+        } catch (RuntimeException e) {
+            unlock(locked, count);
+            throw e;
+        }
+
+        int held = count;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                unlock(locked, held);
+            }
+        });
+    }
+
+    private static void acquire(ReentrantLock lock) {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            lock.lock();
+            return;
+        }
+        try {
+            // Queue behind a hot account no longer than the request may take
+            if (!lock.tryLock(deadline.remainingNanos(), TimeUnit.NANOSECONDS)) {
+                throw deadline.exceeded();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an account lock", e);
+        }
+    }
+
+    private void unlock(Integer[] locked, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            stripes[locked[i]].unlock();
+        }
+    }
+
+    private int stripe(String accountId) {
+        int h = accountId.hashCode();
+        // Spread high bits so IDs differing only in their prefix still land on different stripes
+        return (h ^ (h >>> 16)) & (stripes.length - 1);
+    }
+}
@@ -0,0 +1,165 @@
+package com.bank.transaction.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transaction Change Broadcaster
+ *
+ * Fans committed {@link TransactionChangedEvent}s out to long-lived
+ * subscribers such as SSE connections and gRPC watch calls.
+ *
+ * The committing thread only appends the event to each subscriber's bounded,
+ * lock-free buffer; delivery happens on a per-subscriber virtual thread, so a
+ * slow client never delays a write. A subscriber whose buffer fills up is
+ * evicted rather than allowed to grow without bound.
+ */
+@Component
+public class TransactionChangeBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionChangeBroadcaster.class);
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Register a subscriber for committed changes
+     *
+     * @param capacity maximum number of undelivered changes before the subscriber is evicted
+     * @param listener receives the changes on the subscription's delivery thread
+     * @return the subscription; close it when the client goes away
+     */
+    public Subscription subscribe(int capacity, ChangeListener listener) {
+        Subscription subscription = new Subscription(capacity, listener);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Number of active subscribers
+     */
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    /**
+     * Receives changes for one subscriber. Methods are never called concurrently.
+     */
+    public interface ChangeListener {
+
+        /**
+         * Whether the client can take another change now. When false, delivery
+         * pauses until {@link Subscription#resume()} is called.
+         */
+        default boolean isReady() {
+            return true;
+        }
+
+        /**
+         * Deliver one change. Throwing closes the subscription.
+         */
+        void onChange(TransactionChangedEvent event) throws Exception;
+
+        /**
+         * Called once when the subscriber fell {@code capacity} changes behind
+         * and was evicted
+         */
+        void onEvicted(int capacity);
+    }
+
+    /**
+     * One subscriber's buffer and delivery state
+     */
+    public final class Subscription implements AutoCloseable {
+
+        private final int capacity;
+        private final ChangeListener listener;
+        private final Queue<TransactionChangedEvent> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        // Work-in-progress counter: guarantees a single delivery thread at a time
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile boolean overflowed;
+        private volatile boolean closed;
+
+        private Subscription(int capacity, ChangeListener listener) {
+            this.capacity = capacity;
+            this.listener = listener;
+        }
+
+        private void offer(TransactionChangedEvent event) {
+            if (closed) {
+                return;
+            }
+            if (size.incrementAndGet() > capacity) {
+                size.decrementAndGet();
+                overflowed = true;
+            } else {
+                pending.offer(event);
+            }
+            resume();
+        }
+
+        /**
+         * Resume delivery, e.g. when the client's transport becomes ready again
+         */
+        public void resume() {
+            if (wip.getAndIncrement() == 0) {
+                Thread.ofVirtual().name("transaction-change-subscriber").start(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                if (!closed && overflowed) {
+                    close();
+                    logger.warn("Evicted slow transaction change subscriber ({} changes behind)", capacity);
+                    listener.onEvicted(capacity);
+                }
+                while (!closed && listener.isReady()) {
+                    TransactionChangedEvent event = pending.poll();
+                    if (event == null) {
+                        break;
+                    }
+                    size.decrementAndGet();
+                    try {
+                        listener.onChange(event);
+                    } catch (Exception e) {
+                        logger.debug("Transaction change subscriber failed, closing", e);
+                        close();
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * Stop delivery and unregister
+         */
+        @Override
+        public void close() {
+            closed = true;
+            subscriptions.remove(this);
+            pending.clear();
+        }
+
+        public boolean isClosed() {
+            return closed;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.bank.transaction.service;
+
+/**
+ * Transaction Changed Event (Record)
+ *
+ * Published by {@link TransactionServiceImpl} inside the write transaction.
+ * Listeners that keep derived state (caches outside the Spring
+ * {@code CacheManager}, change feeds) should use
+ * {@code @TransactionalEventListener} so they only react after commit.
+ *
+ * @param transactionId the ID of the changed transaction
+ * @param type          what happened to the transaction
+ */
+public record TransactionChangedEvent(String transactionId, ChangeType type) {
+
+    /**
+     * Kind of change
+     */
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,75 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.enums.TransactionCategory;
+import com.bank.transaction.enums.TransactionSort;
+import com.bank.transaction.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Transaction Cursor
+ *
+ * Opaque keyset cursor for list pages: the sort order and the sort columns
+ * of the last transaction on a page, URL-safe Base64 encoded. The next page
+ * starts right after that transaction, however many rows were inserted or
+ * deleted in front of it, and is found by an index seek instead of skipping
+ * an offset.
+ */
+final class TransactionCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private TransactionCursor() {
+    }
+
+    /**
+     * Cursor positioned after a transaction
+     *
+     * @param sort the order of the page
+     * @param last the last transaction on the page
+     * @return the encoded cursor
+     */
+    static String encode(TransactionSort sort, Transaction last) {
+        String value = String.join(SEPARATOR, sort.name(), last.getTimestamp().toString(),
+                last.getAmount().toPlainString(), last.getType().name(), last.getCategory().name(), last.getId());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor into the sort columns of the transaction it points after
+     *
+     * @param sort   the order of the requested page
+     * @param cursor the encoded cursor
+     * @return a transaction holding only the sort columns and the ID
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for another order
+     */
+    static Transaction decode(TransactionSort sort, String cursor) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        if (parts.length != 6) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        if (!parts[0].equals(sort.name())) {
+            throw new IllegalArgumentException("Cursor was issued for another sort order: " + cursor);
+        }
+        try {
+            return Transaction.builder()
+                    .timestamp(LocalDateTime.parse(parts[1]))
+                    .amount(new BigDecimal(parts[2]))
+                    .type(TransactionType.valueOf(parts[3]))
+                    .category(TransactionCategory.valueOf(parts[4]))
+                    .id(parts[5])
+                    .build();
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package com.bank.transaction.service;
 
 import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionChangesResponse;
 import com.bank.transaction.dto.TransactionRequest;
 import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.enums.TransactionSort;
+
+import java.util.function.Consumer;
 
 /**
  * Transaction Service Interface
@@ -36,6 +41,82 @@ public interface TransactionService {
      */
     PageResponse<TransactionResponse> getAllTransactions(int page, int size);
 
+    /**
+     * Get all transactions with pagination, fetching the page and the total
+     * count concurrently; the first query to fail cancels the other
+     *
+     * @param page page number (0-indexed)
+     * @param size page size
+     * @return paginated list of transactions
+     */
+    PageResponse<TransactionResponse> getAllTransactionsConcurrently(int page, int size);
+
+    /**
+     * Get transactions in a sort order, by page number or after a keyset cursor
+     *
+     * @param sort   the sort order
+     * @param page   page number (0-indexed), ignored for the position when a cursor is given
+     * @param size   page size
+     * @param cursor {@code nextCursor} of the previous page, or null
+     * @return paginated list of transactions, with the cursor of the next page
+     * @throws IllegalArgumentException if the cursor is invalid or belongs to another sort order
+     */
+    PageResponse<TransactionResponse> getSortedTransactions(TransactionSort sort, int page, int size, String cursor);
+
+    /**
+     * Get a page of a read snapshot: the transactions as they were when the
+     * snapshot was opened, however many are created, updated or deleted while
+     * the client pages through it
+     *
+     * @param snapshotToken {@code snapshotToken} of an earlier page, or null to open a new snapshot
+     * @param sort          the sort order
+     * @param page          page number (0-indexed), ignored for the position when a cursor is given
+     * @param size          page size
+     * @param cursor        {@code nextCursor} of the previous page, or null
+     * @return paginated list of transactions, with the snapshot token and the cursor of the next page
+     * @throws com.bank.transaction.exception.SnapshotExpiredException if the snapshot is not open
+     */
+    PageResponse<TransactionResponse> getSnapshotTransactions(String snapshotToken, TransactionSort sort, int page,
+            int size, String cursor);
+
+    /**
+     * Release a read snapshot before its lease runs out
+     *
+     * @param snapshotToken the snapshot token
+     * @throws com.bank.transaction.exception.SnapshotExpiredException if the snapshot is not open
+     */
+    void releaseSnapshot(String snapshotToken);
+
+    /**
+     * Hand every transaction, in a sort order, to a consumer, as of a read
+     * snapshot pinned for the export. Rows are read in keyset batches and
+     * passed on as entities, without building response DTOs; the calling
+     * thread's request deadline, if any, bounds every batch.
+     *
+     * @param sort   the sort order
+     * @param action receives each transaction in turn
+     * @return the number of transactions exported
+     * @throws com.bank.transaction.exception.DeadlineExceededException if the deadline passes mid-export
+     */
+    long exportTransactions(TransactionSort sort, Consumer<Transaction> action);
+
+    /**
+     * Get the transactions created, updated or deleted after a checkpoint
+     * 
+     * @param since change sequence number the client has already applied (0 for a full sync)
+     * @param limit maximum number of changes to return
+     * @return the next batch of changes and the checkpoint to continue from
+     */
+    TransactionChangesResponse getChangesSince(long since, int limit);
+
+    /**
+     * Checkpoint covering every committed change, to pass as {@code since} to
+     * {@link #getChangesSince} later
+     *
+     * @return the committed change sequence number
+     */
+    long getCommittedChangeSeq();
+
     /**
      * Update a transaction
      * 
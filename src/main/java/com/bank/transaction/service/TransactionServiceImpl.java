@@ -2,12 +2,20 @@ package com.bank.transaction.service;
 
 import com.bank.transaction.config.CacheConfig;
 import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionChangesResponse;
 import com.bank.transaction.dto.TransactionRequest;
 import com.bank.transaction.dto.TransactionResponse;
 import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.entity.TransactionTombstone;
+import com.bank.transaction.enums.TransactionSort;
 import com.bank.transaction.exception.DuplicateTransactionException;
+import com.bank.transaction.exception.SnapshotExpiredException;
+import com.bank.transaction.exception.TransactionArchivedException;
+import com.bank.transaction.exception.TransactionException;
 import com.bank.transaction.exception.TransactionNotFoundException;
 import com.bank.transaction.repository.TransactionRepository;
+import com.bank.transaction.repository.TransactionVersionStore;
+import com.bank.transaction.service.TransactionChangedEvent.ChangeType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,11 +23,16 @@ import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Transaction Service Implementation
@@ -35,21 +48,45 @@ public class TransactionServiceImpl implements TransactionService {
 
     private final TransactionRepository transactionRepository;
 
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AccountLedger accountLedger;
+
     @Value("${app.pagination.default-page-size:10}")
     private int defaultPageSize;
 
     @Value("${app.pagination.max-page-size:100}")
     private int maxPageSize;
 
-    public TransactionServiceImpl(TransactionRepository transactionRepository) {
+    @Value("${app.deadline.read-timeout-millis:2000}")
+    private long readTimeoutMillis;
+
+    @Value("${app.export.batch-size:1000}")
+    private int exportBatchSize;
+
+    @Value("${app.changes.default-limit:100}")
+    private int defaultChangesLimit;
+
+    @Value("${app.changes.max-limit:1000}")
+    private int maxChangesLimit;
+
+    public TransactionServiceImpl(TransactionRepository transactionRepository,
+            ApplicationEventPublisher eventPublisher, AccountLedger accountLedger) {
         this.transactionRepository = transactionRepository;
+        this.eventPublisher = eventPublisher;
+        this.accountLedger = accountLedger;
     }
 
     @Override
     @Transactional
-    @Caching(put = @CachePut(value = CacheConfig.TRANSACTION_CACHE, key = "#result.id"), evict = @CacheEvict(value = CacheConfig.TRANSACTION_LIST_CACHE, allEntries = true))
+    @Caching(put = @CachePut(value = CacheConfig.TRANSACTION_CACHE, key = "#result.id"), evict = {
+            @CacheEvict(value = CacheConfig.TRANSACTION_LIST_CACHE, allEntries = true),
+            @CacheEvict(value = CacheConfig.TRANSACTION_LIST_BYTES_CACHE, allEntries = true)
+    })
     public TransactionResponse createTransaction(TransactionRequest request) {
         logger.debug("Creating new transaction: {}", request);
+        // Fail before any work if the deadline passed while queued (admission, connection pool)
+        RequestDeadline.checkCurrent();
 
         // Build transaction entity from Record DTO
         Transaction transaction = Transaction.builder()
@@ -58,7 +95,10 @@ public class TransactionServiceImpl implements TransactionService {
                 .type(request.type())
                 .category(request.category())
                 .description(request.description())
-                .timestamp(LocalDateTime.now())
+                .sourceAccountId(request.sourceAccountId())
+                .targetAccountId(request.targetAccountId())
+                // H2 TIMESTAMP keeps microseconds; truncate so cached copies match the stored row
+                .timestamp(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
                 .build();
 
         // Check for duplicates before insert
@@ -68,9 +108,13 @@ public class TransactionServiceImpl implements TransactionService {
                     transaction.generateDuplicateHash());
         }
 
+        // Move the money; account locks are held until this transaction completes
+        accountLedger.record(null, transaction);
+
         // Save transaction to database
         Transaction saved = transactionRepository.save(transaction);
-        logger.info("Created transaction with ID: {}", saved.getId());
+        logger.debug("Created transaction with ID: {}", saved.getId());
+        eventPublisher.publishEvent(new TransactionChangedEvent(saved.getId(), ChangeType.CREATED));
 
         return TransactionResponse.fromEntity(saved);
     }
@@ -80,6 +124,7 @@ public class TransactionServiceImpl implements TransactionService {
     @Cacheable(value = CacheConfig.TRANSACTION_CACHE, key = "#id")
     public TransactionResponse getTransaction(String id) {
         logger.debug("Getting transaction by ID: {}", id);
+        RequestDeadline.checkCurrent();
 
         Transaction transaction = transactionRepository.findById(id)
                 .orElseThrow(() -> new TransactionNotFoundException(id));
@@ -92,6 +137,7 @@ public class TransactionServiceImpl implements TransactionService {
     @Cacheable(value = CacheConfig.TRANSACTION_LIST_CACHE, key = "'page_' + #page + '_size_' + #size")
     public PageResponse<TransactionResponse> getAllTransactions(int page, int size) {
         logger.debug("Getting all transactions - page: {}, size: {}", page, size);
+        RequestDeadline.checkCurrent();
 
         // Validate and adjust page size
         int adjustedSize = size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
@@ -104,18 +150,185 @@ public class TransactionServiceImpl implements TransactionService {
                 .map(TransactionResponse::fromEntity)
                 .toList(); // JDK 16+ Stream.toList()
 
-        return PageResponse.of(content, adjustedPage, adjustedSize, total);
+        boolean more = (long) (adjustedPage + 1) * adjustedSize < total;
+        return PageResponse.of(content, adjustedPage, adjustedSize, total,
+                nextCursor(TransactionSort.TIMESTAMP_DESC, transactions, more));
+    }
+
+    @Override
+    @Cacheable(value = CacheConfig.TRANSACTION_LIST_CACHE, key = "'page_' + #page + '_size_' + #size")
+    public PageResponse<TransactionResponse> getAllTransactionsConcurrently(int page, int size) {
+        logger.debug("Getting all transactions concurrently - page: {}, size: {}", page, size);
+        RequestDeadline.checkCurrent();
+
+        int adjustedSize = size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        int adjustedPage = Math.max(page, 0);
+
+        // Each query runs on its own connection, so latency is the slower of the two, not the sum
+        try (QueryScope scope = new QueryScope("page-query")) {
+            var transactions = scope.fork(() -> transactionRepository.findAllPaginated(adjustedPage, adjustedSize));
+            var total = scope.fork(transactionRepository::count);
+            scope.join(readTimeoutMillis);
+
+            var content = transactions.get().stream()
+                    .map(TransactionResponse::fromEntity)
+                    .toList();
+
+            boolean more = (long) (adjustedPage + 1) * adjustedSize < total.get();
+            return PageResponse.of(content, adjustedPage, adjustedSize, total.get(),
+                    nextCursor(TransactionSort.TIMESTAMP_DESC, transactions.get(), more));
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.TRANSACTION_LIST_CACHE,
+            key = "'page_' + #page + '_size_' + #size + '_sort_' + #sort + '_after_' + #cursor")
+    public PageResponse<TransactionResponse> getSortedTransactions(TransactionSort sort, int page, int size,
+            String cursor) {
+        logger.debug("Getting sorted transactions - sort: {}, page: {}, size: {}, cursor: {}", sort, page, size, cursor);
+        RequestDeadline.checkCurrent();
+
+        int adjustedSize = size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        int adjustedPage = Math.max(page, 0);
+
+        // A cursor seeks straight past the previous page; without one the page is an offset into the index
+        Transaction after = cursor != null ? TransactionCursor.decode(sort, cursor) : null;
+        int offset = after != null ? 0 : adjustedPage * adjustedSize;
+
+        // One row beyond the page tells whether there is a next one
+        List<Transaction> transactions = transactionRepository.findSorted(sort, after, offset, adjustedSize + 1);
+        boolean more = transactions.size() > adjustedSize;
+        if (more) {
+            transactions = transactions.subList(0, adjustedSize);
+        }
+        long total = transactionRepository.count();
+
+        var content = transactions.stream()
+                .map(TransactionResponse::fromEntity)
+                .toList();
+
+        return PageResponse.of(content, adjustedPage, adjustedSize, total, nextCursor(sort, transactions, more));
+    }
+
+    @Override
+    public PageResponse<TransactionResponse> getSnapshotTransactions(String snapshotToken, TransactionSort sort,
+            int page, int size, String cursor) {
+        logger.debug("Getting snapshot transactions - snapshot: {}, sort: {}, page: {}, size: {}, cursor: {}",
+                snapshotToken, sort, page, size, cursor);
+        RequestDeadline.checkCurrent();
+
+        int adjustedSize = size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        int adjustedPage = Math.max(page, 0);
+        Transaction after = cursor != null ? TransactionCursor.decode(sort, cursor) : null;
+        int offset = after != null ? 0 : adjustedPage * adjustedSize;
+
+        // Not cached: the snapshot already pins the data, and its lease is renewed on every read
+        TransactionVersionStore.Snapshot snapshot = snapshotToken != null
+                ? transactionRepository.getSnapshot(snapshotToken)
+                : transactionRepository.openSnapshot();
+
+        List<Transaction> transactions = transactionRepository.findSortedAt(snapshot.seq(), sort, after, offset,
+                adjustedSize + 1);
+        boolean more = transactions.size() > adjustedSize;
+        if (more) {
+            transactions = transactions.subList(0, adjustedSize);
+        }
+
+        var content = transactions.stream()
+                .map(TransactionResponse::fromEntity)
+                .toList();
+
+        return PageResponse.of(content, adjustedPage, adjustedSize, snapshot.total(),
+                nextCursor(sort, transactions, more)).withSnapshotToken(snapshot.token());
+    }
+
+    @Override
+    public void releaseSnapshot(String snapshotToken) {
+        logger.debug("Releasing snapshot: {}", snapshotToken);
+        if (!transactionRepository.releaseSnapshot(snapshotToken)) {
+            throw new SnapshotExpiredException(snapshotToken);
+        }
+    }
+
+    @Override
+    public long exportTransactions(TransactionSort sort, Consumer<Transaction> action) {
+        // Pinned rather than opened: not counted, and never evicted by (or evicting) client snapshots
+        try (TransactionVersionStore.Pin pin = transactionRepository.pinSnapshot()) {
+            logger.debug("Exporting transactions - sort: {}, snapshot seq: {}", sort, pin.seq());
+            long exported = 0;
+            Transaction after = null;
+            while (true) {
+                RequestDeadline.checkCurrent();
+                List<Transaction> batch = transactionRepository.findSortedAt(pin.seq(), sort, after, 0,
+                        exportBatchSize);
+                batch.forEach(action);
+                exported += batch.size();
+                if (batch.size() < exportBatchSize) {
+                    return exported;
+                }
+                after = batch.get(batch.size() - 1);
+            }
+        }
+    }
+
+    @Override
+    public long getCommittedChangeSeq() {
+        return transactionRepository.committedChangeSeq();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionChangesResponse getChangesSince(long since, int limit) {
+        logger.debug("Getting changes since: {}, limit: {}", since, limit);
+        RequestDeadline.checkCurrent();
+        if (since < 0) {
+            throw new IllegalArgumentException("since must not be negative");
+        }
+        int adjustedLimit = limit <= 0 ? defaultChangesLimit : Math.min(limit, maxChangesLimit);
+
+        // Never read past a write that may still commit with a lower sequence number
+        long upTo = transactionRepository.committedChangeSeq();
+        List<Transaction> rows = transactionRepository.findChangedSince(since, upTo, adjustedLimit + 1);
+        List<TransactionTombstone> tombstones = transactionRepository.findTombstonesSince(since, upTo, adjustedLimit + 1);
+
+        // Merge both sequence-ordered lists and keep the first adjustedLimit changes
+        var changed = new ArrayList<TransactionResponse>();
+        var deleted = new ArrayList<String>();
+        long nextSince = since;
+        int r = 0;
+        int t = 0;
+        while (changed.size() + deleted.size() < adjustedLimit && (r < rows.size() || t < tombstones.size())) {
+            if (t >= tombstones.size()
+                    || (r < rows.size() && rows.get(r).getChangeSeq() < tombstones.get(t).getChangeSeq())) {
+                Transaction row = rows.get(r++);
+                changed.add(TransactionResponse.fromEntity(row));
+                nextSince = row.getChangeSeq();
+            } else {
+                TransactionTombstone tombstone = tombstones.get(t++);
+                deleted.add(tombstone.getTransactionId());
+                nextSince = tombstone.getChangeSeq();
+            }
+        }
+        boolean hasMore = r < rows.size() || t < tombstones.size();
+
+        return new TransactionChangesResponse(changed, deleted, nextSince, hasMore);
     }
 
     @Override
     @Transactional
-    @Caching(put = @CachePut(value = CacheConfig.TRANSACTION_CACHE, key = "#id"), evict = @CacheEvict(value = CacheConfig.TRANSACTION_LIST_CACHE, allEntries = true))
+    @Caching(put = @CachePut(value = CacheConfig.TRANSACTION_CACHE, key = "#id"), evict = {
+            @CacheEvict(value = CacheConfig.TRANSACTION_BYTES_CACHE, key = "#id"),
+            @CacheEvict(value = CacheConfig.TRANSACTION_LIST_CACHE, allEntries = true),
+            @CacheEvict(value = CacheConfig.TRANSACTION_LIST_BYTES_CACHE, allEntries = true)
+    })
     public TransactionResponse updateTransaction(String id, TransactionRequest request) {
         logger.debug("Updating transaction ID: {} with data: {}", id, request);
+        RequestDeadline.checkCurrent();
 
-        // Find existing transaction
-        Transaction existing = transactionRepository.findById(id)
-                .orElseThrow(() -> new TransactionNotFoundException(id));
+        // Find and lock the existing transaction so concurrent writes apply their ledger deltas in turn
+        Transaction existing = transactionRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> notFoundOrArchived(id));
 
         // Build updated transaction from Record DTO
         Transaction updated = Transaction.builder()
@@ -124,6 +337,8 @@ public class TransactionServiceImpl implements TransactionService {
                 .type(request.type())
                 .category(request.category())
                 .description(request.description())
+                .sourceAccountId(request.sourceAccountId())
+                .targetAccountId(request.targetAccountId())
                 .timestamp(existing.getTimestamp()) // Preserve original timestamp
                 .build();
 
@@ -134,9 +349,13 @@ public class TransactionServiceImpl implements TransactionService {
                     updated.generateDuplicateHash());
         }
 
+        // Reverse the old effect on the accounts and apply the new one
+        accountLedger.record(existing, updated);
+
         // Save updated transaction to database
         Transaction saved = transactionRepository.save(updated);
-        logger.info("Updated transaction with ID: {}", saved.getId());
+        logger.debug("Updated transaction with ID: {}", saved.getId());
+        eventPublisher.publishEvent(new TransactionChangedEvent(saved.getId(), ChangeType.UPDATED));
 
         return TransactionResponse.fromEntity(saved);
     }
@@ -145,18 +364,39 @@ public class TransactionServiceImpl implements TransactionService {
     @Transactional
     @Caching(evict = {
             @CacheEvict(value = CacheConfig.TRANSACTION_CACHE, key = "#id"),
-            @CacheEvict(value = CacheConfig.TRANSACTION_LIST_CACHE, allEntries = true)
+            @CacheEvict(value = CacheConfig.TRANSACTION_BYTES_CACHE, key = "#id"),
+            @CacheEvict(value = CacheConfig.TRANSACTION_LIST_CACHE, allEntries = true),
+            @CacheEvict(value = CacheConfig.TRANSACTION_LIST_BYTES_CACHE, allEntries = true)
     })
     public void deleteTransaction(String id) {
         logger.debug("Deleting transaction with ID: {}", id);
+        RequestDeadline.checkCurrent();
 
-        if (!transactionRepository.existsById(id)) {
-            throw new TransactionNotFoundException(id);
-        }
+        Transaction existing = transactionRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> notFoundOrArchived(id));
+
+        // Give the money back before the transaction disappears
+        accountLedger.record(existing, null);
 
         boolean deleted = transactionRepository.deleteById(id);
         if (deleted) {
-            logger.info("Deleted transaction with ID: {}", id);
+            logger.debug("Deleted transaction with ID: {}", id);
+            eventPublisher.publishEvent(new TransactionChangedEvent(id, ChangeType.DELETED));
         }
     }
+
+    /**
+     * Archived transactions are read-only; tell the client why instead of claiming they do not exist
+     */
+    private TransactionException notFoundOrArchived(String id) {
+        return transactionRepository.isArchived(id)
+                ? new TransactionArchivedException(id)
+                : new TransactionNotFoundException(id);
+    }
+
+    private static String nextCursor(TransactionSort sort, List<Transaction> transactions, boolean more) {
+        return more && !transactions.isEmpty()
+                ? TransactionCursor.encode(sort, transactions.get(transactions.size() - 1))
+                : null;
+    }
 }
@@ -0,0 +1,134 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.config.ArchiveProperties;
+import com.bank.transaction.config.CacheConfig;
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.repository.TransactionArchive;
+import com.bank.transaction.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Transaction Tiering Job
+ *
+ * Moves transactions older than {@code app.archive.max-age} from the
+ * {@code transactions} table into the {@link TransactionArchive}, keeping the
+ * hot table (and its indexes, COUNT and OFFSET scans) down to the recent
+ * working set. Runs every {@code app.archive.run-interval}.
+ *
+ * Each step archives up to {@code segment-max-records} of the oldest rows
+ * within one calendar month, in one database transaction: the rows are
+ * locked, written to a segment, the segment is published, and the rows are
+ * deleted. If the transaction rolls back the segment is removed again, so a
+ * row is never lost between tiers. Between publishing and commit a reader
+ * may briefly see a row in both tiers, never in neither.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.archive", name = "enabled", havingValue = "true")
+public class TransactionTieringJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionTieringJob.class);
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionArchive archive;
+    private final ArchiveProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+
+    public TransactionTieringJob(TransactionRepository transactionRepository, TransactionArchive archive,
+            ArchiveProperties properties, PlatformTransactionManager transactionManager, CacheManager cacheManager) {
+        this.transactionRepository = transactionRepository;
+        this.archive = archive;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Scheduled entry point, see {@code ArchiveConfig}
+     */
+    public void run() {
+        try {
+            archiveOlderThan(LocalDateTime.now().minus(properties.getMaxAge()));
+        } catch (RuntimeException e) {
+            // Rows that were not archived stay hot; the next run retries them
+            logger.error("Transaction tiering run failed", e);
+        }
+    }
+
+    /**
+     * Archive every hot transaction created before a cutoff
+     *
+     * @param cutoff exclusive upper bound on the transaction timestamp
+     * @return the number of transactions archived
+     */
+    public int archiveOlderThan(LocalDateTime cutoff) {
+        int archived = 0;
+        while (true) {
+            Optional<LocalDateTime> oldest = transactionRepository.findOldestTimestampBefore(cutoff);
+            if (oldest.isEmpty()) {
+                break;
+            }
+            YearMonth month = YearMonth.from(oldest.get());
+            LocalDateTime monthEnd = month.plusMonths(1).atDay(1).atStartOfDay();
+            LocalDateTime upTo = monthEnd.isBefore(cutoff) ? monthEnd : cutoff;
+
+            Integer moved = transactionTemplate.execute(status -> archiveStep(month, oldest.get(), upTo));
+            if (moved == null || moved == 0) {
+                break;
+            }
+            archived += moved;
+        }
+
+        if (archived > 0) {
+            // Pages keep their order, but hot/archive boundaries move; drop cached pages rather than reason about them
+            evict(CacheConfig.TRANSACTION_LIST_CACHE);
+            evict(CacheConfig.TRANSACTION_LIST_BYTES_CACHE);
+            logger.info("Archived {} transactions older than {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    private int archiveStep(YearMonth month, LocalDateTime from, LocalDateTime to) {
+        // Locked until commit, so concurrent updates and deletes wait and then find the row archived
+        List<Transaction> rows = transactionRepository.findArchivableForUpdate(from, to, properties.getSegmentMaxRecords());
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        TransactionArchive.PendingSegment segment = archive.prepare(month, rows);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    segment.complete();
+                }
+                segment.close();
+            }
+        });
+        segment.publish();
+        transactionRepository.deleteArchived(rows.stream().map(Transaction::getId).toList());
+        logger.debug("Archived {} transactions from {}", rows.size(), month);
+        return rows.size();
+    }
+
+    private void evict(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
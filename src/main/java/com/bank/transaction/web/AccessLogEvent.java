@@ -0,0 +1,25 @@
+package com.bank.transaction.web;
+
+/**
+ * Access Log Event (Record)
+ *
+ * One completed HTTP request, captured on the request thread with no
+ * formatting work; the {@link AccessLogWriter} renders it later.
+ *
+ * @param epochMillis    wall-clock time when the request completed
+ * @param method         HTTP method
+ * @param path           request URI
+ * @param endpoint       matched endpoint, e.g. {@code GET /api/transactions/{id}}
+ * @param status         response status code
+ * @param durationNanos  time spent handling the request
+ * @param slow           whether the request exceeded the slow-request threshold
+ */
+public record AccessLogEvent(
+        long epochMillis,
+        String method,
+        String path,
+        String endpoint,
+        int status,
+        long durationNanos,
+        boolean slow) {
+}
@@ -0,0 +1,76 @@
+package com.bank.transaction.web;
+
+import com.bank.transaction.config.AccessLogProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access Log Filter
+ *
+ * Times each request and, if it is sampled, publishes an {@link AccessLogEvent}
+ * to the ring buffer. The request thread only does a random draw and a CAS;
+ * formatting and writing happen on the {@link AccessLogWriter} thread.
+ *
+ * Slow requests and server errors are always logged, regardless of the
+ * endpoint's sampling rate.
+ */
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private final AccessLogRingBuffer<AccessLogEvent> buffer;
+    private final AccessLogProperties properties;
+    private final long slowThresholdNanos;
+    private final Map<String, Double> sampleRateCache = new ConcurrentHashMap<>();
+
+    public AccessLogFilter(AccessLogRingBuffer<AccessLogEvent> buffer, AccessLogProperties properties) {
+        this.buffer = buffer;
+        this.properties = properties;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(properties.getSlowThresholdMillis());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long duration = System.nanoTime() - start;
+            boolean slow = duration >= slowThresholdNanos;
+            int status = response.getStatus();
+            String endpoint = endpoint(request);
+
+            if (slow || status >= 500 || sampled(endpoint)) {
+                buffer.offer(new AccessLogEvent(
+                        System.currentTimeMillis(),
+                        request.getMethod(),
+                        request.getRequestURI(),
+                        endpoint,
+                        status,
+                        duration,
+                        slow));
+            }
+        }
+    }
+
+    private boolean sampled(String endpoint) {
+        double rate = sampleRateCache.computeIfAbsent(endpoint,
+                key -> properties.getSampleRates().getOrDefault(key, properties.getDefaultSampleRate()));
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        // The matched pattern keeps the number of distinct endpoints bounded
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+}
@@ -0,0 +1,102 @@
+package com.bank.transaction.web;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Access Log Ring Buffer
+ *
+ * Bounded, lock-free multi-producer/single-consumer ring buffer (Vyukov-style
+ * sequenced slots). Request threads publish with a single CAS and never block:
+ * when the buffer is full the event is dropped and counted instead.
+ *
+ * @param <E> the element type
+ */
+public final class AccessLogRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Only touched by the single consumer thread
+     */
+    private long head;
+
+    /**
+     * @param capacity buffer capacity, rounded up to a power of two
+     */
+    public AccessLogRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Publish an element without blocking
+     *
+     * @return false if the buffer was full and the element was dropped
+     */
+    public boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                dropped.incrementAndGet();
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Drain up to {@code maxElements} published elements. Must only be called
+     * from the single consumer thread.
+     *
+     * @return the number of drained elements
+     */
+    public int drain(Consumer<? super E> consumer, int maxElements) {
+        int drained = 0;
+        while (drained < maxElements) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            E element = elements.get(index);
+            elements.lazySet(index, null);
+            sequences.set(index, head + mask + 1);
+            head++;
+            drained++;
+            consumer.accept(element);
+        }
+        return drained;
+    }
+
+    /**
+     * Return and reset the number of dropped elements
+     */
+    public long takeDropped() {
+        return dropped.getAndSet(0);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,112 @@
+package com.bank.transaction.web;
+
+import com.bank.transaction.config.AccessLogProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access Log Writer
+ *
+ * Background thread that drains {@link AccessLogEvent}s from the ring buffer
+ * in batches and writes them as structured key=value lines to the
+ * {@code ACCESS_LOG} logger. All formatting and I/O happens here, off the
+ * request threads.
+ */
+public class AccessLogWriter implements SmartLifecycle {
+
+    private static final Logger accessLog = LoggerFactory.getLogger("ACCESS_LOG");
+    private static final Logger logger = LoggerFactory.getLogger(AccessLogWriter.class);
+
+    private final AccessLogRingBuffer<AccessLogEvent> buffer;
+    private final AccessLogProperties properties;
+    private final StringBuilder line = new StringBuilder(256);
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public AccessLogWriter(AccessLogRingBuffer<AccessLogEvent> buffer, AccessLogProperties properties) {
+        this.buffer = buffer;
+        this.properties = properties;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = Thread.ofPlatform()
+                .name("access-log-writer")
+                .daemon(true)
+                .start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(properties.getIdleSleepMillis());
+        while (running) {
+            if (drainBatch() == 0) {
+                reportDropped();
+                sleep(idleNanos);
+            }
+        }
+        // Flush what is left on shutdown
+        while (drainBatch() > 0) {
+            // keep draining
+        }
+        reportDropped();
+    }
+
+    private int drainBatch() {
+        if (!accessLog.isInfoEnabled()) {
+            return buffer.drain(event -> { }, properties.getBatchSize());
+        }
+        return buffer.drain(this::write, properties.getBatchSize());
+    }
+
+    private void write(AccessLogEvent event) {
+        line.setLength(0);
+        line.append("ts=").append(Instant.ofEpochMilli(event.epochMillis()))
+                .append(" method=").append(event.method())
+                .append(" path=").append(event.path())
+                .append(" endpoint=\"").append(event.endpoint()).append('"')
+                .append(" status=").append(event.status())
+                .append(" durationMs=").append(event.durationNanos() / 1_000_000)
+                .append('.').append(String.format("%03d", (event.durationNanos() / 1_000) % 1_000))
+                .append(" slow=").append(event.slow());
+        accessLog.info(line.toString());
+    }
+
+    private void reportDropped() {
+        long dropped = buffer.takeDropped();
+        if (dropped > 0) {
+            logger.warn("Access log buffer full, dropped {} events", dropped);
+        }
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            // Interrupted by stop(); the loop condition decides whether to exit
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.bank.transaction.web;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adaptive Concurrency Limiter
+ *
+ * AIMD (additive increase, multiplicative decrease) limit on the number of
+ * requests in flight, driven by observed latency:
+ * <ul>
+ * <li>a request slower than the latency threshold, or one that failed with a
+ * server error, multiplies the limit by the backoff ratio, but only if it was
+ * admitted after the previous backoff. Requests already in flight when the
+ * limit was cut say nothing about the new limit, so a burst of slow requests
+ * backs off once, and further cuts wait at least one latency interval;</li>
+ * <li>a fast request grows the limit by {@code 1 / limit}, i.e. by one per
+ * window of {@code limit} requests, but only while the limit is actually being
+ * used, so an idle service does not drift to the maximum.</li>
+ * </ul>
+ * Requests over the limit are rejected immediately instead of queueing.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    // Fractional so additive increase can grow by 1/limit per request; guarded by this
+    private double limit;
+
+    // System.nanoTime() of the last multiplicative decrease; guarded by this
+    private long lastBackoffNanos;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+            long latencyThresholdMillis, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid limits for " + name + ": " + minLimit + ".." + maxLimit);
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio must be between 0 and 1: " + backoffRatio);
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis);
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.lastBackoffNanos = System.nanoTime() - 1;
+    }
+
+    /**
+     * Admit a request if the current limit allows it
+     *
+     * @return true if admitted; the caller must then call {@link #onComplete} or {@link #release}
+     */
+    public boolean tryAcquire() {
+        int currentLimit = getLimit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= currentLimit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release an admitted request and adjust the limit from its outcome
+     *
+     * @param startNanos {@link System#nanoTime()} when the request was admitted
+     * @param endNanos   {@link System#nanoTime()} when it completed
+     * @param failed     whether it ended in a server error
+     */
+    public void onComplete(long startNanos, long endNanos, boolean failed) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (failed || endNanos - startNanos > latencyThresholdNanos) {
+                if (startNanos - lastBackoffNanos > 0) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastBackoffNanos = endNanos;
+                }
+            } else if (inFlightBefore * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        }
+    }
+
+    /**
+     * Release an admitted request without using it as a latency sample
+     * (e.g. a long-lived stream whose duration says nothing about load)
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,127 @@
+package com.bank.transaction.web;
+
+import com.bank.transaction.dto.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Concurrency Limit Filter
+ *
+ * Admission control in front of the API. Reads ({@code GET}/{@code HEAD}) and
+ * writes go through separate {@link AdaptiveConcurrencyLimiter} bulkheads, so
+ * a burst of slow writes cannot starve reads and vice versa. A request over
+ * the limit gets an immediate {@code 503} with {@code Retry-After} instead of
+ * a virtual thread parked on the database.
+ *
+ * Requests that start async processing hold a permit only until the handler
+ * returns (SSE streams, which would otherwise pin a permit for their whole
+ * life), unless the handler sets {@link #HOLD_UNTIL_COMPLETE_ATTRIBUTE}:
+ * then the permit is released when the async request completes (exports,
+ * which read the database on the async thread). Either way such a request
+ * does not feed the adaptive limit, as its latency is not a request latency.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Request attribute a handler sets to keep its permit until its async processing completes
+     */
+    public static final String HOLD_UNTIL_COMPLETE_ATTRIBUTE = ConcurrencyLimitFilter.class.getName() + ".HOLD";
+
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final ObjectMapper objectMapper;
+    private final String retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter readLimiter, AdaptiveConcurrencyLimiter writeLimiter,
+            ObjectMapper objectMapper, int retryAfterSeconds) {
+        this.readLimiter = readLimiter;
+        this.writeLimiter = writeLimiter;
+        this.objectMapper = objectMapper;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter limiter = isRead(request) ? readLimiter : writeLimiter;
+        if (!limiter.tryAcquire()) {
+            reject(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            if (request.isAsyncStarted()) {
+                if (request.getAttribute(HOLD_UNTIL_COMPLETE_ATTRIBUTE) != null) {
+                    request.getAsyncContext().addListener(new ReleaseOnComplete(limiter));
+                } else {
+                    limiter.release();
+                }
+            } else {
+                limiter.onComplete(start, System.nanoTime(), failed);
+            }
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.of(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                "Server is overloaded, please retry later",
+                request.getRequestURI()));
+    }
+
+    /**
+     * Releases the permit once; onComplete follows timeouts and errors too
+     */
+    private static final class ReleaseOnComplete implements AsyncListener {
+
+        private final AdaptiveConcurrencyLimiter limiter;
+
+        private ReleaseOnComplete(AdaptiveConcurrencyLimiter limiter) {
+            this.limiter = limiter;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            limiter.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Re-register for the next round of async processing, which replaces the listeners
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method);
+    }
+}
@@ -0,0 +1,20 @@
+package com.bank.transaction.web;
+
+/**
+ * Encoded Response Body (Record)
+ *
+ * Holds a response body that has already been serialized to JSON,
+ * optionally together with a pre-gzipped copy of the same bytes.
+ *
+ * @param json the identity-encoded JSON bytes
+ * @param gzip the gzip-encoded JSON bytes, or null if not pre-compressed
+ */
+public record EncodedResponse(byte[] json, byte[] gzip) {
+
+    /**
+     * Whether a pre-gzipped copy is available
+     */
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+}
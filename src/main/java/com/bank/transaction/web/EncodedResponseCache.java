@@ -0,0 +1,116 @@
+package com.bank.transaction.web;
+
+import com.bank.transaction.config.CacheConfig;
+import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoded Response Cache
+ *
+ * Caches the serialized JSON bytes (and optionally a gzipped copy) of
+ * single transactions and transaction pages, so a hot read costs a buffer
+ * copy instead of a Jackson object-graph walk.
+ *
+ * Entries live in the {@link CacheConfig#TRANSACTION_BYTES_CACHE} and
+ * {@link CacheConfig#TRANSACTION_LIST_BYTES_CACHE} caches, which use the same
+ * keys as the object caches and are evicted by the same write operations.
+ */
+@Component
+public class EncodedResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final Cache transactionBytesCache;
+    private final Cache listBytesCache;
+
+    @Value("${app.cache.encoded-response.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.cache.encoded-response.gzip-enabled:false}")
+    private boolean gzipEnabled;
+
+    @Value("${app.cache.encoded-response.gzip-min-bytes:512}")
+    private int gzipMinBytes;
+
+    public EncodedResponseCache(ObjectMapper objectMapper, CacheManager cacheManager) {
+        this.objectMapper = objectMapper;
+        this.transactionBytesCache = cacheManager.getCache(CacheConfig.TRANSACTION_BYTES_CACHE);
+        this.listBytesCache = cacheManager.getCache(CacheConfig.TRANSACTION_LIST_BYTES_CACHE);
+    }
+
+    /**
+     * Whether responses should be served from the encoded byte cache
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get the encoded body of a single transaction, loading and encoding it on a miss
+     *
+     * @param id     the transaction ID
+     * @param loader supplies the transaction when it is not cached yet
+     * @return the encoded response
+     */
+    public EncodedResponse getTransaction(String id, Supplier<TransactionResponse> loader) {
+        return getOrEncode(transactionBytesCache, id, loader);
+    }
+
+    /**
+     * Get the encoded body of a transaction page, loading and encoding it on a miss
+     *
+     * @param page   page number (0-indexed)
+     * @param size   page size
+     * @param loader supplies the page when it is not cached yet
+     * @return the encoded response
+     */
+    public EncodedResponse getPage(int page, int size, Supplier<PageResponse<TransactionResponse>> loader) {
+        // Same key format as the transactionList object cache
+        return getOrEncode(listBytesCache, "page_" + page + "_size_" + size, loader);
+    }
+
+    private EncodedResponse getOrEncode(Cache cache, Object key, Supplier<?> loader) {
+        // Loaded inside the Caffeine mapping function, so an eviction by a concurrent write waits
+        // for the load and removes its result instead of being overwritten by pre-write bytes
+        try {
+            return cache.get(key, () -> encode(loader.get()));
+        } catch (Cache.ValueRetrievalException e) {
+            // Surface business exceptions such as TransactionNotFoundException unwrapped
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private EncodedResponse encode(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            byte[] gzip = gzipEnabled && json.length >= gzipMinBytes ? gzip(json) : null;
+            return new EncodedResponse(json, gzip);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode response body", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+}
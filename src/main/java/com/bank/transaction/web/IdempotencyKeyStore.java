@@ -0,0 +1,110 @@
+package com.bank.transaction.web;
+
+import com.bank.transaction.dto.TransactionRequest;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.exception.IdempotencyKeyReusedException;
+import com.bank.transaction.service.RequestDeadline;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency Key Store
+ *
+ * Makes {@code POST /api/transactions} safe to retry. The first request with
+ * a given {@code Idempotency-Key} runs the create; later requests with the
+ * same key and body get the stored {@link TransactionResponse} back without
+ * touching the database, and requests arriving while the first one is still
+ * running wait for its outcome instead of racing it.
+ *
+ * Successful responses are kept for {@code app.idempotency.expire-after-write-seconds}.
+ * Failures are not kept, so a retry after e.g. a validation error runs again.
+ */
+@Component
+public class IdempotencyKeyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private final Cache<String, Entry> idempotencyCache;
+
+    @Value("${app.idempotency.max-key-length:255}")
+    private int maxKeyLength;
+
+    public IdempotencyKeyStore(Cache<String, Entry> idempotencyCache) {
+        this.idempotencyCache = idempotencyCache;
+    }
+
+    /**
+     * Run a create at most once per key
+     *
+     * @param key     the client's idempotency key
+     * @param request the request body, which must match on every use of the key
+     * @param create  performs the create when the key is new
+     * @return the response and whether it was replayed
+     * @throws IdempotencyKeyReusedException if the key was used with a different body
+     */
+    public Result execute(String key, TransactionRequest request, Supplier<TransactionResponse> create) {
+        if (key.isBlank() || key.length() > maxKeyLength) {
+            throw new IllegalArgumentException(
+                    "%s must be 1 to %d characters".formatted(HEADER, maxKeyLength));
+        }
+
+        Entry entry = new Entry(request, new CompletableFuture<>());
+        Entry existing = idempotencyCache.asMap().putIfAbsent(key, entry);
+        if (existing != null) {
+            if (!existing.request().equals(request)) {
+                throw new IdempotencyKeyReusedException(key);
+            }
+            return new Result(await(existing), true);
+        }
+
+        try {
+            TransactionResponse response = create.get();
+            entry.response().complete(response);
+            return new Result(response, false);
+        } catch (RuntimeException e) {
+            // Let the client retry; requests already waiting see the same failure
+            idempotencyCache.asMap().remove(key, entry);
+            entry.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static TransactionResponse await(Entry entry) {
+        RequestDeadline deadline = RequestDeadline.current();
+        try {
+            // Wait no longer than the caller's own deadline for the first request to finish
+            return deadline == null
+                    ? entry.response().get()
+                    : entry.response().get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw deadline.exceeded();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an in-flight request", e);
+        }
+    }
+
+    /**
+     * A key's request and its (possibly still running) outcome
+     */
+    public record Entry(TransactionRequest request, CompletableFuture<TransactionResponse> response) {
+    }
+
+    /**
+     * The response to send and whether it is a replay of an earlier request
+     */
+    public record Result(TransactionResponse response, boolean replayed) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.bank.transaction.web;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+
+/**
+ * Reactive Read Server
+ *
+ * Runs the WebFlux read endpoints on a Reactor Netty server next to the
+ * servlet container. The application itself stays a Spring MVC application;
+ * this server only exposes the handlers routed to it, on its own port.
+ */
+public class ReactiveReadServer implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveReadServer.class);
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(5);
+
+    private final HttpHandler httpHandler;
+    private final String host;
+    private final int port;
+
+    private volatile DisposableServer server;
+
+    public ReactiveReadServer(HttpHandler httpHandler, String host, int port) {
+        this.httpHandler = httpHandler;
+        this.host = host;
+        this.port = port;
+    }
+
+    @Override
+    public void start() {
+        server = HttpServer.create()
+                .host(host)
+                .port(port)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        logger.info("Reactive read server started on port {}", server.port());
+    }
+
+    @Override
+    public void stop() {
+        DisposableServer current = server;
+        if (current != null) {
+            current.disposeNow(SHUTDOWN_TIMEOUT);
+            server = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * The bound port, useful when configured with port 0
+     *
+     * @return the local port, or -1 if not running
+     */
+    public int getPort() {
+        DisposableServer current = server;
+        return current != null ? current.port() : -1;
+    }
+}
@@ -0,0 +1,67 @@
+package com.bank.transaction.web;
+
+import com.bank.transaction.config.DeadlineProperties;
+import com.bank.transaction.service.RequestDeadline;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Request Deadline Interceptor
+ *
+ * Starts a {@link RequestDeadline} for every API request: the client's budget
+ * from the deadline header (capped at {@code max-timeout-millis}) if present,
+ * otherwise the endpoint's configured timeout, otherwise the read or write
+ * default. The deadline is removed when the handler thread is done with the
+ * request, including when it hands off to async processing; a handler whose
+ * async work should run under it attaches it on the async thread.
+ */
+public class RequestDeadlineInterceptor implements AsyncHandlerInterceptor {
+
+    private final DeadlineProperties properties;
+
+    public RequestDeadlineInterceptor(DeadlineProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestDeadline.start(timeoutMillis(request));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        RequestDeadline.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        RequestDeadline.clear();
+    }
+
+    private long timeoutMillis(HttpServletRequest request) {
+        String header = request.getHeader(properties.getHeader());
+        if (header != null) {
+            try {
+                return Math.clamp(Long.parseLong(header.trim()), 1, properties.getMaxTimeoutMillis());
+            } catch (NumberFormatException e) {
+                // Fall back to the configured default
+            }
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            Long configured = properties.getTimeouts().get(request.getMethod() + " " + pattern);
+            if (configured != null) {
+                return configured;
+            }
+        }
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method)
+                ? properties.getReadTimeoutMillis()
+                : properties.getWriteTimeoutMillis();
+    }
+}
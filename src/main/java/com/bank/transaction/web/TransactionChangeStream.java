@@ -0,0 +1,100 @@
+package com.bank.transaction.web;
+
+import com.bank.transaction.dto.TransactionChangeResponse;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.exception.TransactionNotFoundException;
+import com.bank.transaction.service.TransactionChangeBroadcaster;
+import com.bank.transaction.service.TransactionChangedEvent;
+import com.bank.transaction.service.TransactionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Transaction Change Stream
+ *
+ * Serves the committed-change feed as Server-Sent Events. Each connection is
+ * a {@link TransactionChangeBroadcaster} subscription with a bounded buffer;
+ * a client that falls behind is disconnected, and EventSource clients
+ * reconnect and reload.
+ *
+ * Events are named {@code created}, {@code updated} and {@code deleted}, with a
+ * {@link TransactionChangeResponse} as JSON data.
+ */
+@Component
+public class TransactionChangeStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionChangeStream.class);
+
+    private final TransactionChangeBroadcaster changeBroadcaster;
+    private final TransactionService transactionService;
+
+    @Value("${app.sse.timeout-millis:1800000}")
+    private long timeoutMillis;
+
+    @Value("${app.sse.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${app.sse.reconnect-millis:3000}")
+    private long reconnectMillis;
+
+    public TransactionChangeStream(TransactionChangeBroadcaster changeBroadcaster,
+            TransactionService transactionService) {
+        this.changeBroadcaster = changeBroadcaster;
+        this.transactionService = transactionService;
+    }
+
+    /**
+     * Open a new change feed connection
+     *
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter open() {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        var subscription = changeBroadcaster.subscribe(bufferSize, new TransactionChangeBroadcaster.ChangeListener() {
+
+            @Override
+            public void onChange(TransactionChangedEvent event) throws IOException {
+                emitter.send(SseEmitter.event()
+                        .name(event.type().name().toLowerCase(Locale.ROOT))
+                        .data(toResponse(event), MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void onEvicted(int capacity) {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+
+        try {
+            // Commits the response headers so clients see the stream open immediately
+            emitter.send(SseEmitter.event().reconnectTime(reconnectMillis).comment("connected"));
+        } catch (IOException e) {
+            subscription.close();
+            emitter.completeWithError(e);
+        }
+        logger.debug("SSE: Change feed subscribed ({} active)", changeBroadcaster.subscriberCount());
+        return emitter;
+    }
+
+    private TransactionChangeResponse toResponse(TransactionChangedEvent event) {
+        TransactionResponse transaction = null;
+        if (event.type() != TransactionChangedEvent.ChangeType.DELETED) {
+            try {
+                transaction = transactionService.getTransaction(event.transactionId());
+            } catch (TransactionNotFoundException e) {
+                // Deleted again before this subscriber caught up; the delete follows
+            }
+        }
+        return new TransactionChangeResponse(event.type(), event.transactionId(), transaction);
+    }
+}
@@ -8,10 +8,63 @@ CREATE TABLE IF NOT EXISTS transactions (
     category VARCHAR(30) NOT NULL,
     description VARCHAR(500),
     timestamp TIMESTAMP NOT NULL,
+    -- Global change sequence of the last write to this row (see transaction_tombstones)
+    change_seq BIGINT NOT NULL,
+    -- Ledger accounts (both null for transactions not recorded in the ledger)
+    source_account_id VARCHAR(64),
+    target_account_id VARCHAR(64),
     
-    -- Unique constraint for duplicate detection
-    CONSTRAINT uk_transaction_content UNIQUE (amount, type, category, description)
+    -- Unique constraint for duplicate detection (NULLs compare equal, like existsDuplicate)
+    CONSTRAINT uk_transaction_content UNIQUE NULLS NOT DISTINCT
+        (amount, type, category, description, source_account_id, target_account_id)
 );
 
--- Index for faster timestamp-based queries (pagination)
-CREATE INDEX IF NOT EXISTS idx_transactions_timestamp ON transactions(timestamp DESC);
+-- One index per supported list order (see TransactionSort), each ending in the ID so
+-- that pages and keyset cursors are read off the index without sorting
+CREATE INDEX IF NOT EXISTS idx_transactions_timestamp ON transactions(timestamp DESC, id);
+CREATE INDEX IF NOT EXISTS idx_transactions_timestamp_asc ON transactions(timestamp, id);
+CREATE INDEX IF NOT EXISTS idx_transactions_amount_desc ON transactions(amount DESC, id);
+CREATE INDEX IF NOT EXISTS idx_transactions_amount ON transactions(amount, id);
+CREATE INDEX IF NOT EXISTS idx_transactions_category_timestamp ON transactions(category, timestamp DESC, id);
+CREATE INDEX IF NOT EXISTS idx_transactions_category_desc_timestamp ON transactions(category DESC, timestamp DESC, id);
+CREATE INDEX IF NOT EXISTS idx_transactions_type_timestamp ON transactions(type, timestamp DESC, id);
+CREATE INDEX IF NOT EXISTS idx_transactions_type_desc_timestamp ON transactions(type DESC, timestamp DESC, id);
+
+-- Index for delta sync (GET /api/transactions/changes?since=)
+CREATE INDEX IF NOT EXISTS idx_transactions_change_seq ON transactions(change_seq);
+
+-- One row per deleted transaction, numbered from the same change sequence
+CREATE TABLE IF NOT EXISTS transaction_tombstones (
+    change_seq BIGINT PRIMARY KEY,
+    transaction_id VARCHAR(36) NOT NULL,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+-- Account balances maintained by the ledger; one row per account, read by primary key
+CREATE TABLE IF NOT EXISTS accounts (
+    id VARCHAR(64) PRIMARY KEY,
+    balance DECIMAL(19,4) NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+-- Credits owed by committed transactions and not yet applied by the sequencer ledger's writer;
+-- written with the transaction row, deleted with the balance change, replayed if left behind
+CREATE TABLE IF NOT EXISTS pending_credits (
+    id VARCHAR(36) PRIMARY KEY,
+    account_id VARCHAR(64) NOT NULL,
+    amount DECIMAL(19,4) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_pending_credits_created_at ON pending_credits(created_at);
+
+-- Debits journaled by the sequencer ledger's writer for transactions not yet committed;
+-- written with the debit, deleted by the committing transaction, refunded if left behind
+CREATE TABLE IF NOT EXISTS ledger_holds (
+    id VARCHAR(36) PRIMARY KEY,
+    account_id VARCHAR(64) NOT NULL,
+    amount DECIMAL(19,4) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_ledger_holds_created_at ON ledger_holds(created_at);
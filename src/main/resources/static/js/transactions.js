@@ -0,0 +1,466 @@
+// State
+let deleteId = null;
+let changeFeed = null;
+let liveUpdates = false;
+
+// API Base URL
+const API_URL = '/api/transactions';
+
+// Virtual-scrolling grid. The list is read in blocks of one API page each: a
+// block following a loaded one continues from its nextCursor (an index seek),
+// a block reached by jumping is read by page number. Only the rows in view,
+// plus OVERSCAN above and below, exist as DOM nodes, and scrolling reuses them.
+const OVERSCAN = 8;
+// Start reading the next block this many rows before it comes into view
+const PREFETCH_ROWS = 40;
+// Loaded blocks kept on each side of the view; farther ones are dropped
+const KEEP_BLOCKS = 3;
+
+const grid = {
+    blockSize: 100,
+    total: 0,
+    rowHeight: 56,
+    blocks: new Map(),   // block number -> { rows, nextCursor }
+    stale: new Map(),    // blocks from before the last reload, shown until replaced
+    pending: new Set(),  // block numbers being read
+    generation: 0,       // bumped on reload, so responses for the old list are dropped
+    pool: [],
+    frame: 0,
+    reloadTimer: 0
+};
+
+// Initialize: the first page comes rendered from the server (see index.html)
+document.addEventListener('DOMContentLoaded', () => {
+    const element = document.getElementById('transactionGrid');
+    grid.rowHeight = parseFloat(getComputedStyle(element).getPropertyValue('--row-height')) || grid.rowHeight;
+    // The server-rendered rows are replaced by the recycled pool
+    document.getElementById('gridSpacer').replaceChildren();
+    document.getElementById('gridViewport').addEventListener('scroll', scheduleRender, { passive: true });
+    window.addEventListener('resize', scheduleRender);
+
+    if (window.initialPage) {
+        grid.blockSize = window.initialPage.size;
+        grid.blocks.set(0, { rows: window.initialPage.content, nextCursor: window.initialPage.nextCursor });
+        setTotal(window.initialPage.totalElements);
+        renderGrid();
+    } else {
+        loadTransactions();
+    }
+    setupCharCounter();
+    connectChangeFeed();
+});
+
+// Re-read the blocks in view, keeping the current rows on screen until they arrive
+function loadTransactions() {
+    grid.generation++;
+    grid.stale = grid.blocks;
+    grid.blocks = new Map();
+    grid.pending.clear();
+    if (grid.total === 0) {
+        // Nothing to scroll through yet; block 0 tells the new total
+        ensureBlock(0, true);
+    }
+    scheduleRender();
+}
+
+function scheduleReload() {
+    clearTimeout(grid.reloadTimer);
+    grid.reloadTimer = setTimeout(loadTransactions, 250);
+}
+
+// Read a block unless it is loaded, being read, or past the end of the list
+function ensureBlock(block, force = false) {
+    if (block < 0 || grid.blocks.has(block) || grid.pending.has(block)) return;
+    if (!force && block * grid.blockSize >= grid.total) return;
+    // Wait for the previous block when it is on its way: its cursor is cheaper than an offset
+    if (grid.pending.has(block - 1)) return;
+    const previous = grid.blocks.get(block - 1);
+    const position = previous && previous.nextCursor
+        ? `cursor=${encodeURIComponent(previous.nextCursor)}`
+        : `page=${block}`;
+    const generation = grid.generation;
+    grid.pending.add(block);
+    fetch(`${API_URL}?${position}&size=${grid.blockSize}`)
+        .then(response => {
+            if (!response.ok) throw new Error('Failed to load');
+            return response.json();
+        })
+        .then(data => {
+            if (generation !== grid.generation) return;
+            grid.pending.delete(block);
+            grid.blocks.set(block, { rows: data.content, nextCursor: data.nextCursor });
+            grid.stale.delete(block);
+            setTotal(data.totalElements);
+            scheduleRender();
+        })
+        .catch(error => {
+            if (generation === grid.generation) grid.pending.delete(block);
+            showToast('Failed to load transactions: ' + error.message, 'error');
+        });
+}
+
+function rowAt(index) {
+    const block = Math.floor(index / grid.blockSize);
+    const loaded = grid.blocks.get(block) || grid.stale.get(block);
+    return loaded ? loaded.rows[index % grid.blockSize] : undefined;
+}
+
+function scheduleRender() {
+    if (!grid.frame) grid.frame = requestAnimationFrame(renderGrid);
+}
+
+// Place the pooled rows over the visible range and fill them
+function renderGrid() {
+    grid.frame = 0;
+    const viewport = document.getElementById('gridViewport');
+    const top = Math.floor(viewport.scrollTop / grid.rowHeight);
+    const inView = Math.ceil(viewport.clientHeight / grid.rowHeight);
+    const first = Math.max(0, top - OVERSCAN);
+    const end = Math.min(grid.total, top + inView + OVERSCAN);
+
+    ensurePool(inView + 2 * OVERSCAN);
+    grid.pool.forEach((node, i) => {
+        const index = first + i;
+        if (index >= end) {
+            node.hidden = true;
+            return;
+        }
+        node.hidden = false;
+        node.style.transform = `translateY(${index * grid.rowHeight}px)`;
+        fillRow(node, rowAt(index));
+    });
+
+    if (grid.total > 0) {
+        const firstBlock = Math.floor(first / grid.blockSize);
+        const lastBlock = Math.floor((end - 1) / grid.blockSize);
+        for (let block = firstBlock; block <= lastBlock; block++) ensureBlock(block);
+        ensureBlock(Math.floor((end + PREFETCH_ROWS) / grid.blockSize));
+        for (const block of [...grid.blocks.keys(), ...grid.stale.keys()]) {
+            if (block < firstBlock - KEEP_BLOCKS || block > lastBlock + KEEP_BLOCKS) {
+                grid.blocks.delete(block);
+                grid.stale.delete(block);
+            }
+        }
+    }
+
+    document.getElementById('gridStatus').textContent = grid.total === 0
+        ? 'No records'
+        : `Rows ${top + 1}–${Math.min(top + inView, grid.total)} of ${grid.total}`;
+}
+
+function ensurePool(size) {
+    const spacer = document.getElementById('gridSpacer');
+    while (grid.pool.length < size) {
+        const node = createRow();
+        spacer.appendChild(node);
+        grid.pool.push(node);
+    }
+}
+
+// One reusable row; its cells are kept on the node so filling it only sets text and attributes
+function createRow() {
+    const node = document.createElement('div');
+    node.className = 'grid-row';
+    node.setAttribute('role', 'row');
+    node.innerHTML = `
+        <div role="cell" class="id-cell"></div>
+        <div role="cell" class="amount-cell"></div>
+        <div role="cell"><span class="badge"></span></div>
+        <div role="cell"><span class="badge badge-category"></span></div>
+        <div role="cell" class="desc-cell"></div>
+        <div role="cell" class="time-cell"></div>
+        <div role="cell" class="action-cell">
+            <button class="action-btn edit-btn" onclick="editTransaction(this.dataset.id)" title="Edit">✏️</button>
+            <button class="action-btn delete-btn" onclick="showDeleteModal(this.dataset.id, this.dataset.amount)" title="Delete">🗑️</button>
+        </div>`;
+    const cells = node.children;
+    node.cells = {
+        id: cells[0],
+        amount: cells[1],
+        type: cells[2].firstElementChild,
+        category: cells[3].firstElementChild,
+        description: cells[4],
+        time: cells[5],
+        edit: cells[6].children[0],
+        remove: cells[6].children[1]
+    };
+    return node;
+}
+
+function fillRow(node, t) {
+    if (node.transaction === t && t !== undefined) return;
+    node.transaction = t;
+    const cells = node.cells;
+    if (!t) {
+        node.classList.add('placeholder');
+        cells.id.textContent = '········';
+        cells.id.title = '';
+        cells.amount.textContent = '';
+        cells.type.textContent = '';
+        cells.category.textContent = '';
+        cells.description.textContent = 'Loading...';
+        cells.description.title = '';
+        cells.time.textContent = '';
+        return;
+    }
+    const deposit = t.type === 'DEPOSIT';
+    node.classList.remove('placeholder');
+    cells.id.textContent = `${t.id.substring(0, 8)}...`;
+    cells.id.title = t.id;
+    cells.amount.className = `amount-cell ${deposit ? 'amount-positive' : 'amount-negative'}`;
+    cells.amount.textContent = `${deposit ? '+' : '-'}$${formatNumber(t.amount)}`;
+    cells.type.className = `badge badge-${t.type.toLowerCase()}`;
+    cells.type.textContent = t.typeDisplayName;
+    cells.category.textContent = t.categoryDisplayName;
+    cells.description.textContent = t.description || '-';
+    cells.description.title = t.description || '';
+    cells.time.textContent = formatDate(t.timestamp);
+    cells.edit.dataset.id = t.id;
+    cells.remove.dataset.id = t.id;
+    cells.remove.dataset.amount = t.amount;
+}
+
+function setTotal(total) {
+    grid.total = Math.max(total, 0);
+    const empty = grid.total === 0;
+    document.getElementById('gridSpacer').style.height = `${grid.total * grid.rowHeight}px`;
+    document.getElementById('totalCount').textContent = grid.total;
+    document.getElementById('transactionGrid').style.display = empty ? 'none' : '';
+    document.getElementById('emptyState').style.display = empty ? 'flex' : 'none';
+}
+
+// Live updates: apply committed changes from the server instead of polling
+function connectChangeFeed() {
+    if (!window.EventSource) return;
+    changeFeed = new EventSource(`${API_URL}/stream`);
+    changeFeed.onopen = () => {
+        // Changes may have been missed while disconnected
+        if (liveUpdates) return;
+        liveUpdates = true;
+        if (window.initialChangeSeq != null) {
+            reloadIfChangedSince(window.initialChangeSeq);
+            window.initialChangeSeq = null;
+        } else {
+            loadTransactions();
+        }
+    };
+    changeFeed.onerror = () => {
+        // EventSource reconnects by itself; reload once it is back
+        liveUpdates = false;
+    };
+    changeFeed.addEventListener('created', event => applyCreated(JSON.parse(event.data)));
+    changeFeed.addEventListener('updated', event => applyUpdated(JSON.parse(event.data)));
+    changeFeed.addEventListener('deleted', event => applyDeleted(JSON.parse(event.data)));
+}
+
+// Reload only if something was written between rendering and subscribing
+async function reloadIfChangedSince(since) {
+    try {
+        const response = await fetch(`${API_URL}/changes?since=${since}&limit=1`);
+        if (!response.ok) throw new Error('Failed to check for changes');
+        const changes = await response.json();
+        if (changes.changed.length > 0 || changes.deleted.length > 0) loadTransactions();
+    } catch (error) {
+        loadTransactions();
+    }
+}
+
+// Inserts and deletes shift every row after them: count them now, re-read the view shortly
+function applyCreated(change) {
+    if (!change.transaction) return;
+    setTotal(grid.total + 1);
+    scheduleReload();
+}
+
+function applyUpdated(change) {
+    if (!change.transaction) return;
+    for (const loaded of grid.blocks.values()) {
+        const index = loaded.rows.findIndex(t => t.id === change.transactionId);
+        if (index >= 0) {
+            loaded.rows[index] = change.transaction;
+            scheduleRender();
+            return;
+        }
+    }
+}
+
+function applyDeleted(change) {
+    setTotal(grid.total - 1);
+    scheduleReload();
+}
+
+// Format number with commas
+function formatNumber(num) {
+    return parseFloat(num).toLocaleString('en-US', { minimumFractionDigits: 2, maximumFractionDigits: 2 });
+}
+
+// Format date
+function formatDate(dateStr) {
+    const date = new Date(dateStr);
+    return date.toLocaleString('en-US', {
+        year: 'numeric', month: '2-digit', day: '2-digit',
+        hour: '2-digit', minute: '2-digit'
+    });
+}
+
+// Modal functions
+function showAddModal() {
+    document.getElementById('modalTitle').textContent = 'Add Transaction';
+    document.getElementById('transactionForm').reset();
+    document.getElementById('transactionId').value = '';
+    document.getElementById('charCount').textContent = '0';
+    clearErrors();
+    document.getElementById('transactionModal').classList.add('active');
+}
+
+async function editTransaction(id) {
+    try {
+        const response = await fetch(`${API_URL}/${id}`);
+        if (!response.ok) throw new Error('Failed to get transaction details');
+
+        const transaction = await response.json();
+        document.getElementById('modalTitle').textContent = 'Edit Transaction';
+        document.getElementById('transactionId').value = transaction.id;
+        document.getElementById('amount').value = transaction.amount;
+        document.getElementById('type').value = transaction.type;
+        document.getElementById('category').value = transaction.category;
+        document.getElementById('description').value = transaction.description || '';
+        document.getElementById('charCount').textContent = (transaction.description || '').length;
+        clearErrors();
+        document.getElementById('transactionModal').classList.add('active');
+    } catch (error) {
+        showToast(error.message, 'error');
+    }
+}
+
+function closeModal() {
+    document.getElementById('transactionModal').classList.remove('active');
+}
+
+// Delete functions
+function showDeleteModal(id, amount) {
+    deleteId = id;
+    document.getElementById('deleteInfo').innerHTML = `Transaction Amount: <strong>$${formatNumber(amount)}</strong>`;
+    document.getElementById('deleteModal').classList.add('active');
+}
+
+function closeDeleteModal() {
+    document.getElementById('deleteModal').classList.remove('active');
+    deleteId = null;
+}
+
+async function confirmDelete() {
+    if (!deleteId) return;
+
+    try {
+        const response = await fetch(`${API_URL}/${deleteId}`, { method: 'DELETE' });
+        if (!response.ok) {
+            const err = await response.json();
+            throw new Error(err.message || 'Delete failed');
+        }
+
+        showToast('Transaction deleted successfully', 'success');
+        closeDeleteModal();
+        if (!liveUpdates) loadTransactions();
+    } catch (error) {
+        showToast(error.message, 'error');
+    }
+}
+
+// Form submission
+async function submitForm(event) {
+    event.preventDefault();
+    clearErrors();
+
+    const id = document.getElementById('transactionId').value;
+    const data = {
+        amount: parseFloat(document.getElementById('amount').value),
+        type: document.getElementById('type').value,
+        category: document.getElementById('category').value,
+        description: document.getElementById('description').value || null
+    };
+
+    // Client validation
+    if (!data.amount || data.amount <= 0) {
+        showError('amountError', 'Please enter a valid amount');
+        return;
+    }
+    if (!data.type) {
+        showError('typeError', 'Please select a transaction type');
+        return;
+    }
+    if (!data.category) {
+        showError('categoryError', 'Please select a category');
+        return;
+    }
+
+    setSubmitLoading(true);
+
+    try {
+        const url = id ? `${API_URL}/${id}` : API_URL;
+        const method = id ? 'PUT' : 'POST';
+
+        const response = await fetch(url, {
+            method,
+            headers: { 'Content-Type': 'application/json' },
+            body: JSON.stringify(data)
+        });
+
+        if (!response.ok) {
+            const err = await response.json();
+            if (err.validationErrors) {
+                Object.entries(err.validationErrors).forEach(([field, msg]) => {
+                    showError(`${field}Error`, msg);
+                });
+                throw new Error('Please check your input');
+            }
+            throw new Error(err.message || 'Operation failed');
+        }
+
+        showToast(id ? 'Transaction updated successfully' : 'Transaction created successfully', 'success');
+        closeModal();
+        if (!liveUpdates) loadTransactions();
+    } catch (error) {
+        showToast(error.message, 'error');
+    } finally {
+        setSubmitLoading(false);
+    }
+}
+
+function setSubmitLoading(loading) {
+    const btn = document.getElementById('submitBtn');
+    btn.querySelector('.btn-text').style.display = loading ? 'none' : 'inline';
+    btn.querySelector('.btn-loading').style.display = loading ? 'inline-flex' : 'none';
+    btn.disabled = loading;
+}
+
+function showError(id, message) {
+    document.getElementById(id).textContent = message;
+}
+
+function clearErrors() {
+    document.querySelectorAll('.error-msg').forEach(el => el.textContent = '');
+}
+
+// Character counter
+function setupCharCounter() {
+    const textarea = document.getElementById('description');
+    textarea.addEventListener('input', () => {
+        document.getElementById('charCount').textContent = textarea.value.length;
+    });
+}
+
+// Toast notification
+function showToast(message, type = 'info') {
+    const toast = document.getElementById('toast');
+    const icon = document.getElementById('toastIcon');
+    const msg = document.getElementById('toastMessage');
+
+    icon.textContent = type === 'success' ? '✓' : type === 'error' ? '✕' : 'ℹ';
+    msg.textContent = message;
+    toast.className = `toast toast-${type} active`;
+
+    setTimeout(() => {
+        toast.classList.remove('active');
+    }, 3000);
+}
@@ -0,0 +1,99 @@
+package com.bank.transaction.config;
+
+import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.enums.TransactionCategory;
+import com.bank.transaction.enums.TransactionType;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Dictionary Encoded Cache Tests
+ *
+ * Tests the reference-counted description dictionary and the cache that
+ * stores transactions as dictionary codes.
+ */
+class DictionaryEncodedCacheTest {
+
+    private final DescriptionDictionary dictionary = new DescriptionDictionary();
+
+    @Test
+    @DisplayName("字典编码 - 相同描述共享编码，引用归零后移除")
+    void dictionary_CountsReferences() {
+        int rent = dictionary.encode(new String("Monthly rent"));
+        assertEquals(rent, dictionary.encode(new String("Monthly rent")));
+        int payroll = dictionary.encode("Payroll ACME");
+        assertNotEquals(rent, payroll);
+        assertEquals(DescriptionDictionary.NULL_CODE, dictionary.encode(null));
+        assertEquals(2, dictionary.size());
+
+        dictionary.release(rent);
+        assertEquals("Monthly rent", dictionary.decode(rent));
+        dictionary.release(rent);
+        assertNull(dictionary.decode(rent));
+        assertEquals(1, dictionary.size());
+
+        // A released code is not reused for the next description
+        assertNotEquals(rent, dictionary.encode("Monthly rent"));
+    }
+
+    @Test
+    @DisplayName("编码缓存 - 命中时还原交易与分页，描述为同一实例")
+    void cache_RoundTripsTransactionsAndPages() {
+        DictionaryEncodedCache cache = cache(100);
+        TransactionResponse first = response("tx-1", new String("Monthly rent"));
+        TransactionResponse second = response("tx-2", new String("Monthly rent"));
+        cache.put("tx-1", first);
+        cache.put("tx-2", second);
+        cache.put("page_0_size_10", PageResponse.of(List.of(first, second, response("tx-3", null)), 0, 10, 3));
+
+        TransactionResponse cached = (TransactionResponse) cache.get("tx-1").get();
+        assertEquals(first, cached);
+        assertSame(cached.description(), ((TransactionResponse) cache.get("tx-2").get()).description());
+
+        @SuppressWarnings("unchecked")
+        PageResponse<TransactionResponse> page = (PageResponse<TransactionResponse>) cache.get("page_0_size_10").get();
+        assertEquals(PageResponse.of(List.of(first, second, response("tx-3", null)), 0, 10, 3), page);
+        assertEquals(1, dictionary.size());
+    }
+
+    @Test
+    @DisplayName("编码缓存 - 替换、删除、清空时释放描述")
+    void cache_ReleasesCodesOnRemoval() {
+        DictionaryEncodedCache cache = cache(100);
+        cache.put("tx-1", response("tx-1", "Monthly rent"));
+        cache.put("tx-2", response("tx-2", "Payroll ACME"));
+        assertEquals(2, dictionary.size());
+
+        cache.put("tx-1", response("tx-1", "Groceries"));
+        assertEquals(2, dictionary.size());
+        assertNull(cache.get("missing"));
+
+        cache.evict("tx-2");
+        assertEquals(1, dictionary.size());
+        cache.clear();
+        assertEquals(0, dictionary.size());
+    }
+
+    private DictionaryEncodedCache cache(int maximumSize) {
+        return new DictionaryEncodedCache("test", Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .executor(Runnable::run)
+                .removalListener(DictionaryEncodedCache.releaseListener(dictionary))
+                .build(), dictionary, true);
+    }
+
+    private static TransactionResponse response(String id, String description) {
+        return new TransactionResponse(id, new BigDecimal("12.50"), TransactionType.DEPOSIT,
+                TransactionType.DEPOSIT.getDisplayName(), TransactionCategory.SALARY,
+                TransactionCategory.SALARY.getDisplayName(), description,
+                LocalDateTime.of(2024, 5, 1, 9, 30), null, "acc-1");
+    }
+}
@@ -0,0 +1,111 @@
+package com.bank.transaction.config;
+
+import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionChangesResponse;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.enums.TransactionCategory;
+import com.bank.transaction.enums.TransactionType;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Transaction JSON Module Tests
+ *
+ * Tests that the hand-written serializers produce exactly the JSON of the
+ * default record serialization, which clients already depend on.
+ */
+class TransactionJsonModuleTest {
+
+    // Configured like Spring Boot's mapper: ISO-8601 dates instead of timestamps
+    private final ObjectMapper defaultMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final ObjectMapper fastMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(new TransactionJsonModule())
+            .build();
+
+    @Test
+    @DisplayName("序列化 - 交易与分页输出与默认序列化逐字节一致")
+    void serializers_MatchDefaultJson() throws Exception {
+        List<Transaction> transactions = List.of(
+                entity("tx-1", LocalDateTime.of(2024, 1, 1, 9, 30, 15, 123_456_000), "Payroll \"ACME\""),
+                entity("tx-2", LocalDateTime.of(2024, 2, 29, 0, 0), "工资收入"),
+                entity("tx-3", LocalDateTime.of(999, 12, 31, 23, 59, 1, 100_000_000), null),
+                entity("tx-4", LocalDateTime.of(2024, 6, 1, 12, 0, 0, 1), "Line\nbreak"),
+                Transaction.builder().id("tx-5").build());
+        List<TransactionResponse> responses = transactions.stream().map(TransactionResponse::fromEntity).toList();
+        assertInstanceOf(TransactionJsonModule.TransactionResponseSerializer.class,
+                fastMapper.getSerializerProviderInstance().findValueSerializer(TransactionResponse.class));
+
+        for (TransactionResponse response : responses) {
+            assertEquals(defaultMapper.writeValueAsString(response), fastMapper.writeValueAsString(response));
+        }
+        PageResponse<TransactionResponse> page = PageResponse.of(responses, 2, 5, 42, "cursor-3")
+                .withSnapshotToken("snapshot-1");
+        assertEquals(defaultMapper.writeValueAsString(page), fastMapper.writeValueAsString(page));
+        PageResponse<TransactionResponse> empty = PageResponse.of(List.of(), 0, 10, 0);
+        assertEquals(defaultMapper.writeValueAsString(empty), fastMapper.writeValueAsString(empty));
+        var changes = new TransactionChangesResponse(responses, List.of("tx-9"), 7, false);
+        assertEquals(defaultMapper.writeValueAsString(changes), fastMapper.writeValueAsString(changes));
+
+        // Non-transaction content still goes through the mapper
+        PageResponse<String> strings = PageResponse.of(List.of("a", "b"), 0, 2, 2);
+        assertEquals(defaultMapper.writeValueAsString(strings), fastMapper.writeValueAsString(strings));
+
+        // Entities written for streaming look exactly like their response DTOs
+        for (int i = 0; i < transactions.size(); i++) {
+            StringWriter json = new StringWriter();
+            try (JsonGenerator generator = fastMapper.getFactory().createGenerator(json)) {
+                TransactionJsonModule.writeTransaction(generator, transactions.get(i),
+                        fastMapper.getSerializerProviderInstance(), TransactionJsonModule.newScratch());
+            }
+            assertEquals(defaultMapper.writeValueAsString(responses.get(i)), json.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("序列化 - 遵循映射器配置，二进制格式可往返")
+    void serializers_FollowMapperSettings() throws Exception {
+        TransactionResponse response = TransactionResponse.fromEntity(
+                entity("tx-1", LocalDateTime.of(2024, 1, 1, 9, 30, 15), "Rent"));
+
+        ObjectMapper timestamps = defaultMapper.copy().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        ObjectMapper fastTimestamps = fastMapper.copy().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        assertEquals(timestamps.writeValueAsString(response), fastTimestamps.writeValueAsString(response));
+
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.json()
+                .factory(new SmileFactory())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new TransactionJsonModule())
+                .build();
+        assertEquals(response, smile.readValue(smile.writeValueAsBytes(response), TransactionResponse.class));
+    }
+
+    private static Transaction entity(String id, LocalDateTime timestamp, String description) {
+        return Transaction.builder()
+                .id(id)
+                .amount(new BigDecimal("1234.50"))
+                .type(TransactionType.TRANSFER)
+                .category(TransactionCategory.OTHER)
+                .description(description)
+                .timestamp(timestamp)
+                .sourceAccountId("acc-1")
+                .targetAccountId(id.endsWith("1") ? "acc-2" : null)
+                .build();
+    }
+}
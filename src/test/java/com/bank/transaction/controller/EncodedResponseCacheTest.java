@@ -0,0 +1,225 @@
+package com.bank.transaction.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.bank.transaction.config.CacheConfig;
+import com.bank.transaction.dto.TransactionRequest;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.enums.TransactionCategory;
+import com.bank.transaction.enums.TransactionType;
+import com.bank.transaction.repository.TransactionRepository;
+import com.bank.transaction.service.TransactionService;
+import com.bank.transaction.web.EncodedResponseCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Encoded Response Cache Integration Tests
+ *
+ * Tests that GET endpoints serve pre-serialized (and pre-gzipped) bytes
+ * and that write operations evict them.
+ */
+@SpringBootTest(properties = {
+                "app.cache.encoded-response.enabled=true",
+                "app.cache.encoded-response.gzip-enabled=true",
+                "app.cache.encoded-response.gzip-min-bytes=0"
+})
+@AutoConfigureMockMvc
+class EncodedResponseCacheTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Autowired
+        private TransactionRepository transactionRepository;
+
+        @Autowired
+        private TransactionService transactionService;
+
+        @Autowired
+        private EncodedResponseCache encodedResponseCache;
+
+        @Autowired
+        private CacheManager cacheManager;
+
+        @BeforeEach
+        void setUp() {
+                transactionRepository.deleteAll();
+        }
+
+        @Test
+        @DisplayName("获取交易 - 返回缓存的 JSON 字节")
+        void getTransaction_ServesEncodedJson() throws Exception {
+                String id = createTransaction(new BigDecimal("120.00"), "缓存字节");
+
+                mockMvc.perform(get("/api/transactions/{id}", id))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                                .andExpect(header().stringValues(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING))
+                                .andExpect(jsonPath("$.id").value(id))
+                                .andExpect(jsonPath("$.description").value("缓存字节"));
+        }
+
+        @Test
+        @DisplayName("获取交易列表 - 客户端支持 gzip 时返回预压缩字节")
+        void getAllTransactions_ServesPreGzipped() throws Exception {
+                createTransaction(new BigDecimal("130.00"), "压缩测试");
+
+                MvcResult result = mockMvc.perform(get("/api/transactions")
+                                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                                .andReturn();
+
+                byte[] body = result.getResponse().getContentAsByteArray();
+                try (var gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                        String json = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+                        assertEquals(1, objectMapper.readTree(json).get("totalElements").asInt());
+                }
+        }
+
+        @Test
+        @DisplayName("获取交易 - 仅在可接受 JSON 时返回缓存字节，其余按常规协商")
+        void getTransaction_ServesEncodedJsonOnlyWhenAcceptable() throws Exception {
+                String id = createTransaction(new BigDecimal("125.00"), "协商");
+
+                mockMvc.perform(get("/api/transactions/{id}", id)
+                                .header(HttpHeaders.ACCEPT, "text/html"))
+                                .andExpect(status().isNotAcceptable());
+                mockMvc.perform(get("/api/transactions/{id}", id)
+                                .header(HttpHeaders.ACCEPT, "application/json;q=0.5, application/x-jackson-smile"))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType("application/x-jackson-smile"));
+                mockMvc.perform(get("/api/transactions/{id}", id)
+                                .header(HttpHeaders.ACCEPT, "application/cbor;q=0, */*"))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                                .andExpect(header().stringValues(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING));
+        }
+
+        @Test
+        @DisplayName("获取交易列表 - gzip 的 q 值为 0 时返回未压缩字节")
+        void getAllTransactions_GzipRefused_ServesIdentity() throws Exception {
+                createTransaction(new BigDecimal("135.00"), "拒绝压缩");
+
+                for (String acceptEncoding : new String[] { "gzip;q=0, deflate", "*;q=0", "*, gzip; q=0.0", "br" }) {
+                        mockMvc.perform(get("/api/transactions")
+                                        .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                                        .andExpect(status().isOk())
+                                        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                                        .andExpect(jsonPath("$.totalElements").value(1));
+                }
+                mockMvc.perform(get("/api/transactions")
+                                .header(HttpHeaders.ACCEPT_ENCODING, "br;q=1, *;q=0.5"))
+                                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        }
+
+        @Test
+        @DisplayName("更新交易后 - 缓存字节失效")
+        void updateTransaction_EvictsEncodedBytes() throws Exception {
+                String id = createTransaction(new BigDecimal("140.00"), "更新前");
+
+                mockMvc.perform(get("/api/transactions/{id}", id))
+                                .andExpect(jsonPath("$.description").value("更新前"));
+                mockMvc.perform(get("/api/transactions"))
+                                .andExpect(jsonPath("$.content[0].description").value("更新前"));
+
+                var update = new TransactionRequest(
+                                new BigDecimal("140.00"),
+                                TransactionType.DEPOSIT,
+                                TransactionCategory.OTHER,
+                                "更新后");
+                mockMvc.perform(put("/api/transactions/{id}", id)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(update)))
+                                .andExpect(status().isOk());
+
+                mockMvc.perform(get("/api/transactions/{id}", id))
+                                .andExpect(jsonPath("$.description").value("更新后"));
+                mockMvc.perform(get("/api/transactions"))
+                                .andExpect(jsonPath("$.content", hasSize(1)))
+                                .andExpect(jsonPath("$.content[0].description").value("更新后"));
+        }
+
+        @Test
+        @DisplayName("加载中的缓存字节 - 并发写入的失效等待加载完成后移除，不被旧字节覆盖")
+        void getTransaction_EvictedWhileLoading_NotCached() throws Exception {
+                String id = createTransaction(new BigDecimal("150.00"), "加载中");
+                TransactionResponse before = transactionService.getTransaction(id);
+                CountDownLatch loading = new CountDownLatch(1);
+                CountDownLatch release = new CountDownLatch(1);
+
+                Thread reader = new Thread(() -> encodedResponseCache.getTransaction(id, () -> {
+                        loading.countDown();
+                        try {
+                                release.await();
+                        } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                        }
+                        return before;
+                }));
+                reader.start();
+                assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+                // A concurrent write evicts the key while the pre-write body is still loading
+                Cache bytesCache = cacheManager.getCache(CacheConfig.TRANSACTION_BYTES_CACHE);
+                Thread writer = new Thread(() -> bytesCache.evict(id));
+                writer.start();
+                while (writer.getState() == Thread.State.RUNNABLE || writer.getState() == Thread.State.NEW) {
+                        Thread.onSpinWait();
+                }
+                release.countDown();
+                reader.join(5000);
+                writer.join(5000);
+
+                assertNull(bytesCache.get(id));
+        }
+
+        @Test
+        @DisplayName("获取不存在的交易 - 仍返回 404")
+        void getTransaction_NotFound_Fail() throws Exception {
+                mockMvc.perform(get("/api/transactions/{id}", "non-existent-id"))
+                                .andExpect(status().isNotFound())
+                                .andExpect(jsonPath("$.error").value("Not Found"));
+        }
+
+        private String createTransaction(BigDecimal amount, String description) throws Exception {
+                var request = new TransactionRequest(
+                                amount,
+                                TransactionType.DEPOSIT,
+                                TransactionCategory.OTHER,
+                                description);
+
+                MvcResult result = mockMvc.perform(post("/api/transactions")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isCreated())
+                                .andReturn();
+
+                return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asText();
+        }
+}
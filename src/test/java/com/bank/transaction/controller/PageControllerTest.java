@@ -0,0 +1,179 @@
+package com.bank.transaction.controller;
+
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.enums.TransactionCategory;
+import com.bank.transaction.enums.TransactionType;
+import com.bank.transaction.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Page Controller Integration Tests
+ *
+ * Tests the server-rendered first page and how static assets are served.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PageControllerTest {
+
+    private static final Pattern STYLESHEET = Pattern.compile("/css/style-[0-9a-f]{32}\\.css");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    @DisplayName("首页 - 服务端渲染第一页并内嵌页面状态")
+    void index_RendersFirstPage() throws Exception {
+        transactionRepository.saveAll(List.of(Transaction.builder()
+                .id(UUID.randomUUID().toString())
+                .amount(new BigDecimal("1234.50"))
+                .type(TransactionType.DEPOSIT)
+                .category(TransactionCategory.SALARY)
+                .description("服务端渲染 <b>")
+                .timestamp(LocalDateTime.of(2024, 5, 1, 21, 5))
+                .build()));
+
+        mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("服务端渲染 &lt;b&gt;")))
+                .andExpect(content().string(containsString("+$1,234.50")))
+                .andExpect(content().string(containsString("05/01/2024, 09:05 PM")))
+                .andExpect(content().string(containsString("id=\"totalCount\">1</strong>")))
+                .andExpect(content().string(containsString("Rows 1–1 of 1")))
+                .andExpect(content().string(containsString("window.initialPage = JSON.parse(")))
+                .andExpect(content().string(matchesPattern("(?s).*/js/transactions-[0-9a-f]{32}\\.js.*")))
+                .andExpect(content().string(matchesPattern("(?s).*" + STYLESHEET.pattern() + ".*")));
+    }
+
+    @Test
+    @DisplayName("首页 - 只渲染首屏行，网格按游标继续读取后续块")
+    void index_RendersFirstScreenAndCursorContinues() throws Exception {
+        List<Transaction> rows = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.of(2024, 5, 1, 9, 0);
+        for (int i = 0; i < 120; i++) {
+            rows.add(Transaction.builder()
+                    .id(UUID.randomUUID().toString())
+                    .amount(new BigDecimal(10 + i))
+                    .type(TransactionType.DEPOSIT)
+                    .category(TransactionCategory.OTHER)
+                    .description("Grid " + i)
+                    .timestamp(base.plusMinutes(i))
+                    .build());
+        }
+        transactionRepository.saveAll(rows);
+
+        String html = mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(20, Pattern.compile("class=\"grid-row\"").matcher(html).results().count());
+        assertTrue(html.contains("Rows 1–20 of 120"));
+
+        // The embedded first block is a full API page; the grid resumes after it with its cursor
+        Matcher embedded = Pattern.compile("JSON\\.parse\\((\".*?\")\\)").matcher(html);
+        assertTrue(embedded.find());
+        JsonNode firstBlock = objectMapper.readTree(objectMapper.readValue(embedded.group(1), String.class));
+        assertEquals(100, firstBlock.get("content").size());
+        assertEquals("Grid 119", firstBlock.get("content").get(0).get("description").asText());
+
+        mockMvc.perform(get("/api/transactions")
+                        .param("cursor", firstBlock.get("nextCursor").asText())
+                        .param("size", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(20))
+                .andExpect(jsonPath("$.content[0].description").value("Grid 19"))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    @DisplayName("静态资源 - 指纹 URL 长期缓存，并按 Accept-Encoding 返回预压缩版本")
+    void staticAsset_FingerprintedImmutableAndPrecompressed() throws Exception {
+        Matcher link = STYLESHEET.matcher(mockMvc.perform(get("/")).andReturn().getResponse().getContentAsString());
+        assertTrue(link.find());
+        byte[] original = new ClassPathResource("static/css/style.css").getContentAsByteArray();
+
+        MvcResult gzipped = mockMvc.perform(get(link.group()).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL,
+                        allOf(containsString("max-age=31536000"), containsString("public"), containsString("immutable"))))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(content().contentTypeCompatibleWith("text/css"))
+                .andReturn();
+        assertArrayEquals(original, gunzip(gzipped.getResponse().getContentAsByteArray()));
+
+        MvcResult plain = mockMvc.perform(get(link.group()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn();
+        assertArrayEquals(original, plain.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("静态资源 - 无指纹 URL 不长期缓存，按 ETag 重新验证")
+    void staticAsset_PlainUrlRevalidated() throws Exception {
+        for (String path : new String[] { "/css/style.css", "/js/transactions.js" }) {
+            for (String acceptEncoding : new String[] { "identity", "gzip" }) {
+                MvcResult plain = mockMvc.perform(get(path).header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                        .andExpect(status().isOk())
+                        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                        .andExpect(header().exists(HttpHeaders.ETAG))
+                        .andReturn();
+
+                mockMvc.perform(get(path)
+                                .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding)
+                                .header(HttpHeaders.IF_NONE_MATCH, plain.getResponse().getHeader(HttpHeaders.ETAG)))
+                        .andExpect(status().isNotModified());
+            }
+        }
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.bank.transaction.controller;
+
+import com.bank.transaction.dto.TransactionRequest;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.enums.TransactionCategory;
+import com.bank.transaction.enums.TransactionType;
+import com.bank.transaction.repository.TransactionRepository;
+import com.bank.transaction.service.TransactionService;
+import com.bank.transaction.web.ReactiveReadServer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reactive Read Path Integration Tests
+ *
+ * Tests the WebFlux + R2DBC read endpoints over a real Reactor Netty server,
+ * against data written through the blocking service.
+ */
+@SpringBootTest(properties = {
+                "app.reactive.enabled=true",
+                "app.reactive.port=0"
+})
+class ReactiveTransactionHandlerTest {
+
+        @Autowired
+        private TransactionService transactionService;
+
+        @Autowired
+        private TransactionRepository transactionRepository;
+
+        @Autowired
+        private ReactiveReadServer reactiveReadServer;
+
+        private WebTestClient client;
+
+        @BeforeEach
+        void setUp() {
+                transactionRepository.deleteAll();
+                client = WebTestClient.bindToServer()
+                                .baseUrl("http://localhost:" + reactiveReadServer.getPort())
+                                .build();
+        }
+
+        @Test
+        @DisplayName("响应式获取交易 - 成功")
+        void getTransaction_Success() {
+                TransactionResponse created = create("500.00", "响应式读取");
+
+                client.get().uri("/api/transactions/{id}", created.id())
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody()
+                                .jsonPath("$.id").isEqualTo(created.id())
+                                .jsonPath("$.description").isEqualTo("响应式读取")
+                                .jsonPath("$.typeDisplayName").isEqualTo(TransactionType.DEPOSIT.getDisplayName());
+        }
+
+        @Test
+        @DisplayName("响应式获取不存在的交易 - 返回 404")
+        void getTransaction_NotFound_Fail() {
+                client.get().uri("/api/transactions/{id}", "non-existent-id")
+                                .exchange()
+                                .expectStatus().isNotFound()
+                                .expectBody()
+                                .jsonPath("$.error").isEqualTo("Not Found")
+                                .jsonPath("$.path").isEqualTo("/api/transactions/non-existent-id");
+        }
+
+        @Test
+        @DisplayName("响应式分页查询 - 与 MVC 结果一致")
+        void getAllTransactions_MatchesBlockingService() {
+                for (int i = 0; i < 3; i++) {
+                        create("6" + i + ".00", "分页" + i);
+                }
+
+                client.get().uri("/api/transactions?page=0&size=2")
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody(String.class)
+                                .value(body -> assertTrue(body.contains("\"totalElements\":3")));
+
+                var expected = transactionService.getAllTransactions(0, 2).content();
+                var page = client.get().uri("/api/transactions?page=0&size=2")
+                                .exchange()
+                                .expectBody(ReactivePage.class)
+                                .returnResult().getResponseBody();
+                assertNotNull(page);
+                assertEquals(expected, page.content());
+        }
+
+        @Test
+        @DisplayName("响应式分页查询 - 非法参数返回 400")
+        void getAllTransactions_InvalidSize_Fail() {
+                client.get().uri("/api/transactions?size=0")
+                                .exchange()
+                                .expectStatus().isBadRequest();
+        }
+
+        @Test
+        @DisplayName("NDJSON 流式查询 - 逐行返回")
+        void streamTransactions_Ndjson() {
+                for (int i = 0; i < 5; i++) {
+                        create("7" + i + ".00", "流式" + i);
+                }
+
+                List<TransactionResponse> streamed = client.get().uri("/api/transactions?limit=4")
+                                .accept(MediaType.APPLICATION_NDJSON)
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                                .returnResult(TransactionResponse.class)
+                                .getResponseBody()
+                                .collectList()
+                                .block();
+
+                assertNotNull(streamed);
+                assertEquals(4, streamed.size());
+        }
+
+        @Test
+        @DisplayName("更新交易后 - 响应式缓存失效")
+        void updateTransaction_InvalidatesAsyncCache() {
+                TransactionResponse created = create("800.00", "更新前");
+
+                client.get().uri("/api/transactions/{id}", created.id())
+                                .exchange()
+                                .expectBody().jsonPath("$.description").isEqualTo("更新前");
+
+                transactionService.updateTransaction(created.id(), new TransactionRequest(
+                                new BigDecimal("800.00"), TransactionType.DEPOSIT, TransactionCategory.OTHER, "更新后"));
+
+                client.get().uri("/api/transactions/{id}", created.id())
+                                .exchange()
+                                .expectBody().jsonPath("$.description").isEqualTo("更新后");
+        }
+
+        private TransactionResponse create(String amount, String description) {
+                return transactionService.createTransaction(new TransactionRequest(
+                                new BigDecimal(amount), TransactionType.DEPOSIT, TransactionCategory.OTHER, description));
+        }
+
+        private record ReactivePage(List<TransactionResponse> content, long totalElements) {
+        }
+}
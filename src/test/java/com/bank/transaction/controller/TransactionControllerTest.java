@@ -1,23 +1,42 @@
 package com.bank.transaction.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.bank.transaction.config.ContentNegotiationConfig;
 import com.bank.transaction.dto.TransactionRequest;
+import com.bank.transaction.entity.Transaction;
 import com.bank.transaction.enums.TransactionCategory;
 import com.bank.transaction.enums.TransactionType;
+import com.bank.transaction.repository.AccountRepository;
 import com.bank.transaction.repository.TransactionRepository;
+import com.bank.transaction.repository.TransactionVersionStore;
+import com.bank.transaction.web.AdaptiveConcurrencyLimiter;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -40,9 +59,23 @@ class TransactionControllerTest {
         @Autowired
         private TransactionRepository transactionRepository;
 
+        @Autowired
+        private AccountRepository accountRepository;
+
+        @Autowired
+        private TransactionVersionStore versionStore;
+
+        @Autowired
+        private AdaptiveConcurrencyLimiter readConcurrencyLimiter;
+
+        private final ObjectMapper cborMapper = new CBORMapper().findAndRegisterModules();
+
+        private final ObjectMapper smileMapper = new SmileMapper().findAndRegisterModules();
+
         @BeforeEach
         void setUp() {
                 transactionRepository.deleteAll();
+                accountRepository.deleteAll();
         }
 
         @Test
@@ -197,6 +230,171 @@ class TransactionControllerTest {
                                 .andExpect(jsonPath("$.last").value(true));
         }
 
+        @Test
+        @DisplayName("获取所有交易 - 按金额降序排序，游标翻页")
+        void getAllTransactions_SortedByAmountWithCursor() throws Exception {
+                int[] amounts = {300, 50, 700, 120, 999, 5, 430};
+                for (int i = 0; i < amounts.length; i++) {
+                        var request = new TransactionRequest(
+                                        new BigDecimal(amounts[i]),
+                                        TransactionType.DEPOSIT,
+                                        TransactionCategory.SHOPPING,
+                                        "排序 " + i);
+                        mockMvc.perform(post("/api/transactions")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(request)))
+                                        .andExpect(status().isCreated());
+                }
+
+                MvcResult first = mockMvc.perform(get("/api/transactions")
+                                .param("sort", "amount,desc")
+                                .param("size", "3"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content[*].amount", contains(999.0, 700.0, 430.0)))
+                                .andExpect(jsonPath("$.totalElements").value(7))
+                                .andExpect(jsonPath("$.last").value(false))
+                                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                                .andReturn();
+                String cursor = objectMapper.readTree(first.getResponse().getContentAsString()).get("nextCursor").asText();
+
+                MvcResult second = mockMvc.perform(get("/api/transactions")
+                                .param("sort", "amount,desc")
+                                .param("size", "3")
+                                .param("cursor", cursor))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content[*].amount", contains(300.0, 120.0, 50.0)))
+                                .andReturn();
+                cursor = objectMapper.readTree(second.getResponse().getContentAsString()).get("nextCursor").asText();
+
+                mockMvc.perform(get("/api/transactions")
+                                .param("sort", "amount,desc")
+                                .param("size", "3")
+                                .param("cursor", cursor))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content[*].amount", contains(5.0)))
+                                .andExpect(jsonPath("$.last").value(true))
+                                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+
+                // A cursor only continues the order it was issued for
+                mockMvc.perform(get("/api/transactions")
+                                .param("sort", "amount,asc")
+                                .param("cursor", cursor))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("获取所有交易 - 不支持的排序或无效游标返回 400")
+        void getAllTransactions_InvalidSortOrCursor_Fail() throws Exception {
+                mockMvc.perform(get("/api/transactions").param("sort", "description,asc"))
+                                .andExpect(status().isBadRequest());
+                mockMvc.perform(get("/api/transactions").param("sort", "amount,desc").param("sort", "type,asc"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.message", containsString("Unsupported sort order")));
+                mockMvc.perform(get("/api/transactions").param("cursor", "not-a-cursor"))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("获取所有交易 - 类别与类型可按任一方向排序")
+        void getAllTransactions_CategoryAndTypeEitherDirection_Success() throws Exception {
+                for (String[] sort : new String[][] { { "type" }, { "type,desc" }, { "category,desc" },
+                                { "category,desc", "timestamp,desc" }, { "TYPE", "DESC" } }) {
+                        mockMvc.perform(get("/api/transactions").param("sort", sort))
+                                        .andExpect(status().isOk());
+                }
+                mockMvc.perform(get("/api/transactions").param("sort", "type,desc").param("sort", "timestamp,asc"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.message", containsString("Unsupported sort order")));
+        }
+
+        @Test
+        @DisplayName("获取所有交易 - 读快照翻页，释放后返回 410")
+        void getAllTransactions_Snapshot() throws Exception {
+                var request = new TransactionRequest(
+                                new BigDecimal("80.00"),
+                                TransactionType.DEPOSIT,
+                                TransactionCategory.OTHER,
+                                "快照前");
+                mockMvc.perform(post("/api/transactions")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isCreated());
+
+                MvcResult opened = mockMvc.perform(get("/api/transactions").param("snapshot", "new"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.totalElements").value(1))
+                                .andExpect(jsonPath("$.snapshotToken").isString())
+                                .andReturn();
+                String token = objectMapper.readTree(opened.getResponse().getContentAsString())
+                                .get("snapshotToken").asText();
+
+                var later = new TransactionRequest(
+                                new BigDecimal("90.00"),
+                                TransactionType.DEPOSIT,
+                                TransactionCategory.OTHER,
+                                "快照后");
+                mockMvc.perform(post("/api/transactions")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(later)))
+                                .andExpect(status().isCreated());
+
+                mockMvc.perform(get("/api/transactions").param("snapshot", token))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.totalElements").value(1))
+                                .andExpect(jsonPath("$.content[0].description").value("快照前"))
+                                .andExpect(jsonPath("$.snapshotToken").value(token));
+
+                mockMvc.perform(delete("/api/transactions/snapshots/{token}", token))
+                                .andExpect(status().isNoContent());
+                mockMvc.perform(get("/api/transactions").param("snapshot", token))
+                                .andExpect(status().isGone())
+                                .andExpect(jsonPath("$.status").value(410));
+        }
+
+        @Test
+        @DisplayName("导出交易 - 分批流式写出整个数组，按指定顺序")
+        void exportTransactions_StreamsAllInOrder() throws Exception {
+                // More than two export batches
+                List<Transaction> rows = new ArrayList<>();
+                LocalDateTime base = LocalDateTime.of(2024, 3, 1, 8, 0);
+                for (int i = 0; i < 2500; i++) {
+                        rows.add(Transaction.builder()
+                                        .id(UUID.randomUUID().toString())
+                                        .amount(new BigDecimal(i + 1))
+                                        .type(TransactionType.DEPOSIT)
+                                        .category(TransactionCategory.OTHER)
+                                        .description("导出 " + i)
+                                        .timestamp(base.plusSeconds(i))
+                                        .build());
+                }
+                transactionRepository.saveAll(rows);
+
+                MvcResult started = mockMvc.perform(get("/api/transactions/export").param("sort", "amount,asc"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+                // Still holding its read permit while the body is written
+                assertEquals(1, readConcurrencyLimiter.getInFlight());
+                String body = mockMvc.perform(asyncDispatch(started))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+                JsonNode exported = objectMapper.readTree(body);
+                assertEquals(2500, exported.size());
+                for (int i = 0; i < exported.size(); i++) {
+                        assertEquals(i + 1, exported.get(i).get("amount").asInt());
+                }
+                // Same representation as the list endpoint
+                mockMvc.perform(get("/api/transactions").param("sort", "amount,asc").param("size", "1"))
+                                .andExpect(content().json("{\"content\":[" + exported.get(0) + "]}"));
+                assertEquals(0, versionStore.openSnapshots());
+                assertEquals(0, versionStore.openPins());
+                assertEquals(0, readConcurrencyLimiter.getInFlight());
+
+                mockMvc.perform(get("/api/transactions/export").param("sort", "description,asc"))
+                                .andExpect(status().isBadRequest());
+        }
+
         @Test
         @DisplayName("更新交易 - 成功")
         void updateTransaction_Success() throws Exception {
@@ -283,4 +481,232 @@ class TransactionControllerTest {
                                 .andExpect(status().isNotFound())
                                 .andExpect(jsonPath("$.error").value("Not Found"));
         }
+
+        @Test
+        @DisplayName("内容协商 - 浏览器请求返回 JSON")
+        void getAllTransactions_BrowserAccept_ReturnsJson() throws Exception {
+                mockMvc.perform(get("/api/transactions")
+                                .header(HttpHeaders.ACCEPT,
+                                                "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8"))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+        }
+
+        @Test
+        @DisplayName("内容协商 - CBOR 请求体创建并以 Smile 读取")
+        void createTransaction_Cbor_ThenGetAsSmile() throws Exception {
+                var request = new TransactionRequest(
+                                new BigDecimal("321.00"),
+                                TransactionType.DEPOSIT,
+                                TransactionCategory.SALARY,
+                                "二进制格式");
+
+                MvcResult createResult = mockMvc.perform(post("/api/transactions")
+                                .contentType(MediaType.APPLICATION_CBOR)
+                                .accept(MediaType.APPLICATION_CBOR)
+                                .content(cborMapper.writeValueAsBytes(request)))
+                                .andExpect(status().isCreated())
+                                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                                .andReturn();
+
+                String id = cborMapper.readTree(createResult.getResponse().getContentAsByteArray())
+                                .get("id").asText();
+
+                MvcResult getResult = mockMvc.perform(get("/api/transactions/{id}", id)
+                                .accept(ContentNegotiationConfig.APPLICATION_SMILE))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentTypeCompatibleWith(ContentNegotiationConfig.APPLICATION_SMILE))
+                                .andReturn();
+
+                var body = smileMapper.readTree(getResult.getResponse().getContentAsByteArray());
+                assertEquals(id, body.get("id").asText());
+                assertEquals("二进制格式", body.get("description").asText());
+        }
+
+        @Test
+        @DisplayName("幂等键 - 重试返回原响应且不重复创建")
+        void createTransaction_IdempotencyKey_ReplaysResponse() throws Exception {
+                String key = UUID.randomUUID().toString();
+                String body = objectMapper.writeValueAsString(new TransactionRequest(
+                                new BigDecimal("77.00"),
+                                TransactionType.DEPOSIT,
+                                TransactionCategory.SALARY,
+                                "幂等重试"));
+
+                MvcResult first = mockMvc.perform(post("/api/transactions")
+                                .header("Idempotency-Key", key)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body))
+                                .andExpect(status().isCreated())
+                                .andExpect(header().string("Idempotent-Replayed", "false"))
+                                .andReturn();
+                String id = objectMapper.readTree(first.getResponse().getContentAsString()).get("id").asText();
+
+                mockMvc.perform(post("/api/transactions")
+                                .header("Idempotency-Key", key)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body))
+                                .andExpect(status().isCreated())
+                                .andExpect(header().string("Idempotent-Replayed", "true"))
+                                .andExpect(jsonPath("$.id").value(id));
+
+                assertEquals(1, transactionRepository.count());
+        }
+
+        @Test
+        @DisplayName("账户余额 - 查询余额，余额不足返回 422，账户不匹配返回 400")
+        void accountBalance_AndInsufficientFunds() throws Exception {
+                mockMvc.perform(get("/api/accounts/acc-x/balance"))
+                                .andExpect(status().isNotFound());
+
+                mockMvc.perform(post("/api/transactions")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new TransactionRequest(
+                                                new BigDecimal("25.00"), TransactionType.DEPOSIT,
+                                                TransactionCategory.SALARY, "存入", null, "acc-x"))))
+                                .andExpect(status().isCreated())
+                                .andExpect(jsonPath("$.targetAccountId").value("acc-x"));
+
+                mockMvc.perform(get("/api/accounts/acc-x/balance"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.accountId").value("acc-x"))
+                                .andExpect(jsonPath("$.balance").value(25.0));
+
+                mockMvc.perform(post("/api/transactions")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new TransactionRequest(
+                                                new BigDecimal("30.00"), TransactionType.TRANSFER,
+                                                TransactionCategory.OTHER, "透支", "acc-x", "acc-y"))))
+                                .andExpect(status().isUnprocessableEntity())
+                                .andExpect(jsonPath("$.error").value("Unprocessable Entity"));
+
+                mockMvc.perform(post("/api/transactions")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new TransactionRequest(
+                                                new BigDecimal("5.00"), TransactionType.DEPOSIT,
+                                                TransactionCategory.OTHER, "存款带来源账户", "acc-x", "acc-y"))))
+                                .andExpect(status().isBadRequest());
+
+                assertEquals(1, transactionRepository.count());
+        }
+
+        @Test
+        @DisplayName("幂等键 - 相同键不同请求体返回 422")
+        void createTransaction_IdempotencyKeyReused_Unprocessable() throws Exception {
+                String key = UUID.randomUUID().toString();
+                mockMvc.perform(post("/api/transactions")
+                                .header("Idempotency-Key", key)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new TransactionRequest(
+                                                new BigDecimal("1.00"), TransactionType.DEPOSIT,
+                                                TransactionCategory.OTHER, "第一次"))))
+                                .andExpect(status().isCreated());
+
+                mockMvc.perform(post("/api/transactions")
+                                .header("Idempotency-Key", key)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new TransactionRequest(
+                                                new BigDecimal("2.00"), TransactionType.DEPOSIT,
+                                                TransactionCategory.OTHER, "第二次"))))
+                                .andExpect(status().isUnprocessableEntity())
+                                .andExpect(jsonPath("$.error").value("Unprocessable Entity"));
+        }
+
+        @Test
+        @DisplayName("幂等键 - 并发相同请求只执行一次")
+        void createTransaction_IdempotencyKey_ConcurrentRequestsShareOneExecution() throws Exception {
+                String key = UUID.randomUUID().toString();
+                String body = objectMapper.writeValueAsString(new TransactionRequest(
+                                new BigDecimal("555.00"),
+                                TransactionType.TRANSFER,
+                                TransactionCategory.UTILITIES,
+                                "并发幂等"));
+
+                List<String> ids = new ArrayList<>();
+                try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+                        List<Future<MvcResult>> results = new ArrayList<>();
+                        for (int i = 0; i < 8; i++) {
+                                results.add(executor.submit(() -> mockMvc.perform(post("/api/transactions")
+                                                .header("Idempotency-Key", key)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content(body))
+                                                .andExpect(status().isCreated())
+                                                .andReturn()));
+                        }
+                        for (Future<MvcResult> result : results) {
+                                ids.add(objectMapper.readTree(result.get().getResponse().getContentAsString())
+                                                .get("id").asText());
+                        }
+                }
+
+                assertEquals(1, ids.stream().distinct().count());
+                assertEquals(1, transactionRepository.count());
+        }
+
+        @Test
+        @DisplayName("增量同步 - 返回检查点之后的变更")
+        void getChanges_SinceCheckpoint() throws Exception {
+                var request = new TransactionRequest(
+                                new BigDecimal("66.00"),
+                                TransactionType.WITHDRAWAL,
+                                TransactionCategory.FOOD,
+                                "增量同步");
+                String body = mockMvc.perform(post("/api/transactions")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isCreated())
+                                .andReturn().getResponse().getContentAsString();
+                String id = objectMapper.readTree(body).get("id").asText();
+
+                mockMvc.perform(get("/api/transactions/changes").param("since", "0"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.changed", hasSize(1)))
+                                .andExpect(jsonPath("$.changed[0].id").value(id))
+                                .andExpect(jsonPath("$.deleted", hasSize(0)))
+                                .andExpect(jsonPath("$.nextSince", greaterThan(0)))
+                                .andExpect(jsonPath("$.hasMore").value(false));
+
+                mockMvc.perform(get("/api/transactions/changes").param("since", "-1"))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("变更推送 - SSE 收到创建和删除事件")
+        void streamChanges_ReceivesCreatedAndDeleted() throws Exception {
+                MvcResult stream = mockMvc.perform(get("/api/transactions/stream")
+                                .accept(MediaType.TEXT_EVENT_STREAM))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                var request = new TransactionRequest(
+                                new BigDecimal("88.00"),
+                                TransactionType.DEPOSIT,
+                                TransactionCategory.OTHER,
+                                "实时推送");
+                String body = mockMvc.perform(post("/api/transactions")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isCreated())
+                                .andReturn().getResponse().getContentAsString();
+                String id = objectMapper.readTree(body).get("id").asText();
+                mockMvc.perform(delete("/api/transactions/{id}", id))
+                                .andExpect(status().isNoContent());
+
+                String events = awaitContent(stream, "event:deleted");
+                assertTrue(events.contains("event:created"));
+                assertTrue(events.contains("\"description\":\"实时推送\""));
+                assertTrue(events.contains("\"transactionId\":\"" + id + "\""));
+                assertTrue(stream.getResponse().getContentType().startsWith(MediaType.TEXT_EVENT_STREAM_VALUE));
+        }
+
+        private static String awaitContent(MvcResult result, String expected) throws Exception {
+                long deadline = System.nanoTime() + 5_000_000_000L;
+                String content = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+                while (!content.contains(expected) && System.nanoTime() < deadline) {
+                        Thread.sleep(20);
+                        content = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+                }
+                assertTrue(content.contains(expected), content);
+                return content;
+        }
 }
@@ -0,0 +1,89 @@
+package com.bank.transaction.exception;
+
+import com.bank.transaction.config.ErrorHandlingProperties;
+import com.bank.transaction.dto.ErrorResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Global Exception Handler Tests
+ *
+ * Tests how business errors are raised, answered, counted and logged.
+ */
+class GlobalExceptionHandlerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        TransactionException.setStackTraces(false);
+    }
+
+    @Test
+    @DisplayName("业务异常 - 默认不记录堆栈，可按配置开启")
+    void businessExceptions_StacklessByDefault() {
+        TransactionException.setStackTraces(false);
+        TransactionNotFoundException stackless = new TransactionNotFoundException("tx-1");
+        assertEquals(0, stackless.getStackTrace().length);
+        stackless.addSuppressed(new IllegalStateException());
+        assertEquals(0, stackless.getSuppressed().length);
+        assertEquals(ErrorCode.TRANSACTION_NOT_FOUND, stackless.errorCode());
+
+        TransactionException.setStackTraces(true);
+        assertTrue(new DuplicateTransactionException("dup").getStackTrace().length > 0);
+    }
+
+    @Test
+    @DisplayName("业务异常 - 按错误码返回状态并计数")
+    void handleTransactionException_AnswersAndCountsPerCode() {
+        GlobalExceptionHandler handler = new GlobalExceptionHandler(new ErrorHandlingProperties(), meterRegistry);
+        ServletWebRequest request = new ServletWebRequest(
+                new MockHttpServletRequest("GET", "/api/transactions/tx-1"));
+
+        ResponseEntity<ErrorResponse> notFound = handler.handleTransactionException(
+                new TransactionNotFoundException("tx-1"), request);
+        assertEquals(HttpStatus.NOT_FOUND, notFound.getStatusCode());
+        assertEquals(404, notFound.getBody().status());
+        assertEquals("Not Found", notFound.getBody().error());
+        assertEquals("交易不存在: tx-1", notFound.getBody().message());
+        assertEquals("/api/transactions/tx-1", notFound.getBody().path());
+
+        for (int i = 0; i < 3; i++) {
+            ResponseEntity<ErrorResponse> duplicate = handler.handleTransactionException(
+                    new DuplicateTransactionException("dup"), request);
+            assertEquals(HttpStatus.CONFLICT, duplicate.getStatusCode());
+            assertEquals("Conflict", duplicate.getBody().error());
+        }
+        assertEquals(1, meterRegistry.get("transaction.errors").tag("code", "TRANSACTION_NOT_FOUND").counter().count());
+        assertEquals(3, meterRegistry.get("transaction.errors").tag("code", "DUPLICATE_TRANSACTION").counter().count());
+    }
+
+    @Test
+    @DisplayName("错误日志限流 - 每秒每个错误码限量，下一条报告丢弃数")
+    void errorLogLimiter_DropsBeyondLimitAndReports() throws InterruptedException {
+        ErrorLogLimiter limiter = new ErrorLogLimiter(2);
+        assertEquals(0, limiter.tryAcquire(ErrorCode.TRANSACTION_NOT_FOUND));
+        assertEquals(0, limiter.tryAcquire(ErrorCode.TRANSACTION_NOT_FOUND));
+        assertEquals(-1, limiter.tryAcquire(ErrorCode.TRANSACTION_NOT_FOUND));
+        assertEquals(-1, limiter.tryAcquire(ErrorCode.TRANSACTION_NOT_FOUND));
+        // Codes are limited independently
+        assertEquals(0, limiter.tryAcquire(ErrorCode.DUPLICATE_TRANSACTION));
+
+        Thread.sleep(1100);
+        assertEquals(2, limiter.tryAcquire(ErrorCode.TRANSACTION_NOT_FOUND));
+        assertEquals(0, limiter.tryAcquire(ErrorCode.TRANSACTION_NOT_FOUND));
+
+        ErrorLogLimiter unlimited = new ErrorLogLimiter(0);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, unlimited.tryAcquire(ErrorCode.TRANSACTION_NOT_FOUND));
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.bank.transaction.grpc;
+
+import com.bank.transaction.dto.TransactionRequest;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.enums.TransactionCategory;
+import com.bank.transaction.enums.TransactionType;
+import com.bank.transaction.exception.AccountNotFoundException;
+import com.bank.transaction.exception.DeadlineExceededException;
+import com.bank.transaction.grpc.proto.IngestAck;
+import com.bank.transaction.grpc.proto.IngestResult;
+import com.bank.transaction.grpc.proto.ListTransactionsRequest;
+import com.bank.transaction.grpc.proto.TransactionChange;
+import com.bank.transaction.grpc.proto.TransactionStreamServiceGrpc;
+import com.bank.transaction.grpc.proto.WatchTransactionsRequest;
+import com.bank.transaction.repository.TransactionRepository;
+import com.bank.transaction.service.TransactionChangeBroadcaster;
+import com.bank.transaction.service.TransactionService;
+import io.grpc.ManagedChannel;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Transaction gRPC Service Tests
+ *
+ * Exercises the streaming RPCs over an in-process transport.
+ */
+@SpringBootTest(properties = {
+                "app.grpc.enabled=true",
+                "app.grpc.in-process-name=transaction-grpc-test",
+                "app.grpc.ingest-batch-size=100"
+})
+class TransactionGrpcServiceTest {
+
+        @Autowired
+        private TransactionService transactionService;
+
+        @Autowired
+        private TransactionRepository transactionRepository;
+
+        @Autowired
+        private TransactionChangeBroadcaster changeBroadcaster;
+
+        @Autowired
+        private Validator validator;
+
+        private ManagedChannel channel;
+
+        @BeforeEach
+        void setUp() {
+                transactionRepository.deleteAll();
+                channel = InProcessChannelBuilder.forName("transaction-grpc-test").directExecutor().build();
+        }
+
+        @AfterEach
+        void tearDown() throws InterruptedException {
+                channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+
+        @Test
+        @DisplayName("流式写入 - 按批次确认并标记重复与非法请求")
+        void ingestTransactions_AcknowledgesInBatches() throws Exception {
+                var stub = TransactionStreamServiceGrpc.newStub(channel);
+                List<IngestAck> acks = new ArrayList<>();
+                CompletableFuture<Void> completed = new CompletableFuture<>();
+
+                StreamObserver<com.bank.transaction.grpc.proto.TransactionRequest> requests = stub.ingestTransactions(
+                                new StreamObserver<>() {
+                                        @Override
+                                        public void onNext(IngestAck ack) {
+                                                acks.add(ack);
+                                        }
+
+                                        @Override
+                                        public void onError(Throwable t) {
+                                                completed.completeExceptionally(t);
+                                        }
+
+                                        @Override
+                                        public void onCompleted() {
+                                                completed.complete(null);
+                                        }
+                                });
+
+                for (int i = 0; i < 248; i++) {
+                        requests.onNext(request(String.valueOf(100 + i), "流式写入 " + i));
+                }
+                requests.onNext(request("100", "流式写入 0")); // duplicate of sequence 0
+                requests.onNext(request("-5", "负数金额")); // invalid
+                requests.onCompleted();
+                completed.get(30, TimeUnit.SECONDS);
+
+                assertEquals(3, acks.size());
+                assertEquals(List.of(0L, 100L, 200L), acks.stream().map(IngestAck::getFirstSequence).toList());
+                assertEquals(248, acks.stream().mapToInt(IngestAck::getAccepted).sum());
+                assertEquals(2, acks.get(2).getRejected());
+
+                List<IngestResult> tail = acks.get(2).getResultsList();
+                assertEquals(IngestResult.Status.STATUS_DUPLICATE, tail.get(48).getStatus());
+                assertEquals(248, tail.get(48).getSequence());
+                assertEquals(IngestResult.Status.STATUS_INVALID, tail.get(49).getStatus());
+                assertEquals(248, transactionRepository.count());
+
+                String firstId = acks.get(0).getResults(0).getTransactionId();
+                assertEquals("流式写入 0", transactionService.getTransaction(firstId).description());
+        }
+
+        @Test
+        @DisplayName("流式写入 - 单条失败按状态返回，批次确认照常发送")
+        void ingestTransactions_FailuresAnsweredPerRequest() {
+                TransactionService failing = mock(TransactionService.class);
+                when(failing.createTransaction(any())).thenAnswer(invocation -> {
+                        TransactionRequest request = invocation.getArgument(0);
+                        return switch (request.description()) {
+                                case "deadline" -> throw new DeadlineExceededException(50);
+                                case "database" -> throw new DataAccessResourceFailureException("connection lost");
+                                case "account" -> throw new AccountNotFoundException("acc-missing");
+                                case "bug" -> throw new IllegalStateException("unexpected");
+                                default -> TransactionResponse.fromEntity(Transaction.builder()
+                                                .id("tx-" + request.description())
+                                                .amount(request.amount())
+                                                .type(request.type())
+                                                .category(request.category())
+                                                .description(request.description())
+                                                .timestamp(LocalDateTime.now())
+                                                .build());
+                        };
+                });
+                var service = new TransactionGrpcService(failing, changeBroadcaster, validator);
+                ReflectionTestUtils.setField(service, "ingestBatchSize", 6);
+
+                List<IngestAck> acks = new ArrayList<>();
+                List<Throwable> errors = new ArrayList<>();
+                StreamObserver<com.bank.transaction.grpc.proto.TransactionRequest> requests = service.ingestTransactions(
+                                new StreamObserver<>() {
+                                        @Override
+                                        public void onNext(IngestAck ack) {
+                                                acks.add(ack);
+                                        }
+
+                                        @Override
+                                        public void onError(Throwable t) {
+                                                errors.add(t);
+                                        }
+
+                                        @Override
+                                        public void onCompleted() {
+                                        }
+                                });
+                for (String description : List.of("first", "deadline", "database", "account", "bug", "last")) {
+                        requests.onNext(request("10.00", description));
+                }
+
+                assertEquals(List.of(), errors);
+                assertEquals(1, acks.size());
+                assertEquals(2, acks.get(0).getAccepted());
+                assertEquals(4, acks.get(0).getRejected());
+                assertEquals(List.of(IngestResult.Status.STATUS_ACCEPTED, IngestResult.Status.STATUS_ERROR,
+                                IngestResult.Status.STATUS_ERROR, IngestResult.Status.STATUS_INVALID,
+                                IngestResult.Status.STATUS_ERROR, IngestResult.Status.STATUS_ACCEPTED),
+                                acks.get(0).getResultsList().stream().map(IngestResult::getStatus).toList());
+                assertEquals("tx-last", acks.get(0).getResults(5).getTransactionId());
+        }
+
+        @Test
+        @DisplayName("流式查询 - 跨页返回并遵守 limit")
+        void listTransactions_StreamsAcrossPages() {
+                for (int i = 0; i < 25; i++) {
+                        create("2" + i + ".00", "流式查询 " + i);
+                }
+
+                var stub = TransactionStreamServiceGrpc.newBlockingStub(channel);
+                List<com.bank.transaction.grpc.proto.TransactionResponse> all = new ArrayList<>();
+                stub.listTransactions(ListTransactionsRequest.newBuilder().setPageSize(10).build())
+                                .forEachRemaining(all::add);
+                assertEquals(25, all.size());
+                assertEquals(25, all.stream().map(com.bank.transaction.grpc.proto.TransactionResponse::getId)
+                                .distinct().count());
+
+                List<com.bank.transaction.grpc.proto.TransactionResponse> limited = new ArrayList<>();
+                stub.listTransactions(ListTransactionsRequest.newBuilder().setPageSize(10).setLimit(12).build())
+                                .forEachRemaining(limited::add);
+                assertEquals(12, limited.size());
+                assertEquals(com.bank.transaction.grpc.proto.TransactionType.TRANSACTION_TYPE_DEPOSIT,
+                                limited.get(0).getType());
+        }
+
+        @Test
+        @DisplayName("变更订阅 - 推送提交后的创建、更新与删除")
+        void watchTransactions_StreamsCommittedChanges() throws Exception {
+                BlockingQueue<TransactionChange> changes = new LinkedBlockingQueue<>();
+                int before = changeBroadcaster.subscriberCount();
+                TransactionStreamServiceGrpc.newStub(channel).watchTransactions(
+                                WatchTransactionsRequest.getDefaultInstance(), new StreamObserver<>() {
+                                        @Override
+                                        public void onNext(TransactionChange change) {
+                                                changes.add(change);
+                                        }
+
+                                        @Override
+                                        public void onError(Throwable t) {
+                                        }
+
+                                        @Override
+                                        public void onCompleted() {
+                                        }
+                                });
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (changeBroadcaster.subscriberCount() == before && System.nanoTime() < deadline) {
+                        Thread.onSpinWait();
+                }
+
+                TransactionResponse created = create("900.00", "订阅");
+                transactionService.updateTransaction(created.id(), new TransactionRequest(
+                                new BigDecimal("901.00"), TransactionType.DEPOSIT, TransactionCategory.OTHER, "订阅"));
+                transactionService.deleteTransaction(created.id());
+
+                TransactionChange first = changes.poll(5, TimeUnit.SECONDS);
+                TransactionChange second = changes.poll(5, TimeUnit.SECONDS);
+                TransactionChange third = changes.poll(5, TimeUnit.SECONDS);
+                assertNotNull(third);
+                assertEquals(TransactionChange.Type.TYPE_CREATED, first.getType());
+                assertEquals(TransactionChange.Type.TYPE_UPDATED, second.getType());
+                assertEquals(TransactionChange.Type.TYPE_DELETED, third.getType());
+                assertEquals(created.id(), third.getTransactionId());
+                assertFalse(third.hasTransaction());
+        }
+
+        private TransactionResponse create(String amount, String description) {
+                return transactionService.createTransaction(new TransactionRequest(
+                                new BigDecimal(amount), TransactionType.DEPOSIT, TransactionCategory.OTHER, description));
+        }
+
+        private static com.bank.transaction.grpc.proto.TransactionRequest request(String amount, String description) {
+                return com.bank.transaction.grpc.proto.TransactionRequest.newBuilder()
+                                .setAmount(amount)
+                                .setType(com.bank.transaction.grpc.proto.TransactionType.TRANSACTION_TYPE_DEPOSIT)
+                                .setCategory(com.bank.transaction.grpc.proto.TransactionCategory.TRANSACTION_CATEGORY_OTHER)
+                                .setDescription(description)
+                                .build();
+        }
+}
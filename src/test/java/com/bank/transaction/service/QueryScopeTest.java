@@ -0,0 +1,82 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.exception.DeadlineExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query Scope Tests
+ *
+ * Tests joining, failure propagation and cancellation of concurrently
+ * forked queries.
+ */
+class QueryScopeTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    @DisplayName("并发查询 - 全部成功后返回各自结果，子任务继承请求截止时间")
+    void join_AllSucceed() {
+        RequestDeadline deadline = RequestDeadline.start(5_000);
+        try (QueryScope scope = new QueryScope("test")) {
+            var rows = scope.fork(() -> "rows");
+            var seen = scope.fork(RequestDeadline::current);
+            scope.join(1_000);
+
+            assertEquals("rows", rows.get());
+            assertSame(deadline, seen.get());
+        }
+    }
+
+    @Test
+    @DisplayName("并发查询 - 一个失败时取消并中断另一个")
+    void join_FirstFailureCancelsSibling() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try (QueryScope scope = new QueryScope("test")) {
+            scope.fork(() -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return 0L;
+            });
+            scope.fork(() -> {
+                throw new IllegalStateException("count failed");
+            });
+
+            IllegalStateException failure = assertThrows(IllegalStateException.class, () -> scope.join(5_000));
+            assertEquals("count failed", failure.getMessage());
+        }
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("并发查询 - 超时抛出截止时间异常并取消子任务")
+    void join_TimesOut() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try (QueryScope scope = new QueryScope("test")) {
+            scope.fork(() -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return 0L;
+            });
+
+            DeadlineExceededException exceeded = assertThrows(DeadlineExceededException.class, () -> scope.join(50));
+            assertEquals(50, exceeded.timeoutMillis());
+        }
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+}
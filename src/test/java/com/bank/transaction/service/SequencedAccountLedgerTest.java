@@ -0,0 +1,229 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.dto.TransactionRequest;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.enums.TransactionCategory;
+import com.bank.transaction.enums.TransactionType;
+import com.bank.transaction.exception.InsufficientFundsException;
+import com.bank.transaction.mapper.LedgerHoldMapper;
+import com.bank.transaction.mapper.PendingCreditMapper;
+import com.bank.transaction.repository.AccountRepository;
+import com.bank.transaction.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sequenced Account Ledger Tests
+ *
+ * Runs the transaction service on the single-writer ledger engine.
+ */
+@SpringBootTest(properties = "app.ledger.engine=sequencer")
+class SequencedAccountLedgerTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountLedger accountLedger;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private PendingCreditMapper pendingCreditMapper;
+
+    @Autowired
+    private LedgerHoldMapper ledgerHoldMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        pendingCreditMapper.deleteAll();
+        ledgerHoldMapper.deleteAll();
+    }
+
+    @Test
+    @DisplayName("单写者账本 - 存款、取款、转账后余额正确")
+    void sequencer_TracksBalances() {
+        assertInstanceOf(SequencedAccountLedger.class, accountLedger);
+
+        transactionService.createTransaction(request("100.00", TransactionType.DEPOSIT, null, "acc-a", "存入"));
+        TransactionResponse transfer = transactionService.createTransaction(
+                request("40.00", TransactionType.TRANSFER, "acc-a", "acc-b", "转给 B"));
+        transactionService.createTransaction(request("15.00", TransactionType.WITHDRAWAL, "acc-b", null, "取出"));
+        assertBalance("60.00", "acc-a");
+        assertBalance("25.00", "acc-b");
+
+        transactionService.updateTransaction(transfer.id(),
+                request("20.00", TransactionType.TRANSFER, "acc-a", "acc-b", "转给 B"));
+        assertBalance("80.00", "acc-a");
+        assertBalance("5.00", "acc-b");
+        // Committed debits leave no holds behind
+        assertEquals(0, ledgerHoldMapper.count());
+    }
+
+    @Test
+    @DisplayName("单写者账本 - 第二笔扣款余额不足时退还第一笔扣款")
+    void sequencer_InsufficientFunds_RefundsEarlierDebits() {
+        TransactionResponse deposit = transactionService.createTransaction(
+                request("100.00", TransactionType.DEPOSIT, null, "acc-a", "存入 A"));
+        transactionService.createTransaction(request("10.00", TransactionType.DEPOSIT, null, "acc-b", "存入 B"));
+
+        // Reversing the deposit debits acc-a (succeeds), the withdrawal debits acc-b (fails)
+        InsufficientFundsException e = assertThrows(InsufficientFundsException.class,
+                () -> transactionService.updateTransaction(deposit.id(),
+                        request("50.00", TransactionType.WITHDRAWAL, "acc-b", null, "改为取款")));
+
+        assertEquals("acc-b", e.accountId());
+        assertBalance("100.00", "acc-a");
+        assertBalance("10.00", "acc-b");
+        assertEquals(TransactionType.DEPOSIT, transactionService.getTransaction(deposit.id()).type());
+    }
+
+    @Test
+    @DisplayName("单写者账本 - 热点账户并发转账总额守恒且不出现负余额")
+    void sequencer_HotAccountTransfers_ConserveTotal() throws Exception {
+        List<String> accounts = List.of("hot", "cold-1", "cold-2", "cold-3");
+        transactionService.createTransaction(request("500.00", TransactionType.DEPOSIT, null, "hot", "初始 hot"));
+        for (String account : accounts.subList(1, accounts.size())) {
+            transactionService.createTransaction(request("20.00", TransactionType.DEPOSIT, null, account, "初始 " + account));
+        }
+
+        int threads = 8;
+        int transfersPerThread = 25;
+        List<Future<Integer>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    int rejected = 0;
+                    for (int i = 0; i < transfersPerThread; i++) {
+                        // Every transfer touches the hot account, in either direction
+                        String cold = accounts.get(1 + (thread + i) % 3);
+                        boolean fromHot = (thread + i) % 2 == 0;
+                        try {
+                            transactionService.createTransaction(request("9.00", TransactionType.TRANSFER,
+                                    fromHot ? "hot" : cold, fromHot ? cold : "hot", "热点 " + thread + "-" + i));
+                        } catch (InsufficientFundsException e) {
+                            rejected++;
+                        }
+                    }
+                    return rejected;
+                }));
+            }
+        }
+        int rejected = 0;
+        for (Future<Integer> result : results) {
+            rejected += result.get();
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (String account : accounts) {
+            BigDecimal balance = accountService.getBalance(account).balance();
+            assertTrue(balance.signum() >= 0, account + " went negative: " + balance);
+            total = total.add(balance);
+        }
+        assertEquals(0, new BigDecimal("560.00").compareTo(total));
+        assertEquals(accounts.size() + threads * transfersPerThread - rejected, transactionRepository.count());
+    }
+
+    @Test
+    @DisplayName("单写者账本 - 入账日志写入失败时保留待入账记录，重放后只入账一次")
+    void sequencer_CreditJournalFails_ReplaysPendingCredit() {
+        transactionService.createTransaction(request("900.00", TransactionType.DEPOSIT, null, "acc-a", "存入 A"));
+        transactionService.createTransaction(request("950.00", TransactionType.DEPOSIT, null, "acc-b", "存入 B"));
+
+        // Any balance write of 1000 or more now fails, so the credit to acc-b cannot be journaled
+        jdbcTemplate.execute("ALTER TABLE accounts ADD CONSTRAINT chk_test_balance CHECK (balance < 1000)");
+        try {
+            TransactionResponse transfer = transactionService.createTransaction(
+                    request("100.00", TransactionType.TRANSFER, "acc-a", "acc-b", "转给 B"));
+
+            // The transfer and the debit committed; the credit waits as a pending row
+            assertEquals("转给 B", transactionService.getTransaction(transfer.id()).description());
+            assertBalance("800.00", "acc-a");
+            assertBalance("950.00", "acc-b");
+            assertEquals(1, pendingCreditMapper.count());
+
+            // Replays keep failing while the journal does
+            assertEquals(1, ((SequencedAccountLedger) accountLedger).replayPendingCredits(Duration.ZERO));
+            assertEquals(1, pendingCreditMapper.count());
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE accounts DROP CONSTRAINT chk_test_balance");
+        }
+
+        var ledger = (SequencedAccountLedger) accountLedger;
+        assertEquals(1, ledger.replayPendingCredits(Duration.ZERO));
+        assertBalance("1050.00", "acc-b");
+        assertEquals(0, pendingCreditMapper.count());
+        assertEquals(0, ledger.replayPendingCredits(Duration.ZERO));
+        assertBalance("1050.00", "acc-b");
+    }
+
+    @Test
+    @DisplayName("单写者账本 - 回滚后退款日志写入失败时保留冻结记录，重放后余额恢复")
+    void sequencer_RefundJournalFails_ReplaysHoldRefund() {
+        TransactionResponse deposit = transactionService.createTransaction(
+                request("100.00", TransactionType.DEPOSIT, null, "acc-a", "存入 A"));
+        transactionService.createTransaction(request("10.00", TransactionType.DEPOSIT, null, "acc-b", "存入 B"));
+
+        // Balances of 50 or more can no longer be written, so acc-a can be debited but not refunded
+        jdbcTemplate.execute("ALTER TABLE accounts ADD CONSTRAINT chk_test_balance CHECK (balance < 50) NOCHECK");
+        var ledger = (SequencedAccountLedger) accountLedger;
+        try {
+            // Reversing the deposit debits acc-a, the withdrawal from acc-b fails, the refund fails
+            assertThrows(InsufficientFundsException.class,
+                    () -> transactionService.updateTransaction(deposit.id(),
+                            request("50.00", TransactionType.WITHDRAWAL, "acc-b", null, "改为取款")));
+            assertBalance("0.00", "acc-a");
+            assertEquals(1, ledgerHoldMapper.count());
+
+            assertEquals(1, ledger.replayPendingCredits(Duration.ZERO));
+            assertBalance("0.00", "acc-a");
+            assertEquals(1, ledgerHoldMapper.count());
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE accounts DROP CONSTRAINT chk_test_balance");
+        }
+
+        assertEquals(1, ledger.replayPendingCredits(Duration.ZERO));
+        assertBalance("100.00", "acc-a");
+        assertEquals(0, ledgerHoldMapper.count());
+        assertEquals(0, ledger.replayPendingCredits(Duration.ZERO));
+        assertBalance("100.00", "acc-a");
+        assertEquals(TransactionType.DEPOSIT, transactionService.getTransaction(deposit.id()).type());
+    }
+
+    private void assertBalance(String expected, String accountId) {
+        assertEquals(0, new BigDecimal(expected).compareTo(accountService.getBalance(accountId).balance()),
+                accountId + " balance");
+    }
+
+    private static TransactionRequest request(String amount, TransactionType type, String source, String target,
+            String description) {
+        return new TransactionRequest(new BigDecimal(amount), type, TransactionCategory.OTHER, description, source, target);
+    }
+}
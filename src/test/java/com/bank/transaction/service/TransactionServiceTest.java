@@ -1,20 +1,49 @@
 package com.bank.transaction.service;
 
+import com.bank.transaction.config.CacheConfig;
 import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionChangesResponse;
 import com.bank.transaction.dto.TransactionRequest;
 import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.entity.Transaction;
 import com.bank.transaction.enums.TransactionCategory;
+import com.bank.transaction.enums.TransactionSort;
 import com.bank.transaction.enums.TransactionType;
+import com.bank.transaction.exception.AccountNotFoundException;
+import com.bank.transaction.exception.DeadlineExceededException;
 import com.bank.transaction.exception.DuplicateTransactionException;
+import com.bank.transaction.exception.InsufficientFundsException;
+import com.bank.transaction.exception.SnapshotExpiredException;
 import com.bank.transaction.exception.TransactionNotFoundException;
+import com.bank.transaction.repository.AccountRepository;
+import com.bank.transaction.mapper.TransactionMapper;
+import com.bank.transaction.repository.ChangeSequencer;
 import com.bank.transaction.repository.TransactionRepository;
+import com.bank.transaction.repository.TransactionVersionStore;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -33,9 +62,31 @@ class TransactionServiceTest {
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionVersionStore versionStore;
+
+    @Autowired
+    private ChangeSequencer changeSequencer;
+
     @BeforeEach
     void setUp() {
         transactionRepository.deleteAll();
+        accountRepository.deleteAll();
     }
 
     @Test
@@ -147,6 +198,226 @@ class TransactionServiceTest {
         assertTrue(page3.last());
     }
 
+    @Test
+    @DisplayName("并发分页获取 - 与顺序查询结果一致")
+    void getAllTransactionsConcurrently_MatchesSequential() {
+        for (int i = 0; i < 15; i++) {
+            transactionService.createTransaction(new TransactionRequest(
+                    new BigDecimal(200 + i),
+                    TransactionType.DEPOSIT,
+                    TransactionCategory.SALARY,
+                    "Concurrent " + i));
+        }
+
+        PageResponse<TransactionResponse> concurrent = transactionService.getAllTransactionsConcurrently(1, 10);
+        var expected = transactionRepository.findAllPaginated(1, 10).stream()
+                .map(TransactionResponse::fromEntity)
+                .toList();
+        assertEquals(expected, concurrent.content());
+        assertEquals(5, concurrent.content().size());
+        assertEquals(15, concurrent.totalElements());
+        assertEquals(2, concurrent.totalPages());
+    }
+
+    @Test
+    @DisplayName("排序分页 - 每种排序由对应索引返回，游标逐页遍历与内存排序一致")
+    void getSortedTransactions_AllOrders() {
+        cacheManager.getCache(CacheConfig.TRANSACTION_LIST_CACHE).clear();
+        List<Transaction> rows = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.of(2024, 5, 1, 9, 0);
+        for (int i = 0; i < 23; i++) {
+            rows.add(Transaction.builder()
+                    .id(UUID.randomUUID().toString())
+                    // Repeated amounts and shared timestamps exercise the ID tie-break
+                    .amount(new BigDecimal(i % 7 * 10 + 5))
+                    .type(TransactionType.values()[i % 3])
+                    .category(TransactionCategory.values()[i % 4])
+                    .description("Sorted " + i)
+                    .timestamp(base.plusMinutes(i / 2))
+                    .build());
+        }
+        transactionRepository.saveAll(rows);
+
+        for (TransactionSort sort : TransactionSort.values()) {
+            List<String> expected = rows.stream().sorted(sort.comparator()).map(Transaction::getId).toList();
+
+            List<String> walked = new ArrayList<>();
+            String cursor = null;
+            do {
+                PageResponse<TransactionResponse> page = transactionService.getSortedTransactions(sort, 0, 5, cursor);
+                page.content().forEach(transaction -> walked.add(transaction.id()));
+                cursor = page.nextCursor();
+            } while (cursor != null);
+            assertEquals(expected, walked, sort.name());
+
+            PageResponse<TransactionResponse> third = transactionService.getSortedTransactions(sort, 2, 5, null);
+            assertEquals(expected.subList(10, 15), third.content().stream().map(TransactionResponse::id).toList());
+            assertEquals(23, third.totalElements());
+
+            for (Transaction after : Arrays.asList(null, rows.get(11))) {
+                for (String statement : List.of("findSorted", "findSortedUpTo")) {
+                    String plan = explainFindSorted(statement, sort, after);
+                    assertTrue(plan.contains(sort.getIndex().toUpperCase()) && plan.contains("/* index sorted */"),
+                            statement + " " + sort + ": " + plan);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("读快照 - 翻页期间的更新、删除和新增不可见，释放后回收旧版本")
+    void getSnapshotTransactions_FrozenView() {
+        for (int i = 0; i < 12; i++) {
+            transactionService.createTransaction(new TransactionRequest(
+                    new BigDecimal(100 + i), TransactionType.DEPOSIT, TransactionCategory.OTHER, "Snapshot " + i));
+        }
+        List<Transaction> before = transactionRepository.findAll().stream()
+                .sorted(TransactionSort.TIMESTAMP_DESC.comparator())
+                .toList();
+
+        PageResponse<TransactionResponse> first = transactionService.getSnapshotTransactions(
+                null, TransactionSort.TIMESTAMP_DESC, 0, 5, null);
+        String token = first.snapshotToken();
+        assertNotNull(token);
+        assertEquals(12, first.totalElements());
+
+        // Writers go ahead while the snapshot is open
+        Transaction updated = before.get(7);
+        transactionService.updateTransaction(updated.getId(), new TransactionRequest(
+                new BigDecimal("999.00"), TransactionType.DEPOSIT, TransactionCategory.OTHER, "Changed"));
+        transactionService.deleteTransaction(before.get(9).getId());
+        transactionService.createTransaction(new TransactionRequest(
+                new BigDecimal("1.00"), TransactionType.DEPOSIT, TransactionCategory.OTHER, "Created later"));
+        assertEquals(2, versionStore.retainedVersions());
+
+        List<TransactionResponse> walked = new ArrayList<>(first.content());
+        String cursor = first.nextCursor();
+        while (cursor != null) {
+            PageResponse<TransactionResponse> page = transactionService.getSnapshotTransactions(
+                    token, TransactionSort.TIMESTAMP_DESC, 0, 5, cursor);
+            assertEquals(token, page.snapshotToken());
+            assertEquals(12, page.totalElements());
+            walked.addAll(page.content());
+            cursor = page.nextCursor();
+        }
+        assertEquals(before.stream().map(Transaction::getId).toList(),
+                walked.stream().map(TransactionResponse::id).toList());
+        assertEquals(before.stream().map(Transaction::getDescription).toList(),
+                walked.stream().map(TransactionResponse::description).toList());
+
+        PageResponse<TransactionResponse> offsetPage = transactionService.getSnapshotTransactions(
+                token, TransactionSort.AMOUNT_DESC, 1, 5, null);
+        assertEquals(before.stream().sorted(TransactionSort.AMOUNT_DESC.comparator()).skip(5).limit(5)
+                        .map(Transaction::getId).toList(),
+                offsetPage.content().stream().map(TransactionResponse::id).toList());
+
+        // A new snapshot sees the writes
+        PageResponse<TransactionResponse> current = transactionService.getSnapshotTransactions(
+                null, TransactionSort.AMOUNT_DESC, 0, 1, null);
+        assertEquals(12, current.totalElements());
+        assertEquals("Changed", current.content().get(0).description());
+
+        transactionService.releaseSnapshot(token);
+        transactionService.releaseSnapshot(current.snapshotToken());
+        assertEquals(0, versionStore.retainedVersions());
+        assertThrows(SnapshotExpiredException.class, () -> transactionService.getSnapshotTransactions(
+                token, TransactionSort.TIMESTAMP_DESC, 0, 5, null));
+        assertThrows(SnapshotExpiredException.class, () -> transactionService.releaseSnapshot(token));
+    }
+
+    @Test
+    @DisplayName("读快照 - 反复改写后各排序按游标仍返回冻结视图")
+    void getSnapshotTransactions_ManyRetainedVersions_EveryOrder() {
+        for (int i = 0; i < 10; i++) {
+            transactionService.createTransaction(new TransactionRequest(new BigDecimal(100 + i),
+                    TransactionType.values()[i % 3], TransactionCategory.values()[i % 4], "Version " + i));
+        }
+        List<Transaction> before = transactionRepository.findAll();
+        PageResponse<TransactionResponse> opened = transactionService.getSnapshotTransactions(
+                null, TransactionSort.TIMESTAMP_DESC, 0, 3, null);
+        String token = opened.snapshotToken();
+
+        // Every row rewritten three times, moving it in every order
+        for (int round = 1; round <= 3; round++) {
+            for (int i = 0; i < before.size(); i++) {
+                transactionService.updateTransaction(before.get(i).getId(), new TransactionRequest(
+                        new BigDecimal(500 - 37 * round - i), TransactionType.values()[(i + round) % 3],
+                        TransactionCategory.values()[(i + round) % 4], "Round " + round + " " + i));
+            }
+        }
+        assertEquals(30, versionStore.retainedVersions());
+
+        for (TransactionSort sort : TransactionSort.values()) {
+            List<String> walked = new ArrayList<>();
+            String cursor = null;
+            do {
+                PageResponse<TransactionResponse> page = transactionService.getSnapshotTransactions(
+                        token, sort, 0, 3, cursor);
+                assertEquals(10, page.totalElements());
+                page.content().forEach(t -> walked.add(t.id()));
+                cursor = page.nextCursor();
+            } while (cursor != null);
+            assertEquals(before.stream().sorted(sort.comparator()).map(Transaction::getId).toList(), walked,
+                    sort.name());
+        }
+
+        // A snapshot opened now counts each row once, whatever versions are retained
+        PageResponse<TransactionResponse> current = transactionService.getSnapshotTransactions(
+                null, TransactionSort.AMOUNT_ASC, 0, 1, null);
+        assertEquals(10, current.totalElements());
+        transactionService.releaseSnapshot(current.snapshotToken());
+        transactionService.releaseSnapshot(token);
+        assertEquals(0, versionStore.retainedVersions());
+    }
+
+    @Test
+    @DisplayName("读快照 - 过期快照的旧版本由写入方回收，无需读取方")
+    void versionStore_ExpiredSnapshot_ReclaimedByWriter() throws InterruptedException {
+        TransactionVersionStore store = new TransactionVersionStore(changeSequencer, 1, 10);
+        TransactionResponse created = transactionService.createTransaction(new TransactionRequest(
+                new BigDecimal("10.00"), TransactionType.DEPOSIT, TransactionCategory.OTHER, "Expiring"));
+        Transaction previous = transactionRepository.findById(created.id()).orElseThrow();
+        long snapshotSeq = store.open(seq -> 1).seq();
+        for (int i = 0; i < 2; i++) {
+            transactionService.createTransaction(new TransactionRequest(
+                    new BigDecimal(20 + i), TransactionType.DEPOSIT, TransactionCategory.OTHER, "Later " + i));
+        }
+
+        // The open snapshot still sees the version a later write replaced
+        store.retain(previous, snapshotSeq + 1);
+        assertEquals(1, store.retainedVersions());
+
+        // Once its lease lapses the next write drops it, with no snapshot read in between
+        Thread.sleep(1100);
+        store.retain(previous, snapshotSeq + 2);
+        assertEquals(0, store.retainedVersions());
+    }
+
+    @Test
+    @DisplayName("读快照 - 导出固定的快照不计入上限，不被挤掉，也不挤掉客户端快照")
+    void versionStore_PinnedSnapshot_NotEvicted() throws InterruptedException {
+        TransactionVersionStore store = new TransactionVersionStore(changeSequencer, 1, 1);
+        TransactionResponse created = transactionService.createTransaction(new TransactionRequest(
+                new BigDecimal("10.00"), TransactionType.DEPOSIT, TransactionCategory.OTHER, "Pinned"));
+        Transaction previous = transactionRepository.findById(created.id()).orElseThrow();
+
+        try (TransactionVersionStore.Pin pin = store.pin()) {
+            String client = store.open(seq -> 1).token();
+            assertEquals(1, store.openSnapshots());
+            assertEquals(1, store.openPins());
+            store.get(client);
+
+            // The pin outlives the lease TTL and a full lease set
+            store.retain(previous, pin.seq() + 1);
+            Thread.sleep(1100);
+            store.open(seq -> 1);
+            store.retain(previous, pin.seq() + 2);
+            assertEquals(2, store.retainedVersions());
+        }
+        assertEquals(0, store.openPins());
+        assertEquals(1, store.openSnapshots());
+    }
+
     @Test
     @DisplayName("分页获取 - 空结果")
     void getAllTransactions_Empty() {
@@ -263,4 +534,195 @@ class TransactionServiceTest {
         assertNotNull(recreated);
         assertNotEquals(created.id(), recreated.id());
     }
+
+    @Test
+    @DisplayName("增量同步 - 只返回检查点之后的修改与删除")
+    void getChangesSince_ReturnsOnlyLaterChanges() {
+        TransactionResponse first = transactionService.createTransaction(request("10.00", "增量一"));
+        TransactionResponse second = transactionService.createTransaction(request("20.00", "增量二"));
+
+        TransactionChangesResponse initial = transactionService.getChangesSince(0, 100);
+        assertEquals(List.of(first.id(), second.id()), initial.changed().stream().map(TransactionResponse::id).toList());
+        assertTrue(initial.deleted().isEmpty());
+        assertFalse(initial.hasMore());
+
+        transactionService.updateTransaction(first.id(), request("11.00", "增量一"));
+        transactionService.deleteTransaction(second.id());
+        TransactionResponse third = transactionService.createTransaction(request("30.00", "增量三"));
+
+        TransactionChangesResponse delta = transactionService.getChangesSince(initial.nextSince(), 100);
+        assertEquals(List.of(first.id(), third.id()), delta.changed().stream().map(TransactionResponse::id).toList());
+        assertEquals(new BigDecimal("11.00"), delta.changed().get(0).amount().setScale(2));
+        assertEquals(List.of(second.id()), delta.deleted());
+        assertTrue(delta.nextSince() > initial.nextSince());
+
+        TransactionChangesResponse empty = transactionService.getChangesSince(delta.nextSince(), 100);
+        assertTrue(empty.changed().isEmpty());
+        assertTrue(empty.deleted().isEmpty());
+        assertEquals(delta.nextSince(), empty.nextSince());
+    }
+
+    @Test
+    @DisplayName("增量同步 - 按 limit 分批直至同步完成")
+    void getChangesSince_PagesByLimit() {
+        for (int i = 0; i < 5; i++) {
+            transactionService.createTransaction(request("4" + i + ".00", "分批 " + i));
+        }
+
+        List<String> synced = new ArrayList<>();
+        long since = 0;
+        TransactionChangesResponse batch;
+        do {
+            batch = transactionService.getChangesSince(since, 2);
+            assertTrue(batch.changed().size() <= 2);
+            batch.changed().forEach(t -> synced.add(t.id()));
+            since = batch.nextSince();
+        } while (batch.hasMore());
+
+        assertEquals(5, synced.size());
+        assertEquals(5, synced.stream().distinct().count());
+    }
+
+    @Test
+    @DisplayName("请求截止时间已过 - 服务入口直接拒绝，也不再执行数据库语句")
+    void deadlineExpired_StatementsNotExecuted() {
+        RequestDeadline.start(0);
+        try {
+            assertThrows(DeadlineExceededException.class,
+                    () -> transactionService.createTransaction(request("12.00", "已超时")));
+            // Statements issued past the entry check are not run either
+            assertThrows(QueryTimeoutException.class, () -> transactionRepository.count());
+        } finally {
+            RequestDeadline.clear();
+        }
+        assertEquals(0, transactionRepository.count());
+    }
+
+    @Test
+    @DisplayName("账户余额 - 存款、取款、转账、更新与删除")
+    void accountLedger_TracksBalances() {
+        assertThrows(AccountNotFoundException.class, () -> accountService.getBalance("acc-a"));
+
+        TransactionResponse deposit = transactionService.createTransaction(
+                accountRequest("100.00", TransactionType.DEPOSIT, null, "acc-a", "存入"));
+        transactionService.createTransaction(accountRequest("30.00", TransactionType.WITHDRAWAL, "acc-a", null, "取出"));
+        TransactionResponse transfer = transactionService.createTransaction(
+                accountRequest("50.00", TransactionType.TRANSFER, "acc-a", "acc-b", "转给 B"));
+        assertEquals("acc-a", transfer.sourceAccountId());
+        assertEquals("acc-b", transfer.targetAccountId());
+        assertBalance("20.00", "acc-a");
+        assertBalance("50.00", "acc-b");
+
+        // Updating reverses the old effect before applying the new one
+        transactionService.updateTransaction(transfer.id(),
+                accountRequest("60.00", TransactionType.TRANSFER, "acc-a", "acc-b", "转给 B"));
+        assertBalance("10.00", "acc-a");
+        assertBalance("60.00", "acc-b");
+
+        transactionService.deleteTransaction(transfer.id());
+        assertBalance("70.00", "acc-a");
+        assertBalance("0.00", "acc-b");
+
+        // Taking back a deposit that has been spent would overdraw the account
+        transactionService.createTransaction(accountRequest("70.00", TransactionType.WITHDRAWAL, "acc-a", null, "全部取出"));
+        assertThrows(InsufficientFundsException.class, () -> transactionService.deleteTransaction(deposit.id()));
+        assertEquals(deposit.id(), transactionService.getTransaction(deposit.id()).id());
+    }
+
+    @Test
+    @DisplayName("账户余额 - 余额不足的转账被拒绝且不留下任何修改")
+    void accountLedger_InsufficientFunds_RolledBack() {
+        transactionService.createTransaction(accountRequest("40.00", TransactionType.DEPOSIT, null, "acc-a", "存入"));
+        long count = transactionRepository.count();
+
+        InsufficientFundsException e = assertThrows(InsufficientFundsException.class,
+                () -> transactionService.createTransaction(
+                        accountRequest("40.01", TransactionType.TRANSFER, "acc-a", "acc-b", "透支")));
+
+        assertEquals("acc-a", e.accountId());
+        assertEquals(count, transactionRepository.count());
+        assertBalance("40.00", "acc-a");
+        assertThrows(AccountNotFoundException.class, () -> accountService.getBalance("acc-b"));
+    }
+
+    @Test
+    @DisplayName("账户余额 - 并发对向转账总额守恒且不出现负余额")
+    void accountLedger_ConcurrentTransfers_ConserveTotal() throws Exception {
+        List<String> accounts = List.of("acc-0", "acc-1", "acc-2", "acc-3");
+        for (String account : accounts) {
+            transactionService.createTransaction(accountRequest("100.00", TransactionType.DEPOSIT, null, account, "初始 " + account));
+        }
+
+        int threads = 8;
+        int transfersPerThread = 25;
+        List<Future<Integer>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    int rejected = 0;
+                    for (int i = 0; i < transfersPerThread; i++) {
+                        // Neighbouring threads move money in opposite directions over the same pairs
+                        String from = accounts.get((thread + i) % accounts.size());
+                        String to = accounts.get((thread + i + (thread % 2 == 0 ? 1 : 3)) % accounts.size());
+                        try {
+                            transactionService.createTransaction(accountRequest("7.00", TransactionType.TRANSFER,
+                                    from, to, "并发 " + thread + "-" + i));
+                        } catch (InsufficientFundsException e) {
+                            rejected++;
+                        }
+                    }
+                    return rejected;
+                }));
+            }
+        }
+        int rejected = 0;
+        for (Future<Integer> result : results) {
+            rejected += result.get();
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (String account : accounts) {
+            BigDecimal balance = accountService.getBalance(account).balance();
+            assertTrue(balance.signum() >= 0, account + " went negative: " + balance);
+            total = total.add(balance);
+        }
+        assertEquals(0, new BigDecimal("400.00").compareTo(total));
+        assertEquals(accounts.size() + threads * transfersPerThread - rejected, transactionRepository.count());
+    }
+
+    /**
+     * H2 query plan of the sorted list statement as MyBatis would run it
+     */
+    private String explainFindSorted(String statement, TransactionSort sort, Transaction after) {
+        Configuration configuration = sqlSessionFactory.getConfiguration();
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("sort", sort);
+        parameters.put("after", after);
+        parameters.put("upTo", transactionRepository.committedChangeSeq());
+        parameters.put("offset", 0);
+        parameters.put("limit", 5);
+        BoundSql sql = configuration.getMappedStatement(TransactionMapper.class.getName() + "." + statement)
+                .getBoundSql(parameters);
+        MetaObject values = configuration.newMetaObject(parameters);
+        Object[] arguments = sql.getParameterMappings().stream()
+                .map(mapping -> values.getValue(mapping.getProperty()))
+                .map(value -> value instanceof Enum<?> constant ? constant.name() : value)
+                .toArray();
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql.getSql(), String.class, arguments);
+    }
+
+    private void assertBalance(String expected, String accountId) {
+        assertEquals(0, new BigDecimal(expected).compareTo(accountService.getBalance(accountId).balance()),
+                accountId + " balance");
+    }
+
+    private static TransactionRequest accountRequest(String amount, TransactionType type, String source, String target,
+            String description) {
+        return new TransactionRequest(new BigDecimal(amount), type, TransactionCategory.OTHER, description, source, target);
+    }
+
+    private static TransactionRequest request(String amount, String description) {
+        return new TransactionRequest(new BigDecimal(amount), TransactionType.DEPOSIT, TransactionCategory.OTHER, description);
+    }
 }
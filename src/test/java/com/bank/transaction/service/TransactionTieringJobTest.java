@@ -0,0 +1,191 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.config.ArchiveProperties;
+import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionRequest;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.enums.TransactionCategory;
+import com.bank.transaction.enums.TransactionSort;
+import com.bank.transaction.enums.TransactionType;
+import com.bank.transaction.exception.TransactionArchivedException;
+import com.bank.transaction.repository.TransactionArchive;
+import com.bank.transaction.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Transaction Tiering Job Tests
+ *
+ * Archives old transactions into segment files and reads them back through
+ * the regular service API.
+ */
+@SpringBootTest(properties = {"app.archive.enabled=true", "app.archive.block-records=8"})
+class TransactionTieringJobTest {
+
+    @TempDir
+    static Path archiveDirectory;
+
+    @DynamicPropertySource
+    static void archiveProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.archive.directory", archiveDirectory::toString);
+    }
+
+    @Autowired
+    private TransactionTieringJob tieringJob;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ArchiveProperties archiveProperties;
+
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("分层归档 - 旧交易移出热表，按 ID 与分页仍可读取")
+    void archive_MovesOldTransactions() {
+        // 30 old transactions spread over three months, 5 recent ones
+        List<Transaction> seeded = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            seeded.add(transaction("old-%02d".formatted(i), now.minusDays(200 + 3L * i)));
+        }
+        for (int i = 0; i < 5; i++) {
+            seeded.add(transaction("new-%02d".formatted(i), now.minusDays(i)));
+        }
+        transactionRepository.saveAll(seeded);
+        List<String> expectedOrder = transactionService.getAllTransactions(0, 100).content().stream()
+                .map(TransactionResponse::id)
+                .toList();
+
+        assertEquals(30, tieringJob.archiveOlderThan(now.minusDays(90)));
+        assertEquals(0, tieringJob.archiveOlderThan(now.minusDays(90)));
+
+        assertEquals(5, transactionRepository.findAll().stream().filter(t -> t.getId().startsWith("new")).count());
+        assertTrue(transactionRepository.isArchived("old-17"));
+        assertFalse(transactionRepository.isArchived("new-01"));
+        assertEquals("old-17", transactionService.getTransaction("old-17").id());
+        assertEquals(0, new BigDecimal("17.00").compareTo(transactionService.getTransaction("old-17").amount()));
+
+        // Pages run through the hot rows and on into the archive without gaps or repeats
+        List<String> paged = new ArrayList<>();
+        for (int page = 0; page < 5; page++) {
+            PageResponse<TransactionResponse> response = transactionService.getAllTransactions(page, 8);
+            assertEquals(35, response.totalElements());
+            response.content().forEach(t -> paged.add(t.id()));
+        }
+        assertEquals(expectedOrder, paged);
+    }
+
+    @Test
+    @DisplayName("分层归档 - 排序分页合并热表与归档，偏移翻页仅限默认排序")
+    void archive_SortedPagesMergeHotAndArchived() {
+        List<Transaction> seeded = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            seeded.add(transaction("old-%02d".formatted(i), now.minusDays(200 + i)));
+        }
+        for (int i = 0; i < 10; i++) {
+            seeded.add(transaction("new-%02d".formatted(i), now.minusDays(i)));
+        }
+        for (int i = 0; i < seeded.size(); i++) {
+            seeded.get(i).setType(TransactionType.values()[i % 3]);
+            seeded.get(i).setCategory(TransactionCategory.values()[i % 4]);
+        }
+        transactionRepository.saveAll(seeded);
+        assertEquals(30, tieringJob.archiveOlderThan(now.minusDays(90)));
+
+        for (TransactionSort sort : TransactionSort.values()) {
+            List<String> expected = seeded.stream().sorted(sort.comparator()).map(Transaction::getId).toList();
+            List<String> walked = new ArrayList<>();
+            String cursor = null;
+            do {
+                PageResponse<TransactionResponse> page = transactionService.getSortedTransactions(sort, 0, 7, cursor);
+                page.content().forEach(t -> walked.add(t.id()));
+                cursor = page.nextCursor();
+            } while (cursor != null);
+            assertEquals(expected, walked, sort.name());
+
+            if (sort == TransactionSort.TIMESTAMP_DESC) {
+                // The offset is split at the hot row count, across the boundary and inside the archive
+                for (int page = 1; page < 6; page++) {
+                    assertEquals(expected.subList(page * 7, Math.min(page * 7 + 7, expected.size())),
+                            transactionService.getSortedTransactions(sort, page, 7, null)
+                                    .content().stream().map(TransactionResponse::id).toList());
+                }
+            } else {
+                assertThrows(IllegalArgumentException.class,
+                        () -> transactionService.getSortedTransactions(sort, 2, 7, null), sort.name());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("分层归档 - 已归档交易不可修改或删除")
+    void archive_ArchivedTransactionsAreReadOnly() {
+        transactionRepository.saveAll(List.of(transaction("old-00", now.minusDays(120))));
+        tieringJob.archiveOlderThan(now.minusDays(90));
+
+        TransactionRequest request = new TransactionRequest(new BigDecimal("1.00"), TransactionType.DEPOSIT,
+                TransactionCategory.SALARY, "修改", null, null);
+        assertThrows(TransactionArchivedException.class,
+                () -> transactionService.updateTransaction("old-00", request));
+        assertThrows(TransactionArchivedException.class, () -> transactionService.deleteTransaction("old-00"));
+        assertEquals("old-00", transactionService.getTransaction("old-00").id());
+    }
+
+    @Test
+    @DisplayName("分层归档 - 重启后从目录重新加载归档段")
+    void archive_ReloadsSegments() {
+        List<Transaction> seeded = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            seeded.add(transaction("old-%02d".formatted(i), now.minusDays(100 + i)));
+        }
+        transactionRepository.saveAll(seeded);
+        tieringJob.archiveOlderThan(now.minusDays(90));
+
+        TransactionArchive reopened = new TransactionArchive(archiveProperties);
+        assertEquals(20, reopened.count());
+        assertEquals("old-11", reopened.findById("old-11").orElseThrow().getId());
+        assertEquals(List.of("old-05", "old-06"),
+                reopened.findPage(5, 2).stream().map(Transaction::getId).toList());
+        // Sorted reads come off the index stored in the segment
+        assertEquals(seeded.stream().sorted(TransactionSort.AMOUNT_ASC.comparator()).skip(4).limit(3)
+                        .map(Transaction::getId).toList(),
+                reopened.findSorted(TransactionSort.AMOUNT_ASC, seeded.get(3), 3).stream()
+                        .map(Transaction::getId).toList());
+    }
+
+    private static Transaction transaction(String id, LocalDateTime timestamp) {
+        return Transaction.builder()
+                .id(id)
+                .amount(new BigDecimal(id.substring(id.length() - 2) + ".00"))
+                .type(TransactionType.DEPOSIT)
+                .category(TransactionCategory.SALARY)
+                .description("交易 " + id)
+                .timestamp(timestamp)
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.bank.transaction.stress;
+
+import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.enums.TransactionCategory;
+import com.bank.transaction.enums.TransactionType;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Serialization Format Stress Tests
+ *
+ * Compares payload size and encode/decode throughput of JSON against the
+ * Smile and CBOR binary representations offered through content negotiation.
+ */
+class SerializationFormatStressTest {
+
+    private static final TypeReference<PageResponse<TransactionResponse>> PAGE_TYPE = new TypeReference<>() {
+    };
+
+    private static final int PAGE_SIZE = 100;
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 5_000;
+
+    @Test
+    @DisplayName("序列化格式对比 - JSON vs Smile vs CBOR")
+    void compareSerializationFormats() throws Exception {
+        PageResponse<TransactionResponse> page = samplePage();
+
+        ObjectMapper json = configure(Jackson2ObjectMapperBuilder.json());
+        ObjectMapper smile = configure(Jackson2ObjectMapperBuilder.smile());
+        ObjectMapper cbor = configure(Jackson2ObjectMapperBuilder.cbor());
+
+        FormatResult jsonResult = measure("JSON", json, page);
+        FormatResult smileResult = measure("Smile", smile, page);
+        FormatResult cborResult = measure("CBOR", cbor, page);
+
+        System.out.println("========== 序列化格式对比 (" + PAGE_SIZE + " 条/页) ==========");
+        for (FormatResult result : List.of(jsonResult, smileResult, cborResult)) {
+            System.out.printf("%-6s 大小: %6d bytes (%.0f%% of JSON), 编码: %7.2f µs, 解码: %7.2f µs%n",
+                    result.name(), result.bytes(), 100.0 * result.bytes() / jsonResult.bytes(),
+                    result.encodeMicros(), result.decodeMicros());
+        }
+        System.out.println("==========================================");
+
+        assertTrue(smileResult.bytes() < jsonResult.bytes(), "Smile 负载应小于 JSON");
+        assertTrue(cborResult.bytes() < jsonResult.bytes(), "CBOR 负载应小于 JSON");
+    }
+
+    private static ObjectMapper configure(Jackson2ObjectMapperBuilder builder) {
+        // Mirror Spring Boot's defaults for the application ObjectMapper
+        return builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    }
+
+    private static FormatResult measure(String name, ObjectMapper mapper,
+            PageResponse<TransactionResponse> page) throws Exception {
+        byte[] encoded = mapper.writeValueAsBytes(page);
+
+        // Round trip must be lossless
+        assertEquals(page, mapper.readValue(encoded, PAGE_TYPE));
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(page), PAGE_TYPE);
+        }
+
+        long encodeStart = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            encoded = mapper.writeValueAsBytes(page);
+        }
+        long encodeNanos = System.nanoTime() - encodeStart;
+
+        long decodeStart = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            mapper.readValue(encoded, PAGE_TYPE);
+        }
+        long decodeNanos = System.nanoTime() - decodeStart;
+
+        return new FormatResult(name, encoded.length,
+                encodeNanos / 1_000.0 / MEASURED_ITERATIONS,
+                decodeNanos / 1_000.0 / MEASURED_ITERATIONS);
+    }
+
+    private static PageResponse<TransactionResponse> samplePage() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<TransactionResponse> content = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            TransactionType type = TransactionType.values()[i % TransactionType.values().length];
+            TransactionCategory category = TransactionCategory.values()[i % TransactionCategory.values().length];
+            content.add(new TransactionResponse(
+                    UUID.randomUUID().toString(),
+                    new BigDecimal("1000.00").add(BigDecimal.valueOf(i * 37L, 2)),
+                    type,
+                    type.getDisplayName(),
+                    category,
+                    category.getDisplayName(),
+                    "Serialization benchmark " + i,
+                    now.minusMinutes(i),
+                    null,
+                    null));
+        }
+        return PageResponse.of(content, 0, PAGE_SIZE, 10_000);
+    }
+
+    private record FormatResult(String name, int bytes, double encodeMicros, double decodeMicros) {
+    }
+}
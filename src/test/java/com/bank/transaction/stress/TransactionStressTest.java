@@ -3,6 +3,7 @@ package com.bank.transaction.stress;
 import com.bank.transaction.dto.PageResponse;
 import com.bank.transaction.dto.TransactionRequest;
 import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.entity.Transaction;
 import com.bank.transaction.enums.TransactionCategory;
 import com.bank.transaction.enums.TransactionType;
 import com.bank.transaction.repository.TransactionRepository;
@@ -14,8 +15,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -352,4 +356,37 @@ class TransactionStressTest {
         assertEquals(totalRecords, transactionRepository.count());
         assertTrue(duration < 30000, "1000条记录写入应在30秒内完成");
     }
+
+    @Test
+    @DisplayName("批量导入性能测试 - 10000 条 (多行 INSERT)")
+    void repositoryBulkLoadPerformanceTest() {
+        int totalRecords = 10_000;
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        List<Transaction> transactions = new ArrayList<>(totalRecords);
+        for (int i = 0; i < totalRecords; i++) {
+            transactions.add(Transaction.builder()
+                    .id(UUID.randomUUID().toString())
+                    .amount(new BigDecimal(100 + i))
+                    .type(TransactionType.values()[i % 3])
+                    .category(TransactionCategory.values()[i % 8])
+                    .description("Bulk load test " + i)
+                    .timestamp(now.minusSeconds(i))
+                    .build());
+        }
+
+        long startTime = System.currentTimeMillis();
+        int inserted = transactionRepository.saveAll(transactions);
+        long duration = System.currentTimeMillis() - startTime;
+
+        System.out.println("========== 批量导入测试结果 ==========");
+        System.out.println("总记录数: " + totalRecords);
+        System.out.println("总耗时: " + duration + "ms");
+        System.out.println("每秒写入: " + (totalRecords * 1000.0 / Math.max(duration, 1)) + " 条");
+        System.out.println("==========================================");
+
+        assertEquals(totalRecords, inserted);
+        assertEquals(totalRecords, transactionRepository.count());
+        assertEquals(transactions.get(0).getId(), transactionRepository.findAllPaginated(0, 1).get(0).getId());
+    }
 }
@@ -0,0 +1,91 @@
+package com.bank.transaction.web;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Access Log Ring Buffer Tests
+ *
+ * Tests the lock-free multi-producer ring buffer used by the access log.
+ */
+class AccessLogRingBufferTest {
+
+    @Test
+    @DisplayName("缓冲区已满 - 丢弃并计数")
+    void offer_WhenFull_DropsAndCounts() {
+        AccessLogRingBuffer<Integer> buffer = new AccessLogRingBuffer<>(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(99));
+        assertEquals(1, buffer.takeDropped());
+        assertEquals(0, buffer.takeDropped());
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(4, buffer.drain(drained::add, 10));
+        assertEquals(List.of(0, 1, 2, 3), drained);
+
+        // Slots are reusable after draining
+        assertTrue(buffer.offer(4));
+        assertEquals(1, buffer.drain(drained::add, 10));
+        assertEquals(4, drained.get(4));
+    }
+
+    @Test
+    @DisplayName("多生产者并发写入 - 无丢失且保持各自顺序")
+    void concurrentProducers_PreserveEveryEventAndPerProducerOrder() throws InterruptedException {
+        int producers = 8;
+        int eventsPerProducer = 20_000;
+        AccessLogRingBuffer<long[]> buffer = new AccessLogRingBuffer<>(1024);
+        long[] lastSeen = new long[producers];
+        java.util.Arrays.fill(lastSeen, -1);
+        AtomicBoolean producing = new AtomicBoolean(true);
+        int[] received = new int[1];
+
+        Thread consumer = Thread.ofPlatform().start(() -> {
+            while (producing.get() || buffer.drain(event -> { }, 0) > 0 || received[0] < producers * eventsPerProducer) {
+                int drained = buffer.drain(event -> {
+                    int producer = (int) event[0];
+                    assertTrue(event[1] > lastSeen[producer], "per-producer order must be preserved");
+                    lastSeen[producer] = event[1];
+                    received[0]++;
+                }, 256);
+                if (drained == 0) {
+                    Thread.onSpinWait();
+                }
+            }
+        });
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(producers)) {
+            for (int p = 0; p < producers; p++) {
+                final int producer = p;
+                executor.submit(() -> {
+                    for (int i = 0; i < eventsPerProducer; i++) {
+                        // Retry instead of dropping so every event must arrive
+                        while (!buffer.offer(new long[] {producer, i})) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                });
+            }
+        }
+        producing.set(false);
+        consumer.join(TimeUnit.SECONDS.toMillis(30));
+
+        assertFalse(consumer.isAlive());
+        assertEquals(producers * eventsPerProducer, received[0]);
+        for (long last : lastSeen) {
+            assertEquals(eventsPerProducer - 1, last);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.bank.transaction.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrency Limit Filter Tests
+ *
+ * Tests the AIMD limiter and the read/write bulkheads in front of the API.
+ */
+class ConcurrencyLimitFilterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @Test
+    @DisplayName("超过并发上限 - 立即拒绝并计数")
+    void tryAcquire_OverLimit_Rejects() {
+        var limiter = new AdaptiveConcurrencyLimiter("test", 2, 1, 10, 100, 0.5);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getRejected());
+
+        limiter.release();
+        assertTrue(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("延迟升高时乘性减小，恢复后加性增大")
+    void onComplete_AdjustsLimitFromLatency() {
+        var limiter = new AdaptiveConcurrencyLimiter("test", 8, 2, 10, 100, 0.5);
+        long clock = System.nanoTime();
+
+        // Each slow request starts after the previous backoff, so each one backs off
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.onComplete(clock, clock + SLOW, false);
+            clock += SLOW + 1;
+        }
+        assertEquals(2, limiter.getLimit());
+
+        // Grows by about one per window of `limit` fast requests while the limit is in use
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limiter.tryAcquire());
+            assertTrue(limiter.tryAcquire());
+            limiter.onComplete(clock, clock + FAST, false);
+            limiter.onComplete(clock, clock + FAST, false);
+            clock += FAST;
+        }
+        assertTrue(limiter.getLimit() > 2);
+        assertTrue(limiter.getLimit() <= 10);
+
+        assertTrue(limiter.tryAcquire());
+        int before = limiter.getLimit();
+        limiter.onComplete(clock, clock + FAST, true);
+        assertTrue(limiter.getLimit() < before);
+    }
+
+    @Test
+    @DisplayName("一批并发慢请求只触发一次乘性减小")
+    void onComplete_ConcurrentSlowBurst_BacksOffOnce() throws Exception {
+        var limiter = new AdaptiveConcurrencyLimiter("test", 64, 4, 100, 50, 0.9);
+        int burst = 40;
+        long start = System.nanoTime();
+        for (int i = 0; i < burst; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < burst; i++) {
+                long end = start + SLOW + i;
+                executor.execute(() -> limiter.onComplete(start, end, false));
+            }
+        }
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(57, limiter.getLimit()); // 64 * 0.9 once, not 64 * 0.9^40
+
+        // A slow request admitted after that backoff reflects the new limit and backs off again
+        long later = start + SLOW + burst;
+        assertTrue(limiter.tryAcquire());
+        limiter.onComplete(later, later + SLOW, false);
+        assertEquals(51, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("读写隔离 - 写舱壁满时读请求不受影响，写请求返回 503")
+    void doFilter_SeparateBulkheads() throws Exception {
+        var read = new AdaptiveConcurrencyLimiter("read", 1, 1, 1, 100, 0.5);
+        var write = new AdaptiveConcurrencyLimiter("write", 1, 1, 1, 100, 0.5);
+        var filter = new ConcurrencyLimitFilter(read, write, new ObjectMapper().findAndRegisterModules(), 3);
+        assertTrue(write.tryAcquire());
+
+        MockHttpServletResponse readResponse = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/transactions"), readResponse, new MockFilterChain());
+        assertEquals(200, readResponse.getStatus());
+        assertEquals(0, read.getInFlight());
+
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/transactions"), writeResponse, chain);
+        assertEquals(503, writeResponse.getStatus());
+        assertEquals("3", writeResponse.getHeader("Retry-After"));
+        assertTrue(writeResponse.getContentAsString().contains("\"error\":\"Service Unavailable\""));
+        assertNull(chain.getRequest());
+    }
+}
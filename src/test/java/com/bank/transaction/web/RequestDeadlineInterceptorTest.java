@@ -0,0 +1,74 @@
+package com.bank.transaction.web;
+
+import com.bank.transaction.config.DeadlineProperties;
+import com.bank.transaction.service.RequestDeadline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Request Deadline Interceptor Tests
+ *
+ * Tests how the deadline of an API request is chosen and cleaned up.
+ */
+class RequestDeadlineInterceptorTest {
+
+    private final DeadlineProperties properties = new DeadlineProperties();
+
+    private final RequestDeadlineInterceptor interceptor = new RequestDeadlineInterceptor(properties);
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    @DisplayName("截止时间 - 请求头优先并受上限约束")
+    void preHandle_HeaderBudget_Capped() {
+        assertEquals(250, deadlineFor(request("GET", "/api/transactions", "250")));
+        assertEquals(properties.getMaxTimeoutMillis(), deadlineFor(request("GET", "/api/transactions", "999999")));
+        assertEquals(properties.getReadTimeoutMillis(), deadlineFor(request("GET", "/api/transactions", "abc")));
+    }
+
+    @Test
+    @DisplayName("截止时间 - 按端点配置，否则按读写默认值")
+    void preHandle_EndpointAndMethodDefaults() {
+        properties.getTimeouts().put("GET /api/transactions/changes", 10_000L);
+
+        MockHttpServletRequest changes = request("GET", "/api/transactions/changes", null);
+        changes.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/transactions/changes");
+        assertEquals(10_000, deadlineFor(changes));
+        assertEquals(properties.getReadTimeoutMillis(), deadlineFor(request("GET", "/api/transactions/1", null)));
+        assertEquals(properties.getWriteTimeoutMillis(), deadlineFor(request("POST", "/api/transactions", null)));
+    }
+
+    @Test
+    @DisplayName("请求结束后清除截止时间")
+    void afterCompletion_ClearsDeadline() {
+        MockHttpServletRequest request = request("GET", "/api/transactions", null);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+        assertNotNull(RequestDeadline.current());
+
+        interceptor.afterCompletion(request, response, new Object(), null);
+        assertNull(RequestDeadline.current());
+    }
+
+    private long deadlineFor(MockHttpServletRequest request) {
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+        return RequestDeadline.current().timeoutMillis();
+    }
+
+    private MockHttpServletRequest request(String method, String uri, String budget) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        if (budget != null) {
+            request.addHeader(properties.getHeader(), budget);
+        }
+        return request;
+    }
+}